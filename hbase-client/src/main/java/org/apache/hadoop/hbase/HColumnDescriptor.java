@@ -100,6 +100,13 @@ public class HColumnDescriptor implements Comparable<HColumnDescriptor> {
    */
   public static final String PREFETCH_BLOCKS_ON_OPEN = "PREFETCH_BLOCKS_ON_OPEN";
 
+  /**
+   * Key for the ROW_CACHE attribute.
+   * If set, the latest cells of the rows of this family read by point Gets are kept in the
+   * row cache of the region server, and served from there until the row is mutated.
+   */
+  public static final String ROW_CACHE = "ROW_CACHE";
+
   /**
    * Size of storefile/hfile 'blocks'.  Default is {@link #DEFAULT_BLOCKSIZE}.
    * Use smaller block sizes for faster random-access at expense of larger
@@ -254,6 +261,11 @@ public class HColumnDescriptor implements Comparable<HColumnDescriptor> {
    */
   public static final boolean DEFAULT_PREFETCH_BLOCKS_ON_OPEN = false;
 
+  /*
+   * Default setting for whether to keep the rows read by point Gets in the row cache.
+   */
+  public static final boolean DEFAULT_ROW_CACHE = false;
+
   private final static Map<String, String> DEFAULT_VALUES = new HashMap<>();
   private final static Set<Bytes> RESERVED_KEYWORDS = new HashSet<>();
 
@@ -275,6 +287,7 @@ public class HColumnDescriptor implements Comparable<HColumnDescriptor> {
     DEFAULT_VALUES.put(CACHE_BLOOMS_ON_WRITE, String.valueOf(DEFAULT_CACHE_BLOOMS_ON_WRITE));
     DEFAULT_VALUES.put(EVICT_BLOCKS_ON_CLOSE, String.valueOf(DEFAULT_EVICT_BLOCKS_ON_CLOSE));
     DEFAULT_VALUES.put(PREFETCH_BLOCKS_ON_OPEN, String.valueOf(DEFAULT_PREFETCH_BLOCKS_ON_OPEN));
+    DEFAULT_VALUES.put(ROW_CACHE, String.valueOf(DEFAULT_ROW_CACHE));
     for (String s : DEFAULT_VALUES.keySet()) {
       RESERVED_KEYWORDS.add(new Bytes(Bytes.toBytes(s)));
     }
@@ -928,6 +941,22 @@ public class HColumnDescriptor implements Comparable<HColumnDescriptor> {
     return setValue(PREFETCH_BLOCKS_ON_OPEN, Boolean.toString(value));
   }
 
+  /**
+   * @return true if the rows read by point Gets are kept in the row cache of the region server
+   */
+  public boolean isRowCacheEnabled() {
+    return setAndGetBoolean(ROW_CACHE, DEFAULT_ROW_CACHE);
+  }
+
+  /**
+   * @param value true if the rows read by point Gets should be kept in the row cache of the
+   *          region server
+   * @return this (for chained invocation)
+   */
+  public HColumnDescriptor setRowCacheEnabled(boolean value) {
+    return setValue(ROW_CACHE, Boolean.toString(value));
+  }
+
   /**
    * @see java.lang.Object#toString()
    */
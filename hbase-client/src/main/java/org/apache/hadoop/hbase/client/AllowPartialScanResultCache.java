@@ -66,6 +66,18 @@ class AllowPartialScanResultCache implements ScanResultCache {
     }
   }
 
+  /**
+   * @return the last cell returned to the user, used to skip the cells already returned when the
+   *         results are consumed through a {@link CellCursor}.
+   */
+  Cell getLastCell() {
+    return lastCell;
+  }
+
+  void setLastCell(Cell lastCell) {
+    this.lastCell = lastCell;
+  }
+
   @Override
   public void clear() {
     // we do not cache anything
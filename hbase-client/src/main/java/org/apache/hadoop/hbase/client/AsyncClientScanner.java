@@ -87,7 +87,9 @@ class AsyncClientScanner {
     this.scanTimeoutNs = scanTimeoutNs;
     this.rpcTimeoutNs = rpcTimeoutNs;
     this.startLogErrorsCnt = startLogErrorsCnt;
-    this.resultCache = createScanResultCache(scan);
+    // the rows are passed as received to the consumers of a CellCursor, which may split them
+    this.resultCache = consumer instanceof RawScanCellConsumer ? new AllowPartialScanResultCache()
+        : createScanResultCache(scan);
   }
 
   private static final class OpenScannerResponse {
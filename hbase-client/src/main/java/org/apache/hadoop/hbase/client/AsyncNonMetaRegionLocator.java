@@ -28,7 +28,10 @@ import static org.apache.hadoop.hbase.client.ConnectionUtils.isEmptyStopRow;
 import static org.apache.hadoop.hbase.util.Bytes.BYTES_COMPARATOR;
 import static org.apache.hadoop.hbase.util.CollectionUtils.computeIfAbsent;
 
+import com.google.common.annotations.VisibleForTesting;
+
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -50,6 +53,7 @@ import org.apache.hadoop.hbase.HRegionInfo;
 import org.apache.hadoop.hbase.HRegionLocation;
 import org.apache.hadoop.hbase.MetaTableAccessor;
 import org.apache.hadoop.hbase.RegionLocations;
+import org.apache.hadoop.hbase.ServerName;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.TableNotFoundException;
 import org.apache.hadoop.hbase.classification.InterfaceAudience;
@@ -72,6 +76,8 @@ class AsyncNonMetaRegionLocator {
 
   private final int maxConcurrentLocateRequestPerTable;
 
+  private final int prefetchRows;
+
   private final ConcurrentMap<TableName, TableCache> cache = new ConcurrentHashMap<>();
 
   private static final class LocateRequest {
@@ -127,6 +133,9 @@ class AsyncNonMetaRegionLocator {
     this.conn = conn;
     this.maxConcurrentLocateRequestPerTable = conn.getConfiguration().getInt(
       MAX_CONCURRENT_LOCATE_REQUEST_PER_TABLE, DEFAULT_MAX_CONCURRENT_LOCATE_REQUEST_PER_TABLE);
+    this.prefetchRows = conn.getConfiguration().getInt(
+      ConnectionConfiguration.META_PREFETCH_ROWS_KEY,
+      ConnectionConfiguration.META_PREFETCH_ROWS_DEFAULT);
   }
 
   private TableCache getTableCache(TableName tableName) {
@@ -319,9 +328,51 @@ class AsyncNonMetaRegionLocator {
               info.getRegionNameAsString(), Bytes.toStringBinary(req.row), req.locateType)));
       return;
     }
+    if (results.size() > 1) {
+      addPrefetchedToCache(tableName, results.subList(1, results.size()));
+    }
     complete(tableName, req, loc, null);
   }
 
+  // The rows following the first one in the reversed meta scan are the rows of the preceding
+  // regions of the table. Cache them, and complete the requests which fall in them.
+  private void addPrefetchedToCache(TableName tableName, List<Result> results) {
+    List<HRegionLocation> added = new ArrayList<>(results.size());
+    TableCache tableCache = getTableCache(tableName);
+    for (Result result : results) {
+      RegionLocations locs = MetaTableAccessor.getRegionLocations(result);
+      HRegionLocation loc = locs == null ? null : locs.getDefaultRegionLocation();
+      if (loc == null || loc.getRegionInfo() == null) {
+        continue;
+      }
+      HRegionInfo info = loc.getRegionInfo();
+      if (!info.getTable().equals(tableName)) {
+        break;
+      }
+      if (info.isSplit() || info.isOffline() || loc.getServerName() == null) {
+        continue;
+      }
+      if (addToCache(tableCache, loc)) {
+        added.add(loc);
+      }
+    }
+    if (added.isEmpty()) {
+      return;
+    }
+    synchronized (tableCache) {
+      for (Iterator<Map.Entry<LocateRequest, CompletableFuture<HRegionLocation>>> iter =
+          tableCache.allRequests.entrySet().iterator(); iter.hasNext();) {
+        Map.Entry<LocateRequest, CompletableFuture<HRegionLocation>> entry = iter.next();
+        for (HRegionLocation loc : added) {
+          if (tryComplete(entry.getKey(), entry.getValue(), loc)) {
+            iter.remove();
+            break;
+          }
+        }
+      }
+    }
+  }
+
   private HRegionLocation locateRowInCache(TableCache tableCache, TableName tableName, byte[] row) {
     Map.Entry<byte[], HRegionLocation> entry = tableCache.cache.floorEntry(row);
     if (entry == null) {
@@ -378,7 +429,7 @@ class AsyncNonMetaRegionLocator {
     }
     conn.getRawTable(META_TABLE_NAME)
         .scanAll(new Scan().withStartRow(metaKey).setReversed(true).addFamily(CATALOG_FAMILY)
-            .setOneRowLimit())
+            .setLimit(prefetchRows + 1).setReadType(Scan.ReadType.PREAD))
         .whenComplete((results, error) -> onScanComplete(tableName, req, results, error));
   }
 
@@ -451,6 +502,26 @@ class AsyncNonMetaRegionLocator {
     }, this::addToCache, this::removeFromCache);
   }
 
+  // only used for testing whether we have cached the location for a region.
+  @VisibleForTesting
+  HRegionLocation getRegionLocationInCache(TableName tableName, byte[] row) {
+    TableCache tableCache = cache.get(tableName);
+    if (tableCache == null) {
+      return null;
+    }
+    return locateRowInCache(tableCache, tableName, row);
+  }
+
+  void clearCache(ServerName serverName) {
+    for (TableCache tableCache : cache.values()) {
+      tableCache.cache.forEach((startKey, loc) -> {
+        if (loc.getServerName().equals(serverName)) {
+          tableCache.cache.remove(startKey, loc);
+        }
+      });
+    }
+  }
+
   void clearCache(TableName tableName) {
     TableCache tableCache = cache.remove(tableName);
     if (tableCache == null) {
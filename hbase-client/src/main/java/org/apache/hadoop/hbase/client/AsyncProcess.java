@@ -136,6 +136,11 @@ class AsyncProcess {
     @Override
     public void waitUntilDone() throws InterruptedIOException {
     }
+
+    @Override
+    public boolean isDone() {
+      return true;
+    }
   };
 
   // TODO: many of the fields should be made private
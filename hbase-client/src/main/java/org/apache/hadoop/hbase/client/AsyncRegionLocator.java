@@ -33,6 +33,7 @@ import java.util.function.Supplier;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.ServerName;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.exceptions.RegionMovedException;
@@ -144,6 +145,13 @@ class AsyncRegionLocator {
     }
   }
 
+  void clearCache(ServerName serverName) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Clear meta cache for " + serverName);
+    }
+    nonMetaRegionLocator.clearCache(serverName);
+  }
+
   void clearCache(TableName tableName) {
     if (LOG.isDebugEnabled()) {
       LOG.debug("Clear meta cache for " + tableName);
@@ -37,4 +37,6 @@ public interface AsyncRequestFuture {
   public Object[] getResults() throws InterruptedIOException;
   /** Wait until all tasks are executed, successfully or not. */
   public void waitUntilDone() throws InterruptedIOException;
+  /** @return true if all tasks are executed, successfully or not. Does not wait. */
+  public boolean isDone();
 }
\ No newline at end of file
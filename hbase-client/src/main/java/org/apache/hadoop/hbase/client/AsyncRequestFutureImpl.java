@@ -1228,6 +1228,11 @@ class AsyncRequestFutureImpl<CResult> implements AsyncRequestFuture {
     return true;
   }
 
+  @Override
+  public boolean isDone() {
+    return actionsInProgress.get() == 0;
+  }
+
   @Override
   public boolean hasError() {
     return errors.hasErrors();
@@ -40,6 +40,8 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.DoNotRetryIOException;
 import org.apache.hadoop.hbase.HRegionLocation;
 import org.apache.hadoop.hbase.NotServingRegionException;
@@ -449,6 +451,10 @@ class AsyncScanSingleRegionRpcRetryingCaller {
       onError(controller.getFailed());
       return;
     }
+    if (consumer instanceof RawScanCellConsumer) {
+      onCompleteWithCursor(controller, resp);
+      return;
+    }
     boolean isHeartbeatMessage = resp.hasHeartbeatMessage() && resp.getHeartbeatMessage();
     Result[] results;
     try {
@@ -475,6 +481,36 @@ class AsyncScanSingleRegionRpcRetryingCaller {
       updateNextStartRowWhenError(results[results.length - 1]);
       consumer.onNext(results, scanController);
     }
+    onConsumed(resp, scanController, numberOfIndividualRows);
+  }
+
+  private void onCompleteWithCursor(HBaseRpcController controller, ScanResponse resp) {
+    AllowPartialScanResultCache cache = (AllowPartialScanResultCache) resultCache;
+    ScanResponseCellCursor cursor;
+    try {
+      cursor = ScanResponseCellCursor.create(controller.cellScanner(), resp, cache.getLastCell());
+    } catch (IOException e) {
+      // See above, we can not retry here.
+      LOG.warn("decode scan response failed", e);
+      completeWhenError(true);
+      return;
+    }
+    ScanControllerImpl scanController = new ScanControllerImpl();
+    if (!cursor.hasRows()) {
+      consumer.onHeartbeat(scanController);
+    } else {
+      ((RawScanCellConsumer) consumer).onNext(cursor, scanController);
+      // the user may not have consumed all the cells, find the last one to know where we are
+      Cell lastCell = cursor.finish();
+      cache.setLastCell(lastCell);
+      nextStartRowWhenError = CellUtil.cloneRow(lastCell);
+      includeNextStartRowWhenError = cursor.lastRowMayHaveMoreCells();
+    }
+    onConsumed(resp, scanController, cursor.getNumberOfIndividualRows());
+  }
+
+  private void onConsumed(ScanResponse resp, ScanControllerImpl scanController,
+      int numberOfIndividualRows) {
     ScanControllerState state = scanController.destroy();
     if (state == ScanControllerState.TERMINATED) {
       if (resp.getMoreResultsInRegion()) {
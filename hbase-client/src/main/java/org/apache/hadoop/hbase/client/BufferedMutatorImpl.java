@@ -87,6 +87,10 @@ public class BufferedMutatorImpl implements BufferedMutator {
   private final boolean cleanupPoolOnClose;
   private volatile boolean closed = false;
   private final AsyncProcess ap;
+  /**
+   * The per server write buffers, null if the mutator is not in adaptive mode.
+   */
+  private final PerServerWriteBuffer perServerBuffer;
 
   @VisibleForTesting
   BufferedMutatorImpl(ClusterConnection conn, BufferedMutatorParams params, AsyncProcess ap) {
@@ -114,6 +118,19 @@ public class BufferedMutatorImpl implements BufferedMutator {
     this.operationTimeout = new AtomicInteger(params.getOperationTimeout()!= BufferedMutatorParams.UNSET ?
     params.getOperationTimeout() : conn.getConnectionConfiguration().getOperationTimeout());
     this.ap = ap;
+    boolean adaptive = params.isAdaptive() != null ? params.isAdaptive() :
+        tableConf.isWriteBufferAdaptive();
+    if (adaptive) {
+      long lingerMs = params.getLingerMs() != BufferedMutatorParams.UNSET ?
+          params.getLingerMs() : tableConf.getWriteBufferLingerMs();
+      int maxInFlightPerServer = params.getMaxInFlightPerServer() != BufferedMutatorParams.UNSET ?
+          params.getMaxInFlightPerServer() : tableConf.getWriteBufferMaxInFlightPerServer();
+      this.perServerBuffer = new PerServerWriteBuffer(conn, tableName, ap,
+          this::wrapAsyncProcessTask, writeBufferSize, tableConf.getWriteBufferMinBatchSize(),
+          lingerMs, maxInFlightPerServer);
+    } else {
+      this.perServerBuffer = null;
+    }
   }
   BufferedMutatorImpl(ClusterConnection conn, RpcRetryingCallerFactory rpcCallerFactory,
       RpcControllerFactory rpcFactory, BufferedMutatorParams params) {
@@ -166,6 +183,14 @@ public class BufferedMutatorImpl implements BufferedMutator {
       ++toAddCount;
     }
 
+    if (perServerBuffer != null) {
+      perServerBuffer.add(ms);
+      if (ap.hasError()) {
+        backgroundFlushCommits(true);
+      }
+      return;
+    }
+
     // This behavior is highly non-intuitive... it does not protect us against
     // 94-incompatible behavior, which is a timing issue because hasError, the below code
     // and setter of hasError are not synchronized. Perhaps it should be removed.
@@ -201,6 +226,9 @@ public class BufferedMutatorImpl implements BufferedMutator {
       // As we can have an operation in progress even if the buffer is empty, we call
       // backgroundFlushCommits at least one time.
       backgroundFlushCommits(true);
+      if (perServerBuffer != null) {
+        perServerBuffer.close();
+      }
       if (cleanupPoolOnClose) {
         this.pool.shutdown();
         boolean terminated;
@@ -241,6 +269,14 @@ public class BufferedMutatorImpl implements BufferedMutator {
   private void backgroundFlushCommits(boolean synchronous) throws
       InterruptedIOException,
       RetriesExhaustedWithDetailsException {
+    if (perServerBuffer != null) {
+      // The server buffers are sent in the background as they fill up.
+      if (synchronous || ap.hasError()) {
+        perServerBuffer.flush();
+        throwErrorsIfAny();
+      }
+      return;
+    }
     if (!synchronous && writeAsyncBuffer.isEmpty()) {
       return;
     }
@@ -269,14 +305,19 @@ public class BufferedMutatorImpl implements BufferedMutator {
       } finally {
         taker.restoreRemainder();
       }
-      RetriesExhaustedWithDetailsException error =
-          ap.waitForAllPreviousOpsAndReset(null, tableName);
-      if (error != null) {
-        if (listener == null) {
-          throw error;
-        } else {
-          this.listener.onException(error, this);
-        }
+      throwErrorsIfAny();
+    }
+  }
+
+  private void throwErrorsIfAny() throws InterruptedIOException,
+      RetriesExhaustedWithDetailsException {
+    RetriesExhaustedWithDetailsException error =
+        ap.waitForAllPreviousOpsAndReset(null, tableName);
+    if (error != null) {
+      if (listener == null) {
+        throw error;
+      } else {
+        this.listener.onException(error, this);
       }
     }
   }
@@ -293,6 +334,26 @@ public class BufferedMutatorImpl implements BufferedMutator {
         .setRowAccess(taker)
         .setSubmittedRows(AsyncProcessTask.SubmittedRows.AT_LEAST_ONE)
         .build();
+    return wrapAsyncProcessTask(task);
+  }
+
+  /**
+   * Create the AsyncProcessTask sending a batch of a server buffer in adaptive mode.
+   * @param batch the mutations to send. The rows the {@link RequestController} takes are removed
+   *        from it, the others are left for a later batch.
+   * @return An AsyncProcessTask which always returns the latest rpc and operation timeout.
+   */
+  private AsyncProcessTask wrapAsyncProcessTask(List<Mutation> batch) {
+    AsyncProcessTask task = AsyncProcessTask.newBuilder()
+        .setPool(pool)
+        .setTableName(tableName)
+        .setRowAccess(batch)
+        .setSubmittedRows(AsyncProcessTask.SubmittedRows.NORMAL)
+        .build();
+    return wrapAsyncProcessTask(task);
+  }
+
+  private AsyncProcessTask wrapAsyncProcessTask(AsyncProcessTask task) {
     return new AsyncProcessTask(task) {
       @Override
       public int getRpcTimeout() {
@@ -320,7 +381,10 @@ public class BufferedMutatorImpl implements BufferedMutator {
   public void setWriteBufferSize(long writeBufferSize) throws RetriesExhaustedWithDetailsException,
       InterruptedIOException {
     this.writeBufferSize = writeBufferSize;
-    if (currentWriteBufferSize.get() > writeBufferSize) {
+    if (perServerBuffer != null) {
+      perServerBuffer.setWriteBufferSize(writeBufferSize);
+    }
+    if (getCurrentWriteBufferSize() > writeBufferSize) {
       flush();
     }
   }
@@ -345,12 +409,19 @@ public class BufferedMutatorImpl implements BufferedMutator {
 
   @VisibleForTesting
   long getCurrentWriteBufferSize() {
-    return currentWriteBufferSize.get();
+    return perServerBuffer != null ? perServerBuffer.getBufferedSize() :
+        currentWriteBufferSize.get();
   }
 
   @VisibleForTesting
   int size() {
-    return undealtMutationCount.get();
+    return perServerBuffer != null ? perServerBuffer.getBufferedCount() :
+        undealtMutationCount.get();
+  }
+
+  @VisibleForTesting
+  PerServerWriteBuffer getPerServerBuffer() {
+    return perServerBuffer;
   }
 
   private class QueueRowAccess implements RowAccess<Row> {
@@ -41,6 +41,9 @@ public class BufferedMutatorParams implements Cloneable {
   private String implementationClassName = null;
   private int rpcTimeout = UNSET;
   private int operationTimeout = UNSET;
+  private Boolean adaptive = null;
+  private long lingerMs = UNSET;
+  private int maxInFlightPerServer = UNSET;
   private BufferedMutator.ExceptionListener listener = new BufferedMutator.ExceptionListener() {
     @Override
     public void onException(RetriesExhaustedWithDetailsException exception,
@@ -104,6 +107,52 @@ public class BufferedMutatorParams implements Cloneable {
     return this;
   }
 
+  /**
+   * @return whether per-server write buffers are used, or null if the {@link Connection}'s
+   *         configuration decides.
+   */
+  public Boolean isAdaptive() {
+    return adaptive;
+  }
+
+  /**
+   * Override the {@code hbase.client.write.buffer.adaptive} configuration value. In adaptive mode
+   * the mutations are buffered per region server, and the buffer of each server is flushed on its
+   * own as soon as it reaches its share of the write buffer size or gets older than the linger
+   * time, with a bounded number of batches in flight per server.
+   */
+  public BufferedMutatorParams adaptive(boolean adaptive) {
+    this.adaptive = adaptive;
+    return this;
+  }
+
+  public long getLingerMs() {
+    return lingerMs;
+  }
+
+  /**
+   * Override the {@code hbase.client.write.buffer.adaptive.linger.ms} configuration value, the
+   * maximum time a mutation waits in a server buffer in adaptive mode.
+   */
+  public BufferedMutatorParams lingerMs(long lingerMs) {
+    this.lingerMs = lingerMs;
+    return this;
+  }
+
+  public int getMaxInFlightPerServer() {
+    return maxInFlightPerServer;
+  }
+
+  /**
+   * Override the {@code hbase.client.write.buffer.adaptive.max.inflight.per.server} configuration
+   * value, the maximum number of batches sent to a server and not yet acknowledged in adaptive
+   * mode.
+   */
+  public BufferedMutatorParams maxInFlightPerServer(int maxInFlightPerServer) {
+    this.maxInFlightPerServer = maxInFlightPerServer;
+    return this;
+  }
+
   public ExecutorService getPool() {
     return pool;
   }
@@ -160,6 +209,9 @@ public class BufferedMutatorParams implements Cloneable {
     clone.pool = this.pool;
     clone.listener = this.listener;
     clone.implementationClassName = this.implementationClassName;
+    clone.adaptive = this.adaptive;
+    clone.lingerMs = this.lingerMs;
+    clone.maxInFlightPerServer = this.maxInFlightPerServer;
     return clone;
   }
 }
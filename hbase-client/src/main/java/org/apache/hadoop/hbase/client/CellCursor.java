@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.classification.InterfaceStability;
+
+/**
+ * A cursor over the cells received for a scan, grouped by row.
+ * <p>
+ * The cursor is initially positioned before the first row. Call {@link #nextRow()} to move to the
+ * first cell of the next row, then {@link #nextCell()} to move to the following cells of the same
+ * row:
+ *
+ * <pre>
+ * while (cursor.nextRow()) {
+ *   do {
+ *     Cell cell = cursor.current();
+ *     ...
+ *   } while (cursor.nextCell());
+ * }
+ * </pre>
+ *
+ * The cells are decoded in place from the received data whenever possible, so the {@link Cell}
+ * returned by {@link #current()} may be the same instance for all the cells: it is only valid
+ * until the cursor is moved. Copy what needs to be kept, for example with
+ * {@link org.apache.hadoop.hbase.CellUtil#cloneValue(Cell)}.
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Unstable
+public interface CellCursor {
+
+  /**
+   * Move to the first cell of the next row, skipping the cells left in the current row.
+   * @return false if there is no more row.
+   */
+  boolean nextRow();
+
+  /**
+   * Move to the next cell of the current row.
+   * @return false if there is no more cell in the current row.
+   */
+  boolean nextCell();
+
+  /**
+   * @return the cell the cursor is positioned on, null if it is not positioned on a cell.
+   */
+  Cell current();
+
+  /**
+   * @return whether the current row may have more cells, which will be returned afterwards. See
+   *         {@link Result#mayHaveMoreCellsInRow()}.
+   */
+  boolean mayHaveMoreCellsInRow();
+
+  /**
+   * @return whether the cells come from a secondary replica. See {@link Result#isStale()}.
+   */
+  boolean isStale();
+}
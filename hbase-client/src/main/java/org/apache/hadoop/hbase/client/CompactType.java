@@ -20,16 +20,19 @@ import org.apache.hadoop.hbase.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.classification.InterfaceStability;
 
 /**
- * Currently, there are only two compact types:
+ * Currently, there are three compact types:
  * {@code NORMAL} means do store files compaction;
- * {@code MOB} means do mob files compaction.
+ * {@code MOB} means do mob files compaction;
+ * {@code COORDINATED} means have the master major compact the regions of the table under the
+ * limits of its major compaction coordinator, see hbase.master.majorcompaction.coordinator.period.
  * */
 @InterfaceAudience.Public
 @InterfaceStability.Unstable
 public enum CompactType {
 
   NORMAL    (0),
-  MOB       (1);
+  MOB       (1),
+  COORDINATED (2);
 
   CompactType(int value) {}
 }
\ No newline at end of file
@@ -32,8 +32,26 @@ public class ConnectionConfiguration {
   public static final long WRITE_BUFFER_SIZE_DEFAULT = 2097152;
   public static final String MAX_KEYVALUE_SIZE_KEY = "hbase.client.keyvalue.maxsize";
   public static final int MAX_KEYVALUE_SIZE_DEFAULT = -1;
+  public static final String WRITE_BUFFER_ADAPTIVE_KEY = "hbase.client.write.buffer.adaptive";
+  public static final boolean WRITE_BUFFER_ADAPTIVE_DEFAULT = false;
+  public static final String WRITE_BUFFER_LINGER_MS_KEY =
+      "hbase.client.write.buffer.adaptive.linger.ms";
+  public static final long WRITE_BUFFER_LINGER_MS_DEFAULT = 100;
+  public static final String WRITE_BUFFER_MAX_INFLIGHT_PER_SERVER_KEY =
+      "hbase.client.write.buffer.adaptive.max.inflight.per.server";
+  public static final int WRITE_BUFFER_MAX_INFLIGHT_PER_SERVER_DEFAULT = 2;
+  public static final String WRITE_BUFFER_MIN_BATCH_SIZE_KEY =
+      "hbase.client.write.buffer.adaptive.min.batch.size";
+  public static final long WRITE_BUFFER_MIN_BATCH_SIZE_DEFAULT = 65536;
+  public static final String META_PREFETCH_ROWS_KEY = "hbase.client.meta.prefetch.rows";
+  public static final int META_PREFETCH_ROWS_DEFAULT = 0;
 
   private final long writeBufferSize;
+  private final boolean writeBufferAdaptive;
+  private final long writeBufferLingerMs;
+  private final int writeBufferMaxInFlightPerServer;
+  private final long writeBufferMinBatchSize;
+  private final int metaPrefetchRows;
   private final int metaOperationTimeout;
   private final int operationTimeout;
   private final int scannerCaching;
@@ -55,6 +73,20 @@ public class ConnectionConfiguration {
   ConnectionConfiguration(Configuration conf) {
     this.writeBufferSize = conf.getLong(WRITE_BUFFER_SIZE_KEY, WRITE_BUFFER_SIZE_DEFAULT);
 
+    this.writeBufferAdaptive =
+        conf.getBoolean(WRITE_BUFFER_ADAPTIVE_KEY, WRITE_BUFFER_ADAPTIVE_DEFAULT);
+
+    this.writeBufferLingerMs =
+        conf.getLong(WRITE_BUFFER_LINGER_MS_KEY, WRITE_BUFFER_LINGER_MS_DEFAULT);
+
+    this.writeBufferMaxInFlightPerServer = conf.getInt(WRITE_BUFFER_MAX_INFLIGHT_PER_SERVER_KEY,
+      WRITE_BUFFER_MAX_INFLIGHT_PER_SERVER_DEFAULT);
+
+    this.writeBufferMinBatchSize =
+        conf.getLong(WRITE_BUFFER_MIN_BATCH_SIZE_KEY, WRITE_BUFFER_MIN_BATCH_SIZE_DEFAULT);
+
+    this.metaPrefetchRows = conf.getInt(META_PREFETCH_ROWS_KEY, META_PREFETCH_ROWS_DEFAULT);
+
     this.metaOperationTimeout = conf.getInt(
       HConstants.HBASE_CLIENT_META_OPERATION_TIMEOUT,
       HConstants.DEFAULT_HBASE_CLIENT_OPERATION_TIMEOUT);
@@ -101,6 +133,11 @@ public class ConnectionConfiguration {
   @VisibleForTesting
   protected ConnectionConfiguration() {
     this.writeBufferSize = WRITE_BUFFER_SIZE_DEFAULT;
+    this.writeBufferAdaptive = WRITE_BUFFER_ADAPTIVE_DEFAULT;
+    this.writeBufferLingerMs = WRITE_BUFFER_LINGER_MS_DEFAULT;
+    this.writeBufferMaxInFlightPerServer = WRITE_BUFFER_MAX_INFLIGHT_PER_SERVER_DEFAULT;
+    this.writeBufferMinBatchSize = WRITE_BUFFER_MIN_BATCH_SIZE_DEFAULT;
+    this.metaPrefetchRows = META_PREFETCH_ROWS_DEFAULT;
     this.metaOperationTimeout = HConstants.DEFAULT_HBASE_CLIENT_OPERATION_TIMEOUT;
     this.operationTimeout = HConstants.DEFAULT_HBASE_CLIENT_OPERATION_TIMEOUT;
     this.scannerCaching = HConstants.DEFAULT_HBASE_CLIENT_SCANNER_CACHING;
@@ -127,6 +164,26 @@ public class ConnectionConfiguration {
     return writeBufferSize;
   }
 
+  public boolean isWriteBufferAdaptive() {
+    return writeBufferAdaptive;
+  }
+
+  public long getWriteBufferLingerMs() {
+    return writeBufferLingerMs;
+  }
+
+  public int getWriteBufferMaxInFlightPerServer() {
+    return writeBufferMaxInFlightPerServer;
+  }
+
+  public long getWriteBufferMinBatchSize() {
+    return writeBufferMinBatchSize;
+  }
+
+  public int getMetaPrefetchRows() {
+    return metaPrefetchRows;
+  }
+
   public int getMetaOperationTimeout() {
     return metaOperationTimeout;
   }
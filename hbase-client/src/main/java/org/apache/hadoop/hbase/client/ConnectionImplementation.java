@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
@@ -789,7 +790,10 @@ class ConnectionImplementation implements ClusterConnection, Closeable {
     s.setReversed(true);
     s.withStartRow(metaKey);
     s.addFamily(HConstants.CATALOG_FAMILY);
-    s.setOneRowLimit();
+    // The rows following the one of the region in this reversed scan are the rows of the
+    // preceding regions of the table, which we cache along with the one we are looking for.
+    int prefetchRows = connectionConfig.getMetaPrefetchRows();
+    s.setLimit(prefetchRows + 1).setReadType(Scan.ReadType.PREAD);
     if (this.useMetaReplicas) {
       s.setConsistency(Consistency.TIMELINE);
     }
@@ -817,11 +821,18 @@ class ConnectionImplementation implements ClusterConnection, Closeable {
       long pauseBase = this.pause;
       try {
         Result regionInfoRow = null;
+        List<Result> prefetchedRows = Collections.emptyList();
         s.resetMvccReadPoint();
         try (ReversedClientScanner rcs =
             new ReversedClientScanner(conf, s, TableName.META_TABLE_NAME, this, rpcCallerFactory,
                 rpcControllerFactory, getMetaLookupPool(), 0)) {
           regionInfoRow = rcs.next();
+          if (regionInfoRow != null && prefetchRows > 0) {
+            prefetchedRows = new ArrayList<>(prefetchRows);
+            for (Result r; prefetchedRows.size() < prefetchRows && (r = rcs.next()) != null;) {
+              prefetchedRows.add(r);
+            }
+          }
         }
 
         if (regionInfoRow == null) {
@@ -872,6 +883,7 @@ class ConnectionImplementation implements ClusterConnection, Closeable {
         }
         // Instantiate the location
         cacheLocation(tableName, locations);
+        cachePrefetchedLocations(tableName, prefetchedRows);
         return locations;
       } catch (TableNotFoundException e) {
         // if we got this error, probably means the table just plain doesn't
@@ -913,6 +925,29 @@ class ConnectionImplementation implements ClusterConnection, Closeable {
     }
   }
 
+  /**
+   * Cache the locations read from meta along with the one of the region we were looking for. The
+   * regions which can not be used right now are skipped, the rows of other tables end the list.
+   */
+  private void cachePrefetchedLocations(TableName tableName, List<Result> rows) {
+    for (Result row : rows) {
+      RegionLocations locations = MetaTableAccessor.getRegionLocations(row);
+      HRegionLocation location = locations == null ? null : locations.getDefaultRegionLocation();
+      if (location == null || location.getRegionInfo() == null) {
+        continue;
+      }
+      HRegionInfo regionInfo = location.getRegionInfo();
+      if (!regionInfo.getTable().equals(tableName)) {
+        break;
+      }
+      if (regionInfo.isSplit() || regionInfo.isOffline() || location.getServerName() == null
+          || isDeadServer(location.getServerName())) {
+        continue;
+      }
+      cacheLocation(tableName, locations);
+    }
+  }
+
   /**
    * Put a newly discovered HRegionLocation into the cache.
    * @param tableName The table name.
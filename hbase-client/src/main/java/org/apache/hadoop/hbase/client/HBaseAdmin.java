@@ -1215,6 +1215,13 @@ public class HBaseAdmin implements Admin {
         ServerName master = getMasterAddress();
         compact(master, getMobRegionInfo(tableName), major, columnFamily);
         break;
+      case COORDINATED:
+        if (!major || columnFamily != null) {
+          throw new IllegalArgumentException(
+              "Only the major compactions of whole tables are coordinated");
+        }
+        compact(getMasterAddress(), getCoordinatedCompactionRegionInfo(tableName), true, null);
+        break;
       case NORMAL:
       default:
         ZooKeeperWatcher zookeeper = null;
@@ -3795,6 +3802,11 @@ public class HBaseAdmin implements Admin {
             HConstants.EMPTY_END_ROW, false, 0);
   }
 
+  private HRegionInfo getCoordinatedCompactionRegionInfo(TableName tableName) {
+    return new HRegionInfo(tableName, HConstants.MAJOR_COMPACTION_REQUEST_START_KEY,
+            HConstants.EMPTY_END_ROW, false, 0);
+  }
+
   private RpcControllerFactory getRpcControllerFactory() {
     return this.rpcControllerFactory;
   }
@@ -23,9 +23,9 @@ import static org.apache.hadoop.hbase.util.CollectionUtils.computeIfAbsent;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -50,15 +50,15 @@ public class MetaCache {
   /**
    * Map of table to table {@link HRegionLocation}s.
    */
-  private final ConcurrentMap<TableName, ConcurrentNavigableMap<byte[], RegionLocations>>
+  private final ConcurrentMap<TableName, CopyOnWriteArrayMap<byte[], RegionLocations>>
     cachedRegionLocations = new CopyOnWriteArrayMap<>();
 
   // The presence of a server in the map implies it's likely that there is an
   // entry in cachedRegionLocations that map to this server; but the absence
   // of a server in this map guarantees that there is no entry in cache that
   // maps to the absent server.
-  // The access to this attribute must be protected by a lock on cachedRegionLocations
-  private final Set<ServerName> cachedServers = new CopyOnWriteArraySet<>();
+  // The removal of a server from this set must be protected by a lock on cachedServers
+  private final Set<ServerName> cachedServers = ConcurrentHashMap.newKeySet();
 
   private final MetricsConnection metrics;
 
@@ -192,7 +192,7 @@ public class MetaCache {
    * @param tableName
    * @return Map of cached locations for passed <code>tableName</code>
    */
-  private ConcurrentNavigableMap<byte[], RegionLocations> getTableLocations(
+  private CopyOnWriteArrayMap<byte[], RegionLocations> getTableLocations(
       final TableName tableName) {
     // find the map of cached locations for this table
     return computeIfAbsent(cachedRegionLocations, tableName,
@@ -242,7 +242,7 @@ public class MetaCache {
       return;
     }
 
-    boolean deletedSomething = false;
+    int deleted = 0;
     synchronized (this.cachedServers) {
       // We block here, because if there is an error on a server, it's likely that multiple
       //  threads will get the error  simultaneously. If there are hundreds of thousand of
@@ -251,30 +251,23 @@ public class MetaCache {
       if (!this.cachedServers.contains(serverName)) {
         return;
       }
-      for (ConcurrentMap<byte[], RegionLocations> tableLocations : cachedRegionLocations.values()){
-        for (Entry<byte[], RegionLocations> e : tableLocations.entrySet()) {
-          RegionLocations regionLocations = e.getValue();
-          if (regionLocations != null) {
-            RegionLocations updatedLocations = regionLocations.removeByServer(serverName);
-            if (updatedLocations != regionLocations) {
-              if (updatedLocations.isEmpty()) {
-                deletedSomething |= tableLocations.remove(e.getKey(), regionLocations);
-              } else {
-                deletedSomething |= tableLocations.replace(e.getKey(), regionLocations,
-                    updatedLocations);
-              }
-            }
-          }
-        }
+      // The locations of a table are updated in one go, rather than copying the whole array of
+      // locations once per region of the server.
+      for (CopyOnWriteArrayMap<byte[], RegionLocations> tableLocations :
+          cachedRegionLocations.values()) {
+        deleted += tableLocations.computeAll((startKey, regionLocations) -> {
+          RegionLocations updatedLocations = regionLocations.removeByServer(serverName);
+          return updatedLocations.isEmpty() ? null : updatedLocations;
+        });
       }
       this.cachedServers.remove(serverName);
     }
-    if (deletedSomething) {
+    if (deleted > 0) {
       if (metrics != null) {
         metrics.incrMetaCacheNumClearServer();
       }
       if (LOG.isTraceEnabled()) {
-        LOG.trace("Removed all cached region locations that map to " + serverName);
+        LOG.trace("Removed " + deleted + " cached region locations that map to " + serverName);
       }
     }
   }
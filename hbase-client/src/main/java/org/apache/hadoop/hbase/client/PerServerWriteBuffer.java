@@ -0,0 +1,466 @@
+/**
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.RegionLocations;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.Threads;
+
+/**
+ * The write buffer of a {@link BufferedMutatorImpl} in adaptive mode.
+ * <p>
+ * Mutations are appended to the buffer of the region server hosting their row, as found in the
+ * region location cache. The buffer of a server is submitted on its own to the
+ * {@link AsyncProcess} as soon as it reaches the batch size or its oldest mutation is older than
+ * the linger time. The batch size is the share of the write buffer size of each server, so that
+ * the whole write buffer is spread over the servers the mutator writes to. At most
+ * <code>maxInFlightPerServer</code> batches are sent to a server and not completed at a time: a
+ * slow server accumulates mutations in its own buffer while the other servers keep on receiving
+ * batches. The caller is only blocked when the sum of all the buffers exceeds the write buffer
+ * size.
+ * <p>
+ * The batches go through the {@link RequestController} of the {@link AsyncProcess}, as the
+ * default write buffer does: the rows it does not take, e.g. because their region already has a
+ * task in flight, stay at the head of their buffer, so that the mutations of a row are applied in
+ * order. A buffer is only submitted by one thread at a time for the same reason.
+ * <p>
+ * Mutations whose location is unknown are kept in a separate buffer, grouped by the
+ * {@link AsyncProcess} when sent. The server buffers are held back while it is not empty, as it
+ * may hold older mutations of their regions. When a region moves, its new mutations keep on
+ * going to the buffer of its previous server until that buffer is sent, so they are not sent
+ * before the older ones; the {@link AsyncProcess} routes them to the new server. Errors are
+ * tracked by the {@link AsyncProcess} as for the default write buffer.
+ */
+@InterfaceAudience.Private
+class PerServerWriteBuffer {
+
+  private static final Log LOG = LogFactory.getLog(PerServerWriteBuffer.class);
+
+  /** Sends the lingering mutations of all the adaptive mutators of the client */
+  private static final ScheduledThreadPoolExecutor LINGER_CHORE;
+  static {
+    LINGER_CHORE = new ScheduledThreadPoolExecutor(1,
+        Threads.newDaemonThreadFactory("BufferedMutator-linger"));
+    LINGER_CHORE.setRemoveOnCancelPolicy(true);
+  }
+
+  private final ClusterConnection conn;
+
+  private final TableName tableName;
+
+  private final AsyncProcess ap;
+
+  private final Function<List<Mutation>, AsyncProcessTask> taskFactory;
+
+  private final long minBatchSize;
+
+  private final long lingerMs;
+
+  private final int maxInFlightPerServer;
+
+  private volatile long writeBufferSize;
+
+  private final ConcurrentMap<ServerName, ServerBuffer> buffers = new ConcurrentHashMap<>();
+
+  private final ServerBuffer unlocated = new ServerBuffer(null);
+
+  /** The buffer the last mutation of each region, by encoded name, was appended to */
+  private final ConcurrentMap<String, ServerBuffer> regionBuffers = new ConcurrentHashMap<>();
+
+  private final AtomicLong bufferedSize = new AtomicLong(0);
+
+  private final AtomicInteger bufferedCount = new AtomicInteger(0);
+
+  private final ScheduledFuture<?> lingerChore;
+
+  /**
+   * The mutations buffered for one region server.
+   */
+  final class ServerBuffer {
+
+    private final ServerName serverName;
+
+    private List<Mutation> mutations = new ArrayList<>();
+
+    private long size;
+
+    private long oldest;
+
+    private long sendingOldest;
+
+    private boolean sending;
+
+    private final List<AsyncRequestFuture> inFlight = new ArrayList<>();
+
+    ServerBuffer(ServerName serverName) {
+      this.serverName = serverName;
+    }
+
+    synchronized void add(Mutation m, long heapSize) {
+      if (mutations.isEmpty()) {
+        oldest = EnvironmentEdgeManager.currentTime();
+      }
+      mutations.add(m);
+      size += heapSize;
+      bufferedSize.addAndGet(heapSize);
+      bufferedCount.incrementAndGet();
+    }
+
+    /**
+     * Appends the mutation only if some mutations are buffered or being sent.
+     * @return whether the mutation was appended.
+     */
+    synchronized boolean addIfNotEmpty(Mutation m, long heapSize) {
+      if (isEmpty()) {
+        return false;
+      }
+      add(m, heapSize);
+      return true;
+    }
+
+    /**
+     * @param force send whatever is buffered, whatever the batch size and linger time.
+     * @return the mutations to send, or null if the buffer should not be sent now. The caller
+     *         must hand the mutations it did not send back to {@link #sent}.
+     */
+    synchronized List<Mutation> take(boolean force, long batchSize) {
+      if (!canSend()) {
+        return null;
+      }
+      if (!force && size < batchSize
+          && EnvironmentEdgeManager.currentTime() - oldest < lingerMs) {
+        return null;
+      }
+      List<Mutation> batch = mutations;
+      mutations = new ArrayList<>();
+      bufferedSize.addAndGet(-size);
+      bufferedCount.addAndGet(-batch.size());
+      size = 0;
+      sendingOldest = oldest;
+      sending = true;
+      return batch;
+    }
+
+    /**
+     * @param future the future of the submitted mutations, null if the submit failed.
+     * @param remainder the mutations which were not submitted, put back at the head of the buffer.
+     */
+    synchronized void sent(AsyncRequestFuture future, List<Mutation> remainder) {
+      sending = false;
+      if (future != null && !future.isDone()) {
+        inFlight.add(future);
+      }
+      if (remainder.isEmpty()) {
+        return;
+      }
+      long remainderSize = 0;
+      for (Mutation m : remainder) {
+        remainderSize += m.heapSize();
+      }
+      oldest = sendingOldest;
+      mutations.addAll(0, remainder);
+      size += remainderSize;
+      bufferedSize.addAndGet(remainderSize);
+      bufferedCount.addAndGet(remainder.size());
+    }
+
+    synchronized long size() {
+      return size;
+    }
+
+    synchronized boolean isEmpty() {
+      return mutations.isEmpty() && !sending;
+    }
+
+    synchronized boolean canSend() {
+      if (sending || mutations.isEmpty()) {
+        return false;
+      }
+      for (Iterator<AsyncRequestFuture> it = inFlight.iterator(); it.hasNext();) {
+        if (it.next().isDone()) {
+          it.remove();
+        }
+      }
+      return inFlight.size() < maxInFlightPerServer;
+    }
+
+    /**
+     * @return a submitted batch which is not completed, null if none.
+     */
+    synchronized AsyncRequestFuture getInFlight() {
+      for (AsyncRequestFuture future : inFlight) {
+        if (!future.isDone()) {
+          return future;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public String toString() {
+      return serverName == null ? "unlocated" : serverName.toString();
+    }
+  }
+
+  PerServerWriteBuffer(ClusterConnection conn, TableName tableName, AsyncProcess ap,
+      Function<List<Mutation>, AsyncProcessTask> taskFactory, long writeBufferSize,
+      long minBatchSize, long lingerMs, int maxInFlightPerServer) {
+    this.conn = conn;
+    this.tableName = tableName;
+    this.ap = ap;
+    this.taskFactory = taskFactory;
+    this.writeBufferSize = writeBufferSize;
+    this.minBatchSize = minBatchSize;
+    this.lingerMs = lingerMs;
+    this.maxInFlightPerServer = Math.max(1, maxInFlightPerServer);
+    long period = Math.max(1, lingerMs / 2);
+    this.lingerChore = LINGER_CHORE.scheduleAtFixedRate(new Runnable() {
+
+      @Override
+      public void run() {
+        try {
+          sendExpired();
+        } catch (InterruptedIOException e) {
+          // The mutations stay buffered, the next flush of the mutator sends them.
+        } catch (RuntimeException e) {
+          // The mutations stay buffered, the next flush of the mutator sends them again.
+          LOG.warn("Failed to send the lingering mutations of " + tableName, e);
+        }
+      }
+    }, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  void setWriteBufferSize(long writeBufferSize) {
+    this.writeBufferSize = writeBufferSize;
+  }
+
+  /**
+   * The size a server buffer is sent at, i.e. the share of the write buffer of each server, but
+   * not less than the minimum batch size.
+   */
+  @VisibleForTesting
+  long getBatchSize() {
+    int servers = Math.max(1, buffers.size());
+    return Math.max(Math.min(minBatchSize, writeBufferSize), writeBufferSize / servers);
+  }
+
+  long getBufferedSize() {
+    return bufferedSize.get();
+  }
+
+  int getBufferedCount() {
+    return bufferedCount.get();
+  }
+
+  /**
+   * Buffer the mutations, sending the buffers which are ready. Blocks while the buffered size is
+   * above the write buffer size.
+   */
+  void add(List<? extends Mutation> ms) throws InterruptedIOException {
+    List<ServerBuffer> touched = new ArrayList<>(1);
+    for (Mutation m : ms) {
+      ServerBuffer buffer = append(m, m.heapSize());
+      if (!touched.contains(buffer)) {
+        touched.add(buffer);
+      }
+    }
+    long batchSize = getBatchSize();
+    for (ServerBuffer buffer : touched) {
+      send(buffer, false, batchSize);
+    }
+    while (bufferedSize.get() > writeBufferSize) {
+      if (!sendLargest()) {
+        waitForCompletion();
+      }
+    }
+  }
+
+  /**
+   * Appends the mutation to the buffer of the server hosting its row.
+   * @return the buffer the mutation was appended to.
+   */
+  private ServerBuffer append(Mutation m, long heapSize) {
+    HRegionLocation loc = locate(m.getRow());
+    if (loc == null) {
+      unlocated.add(m, heapSize);
+      return unlocated;
+    }
+    ServerBuffer buffer = buffers.get(loc.getServerName());
+    if (buffer == null) {
+      buffer = new ServerBuffer(loc.getServerName());
+      ServerBuffer existing = buffers.putIfAbsent(loc.getServerName(), buffer);
+      if (existing != null) {
+        buffer = existing;
+      }
+    }
+    String region = loc.getRegionInfo().getEncodedName();
+    ServerBuffer previous = regionBuffers.get(region);
+    if (previous != null && previous != buffer && previous.addIfNotEmpty(m, heapSize)) {
+      // The region moved while older mutations of it may still be buffered for its previous
+      // server: follow them.
+      return previous;
+    }
+    regionBuffers.put(region, buffer);
+    buffer.add(m, heapSize);
+    return buffer;
+  }
+
+  private HRegionLocation locate(byte[] row) {
+    try {
+      RegionLocations locs = conn.locateRegion(tableName, row, true, true,
+        RegionReplicaUtil.DEFAULT_REPLICA_ID);
+      HRegionLocation loc = locs == null ? null : locs.getDefaultRegionLocation();
+      return loc == null || loc.getServerName() == null ? null : loc;
+    } catch (IOException e) {
+      // The AsyncProcess will find out and report it if it can not locate the region either.
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Failed to locate the region of row in " + tableName + ", buffering it aside", e);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Submit the buffer to the {@link AsyncProcess} if it is ready. Does not wait for the servers.
+   * @return whether some mutations were submitted.
+   */
+  private boolean send(ServerBuffer buffer, boolean force, long batchSize)
+      throws InterruptedIOException {
+    if (buffer != unlocated && !unlocated.isEmpty()) {
+      return false;
+    }
+    List<Mutation> batch = buffer.take(force, batchSize);
+    if (batch == null) {
+      return false;
+    }
+    int count = batch.size();
+    AsyncRequestFuture future = null;
+    try {
+      // The submitted rows are removed from the batch.
+      future = ap.submit(taskFactory.apply(batch));
+    } finally {
+      buffer.sent(future, batch);
+      synchronized (this) {
+        notifyAll();
+      }
+    }
+    return batch.size() < count;
+  }
+
+  private boolean sendLargest() throws InterruptedIOException {
+    ServerBuffer largest = unlocated.canSend() ? unlocated : null;
+    long largestSize = largest == null ? 0 : largest.size();
+    for (ServerBuffer buffer : buffers.values()) {
+      long size = buffer.size();
+      if (size > largestSize && buffer.canSend()) {
+        largest = buffer;
+        largestSize = size;
+      }
+    }
+    return largest != null && send(largest, true, 0);
+  }
+
+  private void sendExpired() throws InterruptedIOException {
+    long batchSize = getBatchSize();
+    send(unlocated, false, batchSize);
+    for (ServerBuffer buffer : buffers.values()) {
+      send(buffer, false, batchSize);
+    }
+  }
+
+  /**
+   * Waits for a submitted batch to complete, or for a buffer submitted by another thread to be
+   * handed back.
+   */
+  private void waitForCompletion() throws InterruptedIOException {
+    long inProgress = ap.requestController.getNumberOfTasksInProgress();
+    if (inProgress > 0) {
+      // notified by the request controller when a task completes
+      ap.waitForMaximumCurrentTasks((int) inProgress - 1, tableName);
+      return;
+    }
+    AsyncRequestFuture inFlight = unlocated.getInFlight();
+    for (Iterator<ServerBuffer> it = buffers.values().iterator();
+        inFlight == null && it.hasNext();) {
+      inFlight = it.next().getInFlight();
+    }
+    if (inFlight != null) {
+      inFlight.waitUntilDone();
+      return;
+    }
+    try {
+      synchronized (this) {
+        wait(Math.max(1, Math.min(lingerMs, 10)));
+      }
+    } catch (InterruptedException e) {
+      throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+    }
+  }
+
+  /**
+   * Submit all the buffered mutations. Does not wait for the batches to complete: the caller
+   * waits for the {@link AsyncProcess}, which keeps their errors.
+   */
+  void flush() throws InterruptedIOException {
+    while (!isEmpty()) {
+      boolean sent = send(unlocated, true, 0);
+      for (ServerBuffer buffer : buffers.values()) {
+        sent |= send(buffer, true, 0);
+      }
+      if (!sent) {
+        waitForCompletion();
+      }
+    }
+  }
+
+  private boolean isEmpty() {
+    if (!unlocated.isEmpty()) {
+      return false;
+    }
+    for (ServerBuffer buffer : buffers.values()) {
+      if (!buffer.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  void close() {
+    lingerChore.cancel(false);
+  }
+}
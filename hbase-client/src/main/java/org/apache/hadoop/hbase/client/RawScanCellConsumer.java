@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.classification.InterfaceStability;
+
+/**
+ * A {@link RawScanResultConsumer} which receives the cells through a {@link CellCursor} instead of
+ * an array of {@link Result}, so no object is created per cell or per row.
+ * <p>
+ * The rows are passed as they are received from the region servers, as if
+ * {@link Scan#setAllowPartialResults(boolean)} was enabled: a row may be split over several calls
+ * to {@link #onNext(CellCursor, ScanController)}, check {@link CellCursor#mayHaveMoreCellsInRow()}.
+ * The cells which have already been passed are skipped when a scan is restarted after an error,
+ * as with partial results.
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Unstable
+public interface RawScanCellConsumer extends RawScanResultConsumer {
+
+  /**
+   * Indicate that we have received some data.
+   * @param cursor the cells fetched from HBase service. The cursor, and the cells it returns, are
+   *          only valid within the scope of onNext method.
+   * @param controller used to suspend or terminate the scan, see
+   *          {@link #onNext(Result[], ScanController)}.
+   */
+  void onNext(CellCursor cursor, ScanController controller);
+
+  /**
+   * Passes the cells of the results to {@link #onNext(CellCursor, ScanController)}. Not called by
+   * the scans of {@link RawAsyncTable}, which pass the received data directly.
+   */
+  @Override
+  default void onNext(Result[] results, ScanController controller) {
+    onNext(new ResultArrayCellCursor(results), controller);
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+
+/**
+ * A {@link CellCursor} over the cells of an array of {@link Result}, one row per result.
+ */
+@InterfaceAudience.Private
+class ResultArrayCellCursor implements CellCursor {
+
+  private final Result[] results;
+
+  private int resultIndex = -1;
+
+  private int cellIndex = -1;
+
+  ResultArrayCellCursor(Result[] results) {
+    this.results = results;
+  }
+
+  @Override
+  public boolean nextRow() {
+    while (++resultIndex < results.length) {
+      if (!results[resultIndex].isEmpty()) {
+        cellIndex = 0;
+        return true;
+      }
+    }
+    cellIndex = -1;
+    return false;
+  }
+
+  @Override
+  public boolean nextCell() {
+    if (cellIndex < 0 || cellIndex + 1 >= results[resultIndex].size()) {
+      return false;
+    }
+    cellIndex++;
+    return true;
+  }
+
+  @Override
+  public Cell current() {
+    return cellIndex < 0 ? null : results[resultIndex].rawCells()[cellIndex];
+  }
+
+  @Override
+  public boolean mayHaveMoreCellsInRow() {
+    return cellIndex >= 0 && results[resultIndex].mayHaveMoreCellsInRow();
+  }
+
+  @Override
+  public boolean isStale() {
+    return cellIndex >= 0 && results[resultIndex].isStale();
+  }
+}
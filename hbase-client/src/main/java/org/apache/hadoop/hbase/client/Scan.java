@@ -92,6 +92,8 @@ public class Scan extends Query {
   private static final Log LOG = LogFactory.getLog(Scan.class);
 
   private static final String RAW_ATTR = "_raw_";
+  private static final String STREAMING_WINDOW_ATTR = "_streaming_window_";
+  private static final String INTRA_REGION_PARALLELISM_ATTR = "_intra_region_parallelism_";
 
   private byte[] startRow = HConstants.EMPTY_START_ROW;
   private boolean includeStartRow = true;
@@ -1101,6 +1103,62 @@ public class Scan extends Query {
     return this;
   }
 
+  /**
+   * Set the number of batches the region server is allowed to scan ahead of the client.
+   * <p>
+   * With a positive window the region server keeps scanning the region in the background after
+   * answering a scan RPC, buffering up to <code>window</code> batches (each sized by caching and
+   * max result size) so that the next RPCs are answered without waiting for the region scan. Use
+   * it for large sequential scans which are bound by the round trip time. The server side may cap
+   * the window, and it is ignored if a limit is set on the scan or if the server enforces RPC
+   * quotas.
+   * @param window the number of batches the server may buffer, 0 to disable.
+   */
+  public Scan setStreamingWindow(int window) {
+    if (window < 0) {
+      throw new IllegalArgumentException("Streaming window must not be negative, got " + window);
+    }
+    setAttribute(STREAMING_WINDOW_ATTR, Bytes.toBytes(window));
+    return this;
+  }
+
+  /**
+   * @return the number of batches the region server may scan ahead of the client, 0 if disabled.
+   * @see #setStreamingWindow(int)
+   */
+  public int getStreamingWindow() {
+    byte[] attr = getAttribute(STREAMING_WINDOW_ATTR);
+    return attr == null ? 0 : Bytes.toInt(attr);
+  }
+
+  /**
+   * Set the number of threads the region server may use to read a region for this scan.
+   * <p>
+   * With a parallelism above 1 the region server reads the column families of a row in parallel,
+   * which helps wide rows spread over several families whose blocks are not cached. The results,
+   * their order and the batch and size limits are the same as for a sequential scan. The server
+   * caps the parallelism, and scans with a filter or reversed scans are read sequentially. Parallel
+   * scans are disabled on a region server unless hbase.regionserver.scan.parallel.threads is set.
+   * @param parallelism the number of threads reading the region, 0 or 1 to read sequentially.
+   */
+  public Scan setIntraRegionParallelism(int parallelism) {
+    if (parallelism < 0) {
+      throw new IllegalArgumentException(
+          "Intra region parallelism must not be negative, got " + parallelism);
+    }
+    setAttribute(INTRA_REGION_PARALLELISM_ATTR, Bytes.toBytes(parallelism));
+    return this;
+  }
+
+  /**
+   * @return the number of threads the region server may use to read a region, 0 if not set.
+   * @see #setIntraRegionParallelism(int)
+   */
+  public int getIntraRegionParallelism() {
+    byte[] attr = getAttribute(INTRA_REGION_PARALLELISM_ATTR);
+    return attr == null ? 0 : Bytes.toInt(attr);
+  }
+
   /**
    * @return the limit of rows for this scan
    */
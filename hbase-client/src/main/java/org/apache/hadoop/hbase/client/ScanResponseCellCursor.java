@@ -0,0 +1,247 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.CellScanner;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.KeyValueUtil;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.codec.FlyweightKeyValueDecoder;
+import org.apache.hadoop.hbase.ipc.CellBlockScanner;
+import org.apache.hadoop.hbase.shaded.protobuf.ResponseConverter;
+import org.apache.hadoop.hbase.shaded.protobuf.generated.ClientProtos.ScanResponse;
+
+/**
+ * The {@link CellCursor} over a {@link ScanResponse}.
+ * <p>
+ * The cells of the cell block are decoded in place when the codec allows it, otherwise they are
+ * read from the Results built as for {@link RawScanResultConsumer}. As with
+ * {@link AllowPartialScanResultCache}, the cells up to the last one returned before are skipped.
+ */
+@InterfaceAudience.Private
+class ScanResponseCellCursor implements CellCursor {
+
+  private final CellScanner cells;
+
+  private final int[] cellsPerRow;
+
+  private final boolean[] partialFlags;
+
+  private final boolean stale;
+
+  // the cells up to this one have already been returned, null once we have passed its row
+  private Cell keepCellsAfter;
+
+  private int row = -1;
+
+  private int cellsLeftInRow = 0;
+
+  private Cell current;
+
+  // whether the first row has been looked up, to know whether there is anything to consume
+  private boolean primed = false;
+
+  // whether the cursor is on the first row looked up by hasRows, not handed out by nextRow yet
+  private boolean pendingRow = false;
+
+  private int numberOfIndividualRows = 0;
+
+  private int lastRow = -1;
+
+  private ScanResponseCellCursor(CellScanner cells, int[] cellsPerRow, boolean[] partialFlags,
+      boolean stale, Cell keepCellsAfter) {
+    this.cells = cells;
+    this.cellsPerRow = cellsPerRow;
+    this.partialFlags = partialFlags;
+    this.stale = stale;
+    this.keepCellsAfter = keepCellsAfter;
+  }
+
+  /**
+   * @param cellScanner the cells received along with the response, may be null.
+   * @param keepCellsAfter the last cell returned before, may be null.
+   */
+  static ScanResponseCellCursor create(CellScanner cellScanner, ScanResponse resp,
+      Cell keepCellsAfter) throws IOException {
+    if (cellScanner instanceof CellBlockScanner) {
+      FlyweightKeyValueDecoder decoder = ((CellBlockScanner) cellScanner).flyweightDecoder();
+      if (decoder != null) {
+        int rows = resp.getCellsPerResultCount();
+        int[] cellsPerRow = new int[rows];
+        boolean[] partialFlags = new boolean[rows];
+        int expected = 0;
+        for (int i = 0; i < rows; i++) {
+          cellsPerRow[i] = resp.getCellsPerResult(i);
+          partialFlags[i] =
+              resp.getPartialFlagPerResultCount() > i ? resp.getPartialFlagPerResult(i) : false;
+          expected += cellsPerRow[i];
+        }
+        // Check the whole cell block up front, as the cursor can not report a decoding error.
+        int received = decoder.countRemainingCells();
+        if (received < expected) {
+          throw new DoNotRetryIOException("Results sent from server=" + expected
+              + " cells. But only got " + received + " cells at client.");
+        }
+        return new ScanResponseCellCursor(decoder, cellsPerRow, partialFlags, resp.getStale(),
+            keepCellsAfter);
+      }
+    }
+    Result[] results = ResponseConverter.getResults(cellScanner, resp);
+    int[] cellsPerRow = new int[results.length];
+    boolean[] partialFlags = new boolean[results.length];
+    for (int i = 0; i < results.length; i++) {
+      cellsPerRow[i] = results[i].size();
+      partialFlags[i] = results[i].mayHaveMoreCellsInRow();
+    }
+    return new ScanResponseCellCursor(CellUtil.createCellScanner(Arrays.asList(results)),
+        cellsPerRow, partialFlags, resp.getStale(), keepCellsAfter);
+  }
+
+  private Cell advance() {
+    try {
+      if (!cells.advance()) {
+        throw new IllegalStateException("Less cells than announced in the scan response");
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    cellsLeftInRow--;
+    return cells.current();
+  }
+
+  private boolean moveToNextCellInRow() {
+    while (cellsLeftInRow > 0) {
+      Cell cell = advance();
+      if (keepCellsAfter != null) {
+        if (!CellUtil.matchingRows(cell, keepCellsAfter)) {
+          keepCellsAfter = null;
+        } else if (CellComparator.compareWithoutRow(cell, keepCellsAfter) <= 0) {
+          continue;
+        } else {
+          keepCellsAfter = null;
+        }
+      }
+      current = cell;
+      return true;
+    }
+    current = null;
+    return false;
+  }
+
+  private boolean moveToNextRow() {
+    while (row < cellsPerRow.length) {
+      while (cellsLeftInRow > 0) {
+        advance();
+      }
+      row++;
+      if (row == cellsPerRow.length) {
+        break;
+      }
+      cellsLeftInRow = cellsPerRow[row];
+      if (moveToNextCellInRow()) {
+        lastRow = row;
+        if (!partialFlags[row]) {
+          numberOfIndividualRows++;
+        }
+        return true;
+      }
+    }
+    current = null;
+    return false;
+  }
+
+  /**
+   * @return whether there is at least one row to consume.
+   */
+  boolean hasRows() {
+    if (!primed) {
+      primed = true;
+      pendingRow = moveToNextRow();
+    }
+    return lastRow >= 0;
+  }
+
+  @Override
+  public boolean nextRow() {
+    if (!primed) {
+      primed = true;
+      return moveToNextRow();
+    }
+    if (pendingRow) {
+      pendingRow = false;
+      return true;
+    }
+    return moveToNextRow();
+  }
+
+  @Override
+  public boolean nextCell() {
+    return !pendingRow && current != null && moveToNextCellInRow();
+  }
+
+  @Override
+  public Cell current() {
+    return pendingRow ? null : current;
+  }
+
+  @Override
+  public boolean mayHaveMoreCellsInRow() {
+    return !pendingRow && row >= 0 && row < cellsPerRow.length && partialFlags[row];
+  }
+
+  @Override
+  public boolean isStale() {
+    return stale;
+  }
+
+  /**
+   * Skip the cells which have not been consumed, so that the position of the scan is known.
+   * @return a copy of the last cell of the response, null if there was none.
+   */
+  Cell finish() {
+    pendingRow = false;
+    while (moveToNextRow()) {
+      // skip
+    }
+    // the rows after the first one returned are never filtered, so the last cell decoded is the
+    // last cell returned
+    return lastRow >= 0 ? KeyValueUtil.copyToNewKeyValue(cells.current()) : null;
+  }
+
+  /**
+   * @return whether the last row of the response may have more cells. Only valid after
+   *         {@link #finish()}.
+   */
+  boolean lastRowMayHaveMoreCells() {
+    return lastRow >= 0 && partialFlags[lastRow];
+  }
+
+  /**
+   * @return the number of complete rows returned. Only valid after {@link #finish()}.
+   */
+  int getNumberOfIndividualRows() {
+    return numberOfIndividualRows;
+  }
+}
@@ -278,7 +278,15 @@ public enum EventType {
    *
    * RS_COMPACTED_FILES_DISCHARGER
    */
-  RS_COMPACTED_FILES_DISCHARGER (83, ExecutorType.RS_COMPACTED_FILES_DISCHARGER);
+  RS_COMPACTED_FILES_DISCHARGER (83, ExecutorType.RS_COMPACTED_FILES_DISCHARGER),
+
+  /**
+   * RS controlled events to be executed on the RS.<br>
+   *
+   * RS_PARALLEL_SCAN<br>
+   * RS fetches rows of the stores of a region in parallel for a scan
+   */
+  RS_PARALLEL_SCAN          (84, ExecutorType.RS_PARALLEL_SCAN);
 
   private final int code;
   private final ExecutorType executor;
@@ -212,20 +212,23 @@ final public class FilterList extends FilterBase {
     if (isEmpty()) {
       return super.filterRowKey(rowKey, offset, length);
     }
-    boolean flag = this.operator == Operator.MUST_PASS_ONE;
+    // every filter sees the row key, even once the result is known, to update its row state
     int listize = filters.size();
+    if (operator == Operator.MUST_PASS_ALL) {
+      boolean flag = false;
+      for (int i = 0; i < listize; i++) {
+        Filter filter = filters.get(i);
+        if (filter.filterAllRemaining() || filter.filterRowKey(rowKey, offset, length)) {
+          flag = true;
+        }
+      }
+      return flag;
+    }
+    boolean flag = true;
     for (int i = 0; i < listize; i++) {
       Filter filter = filters.get(i);
-      if (this.operator == Operator.MUST_PASS_ALL) {
-        if (filter.filterAllRemaining() ||
-            filter.filterRowKey(rowKey, offset, length)) {
-          flag =  true;
-        }
-      } else if (this.operator == Operator.MUST_PASS_ONE) {
-        if (!filter.filterAllRemaining() &&
-            !filter.filterRowKey(rowKey, offset, length)) {
-          flag =  false;
-        }
+      if (!filter.filterAllRemaining() && !filter.filterRowKey(rowKey, offset, length)) {
+        flag = false;
       }
     }
     return flag;
@@ -236,18 +239,23 @@ final public class FilterList extends FilterBase {
     if (isEmpty()) {
       return super.filterRowKey(firstRowCell);
     }
-    boolean flag = this.operator == Operator.MUST_PASS_ONE;
+    // every filter sees the row key, even once the result is known, to update its row state
     int listize = filters.size();
-    for (int i = 0; i < listize; i++) {
-      Filter filter = filters.get(i);
-      if (this.operator == Operator.MUST_PASS_ALL) {
+    if (operator == Operator.MUST_PASS_ALL) {
+      boolean flag = false;
+      for (int i = 0; i < listize; i++) {
+        Filter filter = filters.get(i);
         if (filter.filterAllRemaining() || filter.filterRowKey(firstRowCell)) {
           flag = true;
         }
-      } else if (this.operator == Operator.MUST_PASS_ONE) {
-        if (!filter.filterAllRemaining() && !filter.filterRowKey(firstRowCell)) {
-          flag = false;
-        }
+      }
+      return flag;
+    }
+    boolean flag = true;
+    for (int i = 0; i < listize; i++) {
+      Filter filter = filters.get(i);
+      if (!filter.filterAllRemaining() && !filter.filterRowKey(firstRowCell)) {
+        flag = false;
       }
     }
     return flag;
@@ -278,7 +286,8 @@ final public class FilterList extends FilterBase {
     if (isEmpty()) {
       return super.transformCell(c);
     }
-    if (!CellUtil.equals(c, referenceCell)) {
+    // the parent list passes the cell it just filtered, unless a filter before transformed it
+    if (c != referenceCell && !CellUtil.equals(c, referenceCell)) {
       throw new IllegalStateException("Reference Cell: " + this.referenceCell + " does not match: "
           + c);
     }
@@ -286,19 +295,57 @@ final public class FilterList extends FilterBase {
   }
 
   @Override
-  @edu.umd.cs.findbugs.annotations.SuppressWarnings(value="SF_SWITCH_FALLTHROUGH",
-    justification="Intentional")
   public ReturnCode filterKeyValue(Cell c) throws IOException {
     if (isEmpty()) {
       return ReturnCode.INCLUDE;
     }
     this.referenceCell = c;
+    return operator == Operator.MUST_PASS_ALL ? filterKeyValueMustPassAll(c)
+        : filterKeyValueMustPassOne(c);
+  }
 
+  /**
+   * Stops at the first filter which does not include the Cell.
+   */
+  @edu.umd.cs.findbugs.annotations.SuppressWarnings(value="SF_SWITCH_FALLTHROUGH",
+    justification="Intentional")
+  private ReturnCode filterKeyValueMustPassAll(Cell c) throws IOException {
     // Accumulates successive transformation of every filter that includes the Cell:
     Cell transformed = c;
+    ReturnCode rc = ReturnCode.INCLUDE;
+    int listize = filters.size();
+    for (int i = 0; i < listize; i++) {
+      Filter filter = filters.get(i);
+      if (filter.filterAllRemaining()) {
+        return ReturnCode.NEXT_ROW;
+      }
+      ReturnCode code = filter.filterKeyValue(c);
+      switch (code) {
+      // Override INCLUDE and continue to evaluate.
+      case INCLUDE_AND_NEXT_COL:
+        rc = ReturnCode.INCLUDE_AND_NEXT_COL; // FindBugs SF_SWITCH_FALLTHROUGH
+      case INCLUDE:
+        transformed = filter.transformCell(transformed);
+        continue;
+      case SEEK_NEXT_USING_HINT:
+        seekHintFilter = filter;
+        return code;
+      default:
+        return code;
+      }
+    }
+    // Save the transformed Cell for transform():
+    this.transformedCell = transformed;
+    return rc;
+  }
 
-    ReturnCode rc = operator == Operator.MUST_PASS_ONE?
-        ReturnCode.SKIP: ReturnCode.INCLUDE;
+  /**
+   * Evaluates all the filters, each one keeps its state up to date.
+   */
+  private ReturnCode filterKeyValueMustPassOne(Cell c) throws IOException {
+    // Accumulates successive transformation of every filter that includes the Cell:
+    Cell transformed = c;
+    ReturnCode rc = ReturnCode.SKIP;
     int listize = filters.size();
     /*
      * When all filters in a MUST_PASS_ONE FilterList return a SEEK_USING_NEXT_HINT code,
@@ -311,71 +358,41 @@ final public class FilterList extends FilterBase {
     boolean seenNonHintReturnCode = false;
     for (int i = 0; i < listize; i++) {
       Filter filter = filters.get(i);
-      if (operator == Operator.MUST_PASS_ALL) {
-        if (filter.filterAllRemaining()) {
-          return ReturnCode.NEXT_ROW;
-        }
-        ReturnCode code = filter.filterKeyValue(c);
-        switch (code) {
-        // Override INCLUDE and continue to evaluate.
-        case INCLUDE_AND_NEXT_COL:
-          rc = ReturnCode.INCLUDE_AND_NEXT_COL; // FindBugs SF_SWITCH_FALLTHROUGH
-        case INCLUDE:
-          transformed = filter.transformCell(transformed);
-          continue;
-        case SEEK_NEXT_USING_HINT:
-          seekHintFilter = filter;
-          return code;
-        default:
-          return code;
-        }
-      } else if (operator == Operator.MUST_PASS_ONE) {
-        if (filter.filterAllRemaining()) {
-          seenNonHintReturnCode = true;
-          continue;
-        }
+      if (filter.filterAllRemaining()) {
+        seenNonHintReturnCode = true;
+        continue;
+      }
 
-        ReturnCode localRC = filter.filterKeyValue(c);
-        if (localRC != ReturnCode.SEEK_NEXT_USING_HINT) {
-          seenNonHintReturnCode = true;
-        }
-        switch (localRC) {
-        case INCLUDE:
-          if (rc != ReturnCode.INCLUDE_AND_NEXT_COL) {
-            rc = ReturnCode.INCLUDE;
-          }
-          transformed = filter.transformCell(transformed);
-          break;
-        case INCLUDE_AND_NEXT_COL:
-          rc = ReturnCode.INCLUDE_AND_NEXT_COL;
-          transformed = filter.transformCell(transformed);
-          // must continue here to evaluate all filters
-          break;
-        case NEXT_ROW:
-          break;
-        case SKIP:
-          break;
-        case NEXT_COL:
-          break;
-        case SEEK_NEXT_USING_HINT:
-          break;
-        default:
-          throw new IllegalStateException("Received code is not valid.");
+      ReturnCode localRC = filter.filterKeyValue(c);
+      switch (localRC) {
+      case INCLUDE:
+        if (rc != ReturnCode.INCLUDE_AND_NEXT_COL) {
+          rc = ReturnCode.INCLUDE;
         }
+        transformed = filter.transformCell(transformed);
+        break;
+      case INCLUDE_AND_NEXT_COL:
+        rc = ReturnCode.INCLUDE_AND_NEXT_COL;
+        transformed = filter.transformCell(transformed);
+        // must continue here to evaluate all filters
+        break;
+      case NEXT_ROW:
+      case SKIP:
+      case NEXT_COL:
+        break;
+      case SEEK_NEXT_USING_HINT:
+        continue;
+      default:
+        throw new IllegalStateException("Received code is not valid.");
       }
+      seenNonHintReturnCode = true;
     }
 
     // Save the transformed Cell for transform():
     this.transformedCell = transformed;
 
-    /*
-     * The seenNonHintReturnCode flag is intended only for Operator.MUST_PASS_ONE branch.
-     * If we have seen non SEEK_NEXT_USING_HINT ReturnCode, respect that ReturnCode.
-     */
-    if (operator == Operator.MUST_PASS_ONE && !seenNonHintReturnCode) {
-      return ReturnCode.SEEK_NEXT_USING_HINT;
-    }
-    return rc;
+    // If we have seen non SEEK_NEXT_USING_HINT ReturnCode, respect that ReturnCode.
+    return seenNonHintReturnCode ? rc : ReturnCode.SEEK_NEXT_USING_HINT;
   }
 
   /**
@@ -495,10 +512,11 @@ final public class FilterList extends FilterBase {
     // If any condition can pass, we need to keep the min hint
     int listize = filters.size();
     for (int i = 0; i < listize; i++) {
-      if (filters.get(i).filterAllRemaining()) {
+      Filter filter = filters.get(i);
+      if (filter.filterAllRemaining()) {
         continue;
       }
-      Cell curKeyHint = filters.get(i).getNextCellHint(currentCell);
+      Cell curKeyHint = filter.getNextCellHint(currentCell);
       if (curKeyHint == null) {
         // If we ever don't have a hint and this is must-pass-one, then no hint
         return null;
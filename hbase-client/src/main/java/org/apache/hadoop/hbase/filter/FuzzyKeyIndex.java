@@ -0,0 +1,226 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.filter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
+
+/**
+ * The fuzzy keys of a {@link FuzzyRowFilter} compiled for lookups in time mostly independent of
+ * their number.
+ * <p>
+ * The keys are grouped by mask. Within a group the fixed bytes of each key, taken in the order of
+ * their positions, are sorted, so the keys matching a row on its first fixed positions form a
+ * range found by binary search, narrowed position after position. A row matches a group when the
+ * range is not empty once its fixed positions are all consumed.
+ * <p>
+ * The next row satisfying a group is the one of a key sharing the longest prefix with the current
+ * row, so it is one of the first or last keys of the ranges met while narrowing, or one of the
+ * keys next to the row byte at a fixed position. Only these few candidates are passed to
+ * {@link FuzzyRowFilter#getNextForFuzzyRule(boolean, byte[], int, int, byte[], byte[])}, which
+ * gives the same hints as trying every key.
+ */
+@InterfaceAudience.Private
+final class FuzzyKeyIndex {
+
+  private final Group[] groups;
+
+  /**
+   * @param fuzzyKeysData the fuzzy keys, with their masks preprocessed: -1 for the fixed positions
+   */
+  FuzzyKeyIndex(List<Pair<byte[], byte[]>> fuzzyKeysData) {
+    Map<byte[], List<byte[]>> keysByMask = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+    for (Pair<byte[], byte[]> fuzzyData : fuzzyKeysData) {
+      byte[] mask = new byte[fuzzyData.getSecond().length];
+      for (int i = 0; i < mask.length; i++) {
+        mask[i] = fuzzyData.getSecond()[i] == -1 ? (byte) -1 : 0;
+      }
+      List<byte[]> keys = keysByMask.get(mask);
+      if (keys == null) {
+        keys = new ArrayList<>();
+        keysByMask.put(mask, keys);
+      }
+      keys.add(fuzzyData.getFirst());
+    }
+    groups = new Group[keysByMask.size()];
+    int i = 0;
+    for (Map.Entry<byte[], List<byte[]>> entry : keysByMask.entrySet()) {
+      groups[i++] = new Group(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * @return whether the row satisfies any fuzzy key
+   */
+  boolean matches(byte[] row, int offset, int length) {
+    for (Group group : groups) {
+      if (group.matches(row, offset, length)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the next row, in the direction of the scan, which may satisfy a fuzzy key, or null if
+   *         there is none
+   */
+  byte[] nextRow(boolean reverse, byte[] row, int offset, int length) {
+    byte[] next = null;
+    for (Group group : groups) {
+      byte[] candidate = group.nextRow(reverse, row, offset, length);
+      if (candidate != null && (next == null || before(reverse, candidate, next))) {
+        next = candidate;
+      }
+    }
+    return next;
+  }
+
+  private static boolean before(boolean reverse, byte[] left, byte[] right) {
+    int cmp = Bytes.compareTo(left, right);
+    return reverse ? cmp > 0 : cmp < 0;
+  }
+
+  /**
+   * The keys sharing a mask.
+   */
+  private static final class Group {
+
+    // -1 at the fixed positions, 0 elsewhere
+    private final byte[] mask;
+    private final int[] fixedPositions;
+    // the keys, sorted by their bytes at the fixed positions
+    private final byte[][] keys;
+
+    Group(byte[] mask, List<byte[]> keys) {
+      this.mask = mask;
+      int count = 0;
+      for (byte b : mask) {
+        if (b == -1) {
+          count++;
+        }
+      }
+      this.fixedPositions = new int[count];
+      for (int i = 0, j = 0; i < mask.length; i++) {
+        if (mask[i] == -1) {
+          fixedPositions[j++] = i;
+        }
+      }
+      this.keys = new byte[keys.size()][];
+      for (int i = 0; i < this.keys.length; i++) {
+        byte[] key = keys.get(i).clone();
+        for (int j = 0; j < key.length; j++) {
+          if (mask[j] != -1) {
+            key[j] = 0;
+          }
+        }
+        this.keys[i] = key;
+      }
+      // the bytes at the other positions are all zero
+      Arrays.sort(this.keys, Bytes.BYTES_COMPARATOR);
+    }
+
+    boolean matches(byte[] row, int offset, int length) {
+      int lo = 0;
+      int hi = keys.length;
+      for (int j = 0; j < fixedPositions.length && fixedPositions[j] < length; j++) {
+        int position = fixedPositions[j];
+        int b = row[offset + position] & 0xff;
+        lo = lowerBound(lo, hi, position, b);
+        hi = lowerBound(lo, hi, position, b + 1);
+        if (lo == hi) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    byte[] nextRow(boolean reverse, byte[] row, int offset, int length) {
+      if (length < mask.length) {
+        // the rule looks past the end of the row then, try it for each key as is
+        byte[] next = null;
+        for (byte[] key : keys) {
+          next = better(reverse, next,
+            FuzzyRowFilter.getNextForFuzzyRule(reverse, row, offset, length, key, mask));
+        }
+        return next;
+      }
+      byte[] next = null;
+      int lo = 0;
+      int hi = keys.length;
+      for (int j = 0; j <= fixedPositions.length; j++) {
+        // the keys in [lo, hi) match the row on the fixed positions before
+        next = tryKey(reverse, next, lo, row, offset, length);
+        next = tryKey(reverse, next, hi - 1, row, offset, length);
+        if (j == fixedPositions.length) {
+          break;
+        }
+        int position = fixedPositions[j];
+        int b = row[offset + position] & 0xff;
+        int lower = lowerBound(lo, hi, position, b);
+        int upper = lowerBound(lower, hi, position, b + 1);
+        if (lower > lo) {
+          next = tryKey(reverse, next, lower - 1, row, offset, length);
+        }
+        if (upper < hi) {
+          next = tryKey(reverse, next, upper, row, offset, length);
+        }
+        lo = lower;
+        hi = upper;
+        if (lo == hi) {
+          break;
+        }
+      }
+      return next;
+    }
+
+    private byte[] tryKey(boolean reverse, byte[] next, int index, byte[] row, int offset,
+        int length) {
+      return better(reverse, next,
+        FuzzyRowFilter.getNextForFuzzyRule(reverse, row, offset, length, keys[index], mask));
+    }
+
+    private static byte[] better(boolean reverse, byte[] next, byte[] candidate) {
+      return candidate != null && (next == null || before(reverse, candidate, next)) ? candidate
+          : next;
+    }
+
+    /**
+     * @return the first index in [lo, hi) of a key with a byte at the position not lower than the
+     *         given value, the keys in the range sharing all the fixed bytes before the position
+     */
+    private int lowerBound(int lo, int hi, int position, int value) {
+      while (lo < hi) {
+        int mid = (lo + hi) >>> 1;
+        if ((keys[mid][position] & 0xff) < value) {
+          lo = mid + 1;
+        } else {
+          hi = mid;
+        }
+      }
+      return lo;
+    }
+  }
+}
@@ -57,11 +57,21 @@ import com.google.common.annotations.VisibleForTesting;
  * (one can use any value instead of "?") fuzzy info =
  * "\x01\x01\x01\x01\x00\x00\x00\x00\x01\x01\x01\x01\x00\x00\x00" I.e. fuzzy info tells the matching
  * mask is "????_99_????_01", where at ? can be any value.
+ * <p>
+ * With more than a few fuzzy keys, they are compiled into a sorted index over their fixed bytes,
+ * so matching a row and finding the next one to seek to does not cost a pass over all the keys.
  */
 @InterfaceAudience.Public
 @InterfaceStability.Evolving
 public class FuzzyRowFilter extends FilterBase {
   private static final boolean UNSAFE_UNALIGNED = UnsafeAvailChecker.unaligned();
+
+  /**
+   * The number of fuzzy keys from which they are compiled into a {@link FuzzyKeyIndex}.
+   */
+  @VisibleForTesting
+  static final int MIN_INDEXED_FUZZY_KEYS = 16;
+
   private List<Pair<byte[], byte[]>> fuzzyKeysData;
   private boolean done = false;
 
@@ -77,6 +87,12 @@ public class FuzzyRowFilter extends FilterBase {
    */
   private RowTracker tracker;
 
+  /**
+   * The compiled fuzzy keys, used instead of the row tracker when there are many of them, null
+   * otherwise.
+   */
+  private final FuzzyKeyIndex index;
+
   public FuzzyRowFilter(List<Pair<byte[], byte[]>> fuzzyKeysData) {
     Pair<byte[], byte[]> p;
     for (int i = 0; i < fuzzyKeysData.size(); i++) {
@@ -93,6 +109,9 @@ public class FuzzyRowFilter extends FilterBase {
     }
     this.fuzzyKeysData = fuzzyKeysData;
     this.tracker = new RowTracker();
+    // the masks are only preprocessed for the unsafe comparisons
+    this.index = UNSAFE_UNALIGNED && fuzzyKeysData.size() >= MIN_INDEXED_FUZZY_KEYS
+        ? new FuzzyKeyIndex(fuzzyKeysData) : null;
   }
 
   private void preprocessSearchKey(Pair<byte[], byte[]> p) {
@@ -143,6 +162,10 @@ public class FuzzyRowFilter extends FilterBase {
 
   @Override
   public ReturnCode filterKeyValue(Cell c) {
+    if (index != null) {
+      return index.matches(c.getRowArray(), c.getRowOffset(), c.getRowLength())
+          ? ReturnCode.INCLUDE : ReturnCode.SEEK_NEXT_USING_HINT;
+    }
     final int startIndex = lastFoundIndex >= 0 ? lastFoundIndex : 0;
     final int size = fuzzyKeysData.size();
     for (int i = startIndex; i < size + startIndex; i++) {
@@ -169,6 +192,15 @@ public class FuzzyRowFilter extends FilterBase {
 
   @Override
   public Cell getNextCellHint(Cell currentCell) {
+    if (index != null) {
+      byte[] nextRowKey = index.nextRow(isReversed(), currentCell.getRowArray(),
+        currentCell.getRowOffset(), currentCell.getRowLength());
+      if (nextRowKey == null) {
+        done = true;
+        return null;
+      }
+      return CellUtil.createFirstOnRow(nextRowKey, 0, (short) nextRowKey.length);
+    }
     boolean result = tracker.updateTracker(currentCell);
     if (result == false) {
       done = true;
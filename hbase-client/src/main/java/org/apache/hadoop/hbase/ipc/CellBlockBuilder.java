@@ -245,13 +245,18 @@ class CellBlockBuilder {
     // Use this method from Client side to create the CellScanner
     if (compressor != null) {
       ByteBuffer cellBlockBuf = decompress(compressor, cellBlock);
-      return codec.getDecoder(new ByteBufferInputStream(cellBlockBuf));
+      if (!cellBlockBuf.hasArray()) {
+        return codec.getDecoder(new ByteBufferInputStream(cellBlockBuf));
+      }
+      return new CellBlockScanner(codec, cellBlockBuf.array(),
+          cellBlockBuf.arrayOffset() + cellBlockBuf.position(), cellBlockBuf.remaining());
     }
     // Not making the Decoder over the ByteBuffer purposefully. The Decoder over the BB will
     // make Cells directly over the passed BB. This method is called at client side and we don't
     // want the Cells to share the same byte[] where the RPC response is being read. Caching of any
-    // of the Cells at user's app level will make it not possible to GC the response byte[]
-    return codec.getDecoder(new ByteArrayInputStream(cellBlock));
+    // of the Cells at user's app level will make it not possible to GC the response byte[]. Only
+    // the consumers which do not keep the cells decode them in place, see CellBlockScanner.
+    return new CellBlockScanner(codec, cellBlock, 0, cellBlock.length);
   }
 
   /**
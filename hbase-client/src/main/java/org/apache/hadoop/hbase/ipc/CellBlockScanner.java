@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.ipc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellScanner;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.codec.Codec;
+import org.apache.hadoop.hbase.codec.FlyweightKeyValueDecoder;
+import org.apache.hadoop.hbase.codec.KeyValueCodec;
+import org.apache.hadoop.hbase.codec.KeyValueCodecWithTags;
+
+/**
+ * The CellScanner of a cell block received by the client.
+ * <p>
+ * By default the cells are decoded by the codec, each of them copied out of the cell block so
+ * that the response can be garbage collected while the user holds some of its cells. The cell
+ * block can also be decoded in place through {@link #flyweightDecoder()}, as long as it has not
+ * been scanned already.
+ */
+@InterfaceAudience.Private
+public class CellBlockScanner implements CellScanner {
+
+  private final Codec codec;
+
+  private final byte[] cellBlock;
+
+  private final int offset;
+
+  private final int length;
+
+  private CellScanner decoder;
+
+  CellBlockScanner(Codec codec, byte[] cellBlock, int offset, int length) {
+    this.codec = codec;
+    this.cellBlock = cellBlock;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  @Override
+  public Cell current() {
+    return decoder != null ? decoder.current() : null;
+  }
+
+  @Override
+  public boolean advance() throws IOException {
+    if (decoder == null) {
+      decoder = codec.getDecoder(new ByteArrayInputStream(cellBlock, offset, length));
+    }
+    return decoder.advance();
+  }
+
+  /**
+   * @return a decoder reusing a single Cell instance over the cell block, or null if the codec
+   *         does not write KeyValues or if this scanner has already been advanced.
+   */
+  public FlyweightKeyValueDecoder flyweightDecoder() {
+    if (decoder != null) {
+      return null;
+    }
+    if (codec.getClass() != KeyValueCodec.class
+        && codec.getClass() != KeyValueCodecWithTags.class) {
+      return null;
+    }
+    return new FlyweightKeyValueDecoder(cellBlock, offset, length);
+  }
+}
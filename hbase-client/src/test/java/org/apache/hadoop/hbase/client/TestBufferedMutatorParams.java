@@ -126,6 +126,7 @@ public class TestBufferedMutatorParams {
     BufferedMutator.ExceptionListener listener = new MockExceptionListener();
     bmp.writeBufferSize(17).maxKeyValueSize(13).pool(pool).listener(listener);
     bmp.implementationClassName("someClassName");
+    bmp.adaptive(true).lingerMs(7).maxInFlightPerServer(3);
     BufferedMutatorParams clone = bmp.clone();
 
     // Confirm some literals
@@ -133,6 +134,9 @@ public class TestBufferedMutatorParams {
     assertEquals(17, clone.getWriteBufferSize());
     assertEquals(13, clone.getMaxKeyValueSize());
     assertEquals("someClassName", clone.getImplementationClassName());
+    assertTrue(clone.isAdaptive());
+    assertEquals(7, clone.getLingerMs());
+    assertEquals(3, clone.getMaxInFlightPerServer());
 
     cloneTest(bmp, clone);
 
@@ -160,6 +164,9 @@ public class TestBufferedMutatorParams {
     assertTrue(some.getListener() == clone.getListener());
     assertTrue(some.getPool() == clone.getPool());
     assertEquals(some.getImplementationClassName(), clone.getImplementationClassName());
+    assertEquals(some.isAdaptive(), clone.isAdaptive());
+    assertEquals(some.getLingerMs(), clone.getLingerMs());
+    assertEquals(some.getMaxInFlightPerServer(), clone.getMaxInFlightPerServer());
   }
 
 }
@@ -0,0 +1,353 @@
+/**
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.RegionLocations;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.ipc.RpcControllerFactory;
+import org.apache.hadoop.hbase.testclassification.ClientTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+@Category({ ClientTests.class, SmallTests.class })
+public class TestPerServerWriteBuffer {
+
+  private static final TableName TABLE = TableName.valueOf("TestPerServerWriteBuffer");
+  private static final byte[] FAMILY = Bytes.toBytes("cf");
+  private static final ServerName SN1 = ServerName.valueOf("s1,1,1");
+  private static final ServerName SN2 = ServerName.valueOf("s2,2,2");
+  private static final HRegionLocation LOC1 = new HRegionLocation(
+      new HRegionInfo(TABLE, HConstants.EMPTY_START_ROW, Bytes.toBytes("b")), SN1);
+  private static final HRegionLocation LOC2 = new HRegionLocation(
+      new HRegionInfo(TABLE, Bytes.toBytes("b"), HConstants.EMPTY_END_ROW), SN2);
+
+  private Configuration conf;
+  private ClusterConnection conn;
+  /** Whether the region of the rows before b moved to s2 */
+  private volatile boolean moved;
+
+  /**
+   * Records the submitted batches. The batches of a server are completed only once its latch is
+   * released. The rows of the servers in <code>rejected</code> are not taken, as the
+   * RequestController does when their region is busy.
+   */
+  private static class RecordingAsyncProcess extends AsyncProcess {
+
+    final List<List<Row>> batches = new CopyOnWriteArrayList<>();
+    final ConcurrentMap<ServerName, CountDownLatch> blocked = new ConcurrentHashMap<>();
+    final Set<ServerName> rejected = new CopyOnWriteArraySet<>();
+
+    RecordingAsyncProcess(ClusterConnection conn, Configuration conf) {
+      super(conn, conf, new RpcRetryingCallerFactory(conf), true, new RpcControllerFactory(conf));
+    }
+
+    @Override
+    public <Res> AsyncRequestFuture submit(AsyncProcessTask<Res> task)
+        throws InterruptedIOException {
+      assertEquals(AsyncProcessTask.SubmittedRows.NORMAL, task.getSubmittedRows());
+      List<Row> rows = new ArrayList<>();
+      for (Iterator<? extends Row> it = task.getRowAccess().iterator(); it.hasNext();) {
+        Row r = it.next();
+        if (!rejected.contains(serverOf(r.getRow()))) {
+          rows.add(r);
+          it.remove();
+        }
+      }
+      if (rows.isEmpty()) {
+        AsyncRequestFuture future = Mockito.mock(AsyncRequestFuture.class);
+        Mockito.when(future.isDone()).thenReturn(true);
+        return future;
+      }
+      batches.add(rows);
+      final CountDownLatch latch = blocked.get(serverOf(rows.get(0).getRow()));
+      AsyncRequestFuture future = Mockito.mock(AsyncRequestFuture.class);
+      Mockito.when(future.isDone()).thenAnswer(new Answer<Boolean>() {
+        @Override
+        public Boolean answer(InvocationOnMock invocation) throws Throwable {
+          return latch == null || latch.getCount() == 0;
+        }
+      });
+      try {
+        Mockito.doAnswer(new Answer<Void>() {
+          @Override
+          public Void answer(InvocationOnMock invocation) throws Throwable {
+            if (latch != null) {
+              latch.await();
+            }
+            return null;
+          }
+        }).when(future).waitUntilDone();
+      } catch (InterruptedIOException e) {
+        throw new AssertionError(e);
+      }
+      return future;
+    }
+  }
+
+  private static ServerName serverOf(byte[] row) {
+    return Bytes.compareTo(row, Bytes.toBytes("b")) < 0 ? SN1 : SN2;
+  }
+
+  @Before
+  public void setUp() throws IOException {
+    conf = new Configuration();
+    conf.setLong(ConnectionConfiguration.WRITE_BUFFER_MIN_BATCH_SIZE_KEY, 1);
+    conn = Mockito.mock(ClusterConnection.class);
+    Mockito.when(conn.getConfiguration()).thenReturn(conf);
+    Mockito.when(conn.getConnectionConfiguration())
+        .thenReturn(new ConnectionConfiguration(conf));
+    Mockito.when(conn.locateRegion(Mockito.eq(TABLE), Mockito.any(byte[].class),
+      Mockito.anyBoolean(), Mockito.anyBoolean(), Mockito.anyInt()))
+        .thenAnswer(new Answer<RegionLocations>() {
+          @Override
+          public RegionLocations answer(InvocationOnMock invocation) throws Throwable {
+            byte[] row = (byte[]) invocation.getArguments()[1];
+            if (serverOf(row) == SN1) {
+              return new RegionLocations(
+                  moved ? new HRegionLocation(LOC1.getRegionInfo(), SN2) : LOC1);
+            }
+            return new RegionLocations(LOC2);
+          }
+        });
+  }
+
+  private BufferedMutatorImpl createMutator(RecordingAsyncProcess ap, long writeBufferSize,
+      long lingerMs) {
+    BufferedMutatorParams params = new BufferedMutatorParams(TABLE)
+        .pool(Executors.newCachedThreadPool()).writeBufferSize(writeBufferSize).adaptive(true)
+        .lingerMs(lingerMs).maxInFlightPerServer(1);
+    return new BufferedMutatorImpl(conn, params, ap);
+  }
+
+  private static Put createPut(String row) {
+    return new Put(Bytes.toBytes(row)).addColumn(FAMILY, FAMILY, new byte[100]);
+  }
+
+  private static void assertSingleServer(List<Row> batch) {
+    ServerName sn = serverOf(batch.get(0).getRow());
+    for (Row r : batch) {
+      assertEquals(sn, serverOf(r.getRow()));
+    }
+  }
+
+  @Test
+  public void testBatchPerServer() throws Exception {
+    RecordingAsyncProcess ap = new RecordingAsyncProcess(conn, conf);
+    BufferedMutatorImpl mutator = createMutator(ap, 1024 * 1024, 60000);
+    assertNotNull(mutator.getPerServerBuffer());
+    for (int i = 0; i < 100; i++) {
+      mutator.mutate(createPut("a" + i));
+      mutator.mutate(createPut("c" + i));
+    }
+    assertEquals(200, mutator.size());
+    assertTrue(ap.batches.isEmpty());
+    mutator.flush();
+    assertEquals(0, mutator.size());
+    assertEquals(0, mutator.getCurrentWriteBufferSize());
+    assertEquals(2, ap.batches.size());
+    int rows = 0;
+    for (List<Row> batch : ap.batches) {
+      assertSingleServer(batch);
+      rows += batch.size();
+    }
+    assertEquals(200, rows);
+    mutator.close();
+  }
+
+  private static int countBatches(RecordingAsyncProcess ap, ServerName sn) {
+    int count = 0;
+    for (List<Row> batch : ap.batches) {
+      if (serverOf(batch.get(0).getRow()) == sn) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static int countRows(RecordingAsyncProcess ap, ServerName sn) {
+    int count = 0;
+    for (List<Row> batch : ap.batches) {
+      if (serverOf(batch.get(0).getRow()) == sn) {
+        count += batch.size();
+      }
+    }
+    return count;
+  }
+
+  private static void waitForRows(RecordingAsyncProcess ap, ServerName sn, int count)
+      throws InterruptedException {
+    long start = System.currentTimeMillis();
+    while (countRows(ap, sn) < count) {
+      assertTrue(System.currentTimeMillis() - start < 10000);
+      Thread.sleep(5);
+    }
+  }
+
+  @Test
+  public void testSlowServerDoesNotStallOthers() throws Exception {
+    RecordingAsyncProcess ap = new RecordingAsyncProcess(conn, conf);
+    CountDownLatch slow = new CountDownLatch(1);
+    ap.blocked.put(SN1, slow);
+    long putSize = createPut("a00").heapSize();
+    // room for 20 puts, each server sends as soon as it has 10 puts
+    BufferedMutatorImpl mutator = createMutator(ap, 20 * putSize, 60000);
+    mutator.mutate(createPut("c00"));
+    for (int i = 0; i < 10; i++) {
+      mutator.mutate(createPut(String.format("a%02d", i)));
+    }
+    waitForRows(ap, SN1, 10);
+    // the first batch of s1 never completes, the following puts of s1 stay in its buffer
+    for (int i = 10; i < 15; i++) {
+      mutator.mutate(createPut(String.format("a%02d", i)));
+    }
+    // while s2 keeps receiving batches
+    for (int i = 1; i < 100; i++) {
+      mutator.mutate(createPut(String.format("c%02d", i)));
+    }
+    // s2 batches may be merged while one is in flight, so a few puts may remain buffered
+    waitForRows(ap, SN2, 91);
+    assertEquals(1, countBatches(ap, SN1));
+    assertTrue(mutator.size() >= 5);
+    for (List<Row> batch : ap.batches) {
+      assertSingleServer(batch);
+    }
+    slow.countDown();
+    mutator.flush();
+    assertEquals(0, mutator.size());
+    assertEquals(2, countBatches(ap, SN1));
+    int rows = 0;
+    for (List<Row> batch : ap.batches) {
+      rows += batch.size();
+    }
+    assertEquals(115, rows);
+    mutator.close();
+  }
+
+  @Test
+  public void testRowsNotTakenStayInOrder() throws Exception {
+    RecordingAsyncProcess ap = new RecordingAsyncProcess(conn, conf);
+    ap.rejected.add(SN1);
+    long putSize = createPut("a00").heapSize();
+    // room for 20 puts, each server sends as soon as it has 10 puts
+    BufferedMutatorImpl mutator = createMutator(ap, 20 * putSize, 60000);
+    mutator.mutate(createPut("c00"));
+    for (int i = 0; i < 15; i++) {
+      mutator.mutate(createPut(String.format("a%02d", i)));
+    }
+    // the puts of s1 are submitted but not taken, they stay buffered
+    assertTrue(ap.batches.isEmpty());
+    assertEquals(16, mutator.size());
+    assertEquals(16 * putSize, mutator.getCurrentWriteBufferSize());
+    ap.rejected.clear();
+    for (int i = 15; i < 20; i++) {
+      mutator.mutate(createPut(String.format("a%02d", i)));
+    }
+    mutator.flush();
+    assertEquals(0, mutator.size());
+    List<Row> rows = new ArrayList<>();
+    for (List<Row> batch : ap.batches) {
+      if (serverOf(batch.get(0).getRow()) == SN1) {
+        rows.addAll(batch);
+      }
+    }
+    assertEquals(20, rows.size());
+    for (int i = 0; i < 20; i++) {
+      assertEquals(String.format("a%02d", i), Bytes.toString(rows.get(i).getRow()));
+    }
+    mutator.close();
+  }
+
+  @Test
+  public void testRegionMoveKeepsOrder() throws Exception {
+    RecordingAsyncProcess ap = new RecordingAsyncProcess(conn, conf);
+    BufferedMutatorImpl mutator = createMutator(ap, 1024 * 1024, 60000);
+    mutator.mutate(createPut("c00"));
+    for (int i = 0; i < 5; i++) {
+      mutator.mutate(createPut(String.format("a%02d", i)));
+    }
+    moved = true;
+    // still buffered for s1, the older puts of the region are sent first
+    for (int i = 5; i < 10; i++) {
+      mutator.mutate(createPut(String.format("a%02d", i)));
+    }
+    mutator.flush();
+    assertEquals(0, mutator.size());
+    List<Row> rows = null;
+    for (List<Row> batch : ap.batches) {
+      if (Bytes.toString(batch.get(0).getRow()).startsWith("a")) {
+        assertNull(rows);
+        rows = batch;
+      }
+    }
+    assertEquals(10, rows.size());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(String.format("a%02d", i), Bytes.toString(rows.get(i).getRow()));
+    }
+    mutator.close();
+  }
+
+  @Test
+  public void testLinger() throws Exception {
+    RecordingAsyncProcess ap = new RecordingAsyncProcess(conn, conf);
+    BufferedMutatorImpl mutator = createMutator(ap, 1024 * 1024, 10);
+    mutator.mutate(createPut("a"));
+    long start = System.currentTimeMillis();
+    while (ap.batches.isEmpty()) {
+      assertTrue(System.currentTimeMillis() - start < 10000);
+      Thread.sleep(5);
+    }
+    assertEquals(1, ap.batches.get(0).size());
+    mutator.close();
+  }
+
+  @Test
+  public void testNotAdaptiveByDefault() throws Exception {
+    RecordingAsyncProcess ap = new RecordingAsyncProcess(conn, conf);
+    BufferedMutatorImpl mutator =
+        new BufferedMutatorImpl(conn, new BufferedMutatorParams(TABLE), ap);
+    assertNull(mutator.getPerServerBuffer());
+    mutator.close();
+  }
+}
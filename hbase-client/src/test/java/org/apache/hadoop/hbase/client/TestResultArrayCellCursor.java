@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.testclassification.ClientTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ ClientTests.class, SmallTests.class })
+public class TestResultArrayCellCursor {
+
+  private static final byte[] FAMILY = Bytes.toBytes("cf");
+
+  private static Result createResult(String row, int cells, boolean mayHaveMoreCellsInRow) {
+    List<Cell> list = new ArrayList<>();
+    for (int i = 0; i < cells; i++) {
+      list.add(new KeyValue(Bytes.toBytes(row), FAMILY, Bytes.toBytes(i), Bytes.toBytes(i)));
+    }
+    return Result.create(list, null, false, mayHaveMoreCellsInRow);
+  }
+
+  @Test
+  public void testConsumerOfResults() {
+    final List<String> cells = new ArrayList<>();
+    final List<Boolean> mayHaveMoreCells = new ArrayList<>();
+    RawScanCellConsumer consumer = new RawScanCellConsumer() {
+      @Override
+      public void onNext(CellCursor cursor, ScanController controller) {
+        while (cursor.nextRow()) {
+          do {
+            Cell cell = cursor.current();
+            cells.add(Bytes.toString(CellUtil.cloneRow(cell)) + "/"
+                + Bytes.toInt(CellUtil.cloneQualifier(cell)));
+          } while (cursor.nextCell());
+          mayHaveMoreCells.add(cursor.mayHaveMoreCellsInRow());
+        }
+        assertNull(cursor.current());
+      }
+
+      @Override
+      public void onError(Throwable error) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    };
+    // a consumer of cells can be used as a plain consumer of results
+    RawScanResultConsumer resultConsumer = consumer;
+    resultConsumer.onNext(new Result[] { createResult("a", 2, false),
+        Result.create(Collections.<Cell> emptyList()), createResult("b", 1, true) }, null);
+    assertEquals(3, cells.size());
+    assertEquals("a/0", cells.get(0));
+    assertEquals("a/1", cells.get(1));
+    assertEquals("b/0", cells.get(2));
+    assertFalse(mayHaveMoreCells.get(0));
+    assertTrue(mayHaveMoreCells.get(1));
+  }
+}
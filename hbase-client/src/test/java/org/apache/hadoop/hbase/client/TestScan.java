@@ -197,5 +197,34 @@ public class TestScan {
       fail("expected IllegalArgumentException to be thrown");
     }
   }
-}
 
+  @Test
+  public void testStreamingWindow() throws IOException {
+    Scan scan = new Scan();
+    assertEquals(0, scan.getStreamingWindow());
+    scan.setStreamingWindow(3);
+    Scan scan2 = ProtobufUtil.toScan(ProtobufUtil.toScan(scan));
+    assertEquals(3, scan2.getStreamingWindow());
+    assertEquals(3, new Scan(scan).getStreamingWindow());
+    try {
+      scan.setStreamingWindow(-1);
+      fail("should've thrown exception");
+    } catch (IllegalArgumentException iae) {
+    }
+  }
+
+  @Test
+  public void testIntraRegionParallelism() throws IOException {
+    Scan scan = new Scan();
+    assertEquals(0, scan.getIntraRegionParallelism());
+    scan.setIntraRegionParallelism(4);
+    Scan scan2 = ProtobufUtil.toScan(ProtobufUtil.toScan(scan));
+    assertEquals(4, scan2.getIntraRegionParallelism());
+    assertEquals(4, new Scan(scan).getIntraRegionParallelism());
+    try {
+      scan.setIntraRegionParallelism(-1);
+      fail("should've thrown exception");
+    } catch (IllegalArgumentException iae) {
+    }
+  }
+}
@@ -286,6 +286,12 @@ public final class HConstants {
   /** Parameter name for how often a region should should perform a major compaction */
   public static final String MAJOR_COMPACTION_PERIOD = "hbase.hregion.majorcompaction";
 
+  /**
+   * The start key of the region name a client sends the coordinated major compaction of a table to
+   * the master with
+   */
+  public static final byte[] MAJOR_COMPACTION_REQUEST_START_KEY = Bytes.toBytes(".majorcompaction");
+
   /** Parameter name for the maximum batch of KVs to be used in flushes and compactions */
   public static final String COMPACTION_KV_MAX = "hbase.hstore.compaction.kv.max";
   public static final int COMPACTION_KV_MAX_DEFAULT = 10;
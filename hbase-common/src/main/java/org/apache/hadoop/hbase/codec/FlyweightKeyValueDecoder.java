@@ -0,0 +1,106 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.codec;
+
+import java.io.IOException;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * Decodes the cells written by {@link KeyValueCodec} or {@link KeyValueCodecWithTags} in place,
+ * without allocating anything per cell.
+ * <p>
+ * The {@link Cell} returned by {@link #current()} is a single {@link KeyValue} instance which is
+ * moved over the passed buffer on each {@link #advance()}. It is only valid until the next call
+ * to {@link #advance()}, and must be copied to be kept any longer.
+ */
+@InterfaceAudience.Private
+public class FlyweightKeyValueDecoder implements Codec.Decoder {
+
+  /**
+   * A KeyValue which can be moved over another serialized KeyValue.
+   */
+  private static final class FlyweightKeyValue extends KeyValue {
+
+    void reset(byte[] bytes, int offset, int length) {
+      this.bytes = bytes;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+
+  private final byte[] buf;
+
+  private final int end;
+
+  private int pos;
+
+  private final FlyweightKeyValue current = new FlyweightKeyValue();
+
+  private boolean positioned = false;
+
+  public FlyweightKeyValueDecoder(byte[] buf, int offset, int length) {
+    this.buf = buf;
+    this.pos = offset;
+    this.end = offset + length;
+  }
+
+  private int readLength(int at) throws CodecException {
+    if (end - at < Bytes.SIZEOF_INT) {
+      throw new CodecException("Truncated cell length at " + at);
+    }
+    int len = Bytes.toInt(buf, at);
+    if (len < 0 || len > end - at - Bytes.SIZEOF_INT) {
+      throw new CodecException("Invalid cell length " + len + " at " + at);
+    }
+    return len;
+  }
+
+  @Override
+  public boolean advance() throws IOException {
+    if (pos >= end) {
+      return false;
+    }
+    int len = readLength(pos);
+    current.reset(buf, pos + Bytes.SIZEOF_INT, len);
+    pos += Bytes.SIZEOF_INT + len;
+    positioned = true;
+    return true;
+  }
+
+  @Override
+  public Cell current() {
+    return positioned ? current : null;
+  }
+
+  /**
+   * Walk the lengths of the cells which have not been decoded yet, without moving the decoder.
+   * @return the number of cells left.
+   * @throws CodecException if the buffer does not hold whole cells.
+   */
+  public int countRemainingCells() throws CodecException {
+    int count = 0;
+    for (int at = pos; at < end; count++) {
+      at += Bytes.SIZEOF_INT + readLength(at);
+    }
+    return count;
+  }
+}
@@ -21,6 +21,8 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.apache.hadoop.hbase.ByteBufferCell;
 import org.apache.hadoop.hbase.Cell;
@@ -51,6 +53,8 @@ abstract class BufferedDataBlockEncoder extends AbstractDataBlockEncoder {
    * TODO: This datablockencoder is dealing in internals of hfileblocks. Purge reference to HFBs
    */
   private static int INITIAL_KEY_BUFFER_SIZE = 512;
+  // the number of rows a reversed scan decodes at most to step back a row in a block
+  private static final int ROW_STATE_INTERVAL = 16;
 
   @Override
   public ByteBuffer decodeKeyValues(DataInputStream source,
@@ -730,6 +734,16 @@ abstract class BufferedDataBlockEncoder extends AbstractDataBlockEncoder {
     // many object creations.
     protected final ObjectIntPair<ByteBuffer> tmpPair = new ObjectIntPair<>();
     protected STATE current, previous;
+    // Saved on the first step back to a previous row so that a reversed scan does not decode the
+    // block again for each row: the offsets after the first key of each row of the current block,
+    // and the states at the first key of one row in ROW_STATE_INTERVAL, to decode the rows after
+    // from as the keys are encoded against the previous ones. The states are released when the
+    // seeker moves to another block.
+    private int[] rowOffsets = new int[0];
+    private int rowCount = -1;
+    private final ArrayList<STATE> rowStates = new ArrayList<>();
+    // the first key of the last row seen while saving or stepping back
+    private STATE rowStart;
 
     public BufferedEncodedSeeker(CellComparator comparator,
         HFileBlockDecodingContext decodingCtx) {
@@ -757,6 +771,12 @@ abstract class BufferedDataBlockEncoder extends AbstractDataBlockEncoder {
         this.tagCompressionContext.clear();
       }
       currentBuffer = buffer;
+      if (rowCount >= 0) {
+        // the states of a block are not kept past it
+        rowStates.clear();
+        rowStates.trimToSize();
+        rowCount = -1;
+      }
       current.currentBuffer = currentBuffer;
       if(tagCompressionContext != null) {
         current.tagCompressionContext = tagCompressionContext;
@@ -934,6 +954,111 @@ abstract class BufferedDataBlockEncoder extends AbstractDataBlockEncoder {
       return 1;
     }
 
+    @Override
+    public int seekToPreviousRowInBlock(Cell key) {
+      if (tagCompressionContext != null) {
+        // The tags dictionary of a saved state would not match the one of the later keys
+        return seekToPreviousRowByDecoding(key);
+      }
+      if (rowCount < 0) {
+        saveRowStates();
+      }
+      // the first saved state with a key not less than the given key
+      int low = 0;
+      int high = rowStates.size();
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        STATE state = rowStates.get(mid);
+        keyOnlyKV.setKey(state.keyBuffer, 0, state.keyLength);
+        if (comparator.compareKeyIgnoresMvcc(keyOnlyKV, key) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      if (low == 0) {
+        return -1;
+      }
+      restore(rowStates.get(low - 1));
+      // decode the next rows while their first key is less than the given key
+      int row = (low - 1) * ROW_STATE_INTERVAL;
+      int end = Math.min(rowCount, low * ROW_STATE_INTERVAL);
+      for (int nextRow = row + 1; nextRow < end; nextRow++) {
+        rowStart.invalidate();
+        rowStart.copyFromNext(current);
+        do {
+          next();
+        } while (current.nextKvOffset != rowOffsets[nextRow]);
+        if (compareKey(comparator, key) <= 0) {
+          restore(rowStart);
+          break;
+        }
+        row = nextRow;
+      }
+      previous.invalidate();
+      return row == 0 ? 0 : 1;
+    }
+
+    private void restore(STATE state) {
+      current.invalidate();
+      current.copyFromNext(state);
+      // move after the restored key value
+      currentBuffer.position(current.nextKvOffset);
+      current.setKey(current.keyBuffer, current.memstoreTS);
+    }
+
+    private void saveRowStates() {
+      if (rowStart == null) {
+        rowStart = createSeekerState();
+      }
+      rewind();
+      rowCount = 0;
+      do {
+        if (rowCount > 0) {
+          keyOnlyKV.setKey(rowStart.keyBuffer, 0, rowStart.keyLength);
+          if (CellUtil.matchingRows(keyOnlyKV, current.currentKey)) {
+            continue;
+          }
+        }
+        if (rowCount == rowOffsets.length) {
+          rowOffsets = Arrays.copyOf(rowOffsets, Math.max(ROW_STATE_INTERVAL, rowCount * 2));
+        }
+        rowOffsets[rowCount] = current.nextKvOffset;
+        if (rowCount % ROW_STATE_INTERVAL == 0) {
+          STATE state = createSeekerState();
+          state.copyFromNext(current);
+          rowStates.add(state);
+        }
+        rowCount++;
+        rowStart.invalidate();
+        rowStart.copyFromNext(current);
+      } while (next());
+    }
+
+    private int seekToPreviousRowByDecoding(Cell key) {
+      rewind();
+      // the index of the first key of the row of the last key less than the given key
+      int rowStart = -1;
+      byte[] row = null;
+      for (int index = 0; compareKey(comparator, key) > 0; index++) {
+        if (row == null || !CellUtil.matchingRow(current.currentKey, row)) {
+          rowStart = index;
+          row = CellUtil.cloneRow(current.currentKey);
+        }
+        if (!next()) {
+          break;
+        }
+      }
+      if (rowStart < 0) {
+        return -1;
+      }
+      rewind();
+      for (int index = 0; index < rowStart; index++) {
+        next();
+      }
+      return rowStart == 0 ? 0 : 1;
+    }
+
     private int compareTypeBytes(Cell key, Cell right) {
       if (key.getFamilyLength() + key.getQualifierLength() == 0
           && key.getTypeByte() == Type.Minimum.getCode()) {
@@ -187,6 +187,16 @@ public interface DataBlockEncoder {
      */
     int seekToKeyInBlock(Cell key, boolean seekBefore);
 
+    /**
+     * Moves the seeker position within the current block to the first key of the row of the last
+     * key that is strictly less than the given key. Used by reversed scans to step back one row at
+     * a time, the caller is responsible for loading the previous block when the row starts there.
+     * @param key - Cell the row before which to seek
+     * @return -1 if no key of the block is less than the given key, the position is undefined
+     *         then; 0 if positioned at the first key of the block; 1 if positioned at a later key
+     */
+    int seekToPreviousRowInBlock(Cell key);
+
     /**
      * Compare the given key against the current key
      * @param comparator
@@ -48,6 +48,8 @@ public class RowIndexSeekerV1 extends AbstractEncodedSeeker {
 
   private int rowNumber;
   private ByteBuff rowOffsets = null;
+  // buffer backed keyonlyKV for the first key of a row
+  private final ByteBufferKeyOnlyKeyValue rowFirstKey = new ByteBufferKeyOnlyKeyValue();
 
   public RowIndexSeekerV1(CellComparator comparator,
       HFileBlockDecodingContext decodingCtx) {
@@ -228,6 +230,34 @@ public class RowIndexSeekerV1 extends AbstractEncodedSeeker {
     return 1;
   }
 
+  @Override
+  public int seekToPreviousRowInBlock(Cell key) {
+    // the first row with a first key not less than the given key
+    int low = 0;
+    int high = rowNumber;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (comparator.compareKeyIgnoresMvcc(getRowFirstKey(mid), key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    if (low == 0) {
+      return -1;
+    }
+    decodeAtPosition(rowOffsets.getIntAfterPosition((low - 1) * Bytes.SIZEOF_INT));
+    return low == 1 ? 0 : 1;
+  }
+
+  private Cell getRowFirstKey(int index) {
+    int offset = rowOffsets.getIntAfterPosition(index * Bytes.SIZEOF_INT);
+    int keyLength = currentBuffer.getInt(offset);
+    currentBuffer.asSubByteBuffer(offset + Bytes.SIZEOF_LONG, keyLength, tmpPair);
+    rowFirstKey.setKey(tmpPair.getFirst(), tmpPair.getSecond(), keyLength);
+    return rowFirstKey;
+  }
+
   private void moveToPrevious() {
     if (!previous.isValid()) {
       throw new IllegalStateException("Can move back only once and not in first key in the block.");
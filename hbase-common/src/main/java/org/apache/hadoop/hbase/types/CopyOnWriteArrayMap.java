@@ -22,6 +22,7 @@ import org.apache.hadoop.hbase.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.classification.InterfaceStability;
 
 import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Iterator;
@@ -31,6 +32,7 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.function.BiFunction;
 
 /**
  * A Map that keeps a sorted array in order to provide the concurrent map interface.
@@ -395,6 +397,38 @@ public class CopyOnWriteArrayMap<K, V> extends AbstractMap<K, V>
     return null;
   }
 
+  /**
+   * Apply the function to every entry, with a single copy of the array however many entries
+   * change. The entry is replaced by the returned value, or removed if it is null.
+   * @return the number of entries replaced or removed.
+   */
+  public synchronized int computeAll(BiFunction<? super K, ? super V, ? extends V> function) {
+    ArrayHolder<K, V> current = this.holder;
+    COWEntry<K, V>[] newEntries = new COWEntry[current.getLength()];
+    int length = 0;
+    int changed = 0;
+    for (int i = current.startIndex; i < current.endIndex; i++) {
+      COWEntry<K, V> entry = current.entries[i];
+      V newValue = function.apply(entry.getKey(), entry.getValue());
+      if (newValue == entry.getValue()) {
+        newEntries[length++] = entry;
+        continue;
+      }
+      changed++;
+      if (newValue != null) {
+        newEntries[length++] = new COWEntry<>(entry.getKey(), newValue);
+      }
+    }
+    if (changed > 0) {
+      if (length < newEntries.length) {
+        newEntries = Arrays.copyOf(newEntries, length);
+      }
+      this.holder =
+          new ArrayHolder<>(newEntries, 0, length, current.keyComparator, current.comparator);
+    }
+    return changed;
+  }
+
   @Override
   public Entry<K, V> pollFirstEntry() {
     throw new UnsupportedOperationException();
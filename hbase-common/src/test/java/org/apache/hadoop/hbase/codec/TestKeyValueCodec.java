@@ -19,6 +19,7 @@ package org.apache.hadoop.hbase.codec;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
@@ -27,6 +28,8 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.testclassification.MiscTests;
 import org.apache.hadoop.hbase.testclassification.SmallTests;
@@ -123,4 +126,48 @@ public class TestKeyValueCodec {
     dis.close();
     assertEquals((length * 3), cis.getCount());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testFlyweightDecoder() throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    DataOutputStream dos = new DataOutputStream(baos);
+    KeyValueCodec kvc = new KeyValueCodec();
+    Codec.Encoder encoder = kvc.getEncoder(dos);
+    KeyValue[] kvs = new KeyValue[3];
+    for (int i = 0; i < kvs.length; i++) {
+      kvs[i] = new KeyValue(Bytes.toBytes("r" + i), Bytes.toBytes("f"), Bytes.toBytes("q" + i),
+          i, Bytes.toBytes("value" + i));
+      encoder.write(kvs[i]);
+    }
+    encoder.flush();
+    dos.close();
+    // surround the cells with some garbage, the decoder only looks at the passed range
+    byte[] cells = baos.toByteArray();
+    byte[] buf = new byte[cells.length + 10];
+    System.arraycopy(cells, 0, buf, 5, cells.length);
+    FlyweightKeyValueDecoder decoder = new FlyweightKeyValueDecoder(buf, 5, cells.length);
+    assertEquals(3, decoder.countRemainingCells());
+    Cell first = null;
+    for (KeyValue kv : kvs) {
+      assertTrue(decoder.advance());
+      Cell cell = decoder.current();
+      if (first == null) {
+        first = cell;
+      }
+      assertSame(first, cell);
+      assertTrue(CellUtil.equals(kv, cell));
+      assertEquals(kv.getTimestamp(), cell.getTimestamp());
+      assertTrue(CellUtil.matchingValue(cell, kv));
+    }
+    assertEquals(0, decoder.countRemainingCells());
+    assertFalse(decoder.advance());
+
+    FlyweightKeyValueDecoder truncated = new FlyweightKeyValueDecoder(cells, 0, cells.length - 1);
+    try {
+      truncated.countRemainingCells();
+      throw new AssertionError("Truncated cells should not be counted");
+    } catch (CodecException e) {
+      // expected
+    }
+  }
+}
@@ -309,4 +309,26 @@ public class TestCopyOnWriteMaps {
     assertEquals(5, m.size());
     assertEquals(false, m.isEmpty());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testComputeAll() throws Exception {
+    m.clear();
+    for (long i = 0; i < 10; i++) {
+      m.put(i, i);
+    }
+    CopyOnWriteArrayMap<Long, Long> cowm = (CopyOnWriteArrayMap<Long, Long>) m;
+    // remove the odd keys, add 100 to the multiples of four, leave the others untouched
+    int changed = cowm.computeAll((k, v) -> k % 2 == 1 ? null : k % 4 == 0 ? v + 100 : v);
+    assertEquals(8, changed);
+    assertEquals(5, m.size());
+    long n = 0;
+    for (Map.Entry<Long, Long> e : m.entrySet()) {
+      assertEquals(new Long(n), e.getKey());
+      assertEquals(new Long(n % 4 == 0 ? n + 100 : n), e.getValue());
+      n += 2;
+    }
+    assertEquals(new Long(4), m.floorKey(5L));
+    assertEquals(0, cowm.computeAll((k, v) -> v));
+    assertEquals(5, m.size());
+  }
+}
@@ -32,6 +32,8 @@ import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.coprocessor.ColumnInterpreter;
 import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
 import org.apache.hadoop.hbase.protobuf.generated.AggregateProtos.AggregateRequest;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse;
 import org.apache.hadoop.hbase.util.Bytes;
 
 /**
@@ -106,4 +108,18 @@ public class AggregationHelper {
       throw new IOException(e);
     }
   }
+
+  /**
+   * @return the aggregations of a group by request, with no result yet
+   */
+  public static GroupAggregation parseGroupAggregation(GroupAggregateRequest request) {
+    return GroupAggregation.parseFrom(request);
+  }
+
+  /**
+   * @return the groups of an aggregation, to be sent back to the client
+   */
+  public static GroupAggregateResponse toGroupAggregateResponse(GroupAggregation aggregation) {
+    return aggregation.toResponse();
+  }
 }
@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client.coprocessor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.classification.InterfaceStability;
+import org.apache.hadoop.hbase.client.RawAsyncTable;
+import org.apache.hadoop.hbase.client.RawAsyncTable.CoprocessorCallback;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateService;
+
+/**
+ * This client class is for computing the aggregations of a {@link GroupAggregation} in one scan,
+ * with the GroupAggregateService deployed on the Region Server side. The results of the regions
+ * are merged as they arrive, and can be followed region by region while the others are still
+ * scanning.
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Unstable
+public class AsyncGroupAggregationClient {
+
+  private AsyncGroupAggregationClient() {
+  }
+
+  /**
+   * @param table the table to aggregate the rows of
+   * @param aggregation the aggregations to compute
+   * @param scan the rows to aggregate, the columns aggregated are added to it when it selects
+   *          columns. The rows can not be returned in batches.
+   * @return the results of the aggregations for all the rows
+   */
+  public static CompletableFuture<GroupAggregation> aggregate(RawAsyncTable table,
+      GroupAggregation aggregation, Scan scan) {
+    return aggregate(table, aggregation, scan, null);
+  }
+
+  /**
+   * @param table the table to aggregate the rows of
+   * @param aggregation the aggregations to compute
+   * @param scan the rows to aggregate, the columns aggregated are added to it when it selects
+   *          columns. The rows can not be returned in batches.
+   * @param regionListener called with the results of each region as it completes, may be null
+   * @return the results of the aggregations for all the rows
+   */
+  public static CompletableFuture<GroupAggregation> aggregate(RawAsyncTable table,
+      GroupAggregation aggregation, Scan scan,
+      BiConsumer<HRegionInfo, GroupAggregation> regionListener) {
+    CompletableFuture<GroupAggregation> future = new CompletableFuture<>();
+    GroupAggregateRequest req;
+    try {
+      req = toRequest(aggregation, scan);
+    } catch (IOException e) {
+      future.completeExceptionally(e);
+      return future;
+    }
+    GroupAggregation result = aggregation.newPartial();
+    CoprocessorCallback<GroupAggregateResponse> callback =
+        new CoprocessorCallback<GroupAggregateResponse>() {
+
+          private boolean finished = false;
+
+          private void completeExceptionally(Throwable error) {
+            if (finished) {
+              return;
+            }
+            finished = true;
+            future.completeExceptionally(error);
+          }
+
+          @Override
+          public synchronized void onRegionComplete(HRegionInfo region,
+              GroupAggregateResponse resp) {
+            if (finished) {
+              return;
+            }
+            try {
+              if (regionListener == null) {
+                result.merge(resp);
+              } else {
+                GroupAggregation regionResult = aggregation.newPartial();
+                regionResult.merge(resp);
+                regionListener.accept(region, regionResult);
+                result.merge(regionResult);
+              }
+            } catch (IOException e) {
+              completeExceptionally(e);
+            }
+          }
+
+          @Override
+          public synchronized void onRegionError(HRegionInfo region, Throwable error) {
+            completeExceptionally(error);
+          }
+
+          @Override
+          public synchronized void onError(Throwable error) {
+            completeExceptionally(error);
+          }
+
+          @Override
+          public synchronized void onComplete() {
+            if (finished) {
+              return;
+            }
+            finished = true;
+            future.complete(result);
+          }
+        };
+    table.coprocessorService(channel -> GroupAggregateService.newStub(channel),
+      (stub, controller, rpcCallback) -> stub.aggregate(controller, req, rpcCallback),
+      scan.getStartRow(), scan.includeStartRow(), scan.getStopRow(), scan.includeStopRow(),
+      callback);
+    return future;
+  }
+
+  private static GroupAggregateRequest toRequest(GroupAggregation aggregation, Scan scan)
+      throws IOException {
+    if (aggregation.getAggregations().isEmpty()) {
+      throw new IOException("No aggregation to compute");
+    }
+    if (scan.getBatch() > 0) {
+      throw new IOException("Rows can not be aggregated in batches");
+    }
+    Scan copy = new Scan(scan);
+    if (copy.hasFamilies()) {
+      List<AggregateColumn> columns = new ArrayList<>(aggregation.getGroupBy());
+      for (Aggregation agg : aggregation.getAggregations()) {
+        if (agg.hasColumn()) {
+          columns.add(agg.getColumn());
+        }
+      }
+      for (AggregateColumn column : columns) {
+        byte[] family = column.getFamily().toByteArray();
+        NavigableSet<byte[]> qualifiers = copy.getFamilyMap().get(family);
+        // a family selected as a whole already has the column
+        if (!copy.getFamilyMap().containsKey(family) || qualifiers != null) {
+          copy.addColumn(family, column.getQualifier().toByteArray());
+        }
+      }
+    }
+    return GroupAggregateRequest.newBuilder().setScan(ProtobufUtil.toScan(copy))
+        .addAllGroupBy(aggregation.getGroupBy()).addAllAggregation(aggregation.getAggregations())
+        .build();
+  }
+}
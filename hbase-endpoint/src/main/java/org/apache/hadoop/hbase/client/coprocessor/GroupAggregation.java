@@ -0,0 +1,462 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client.coprocessor;
+
+import com.google.protobuf.ByteString;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.classification.InterfaceStability;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * Describes the aggregations a {@link AsyncGroupAggregationClient} computes in one scan, and holds
+ * their results. The rows are grouped by the values of the group by columns, a missing value being
+ * empty, and each aggregation is computed for each group:
+ * <ul>
+ * <li>count: the number of rows, or of cells of a column</li>
+ * <li>sum, min, max: of the 8 byte long values of a column, the other values are ignored</li>
+ * <li>count distinct: the estimated number of distinct values of a column, see
+ * {@link HyperLogLog}</li>
+ * <li>quantiles: the estimated quantiles of the 8 byte long values of a column, see
+ * {@link QuantileSketch}</li>
+ * </ul>
+ * The aggregations are referred to by the order they were added in. For example, the number of
+ * rows and the median latency per host:
+ * <pre>
+ * GroupAggregation aggregation = new GroupAggregation().groupBy(CF, HOST).count()
+ *     .quantiles(CF, LATENCY);
+ * for (GroupAggregation.Group group : client.aggregate(table, aggregation, scan).get()
+ *     .getGroups()) {
+ *   print(group.getKey(0), group.getCount(0), group.getQuantile(1, 0.5));
+ * }
+ * </pre>
+ * All the groups of a region are kept in memory, the group by columns are expected to have few
+ * distinct values.
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Unstable
+public class GroupAggregation {
+
+  private final List<AggregateColumn> groupBy;
+  private final List<Aggregation> aggregations;
+  // the family and qualifier of each group by column then of each aggregation, set on parse
+  private byte[][] families;
+  private byte[][] qualifiers;
+  // by the group by values, each one prefixed with its length
+  private final TreeMap<byte[], Group> groups = new TreeMap<>(Bytes.BYTES_COMPARATOR);
+
+  public GroupAggregation() {
+    this(new ArrayList<>(), new ArrayList<>());
+  }
+
+  private GroupAggregation(List<AggregateColumn> groupBy, List<Aggregation> aggregations) {
+    this.groupBy = groupBy;
+    this.aggregations = aggregations;
+  }
+
+  /**
+   * @return the aggregations of a request, with no result yet
+   */
+  static GroupAggregation parseFrom(GroupAggregateRequest request) {
+    GroupAggregation aggregation = new GroupAggregation(
+        new ArrayList<>(request.getGroupByList()), new ArrayList<>(request.getAggregationList()));
+    aggregation.parseColumns();
+    return aggregation;
+  }
+
+  private void parseColumns() {
+    int count = groupBy.size() + aggregations.size();
+    families = new byte[count][];
+    qualifiers = new byte[count][];
+    for (int i = 0; i < count; i++) {
+      AggregateColumn column;
+      if (i < groupBy.size()) {
+        column = groupBy.get(i);
+      } else if (aggregations.get(i - groupBy.size()).hasColumn()) {
+        column = aggregations.get(i - groupBy.size()).getColumn();
+      } else {
+        continue;
+      }
+      families[i] = column.getFamily().toByteArray();
+      qualifiers[i] = column.getQualifier().toByteArray();
+    }
+  }
+
+  /**
+   * @return the same aggregations, with no result yet
+   */
+  @InterfaceAudience.Private
+  public GroupAggregation newPartial() {
+    GroupAggregation partial = new GroupAggregation(groupBy, aggregations);
+    partial.families = families;
+    partial.qualifiers = qualifiers;
+    return partial;
+  }
+
+  public GroupAggregation groupBy(byte[] family, byte[] qualifier) {
+    groupBy.add(toColumn(family, qualifier));
+    return this;
+  }
+
+  /**
+   * Count the rows.
+   */
+  public GroupAggregation count() {
+    aggregations.add(Aggregation.newBuilder().setType(Type.COUNT).build());
+    return this;
+  }
+
+  /**
+   * Count the cells of a column.
+   */
+  public GroupAggregation count(byte[] family, byte[] qualifier) {
+    return add(Type.COUNT, family, qualifier);
+  }
+
+  public GroupAggregation sum(byte[] family, byte[] qualifier) {
+    return add(Type.SUM, family, qualifier);
+  }
+
+  public GroupAggregation min(byte[] family, byte[] qualifier) {
+    return add(Type.MIN, family, qualifier);
+  }
+
+  public GroupAggregation max(byte[] family, byte[] qualifier) {
+    return add(Type.MAX, family, qualifier);
+  }
+
+  public GroupAggregation countDistinct(byte[] family, byte[] qualifier) {
+    return add(Type.COUNT_DISTINCT, family, qualifier);
+  }
+
+  public GroupAggregation quantiles(byte[] family, byte[] qualifier) {
+    return add(Type.QUANTILES, family, qualifier);
+  }
+
+  private GroupAggregation add(Type type, byte[] family, byte[] qualifier) {
+    aggregations.add(
+      Aggregation.newBuilder().setType(type).setColumn(toColumn(family, qualifier)).build());
+    return this;
+  }
+
+  private static AggregateColumn toColumn(byte[] family, byte[] qualifier) {
+    return AggregateColumn.newBuilder().setFamily(ByteString.copyFrom(family))
+        .setQualifier(ByteString.copyFrom(qualifier)).build();
+  }
+
+  List<AggregateColumn> getGroupBy() {
+    return groupBy;
+  }
+
+  List<Aggregation> getAggregations() {
+    return aggregations;
+  }
+
+  /**
+   * @return the groups, sorted by their group by values
+   */
+  public List<Group> getGroups() {
+    return new ArrayList<>(groups.values());
+  }
+
+  /**
+   * Aggregate the cells of a row.
+   */
+  @InterfaceAudience.Private
+  public void add(List<Cell> row) {
+    if (row.isEmpty()) {
+      return;
+    }
+    if (families == null) {
+      parseColumns();
+    }
+    byte[][] key = new byte[groupBy.size()][];
+    int length = 0;
+    for (int i = 0; i < key.length; i++) {
+      key[i] = HConstants.EMPTY_BYTE_ARRAY;
+      for (Cell cell : row) {
+        if (CellUtil.matchingColumn(cell, families[i], qualifiers[i])) {
+          key[i] = CellUtil.cloneValue(cell);
+          break;
+        }
+      }
+      length += Bytes.SIZEOF_INT + key[i].length;
+    }
+    Group group = getGroup(key, length);
+    for (int i = 0; i < aggregations.size(); i++) {
+      Aggregation aggregation = aggregations.get(i);
+      State state = group.states[i];
+      if (!aggregation.hasColumn()) {
+        state.count++;
+        continue;
+      }
+      int column = key.length + i;
+      for (Cell cell : row) {
+        if (CellUtil.matchingColumn(cell, families[column], qualifiers[column])) {
+          state.add(cell);
+        }
+      }
+    }
+  }
+
+  private Group getGroup(byte[][] key, int length) {
+    byte[] encoded = new byte[length];
+    int offset = 0;
+    for (byte[] value : key) {
+      offset = Bytes.putInt(encoded, offset, value.length);
+      offset = Bytes.putBytes(encoded, offset, value, 0, value.length);
+    }
+    Group group = groups.get(encoded);
+    if (group == null) {
+      State[] states = new State[aggregations.size()];
+      for (int i = 0; i < states.length; i++) {
+        states[i] = new State(aggregations.get(i).getType());
+      }
+      group = new Group(key, states);
+      groups.put(encoded, group);
+    }
+    return group;
+  }
+
+  /**
+   * Add the results of other aggregations, of the same description.
+   */
+  @InterfaceAudience.Private
+  public void merge(GroupAggregation other) {
+    for (Map.Entry<byte[], Group> entry : other.groups.entrySet()) {
+      Group group = groups.get(entry.getKey());
+      if (group == null) {
+        groups.put(entry.getKey(), entry.getValue());
+      } else {
+        group.merge(entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Add the results of a region.
+   */
+  void merge(GroupAggregateResponse response) throws IOException {
+    for (AggregateGroup proto : response.getGroupList()) {
+      if (proto.getKeyCount() != groupBy.size()
+          || proto.getStateCount() != aggregations.size()) {
+        throw new IOException("Group of " + proto.getKeyCount() + " values and "
+            + proto.getStateCount() + " aggregations, expected " + groupBy.size() + " and "
+            + aggregations.size());
+      }
+      byte[][] key = new byte[groupBy.size()][];
+      int length = 0;
+      for (int i = 0; i < key.length; i++) {
+        key[i] = proto.getKey(i).toByteArray();
+        length += Bytes.SIZEOF_INT + key[i].length;
+      }
+      Group group = getGroup(key, length);
+      for (int i = 0; i < aggregations.size(); i++) {
+        group.states[i].merge(proto.getState(i));
+      }
+    }
+  }
+
+  GroupAggregateResponse toResponse() {
+    GroupAggregateResponse.Builder builder = GroupAggregateResponse.newBuilder();
+    for (Group group : groups.values()) {
+      AggregateGroup.Builder groupBuilder = builder.addGroupBuilder();
+      for (byte[] value : group.key) {
+        groupBuilder.addKey(ByteString.copyFrom(value));
+      }
+      for (State state : group.states) {
+        groupBuilder.addState(state.toProto());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * The results of the aggregations for the rows sharing the same group by values.
+   */
+  @InterfaceAudience.Public
+  @InterfaceStability.Unstable
+  public static final class Group {
+
+    private final byte[][] key;
+    private final State[] states;
+
+    private Group(byte[][] key, State[] states) {
+      this.key = key;
+      this.states = states;
+    }
+
+    private void merge(Group other) {
+      for (int i = 0; i < states.length; i++) {
+        states[i].merge(other.states[i]);
+      }
+    }
+
+    /**
+     * @param column the index of a group by column
+     * @return the value of the column, empty if the rows do not have it
+     */
+    public byte[] getKey(int column) {
+      return key[column];
+    }
+
+    /**
+     * @param aggregation the index of an aggregation
+     * @return the number of rows or of cells of a count, or else the number of values aggregated
+     */
+    public long getCount(int aggregation) {
+      return states[aggregation].count;
+    }
+
+    public long getSum(int aggregation) {
+      return states[aggregation].sum;
+    }
+
+    /**
+     * @return the minimum, or null when there is no value
+     */
+    public Long getMin(int aggregation) {
+      State state = states[aggregation];
+      return state.count == 0 ? null : state.min;
+    }
+
+    /**
+     * @return the maximum, or null when there is no value
+     */
+    public Long getMax(int aggregation) {
+      State state = states[aggregation];
+      return state.count == 0 ? null : state.max;
+    }
+
+    /**
+     * @return the estimated number of distinct values of a count distinct
+     */
+    public long getCountDistinct(int aggregation) {
+      return states[aggregation].distinct.estimate();
+    }
+
+    /**
+     * @param aggregation the index of a quantiles aggregation
+     * @param quantile the quantile, in [0, 1], 0.5 for the median
+     * @return the estimated value at the quantile, or NaN when there is no value
+     */
+    public double getQuantile(int aggregation, double quantile) {
+      return states[aggregation].quantiles.getQuantile(quantile);
+    }
+  }
+
+  /**
+   * The partial result of an aggregation for a group.
+   */
+  private static final class State {
+
+    private final Type type;
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    private final HyperLogLog distinct;
+    private final QuantileSketch quantiles;
+
+    State(Type type) {
+      this.type = type;
+      this.distinct = type == Type.COUNT_DISTINCT ? new HyperLogLog() : null;
+      this.quantiles = type == Type.QUANTILES ? new QuantileSketch() : null;
+    }
+
+    void add(Cell cell) {
+      if (type == Type.COUNT) {
+        count++;
+      } else if (type == Type.COUNT_DISTINCT) {
+        distinct.add(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+        count++;
+      } else if (cell.getValueLength() == Bytes.SIZEOF_LONG) {
+        long value = Bytes.toLong(cell.getValueArray(), cell.getValueOffset());
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (quantiles != null) {
+          quantiles.add(value);
+        }
+      }
+    }
+
+    void merge(State other) {
+      count += other.count;
+      sum += other.sum;
+      min = Math.min(min, other.min);
+      max = Math.max(max, other.max);
+      if (distinct != null) {
+        distinct.merge(other.distinct);
+      }
+      if (quantiles != null) {
+        quantiles.merge(other.quantiles);
+      }
+    }
+
+    void merge(AggregationState proto) throws IOException {
+      count += proto.getCount();
+      sum += proto.getSum();
+      if (proto.hasMin()) {
+        min = Math.min(min, proto.getMin());
+      }
+      if (proto.hasMax()) {
+        max = Math.max(max, proto.getMax());
+      }
+      if (distinct != null && proto.hasSketch()) {
+        distinct.merge(HyperLogLog.parseFrom(proto.getSketch().toByteArray()));
+      }
+      if (quantiles != null && proto.hasSketch()) {
+        quantiles.merge(QuantileSketch.parseFrom(proto.getSketch().toByteArray()));
+      }
+    }
+
+    AggregationState toProto() {
+      AggregationState.Builder builder = AggregationState.newBuilder().setCount(count);
+      if (distinct != null) {
+        builder.setSketch(ByteString.copyFrom(distinct.toBytes()));
+      } else if (quantiles != null) {
+        builder.setSketch(ByteString.copyFrom(quantiles.toBytes()));
+      }
+      if (type != Type.COUNT && type != Type.COUNT_DISTINCT) {
+        builder.setSum(sum);
+        if (count > 0) {
+          builder.setMin(min).setMax(max);
+        }
+      }
+      return builder.build();
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client.coprocessor;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.util.ByteArrayHashKey;
+import org.apache.hadoop.hbase.util.Hash;
+import org.apache.hadoop.hbase.util.MurmurHash3;
+
+/**
+ * A HyperLogLog sketch, estimating the number of distinct values added with a standard error of
+ * about 1.04 / sqrt(2^precision), in 2^precision bytes. Two sketches of the same precision merge
+ * into the sketch of the union of their values, so the regions can each sketch their values and
+ * the client merge them.
+ */
+@InterfaceAudience.Private
+public class HyperLogLog {
+
+  public static final int DEFAULT_PRECISION = 12;
+
+  private static final Hash HASH = MurmurHash3.getInstance();
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  public HyperLogLog(int precision) {
+    if (precision < 4 || precision > 18) {
+      throw new IllegalArgumentException("Precision must be in [4, 18]: " + precision);
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /**
+   * @param bytes a sketch serialized by {@link #toBytes()}
+   */
+  public static HyperLogLog parseFrom(byte[] bytes) throws IOException {
+    if (bytes.length == 0 || bytes[0] < 4 || bytes[0] > 18
+        || bytes.length != (1 << bytes[0]) + 1) {
+      throw new IOException("Not a HyperLogLog sketch");
+    }
+    HyperLogLog hll = new HyperLogLog(bytes[0]);
+    System.arraycopy(bytes, 1, hll.registers, 0, hll.registers.length);
+    return hll;
+  }
+
+  public void add(byte[] bytes, int offset, int length) {
+    ByteArrayHashKey key = new ByteArrayHashKey(bytes, offset, length);
+    long hash = ((long) HASH.hash(key, 0) << 32) | (HASH.hash(key, 0x5bd1e995) & 0xffffffffL);
+    int index = (int) (hash >>> (64 - precision));
+    // the position of the first set bit after the index bits, capped when they are all zero
+    int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+    if (registers[index] < rank) {
+      registers[index] = (byte) rank;
+    }
+  }
+
+  /**
+   * Add the values of another sketch.
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException(
+          "Cannot merge sketches of precisions " + precision + " and " + other.precision);
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (registers[i] < other.registers[i]) {
+        registers[i] = other.registers[i];
+      }
+    }
+  }
+
+  /**
+   * @return the estimated number of distinct values added
+   */
+  public long estimate() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+    double alpha = m == 16 ? 0.673 : m == 32 ? 0.697 : m == 64 ? 0.709 : 0.7213 / (1 + 1.079 / m);
+    double estimate = alpha * m * m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      // linear counting is more accurate for the small cardinalities
+      estimate = m * Math.log((double) m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  public byte[] toBytes() {
+    byte[] bytes = new byte[registers.length + 1];
+    bytes[0] = (byte) precision;
+    System.arraycopy(registers, 0, bytes, 1, registers.length);
+    return bytes;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof HyperLogLog && Arrays.equals(registers, ((HyperLogLog) obj).registers);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(registers);
+  }
+}
@@ -0,0 +1,193 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client.coprocessor;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+
+/**
+ * A quantile sketch with a bounded relative error: any quantile it returns is within the given
+ * relative accuracy of a value added at about that rank. The values are counted in buckets of
+ * logarithmic width, so the size of the sketch only grows with the logarithm of the range of the
+ * values, and two sketches of the same accuracy merge exactly by adding their bucket counts. Hence
+ * the regions can each sketch their values in one pass, and the client merge them, where an exact
+ * median needs a second pass.
+ */
+@InterfaceAudience.Private
+public class QuantileSketch {
+
+  public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+  private final double relativeAccuracy;
+  private final double logGamma;
+  // bucket index to count, for the positive values and the magnitudes of the negative ones
+  private final TreeMap<Integer, Long> positives = new TreeMap<>();
+  private final TreeMap<Integer, Long> negatives = new TreeMap<>();
+  private long zeros;
+  private long count;
+
+  public QuantileSketch() {
+    this(DEFAULT_RELATIVE_ACCURACY);
+  }
+
+  public QuantileSketch(double relativeAccuracy) {
+    if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+      throw new IllegalArgumentException("Relative accuracy must be in (0, 1): "
+          + relativeAccuracy);
+    }
+    this.relativeAccuracy = relativeAccuracy;
+    this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+  }
+
+  /**
+   * @param bytes a sketch serialized by {@link #toBytes()}
+   */
+  public static QuantileSketch parseFrom(byte[] bytes) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    QuantileSketch sketch = new QuantileSketch(in.readDouble());
+    sketch.zeros = in.readLong();
+    sketch.count = sketch.zeros;
+    sketch.count += readBuckets(in, sketch.positives);
+    sketch.count += readBuckets(in, sketch.negatives);
+    return sketch;
+  }
+
+  private static long readBuckets(DataInputStream in, Map<Integer, Long> buckets)
+      throws IOException {
+    long count = 0;
+    for (int i = in.readInt(); i > 0; i--) {
+      int index = in.readInt();
+      long bucketCount = in.readLong();
+      buckets.put(index, bucketCount);
+      count += bucketCount;
+    }
+    return count;
+  }
+
+  public void add(double value) {
+    if (value > 0) {
+      increment(positives, index(value), 1);
+    } else if (value < 0) {
+      increment(negatives, index(-value), 1);
+    } else {
+      zeros++;
+    }
+    count++;
+  }
+
+  private int index(double magnitude) {
+    return (int) Math.ceil(Math.log(magnitude) / logGamma);
+  }
+
+  private static void increment(Map<Integer, Long> buckets, int index, long count) {
+    Long previous = buckets.get(index);
+    buckets.put(index, previous == null ? count : previous + count);
+  }
+
+  /**
+   * Add the values of another sketch.
+   */
+  public void merge(QuantileSketch other) {
+    if (other.relativeAccuracy != relativeAccuracy) {
+      throw new IllegalArgumentException("Cannot merge sketches of relative accuracies "
+          + relativeAccuracy + " and " + other.relativeAccuracy);
+    }
+    for (Map.Entry<Integer, Long> entry : other.positives.entrySet()) {
+      increment(positives, entry.getKey(), entry.getValue());
+    }
+    for (Map.Entry<Integer, Long> entry : other.negatives.entrySet()) {
+      increment(negatives, entry.getKey(), entry.getValue());
+    }
+    zeros += other.zeros;
+    count += other.count;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * @param quantile the quantile, in [0, 1], 0.5 for the median
+   * @return the estimated value at the quantile, or NaN when no value was added
+   */
+  public double getQuantile(double quantile) {
+    if (quantile < 0 || quantile > 1) {
+      throw new IllegalArgumentException("Quantile must be in [0, 1]: " + quantile);
+    }
+    if (count == 0) {
+      return Double.NaN;
+    }
+    long rank = (long) (quantile * (count - 1));
+    long seen = 0;
+    // the negative values first, from the largest magnitude
+    for (Map.Entry<Integer, Long> entry : negatives.descendingMap().entrySet()) {
+      seen += entry.getValue();
+      if (seen > rank) {
+        return -value(entry.getKey());
+      }
+    }
+    seen += zeros;
+    if (seen > rank) {
+      return 0;
+    }
+    for (Map.Entry<Integer, Long> entry : positives.entrySet()) {
+      seen += entry.getValue();
+      if (seen > rank) {
+        return value(entry.getKey());
+      }
+    }
+    return value(positives.lastKey());
+  }
+
+  /**
+   * @return the value of a bucket, within the relative accuracy of all the magnitudes it counts
+   */
+  private double value(int index) {
+    return 2 * Math.exp(index * logGamma) / (1 + Math.exp(logGamma));
+  }
+
+  public byte[] toBytes() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeDouble(relativeAccuracy);
+      out.writeLong(zeros);
+      writeBuckets(out, positives);
+      writeBuckets(out, negatives);
+    } catch (IOException e) {
+      // not thrown when writing to memory
+      throw new AssertionError(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static void writeBuckets(DataOutputStream out, Map<Integer, Long> buckets)
+      throws IOException {
+    out.writeInt(buckets.size());
+    for (Map.Entry<Integer, Long> entry : buckets.entrySet()) {
+      out.writeInt(entry.getKey());
+      out.writeLong(entry.getValue());
+    }
+  }
+}
@@ -0,0 +1,265 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.coprocessor;
+
+import com.google.protobuf.RpcCallback;
+import com.google.protobuf.RpcController;
+import com.google.protobuf.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.Coprocessor;
+import org.apache.hadoop.hbase.CoprocessorEnvironment;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.coprocessor.AggregationHelper;
+import org.apache.hadoop.hbase.client.coprocessor.GroupAggregation;
+import org.apache.hadoop.hbase.ipc.CoprocessorRpcUtils;
+import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse;
+import org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateService;
+import org.apache.hadoop.hbase.regionserver.RegionScanner;
+import org.apache.hadoop.hbase.regionserver.Store;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Threads;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Computes the aggregations of a {@link GroupAggregation} over the rows of a region, in a single
+ * scan, where {@link AggregateImplementation} needs a call per aggregate and two passes for the
+ * median.
+ * <p>
+ * The rows between the first and last keys of the store files are split into as many ranges as
+ * set by {@value #PARALLELISM_KEY}, scanned in parallel on a pool shared by the regions of the
+ * server, each one into its own partial aggregation. The partial aggregations are then merged, and
+ * the region answers with the states of its groups, which the client merges with the ones of the
+ * other regions as they arrive. Count distinct and quantiles are kept as sketches, which merge
+ * without a second pass.
+ * <p>
+ * A scan with a row limit, or reversed, is not split.
+ */
+@InterfaceAudience.Private
+public class GroupAggregateImplementation extends GroupAggregateService
+    implements CoprocessorService, Coprocessor {
+
+  private static final Log LOG = LogFactory.getLog(GroupAggregateImplementation.class);
+
+  /**
+   * The number of ranges a region is scanned in at most, 1 to scan on the handler thread only
+   */
+  public static final String PARALLELISM_KEY = "hbase.coprocessor.groupaggregate.parallelism";
+  public static final int DEFAULT_PARALLELISM = 4;
+
+  /**
+   * The number of threads the ranges of all the regions of a server are scanned on
+   */
+  public static final String POOL_SIZE_KEY = "hbase.coprocessor.groupaggregate.pool.size";
+  public static final int DEFAULT_POOL_SIZE = 16;
+
+  // the key of the pool in the data shared by the regions
+  private static final String POOL = "pool";
+
+  private RegionCoprocessorEnvironment env;
+  private int parallelism;
+  private SharedPool pool;
+
+  /**
+   * The pool of the regions of a server, shut down when the last of them stops.
+   */
+  private static final class SharedPool {
+    private final ThreadPoolExecutor executor;
+    private int references;
+
+    SharedPool(int size) {
+      // the threads time out, a server not aggregating keeps none
+      executor = Threads.getBoundedCachedThreadPool(size, 60, TimeUnit.SECONDS,
+        Threads.newDaemonThreadFactory("GroupAggregate"));
+    }
+  }
+
+  @Override
+  public void aggregate(RpcController controller, GroupAggregateRequest request,
+      RpcCallback<GroupAggregateResponse> done) {
+    GroupAggregateResponse response = null;
+    try {
+      GroupAggregation aggregation = AggregationHelper.parseGroupAggregation(request);
+      Scan scan = ProtobufUtil.toScan(request.getScan());
+      List<byte[]> bounds = split(scan);
+      if (bounds.size() == 2) {
+        aggregate(scan, aggregation);
+      } else {
+        aggregateInParallel(request, bounds, aggregation);
+      }
+      response = AggregationHelper.toGroupAggregateResponse(aggregation);
+    } catch (IOException e) {
+      CoprocessorRpcUtils.setControllerException(controller, e);
+    }
+    done.run(response);
+  }
+
+  private void aggregate(Scan scan, GroupAggregation aggregation) throws IOException {
+    try (RegionScanner scanner = env.getRegion().getScanner(scan)) {
+      List<Cell> row = new ArrayList<>();
+      boolean hasMoreRows;
+      do {
+        hasMoreRows = scanner.next(row);
+        aggregation.add(row);
+        row.clear();
+      } while (hasMoreRows);
+    }
+  }
+
+  private void aggregateInParallel(GroupAggregateRequest request, List<byte[]> bounds,
+      GroupAggregation aggregation) throws IOException {
+    List<Future<GroupAggregation>> futures = new ArrayList<>(bounds.size() - 1);
+    try {
+      for (int i = 0; i < bounds.size() - 1; i++) {
+        // a scan of its own for each range, the filters keep state
+        Scan range = ProtobufUtil.toScan(request.getScan());
+        if (i > 0) {
+          range.withStartRow(bounds.get(i), true);
+        }
+        if (i < bounds.size() - 2) {
+          range.withStopRow(bounds.get(i + 1), false);
+        }
+        futures.add(pool.executor.submit(() -> {
+          GroupAggregation partial = aggregation.newPartial();
+          aggregate(range, partial);
+          return partial;
+        }));
+      }
+      for (Future<GroupAggregation> future : futures) {
+        aggregation.merge(future.get());
+      }
+    } catch (InterruptedException e) {
+      throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } finally {
+      for (Future<GroupAggregation> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  /**
+   * @return the bounds of the ranges to scan the rows of the scan in, from its start row to its
+   *         stop row
+   */
+  @VisibleForTesting
+  List<byte[]> split(Scan scan) {
+    List<byte[]> bounds = new ArrayList<>();
+    bounds.add(scan.getStartRow());
+    if (parallelism > 1 && !scan.isReversed() && scan.getLimit() <= 0) {
+      byte[] first = null;
+      byte[] last = null;
+      for (Store store : env.getRegion().getStores()) {
+        for (StoreFile file : store.getStorefiles()) {
+          if (file.getFirstKey() == null || file.getLastKey() == null) {
+            continue;
+          }
+          byte[] firstRow = CellUtil.cloneRow(file.getFirstKey());
+          byte[] lastRow = CellUtil.cloneRow(file.getLastKey());
+          if (first == null || Bytes.compareTo(firstRow, first) < 0) {
+            first = firstRow;
+          }
+          if (last == null || Bytes.compareTo(lastRow, last) > 0) {
+            last = lastRow;
+          }
+        }
+      }
+      if (first != null) {
+        byte[] low = Bytes.compareTo(first, scan.getStartRow()) > 0 ? first : scan.getStartRow();
+        byte[] high = scan.getStopRow().length == 0 || Bytes.compareTo(last, scan.getStopRow()) < 0
+            ? last : scan.getStopRow();
+        // Bytes#split pads the shorter row with zeros
+        int length = Math.max(low.length, high.length);
+        byte[][] splits = Bytes.compareTo(Bytes.padTail(low, length - low.length),
+          Bytes.padTail(high, length - high.length)) < 0
+            ? Bytes.split(low, high, parallelism - 1) : null;
+        if (splits != null) {
+          for (int i = 1; i < splits.length - 1; i++) {
+            bounds.add(splits[i]);
+          }
+        }
+      }
+    }
+    bounds.add(scan.getStopRow());
+    return bounds;
+  }
+
+  @Override
+  public Service getService() {
+    return this;
+  }
+
+  @Override
+  public void start(CoprocessorEnvironment env) throws IOException {
+    if (env instanceof RegionCoprocessorEnvironment) {
+      this.env = (RegionCoprocessorEnvironment) env;
+    } else {
+      throw new CoprocessorException("Must be loaded on a table region!");
+    }
+    parallelism = env.getConfiguration().getInt(PARALLELISM_KEY, DEFAULT_PARALLELISM);
+    if (parallelism > 1) {
+      ConcurrentMap<String, Object> sharedData = this.env.getSharedData();
+      synchronized (sharedData) {
+        pool = (SharedPool) sharedData.get(POOL);
+        if (pool == null) {
+          pool = new SharedPool(
+              env.getConfiguration().getInt(POOL_SIZE_KEY, DEFAULT_POOL_SIZE));
+          sharedData.put(POOL, pool);
+        }
+        pool.references++;
+      }
+    }
+    LOG.debug("Aggregating in " + parallelism + " ranges at most");
+  }
+
+  @Override
+  public void stop(CoprocessorEnvironment env) throws IOException {
+    if (pool != null) {
+      ConcurrentMap<String, Object> sharedData = this.env.getSharedData();
+      synchronized (sharedData) {
+        if (--pool.references == 0) {
+          sharedData.remove(POOL, pool);
+          pool.executor.shutdownNow();
+        }
+      }
+      pool = null;
+    }
+  }
+}
@@ -0,0 +1,5748 @@
+// Generated by the protocol buffer compiler.  DO NOT EDIT!
+// source: GroupAggregate.proto
+
+package org.apache.hadoop.hbase.protobuf.generated;
+
+public final class GroupAggregateProtos {
+  private GroupAggregateProtos() {}
+  public static void registerAllExtensions(
+      com.google.protobuf.ExtensionRegistry registry) {
+  }
+  public interface AggregateColumnOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // required bytes family = 1;
+    /**
+     * <code>required bytes family = 1;</code>
+     */
+    boolean hasFamily();
+    /**
+     * <code>required bytes family = 1;</code>
+     */
+    com.google.protobuf.ByteString getFamily();
+
+    // required bytes qualifier = 2;
+    /**
+     * <code>required bytes qualifier = 2;</code>
+     */
+    boolean hasQualifier();
+    /**
+     * <code>required bytes qualifier = 2;</code>
+     */
+    com.google.protobuf.ByteString getQualifier();
+  }
+  /**
+   * Protobuf type {@code hbase.pb.AggregateColumn}
+   */
+  public static final class AggregateColumn extends
+      com.google.protobuf.GeneratedMessage
+      implements AggregateColumnOrBuilder {
+    // Use AggregateColumn.newBuilder() to construct.
+    private AggregateColumn(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private AggregateColumn(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final AggregateColumn defaultInstance;
+    public static AggregateColumn getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public AggregateColumn getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private AggregateColumn(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              bitField0_ |= 0x00000001;
+              family_ = input.readBytes();
+              break;
+            }
+            case 18: {
+              bitField0_ |= 0x00000002;
+              qualifier_ = input.readBytes();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateColumn_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateColumn_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<AggregateColumn> PARSER =
+        new com.google.protobuf.AbstractParser<AggregateColumn>() {
+      public AggregateColumn parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new AggregateColumn(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<AggregateColumn> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    // required bytes family = 1;
+    public static final int FAMILY_FIELD_NUMBER = 1;
+    private com.google.protobuf.ByteString family_;
+    /**
+     * <code>required bytes family = 1;</code>
+     */
+    public boolean hasFamily() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required bytes family = 1;</code>
+     */
+    public com.google.protobuf.ByteString getFamily() {
+      return family_;
+    }
+
+    // required bytes qualifier = 2;
+    public static final int QUALIFIER_FIELD_NUMBER = 2;
+    private com.google.protobuf.ByteString qualifier_;
+    /**
+     * <code>required bytes qualifier = 2;</code>
+     */
+    public boolean hasQualifier() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>required bytes qualifier = 2;</code>
+     */
+    public com.google.protobuf.ByteString getQualifier() {
+      return qualifier_;
+    }
+
+    private void initFields() {
+      family_ = com.google.protobuf.ByteString.EMPTY;
+      qualifier_ = com.google.protobuf.ByteString.EMPTY;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      if (!hasFamily()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasQualifier()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeBytes(1, family_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, qualifier_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(1, family_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, qualifier_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn)) {
+        return super.equals(obj);
+      }
+      org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn other = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn) obj;
+
+      boolean result = true;
+      result = result && (hasFamily() == other.hasFamily());
+      if (hasFamily()) {
+        result = result && getFamily()
+            .equals(other.getFamily());
+      }
+      result = result && (hasQualifier() == other.hasQualifier());
+      if (hasQualifier()) {
+        result = result && getQualifier()
+            .equals(other.getQualifier());
+      }
+      result = result &&
+          getUnknownFields().equals(other.getUnknownFields());
+      return result;
+    }
+
+    private int memoizedHashCode = 0;
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (hasFamily()) {
+        hash = (37 * hash) + FAMILY_FIELD_NUMBER;
+        hash = (53 * hash) + getFamily().hashCode();
+      }
+      if (hasQualifier()) {
+        hash = (37 * hash) + QUALIFIER_FIELD_NUMBER;
+        hash = (53 * hash) + getQualifier().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code hbase.pb.AggregateColumn}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateColumn_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateColumn_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder.class);
+      }
+
+      // Construct using org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        family_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        qualifier_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateColumn_descriptor;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn getDefaultInstanceForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.getDefaultInstance();
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn build() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn buildPartial() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn result = new org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.family_ = family_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.qualifier_ = qualifier_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn) {
+          return mergeFrom((org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn other) {
+        if (other == org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.getDefaultInstance()) return this;
+        if (other.hasFamily()) {
+          setFamily(other.getFamily());
+        }
+        if (other.hasQualifier()) {
+          setQualifier(other.getQualifier());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasFamily()) {
+          
+          return false;
+        }
+        if (!hasQualifier()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // required bytes family = 1;
+      private com.google.protobuf.ByteString family_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>required bytes family = 1;</code>
+       */
+      public boolean hasFamily() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required bytes family = 1;</code>
+       */
+      public com.google.protobuf.ByteString getFamily() {
+        return family_;
+      }
+      /**
+       * <code>required bytes family = 1;</code>
+       */
+      public Builder setFamily(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        family_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required bytes family = 1;</code>
+       */
+      public Builder clearFamily() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        family_ = getDefaultInstance().getFamily();
+        onChanged();
+        return this;
+      }
+
+      // required bytes qualifier = 2;
+      private com.google.protobuf.ByteString qualifier_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>required bytes qualifier = 2;</code>
+       */
+      public boolean hasQualifier() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required bytes qualifier = 2;</code>
+       */
+      public com.google.protobuf.ByteString getQualifier() {
+        return qualifier_;
+      }
+      /**
+       * <code>required bytes qualifier = 2;</code>
+       */
+      public Builder setQualifier(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        qualifier_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required bytes qualifier = 2;</code>
+       */
+      public Builder clearQualifier() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        qualifier_ = getDefaultInstance().getQualifier();
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:hbase.pb.AggregateColumn)
+    }
+
+    static {
+      defaultInstance = new AggregateColumn(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:hbase.pb.AggregateColumn)
+  }
+
+  public interface AggregationOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // required .hbase.pb.Aggregation.Type type = 1;
+    /**
+     * <code>required .hbase.pb.Aggregation.Type type = 1;</code>
+     */
+    boolean hasType();
+    /**
+     * <code>required .hbase.pb.Aggregation.Type type = 1;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type getType();
+
+    // optional .hbase.pb.AggregateColumn column = 2;
+    /**
+     * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+     *
+     * <pre>
+     ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+     * </pre>
+     */
+    boolean hasColumn();
+    /**
+     * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+     *
+     * <pre>
+     ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+     * </pre>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn getColumn();
+    /**
+     * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+     *
+     * <pre>
+     ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+     * </pre>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder getColumnOrBuilder();
+  }
+  /**
+   * Protobuf type {@code hbase.pb.Aggregation}
+   */
+  public static final class Aggregation extends
+      com.google.protobuf.GeneratedMessage
+      implements AggregationOrBuilder {
+    // Use Aggregation.newBuilder() to construct.
+    private Aggregation(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private Aggregation(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final Aggregation defaultInstance;
+    public static Aggregation getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public Aggregation getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private Aggregation(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              int rawValue = input.readEnum();
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type value = org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type.valueOf(rawValue);
+              if (value == null) {
+                unknownFields.mergeVarintField(1, rawValue);
+              } else {
+                bitField0_ |= 0x00000001;
+                type_ = value;
+              }
+              break;
+            }
+            case 18: {
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000002) == 0x00000002)) {
+                subBuilder = column_.toBuilder();
+              }
+              column_ = input.readMessage(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(column_);
+                column_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000002;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_Aggregation_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_Aggregation_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<Aggregation> PARSER =
+        new com.google.protobuf.AbstractParser<Aggregation>() {
+      public Aggregation parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new Aggregation(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<Aggregation> getParserForType() {
+      return PARSER;
+    }
+
+    /**
+     * Protobuf enum {@code hbase.pb.Aggregation.Type}
+     */
+    public enum Type
+        implements com.google.protobuf.ProtocolMessageEnum {
+      /**
+       * <code>COUNT = 0;</code>
+       *
+       * <pre>
+       ** The number of cells of the column, or of rows when there is no column 
+       * </pre>
+       */
+      COUNT(0, 0),
+      /**
+       * <code>SUM = 1;</code>
+       */
+      SUM(1, 1),
+      /**
+       * <code>MIN = 2;</code>
+       */
+      MIN(2, 2),
+      /**
+       * <code>MAX = 3;</code>
+       */
+      MAX(3, 3),
+      /**
+       * <code>COUNT_DISTINCT = 4;</code>
+       *
+       * <pre>
+       ** Estimated with a HyperLogLog sketch 
+       * </pre>
+       */
+      COUNT_DISTINCT(4, 4),
+      /**
+       * <code>QUANTILES = 5;</code>
+       *
+       * <pre>
+       ** Estimated with a quantile sketch of bounded relative error 
+       * </pre>
+       */
+      QUANTILES(5, 5),
+      ;
+
+      /**
+       * <code>COUNT = 0;</code>
+       *
+       * <pre>
+       ** The number of cells of the column, or of rows when there is no column 
+       * </pre>
+       */
+      public static final int COUNT_VALUE = 0;
+      /**
+       * <code>SUM = 1;</code>
+       */
+      public static final int SUM_VALUE = 1;
+      /**
+       * <code>MIN = 2;</code>
+       */
+      public static final int MIN_VALUE = 2;
+      /**
+       * <code>MAX = 3;</code>
+       */
+      public static final int MAX_VALUE = 3;
+      /**
+       * <code>COUNT_DISTINCT = 4;</code>
+       *
+       * <pre>
+       ** Estimated with a HyperLogLog sketch 
+       * </pre>
+       */
+      public static final int COUNT_DISTINCT_VALUE = 4;
+      /**
+       * <code>QUANTILES = 5;</code>
+       *
+       * <pre>
+       ** Estimated with a quantile sketch of bounded relative error 
+       * </pre>
+       */
+      public static final int QUANTILES_VALUE = 5;
+
+
+      public final int getNumber() { return value; }
+
+      public static Type valueOf(int value) {
+        switch (value) {
+          case 0: return COUNT;
+          case 1: return SUM;
+          case 2: return MIN;
+          case 3: return MAX;
+          case 4: return COUNT_DISTINCT;
+          case 5: return QUANTILES;
+          default: return null;
+        }
+      }
+
+      public static com.google.protobuf.Internal.EnumLiteMap<Type>
+          internalGetValueMap() {
+        return internalValueMap;
+      }
+      private static com.google.protobuf.Internal.EnumLiteMap<Type>
+          internalValueMap =
+            new com.google.protobuf.Internal.EnumLiteMap<Type>() {
+              public Type findValueByNumber(int number) {
+                return Type.valueOf(number);
+              }
+            };
+
+      public final com.google.protobuf.Descriptors.EnumValueDescriptor
+          getValueDescriptor() {
+        return getDescriptor().getValues().get(index);
+      }
+      public final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptorForType() {
+        return getDescriptor();
+      }
+      public static final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptor() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.getDescriptor().getEnumTypes().get(0);
+      }
+
+      private static final Type[] VALUES = values();
+
+      public static Type valueOf(
+          com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+        if (desc.getType() != getDescriptor()) {
+          throw new java.lang.IllegalArgumentException(
+            "EnumValueDescriptor is not for this type.");
+        }
+        return VALUES[desc.getIndex()];
+      }
+
+      private final int index;
+      private final int value;
+
+      private Type(int index, int value) {
+        this.index = index;
+        this.value = value;
+      }
+
+      // @@protoc_insertion_point(enum_scope:hbase.pb.Aggregation.Type)
+    }
+
+    private int bitField0_;
+    // required .hbase.pb.Aggregation.Type type = 1;
+    public static final int TYPE_FIELD_NUMBER = 1;
+    private org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type type_;
+    /**
+     * <code>required .hbase.pb.Aggregation.Type type = 1;</code>
+     */
+    public boolean hasType() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required .hbase.pb.Aggregation.Type type = 1;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type getType() {
+      return type_;
+    }
+
+    // optional .hbase.pb.AggregateColumn column = 2;
+    public static final int COLUMN_FIELD_NUMBER = 2;
+    private org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn column_;
+    /**
+     * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+     *
+     * <pre>
+     ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+     * </pre>
+     */
+    public boolean hasColumn() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+     *
+     * <pre>
+     ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+     * </pre>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn getColumn() {
+      return column_;
+    }
+    /**
+     * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+     *
+     * <pre>
+     ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+     * </pre>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder getColumnOrBuilder() {
+      return column_;
+    }
+
+    private void initFields() {
+      type_ = org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type.COUNT;
+      column_ = org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.getDefaultInstance();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      if (!hasType()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (hasColumn()) {
+        if (!getColumn().isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeEnum(1, type_.getNumber());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeMessage(2, column_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(1, type_.getNumber());
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, column_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation)) {
+        return super.equals(obj);
+      }
+      org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation other = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation) obj;
+
+      boolean result = true;
+      result = result && (hasType() == other.hasType());
+      if (hasType()) {
+        result = result &&
+            (getType() == other.getType());
+      }
+      result = result && (hasColumn() == other.hasColumn());
+      if (hasColumn()) {
+        result = result && getColumn()
+            .equals(other.getColumn());
+      }
+      result = result &&
+          getUnknownFields().equals(other.getUnknownFields());
+      return result;
+    }
+
+    private int memoizedHashCode = 0;
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (hasType()) {
+        hash = (37 * hash) + TYPE_FIELD_NUMBER;
+        hash = (53 * hash) + hashEnum(getType());
+      }
+      if (hasColumn()) {
+        hash = (37 * hash) + COLUMN_FIELD_NUMBER;
+        hash = (53 * hash) + getColumn().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code hbase.pb.Aggregation}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_Aggregation_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_Aggregation_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder.class);
+      }
+
+      // Construct using org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getColumnFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        type_ = org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type.COUNT;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (columnBuilder_ == null) {
+          column_ = org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.getDefaultInstance();
+        } else {
+          columnBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_Aggregation_descriptor;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation getDefaultInstanceForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.getDefaultInstance();
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation build() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation buildPartial() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation result = new org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.type_ = type_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        if (columnBuilder_ == null) {
+          result.column_ = column_;
+        } else {
+          result.column_ = columnBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation) {
+          return mergeFrom((org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation other) {
+        if (other == org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.getDefaultInstance()) return this;
+        if (other.hasType()) {
+          setType(other.getType());
+        }
+        if (other.hasColumn()) {
+          mergeColumn(other.getColumn());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasType()) {
+          
+          return false;
+        }
+        if (hasColumn()) {
+          if (!getColumn().isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // required .hbase.pb.Aggregation.Type type = 1;
+      private org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type type_ = org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type.COUNT;
+      /**
+       * <code>required .hbase.pb.Aggregation.Type type = 1;</code>
+       */
+      public boolean hasType() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required .hbase.pb.Aggregation.Type type = 1;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type getType() {
+        return type_;
+      }
+      /**
+       * <code>required .hbase.pb.Aggregation.Type type = 1;</code>
+       */
+      public Builder setType(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        bitField0_ |= 0x00000001;
+        type_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required .hbase.pb.Aggregation.Type type = 1;</code>
+       */
+      public Builder clearType() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        type_ = org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Type.COUNT;
+        onChanged();
+        return this;
+      }
+
+      // optional .hbase.pb.AggregateColumn column = 2;
+      private org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn column_ = org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder> columnBuilder_;
+      /**
+       * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+       *
+       * <pre>
+       ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+       * </pre>
+       */
+      public boolean hasColumn() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+       *
+       * <pre>
+       ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn getColumn() {
+        if (columnBuilder_ == null) {
+          return column_;
+        } else {
+          return columnBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+       *
+       * <pre>
+       ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+       * </pre>
+       */
+      public Builder setColumn(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn value) {
+        if (columnBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          column_ = value;
+          onChanged();
+        } else {
+          columnBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+       *
+       * <pre>
+       ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+       * </pre>
+       */
+      public Builder setColumn(
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder builderForValue) {
+        if (columnBuilder_ == null) {
+          column_ = builderForValue.build();
+          onChanged();
+        } else {
+          columnBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+       *
+       * <pre>
+       ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+       * </pre>
+       */
+      public Builder mergeColumn(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn value) {
+        if (columnBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002) &&
+              column_ != org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.getDefaultInstance()) {
+            column_ =
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.newBuilder(column_).mergeFrom(value).buildPartial();
+          } else {
+            column_ = value;
+          }
+          onChanged();
+        } else {
+          columnBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+       *
+       * <pre>
+       ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+       * </pre>
+       */
+      public Builder clearColumn() {
+        if (columnBuilder_ == null) {
+          column_ = org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.getDefaultInstance();
+          onChanged();
+        } else {
+          columnBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      /**
+       * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+       *
+       * <pre>
+       ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder getColumnBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getColumnFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+       *
+       * <pre>
+       ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder getColumnOrBuilder() {
+        if (columnBuilder_ != null) {
+          return columnBuilder_.getMessageOrBuilder();
+        } else {
+          return column_;
+        }
+      }
+      /**
+       * <code>optional .hbase.pb.AggregateColumn column = 2;</code>
+       *
+       * <pre>
+       ** The values are 8 byte longs, except for COUNT_DISTINCT which takes any value 
+       * </pre>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder> 
+          getColumnFieldBuilder() {
+        if (columnBuilder_ == null) {
+          columnBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder>(
+                  column_,
+                  getParentForChildren(),
+                  isClean());
+          column_ = null;
+        }
+        return columnBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:hbase.pb.Aggregation)
+    }
+
+    static {
+      defaultInstance = new Aggregation(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:hbase.pb.Aggregation)
+  }
+
+  public interface GroupAggregateRequestOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // required .hbase.pb.Scan scan = 1;
+    /**
+     * <code>required .hbase.pb.Scan scan = 1;</code>
+     */
+    boolean hasScan();
+    /**
+     * <code>required .hbase.pb.Scan scan = 1;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan getScan();
+    /**
+     * <code>required .hbase.pb.Scan scan = 1;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ScanOrBuilder getScanOrBuilder();
+
+    // repeated .hbase.pb.AggregateColumn group_by = 2;
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn> 
+        getGroupByList();
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn getGroupBy(int index);
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    int getGroupByCount();
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder> 
+        getGroupByOrBuilderList();
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder getGroupByOrBuilder(
+        int index);
+
+    // repeated .hbase.pb.Aggregation aggregation = 3;
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation> 
+        getAggregationList();
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation getAggregation(int index);
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    int getAggregationCount();
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder> 
+        getAggregationOrBuilderList();
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder getAggregationOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code hbase.pb.GroupAggregateRequest}
+   */
+  public static final class GroupAggregateRequest extends
+      com.google.protobuf.GeneratedMessage
+      implements GroupAggregateRequestOrBuilder {
+    // Use GroupAggregateRequest.newBuilder() to construct.
+    private GroupAggregateRequest(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private GroupAggregateRequest(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final GroupAggregateRequest defaultInstance;
+    public static GroupAggregateRequest getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public GroupAggregateRequest getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private GroupAggregateRequest(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000001) == 0x00000001)) {
+                subBuilder = scan_.toBuilder();
+              }
+              scan_ = input.readMessage(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(scan_);
+                scan_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000001;
+              break;
+            }
+            case 18: {
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                groupBy_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn>();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              groupBy_.add(input.readMessage(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.PARSER, extensionRegistry));
+              break;
+            }
+            case 26: {
+              if (!((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+                aggregation_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation>();
+                mutable_bitField0_ |= 0x00000004;
+              }
+              aggregation_.add(input.readMessage(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.PARSER, extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+          groupBy_ = java.util.Collections.unmodifiableList(groupBy_);
+        }
+        if (((mutable_bitField0_ & 0x00000004) == 0x00000004)) {
+          aggregation_ = java.util.Collections.unmodifiableList(aggregation_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateRequest_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateRequest_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<GroupAggregateRequest> PARSER =
+        new com.google.protobuf.AbstractParser<GroupAggregateRequest>() {
+      public GroupAggregateRequest parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new GroupAggregateRequest(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<GroupAggregateRequest> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    // required .hbase.pb.Scan scan = 1;
+    public static final int SCAN_FIELD_NUMBER = 1;
+    private org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan scan_;
+    /**
+     * <code>required .hbase.pb.Scan scan = 1;</code>
+     */
+    public boolean hasScan() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>required .hbase.pb.Scan scan = 1;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan getScan() {
+      return scan_;
+    }
+    /**
+     * <code>required .hbase.pb.Scan scan = 1;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ScanOrBuilder getScanOrBuilder() {
+      return scan_;
+    }
+
+    // repeated .hbase.pb.AggregateColumn group_by = 2;
+    public static final int GROUP_BY_FIELD_NUMBER = 2;
+    private java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn> groupBy_;
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn> getGroupByList() {
+      return groupBy_;
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder> 
+        getGroupByOrBuilderList() {
+      return groupBy_;
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    public int getGroupByCount() {
+      return groupBy_.size();
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn getGroupBy(int index) {
+      return groupBy_.get(index);
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+     *
+     * <pre>
+     ** The rows are grouped by the values of these columns, a missing value is empty 
+     * </pre>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder getGroupByOrBuilder(
+        int index) {
+      return groupBy_.get(index);
+    }
+
+    // repeated .hbase.pb.Aggregation aggregation = 3;
+    public static final int AGGREGATION_FIELD_NUMBER = 3;
+    private java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation> aggregation_;
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation> getAggregationList() {
+      return aggregation_;
+    }
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder> 
+        getAggregationOrBuilderList() {
+      return aggregation_;
+    }
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    public int getAggregationCount() {
+      return aggregation_.size();
+    }
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation getAggregation(int index) {
+      return aggregation_.get(index);
+    }
+    /**
+     * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder getAggregationOrBuilder(
+        int index) {
+      return aggregation_.get(index);
+    }
+
+    private void initFields() {
+      scan_ = org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.getDefaultInstance();
+      groupBy_ = java.util.Collections.emptyList();
+      aggregation_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      if (!hasScan()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!getScan().isInitialized()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      for (int i = 0; i < getGroupByCount(); i++) {
+        if (!getGroupBy(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      for (int i = 0; i < getAggregationCount(); i++) {
+        if (!getAggregation(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeMessage(1, scan_);
+      }
+      for (int i = 0; i < groupBy_.size(); i++) {
+        output.writeMessage(2, groupBy_.get(i));
+      }
+      for (int i = 0; i < aggregation_.size(); i++) {
+        output.writeMessage(3, aggregation_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, scan_);
+      }
+      for (int i = 0; i < groupBy_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, groupBy_.get(i));
+      }
+      for (int i = 0; i < aggregation_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, aggregation_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest)) {
+        return super.equals(obj);
+      }
+      org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest other = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest) obj;
+
+      boolean result = true;
+      result = result && (hasScan() == other.hasScan());
+      if (hasScan()) {
+        result = result && getScan()
+            .equals(other.getScan());
+      }
+      result = result && getGroupByList()
+          .equals(other.getGroupByList());
+      result = result && getAggregationList()
+          .equals(other.getAggregationList());
+      result = result &&
+          getUnknownFields().equals(other.getUnknownFields());
+      return result;
+    }
+
+    private int memoizedHashCode = 0;
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (hasScan()) {
+        hash = (37 * hash) + SCAN_FIELD_NUMBER;
+        hash = (53 * hash) + getScan().hashCode();
+      }
+      if (getGroupByCount() > 0) {
+        hash = (37 * hash) + GROUP_BY_FIELD_NUMBER;
+        hash = (53 * hash) + getGroupByList().hashCode();
+      }
+      if (getAggregationCount() > 0) {
+        hash = (37 * hash) + AGGREGATION_FIELD_NUMBER;
+        hash = (53 * hash) + getAggregationList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code hbase.pb.GroupAggregateRequest}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequestOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateRequest_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateRequest_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest.Builder.class);
+      }
+
+      // Construct using org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getScanFieldBuilder();
+          getGroupByFieldBuilder();
+          getAggregationFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        if (scanBuilder_ == null) {
+          scan_ = org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.getDefaultInstance();
+        } else {
+          scanBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (groupByBuilder_ == null) {
+          groupBy_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+        } else {
+          groupByBuilder_.clear();
+        }
+        if (aggregationBuilder_ == null) {
+          aggregation_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+        } else {
+          aggregationBuilder_.clear();
+        }
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateRequest_descriptor;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest getDefaultInstanceForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest.getDefaultInstance();
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest build() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest buildPartial() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest result = new org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        if (scanBuilder_ == null) {
+          result.scan_ = scan_;
+        } else {
+          result.scan_ = scanBuilder_.build();
+        }
+        if (groupByBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002)) {
+            groupBy_ = java.util.Collections.unmodifiableList(groupBy_);
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.groupBy_ = groupBy_;
+        } else {
+          result.groupBy_ = groupByBuilder_.build();
+        }
+        if (aggregationBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) == 0x00000004)) {
+            aggregation_ = java.util.Collections.unmodifiableList(aggregation_);
+            bitField0_ = (bitField0_ & ~0x00000004);
+          }
+          result.aggregation_ = aggregation_;
+        } else {
+          result.aggregation_ = aggregationBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest) {
+          return mergeFrom((org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest other) {
+        if (other == org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest.getDefaultInstance()) return this;
+        if (other.hasScan()) {
+          mergeScan(other.getScan());
+        }
+        if (groupByBuilder_ == null) {
+          if (!other.groupBy_.isEmpty()) {
+            if (groupBy_.isEmpty()) {
+              groupBy_ = other.groupBy_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureGroupByIsMutable();
+              groupBy_.addAll(other.groupBy_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.groupBy_.isEmpty()) {
+            if (groupByBuilder_.isEmpty()) {
+              groupByBuilder_.dispose();
+              groupByBuilder_ = null;
+              groupBy_ = other.groupBy_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+              groupByBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getGroupByFieldBuilder() : null;
+            } else {
+              groupByBuilder_.addAllMessages(other.groupBy_);
+            }
+          }
+        }
+        if (aggregationBuilder_ == null) {
+          if (!other.aggregation_.isEmpty()) {
+            if (aggregation_.isEmpty()) {
+              aggregation_ = other.aggregation_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+            } else {
+              ensureAggregationIsMutable();
+              aggregation_.addAll(other.aggregation_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.aggregation_.isEmpty()) {
+            if (aggregationBuilder_.isEmpty()) {
+              aggregationBuilder_.dispose();
+              aggregationBuilder_ = null;
+              aggregation_ = other.aggregation_;
+              bitField0_ = (bitField0_ & ~0x00000004);
+              aggregationBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getAggregationFieldBuilder() : null;
+            } else {
+              aggregationBuilder_.addAllMessages(other.aggregation_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasScan()) {
+          
+          return false;
+        }
+        if (!getScan().isInitialized()) {
+          
+          return false;
+        }
+        for (int i = 0; i < getGroupByCount(); i++) {
+          if (!getGroupBy(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        for (int i = 0; i < getAggregationCount(); i++) {
+          if (!getAggregation(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // required .hbase.pb.Scan scan = 1;
+      private org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan scan_ = org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.Builder, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ScanOrBuilder> scanBuilder_;
+      /**
+       * <code>required .hbase.pb.Scan scan = 1;</code>
+       */
+      public boolean hasScan() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required .hbase.pb.Scan scan = 1;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan getScan() {
+        if (scanBuilder_ == null) {
+          return scan_;
+        } else {
+          return scanBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>required .hbase.pb.Scan scan = 1;</code>
+       */
+      public Builder setScan(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan value) {
+        if (scanBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          scan_ = value;
+          onChanged();
+        } else {
+          scanBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>required .hbase.pb.Scan scan = 1;</code>
+       */
+      public Builder setScan(
+          org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.Builder builderForValue) {
+        if (scanBuilder_ == null) {
+          scan_ = builderForValue.build();
+          onChanged();
+        } else {
+          scanBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>required .hbase.pb.Scan scan = 1;</code>
+       */
+      public Builder mergeScan(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan value) {
+        if (scanBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001) &&
+              scan_ != org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.getDefaultInstance()) {
+            scan_ =
+              org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.newBuilder(scan_).mergeFrom(value).buildPartial();
+          } else {
+            scan_ = value;
+          }
+          onChanged();
+        } else {
+          scanBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000001;
+        return this;
+      }
+      /**
+       * <code>required .hbase.pb.Scan scan = 1;</code>
+       */
+      public Builder clearScan() {
+        if (scanBuilder_ == null) {
+          scan_ = org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.getDefaultInstance();
+          onChanged();
+        } else {
+          scanBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000001);
+        return this;
+      }
+      /**
+       * <code>required .hbase.pb.Scan scan = 1;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.Builder getScanBuilder() {
+        bitField0_ |= 0x00000001;
+        onChanged();
+        return getScanFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>required .hbase.pb.Scan scan = 1;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ScanOrBuilder getScanOrBuilder() {
+        if (scanBuilder_ != null) {
+          return scanBuilder_.getMessageOrBuilder();
+        } else {
+          return scan_;
+        }
+      }
+      /**
+       * <code>required .hbase.pb.Scan scan = 1;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.Builder, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ScanOrBuilder> 
+          getScanFieldBuilder() {
+        if (scanBuilder_ == null) {
+          scanBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.Builder, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ScanOrBuilder>(
+                  scan_,
+                  getParentForChildren(),
+                  isClean());
+          scan_ = null;
+        }
+        return scanBuilder_;
+      }
+
+      // repeated .hbase.pb.AggregateColumn group_by = 2;
+      private java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn> groupBy_ =
+        java.util.Collections.emptyList();
+      private void ensureGroupByIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          groupBy_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn>(groupBy_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder> groupByBuilder_;
+
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn> getGroupByList() {
+        if (groupByBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(groupBy_);
+        } else {
+          return groupByBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public int getGroupByCount() {
+        if (groupByBuilder_ == null) {
+          return groupBy_.size();
+        } else {
+          return groupByBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn getGroupBy(int index) {
+        if (groupByBuilder_ == null) {
+          return groupBy_.get(index);
+        } else {
+          return groupByBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public Builder setGroupBy(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn value) {
+        if (groupByBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGroupByIsMutable();
+          groupBy_.set(index, value);
+          onChanged();
+        } else {
+          groupByBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public Builder setGroupBy(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder builderForValue) {
+        if (groupByBuilder_ == null) {
+          ensureGroupByIsMutable();
+          groupBy_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          groupByBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public Builder addGroupBy(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn value) {
+        if (groupByBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGroupByIsMutable();
+          groupBy_.add(value);
+          onChanged();
+        } else {
+          groupByBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public Builder addGroupBy(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn value) {
+        if (groupByBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGroupByIsMutable();
+          groupBy_.add(index, value);
+          onChanged();
+        } else {
+          groupByBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public Builder addGroupBy(
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder builderForValue) {
+        if (groupByBuilder_ == null) {
+          ensureGroupByIsMutable();
+          groupBy_.add(builderForValue.build());
+          onChanged();
+        } else {
+          groupByBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public Builder addGroupBy(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder builderForValue) {
+        if (groupByBuilder_ == null) {
+          ensureGroupByIsMutable();
+          groupBy_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          groupByBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public Builder addAllGroupBy(
+          java.lang.Iterable<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn> values) {
+        if (groupByBuilder_ == null) {
+          ensureGroupByIsMutable();
+          super.addAll(values, groupBy_);
+          onChanged();
+        } else {
+          groupByBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public Builder clearGroupBy() {
+        if (groupByBuilder_ == null) {
+          groupBy_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+        } else {
+          groupByBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public Builder removeGroupBy(int index) {
+        if (groupByBuilder_ == null) {
+          ensureGroupByIsMutable();
+          groupBy_.remove(index);
+          onChanged();
+        } else {
+          groupByBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder getGroupByBuilder(
+          int index) {
+        return getGroupByFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder getGroupByOrBuilder(
+          int index) {
+        if (groupByBuilder_ == null) {
+          return groupBy_.get(index);  } else {
+          return groupByBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder> 
+           getGroupByOrBuilderList() {
+        if (groupByBuilder_ != null) {
+          return groupByBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(groupBy_);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder addGroupByBuilder() {
+        return getGroupByFieldBuilder().addBuilder(
+            org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder addGroupByBuilder(
+          int index) {
+        return getGroupByFieldBuilder().addBuilder(
+            index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateColumn group_by = 2;</code>
+       *
+       * <pre>
+       ** The rows are grouped by the values of these columns, a missing value is empty 
+       * </pre>
+       */
+      public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder> 
+           getGroupByBuilderList() {
+        return getGroupByFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder> 
+          getGroupByFieldBuilder() {
+        if (groupByBuilder_ == null) {
+          groupByBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumn.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateColumnOrBuilder>(
+                  groupBy_,
+                  ((bitField0_ & 0x00000002) == 0x00000002),
+                  getParentForChildren(),
+                  isClean());
+          groupBy_ = null;
+        }
+        return groupByBuilder_;
+      }
+
+      // repeated .hbase.pb.Aggregation aggregation = 3;
+      private java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation> aggregation_ =
+        java.util.Collections.emptyList();
+      private void ensureAggregationIsMutable() {
+        if (!((bitField0_ & 0x00000004) == 0x00000004)) {
+          aggregation_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation>(aggregation_);
+          bitField0_ |= 0x00000004;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder> aggregationBuilder_;
+
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation> getAggregationList() {
+        if (aggregationBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(aggregation_);
+        } else {
+          return aggregationBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public int getAggregationCount() {
+        if (aggregationBuilder_ == null) {
+          return aggregation_.size();
+        } else {
+          return aggregationBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation getAggregation(int index) {
+        if (aggregationBuilder_ == null) {
+          return aggregation_.get(index);
+        } else {
+          return aggregationBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public Builder setAggregation(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation value) {
+        if (aggregationBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureAggregationIsMutable();
+          aggregation_.set(index, value);
+          onChanged();
+        } else {
+          aggregationBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public Builder setAggregation(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder builderForValue) {
+        if (aggregationBuilder_ == null) {
+          ensureAggregationIsMutable();
+          aggregation_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          aggregationBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public Builder addAggregation(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation value) {
+        if (aggregationBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureAggregationIsMutable();
+          aggregation_.add(value);
+          onChanged();
+        } else {
+          aggregationBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public Builder addAggregation(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation value) {
+        if (aggregationBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureAggregationIsMutable();
+          aggregation_.add(index, value);
+          onChanged();
+        } else {
+          aggregationBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public Builder addAggregation(
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder builderForValue) {
+        if (aggregationBuilder_ == null) {
+          ensureAggregationIsMutable();
+          aggregation_.add(builderForValue.build());
+          onChanged();
+        } else {
+          aggregationBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public Builder addAggregation(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder builderForValue) {
+        if (aggregationBuilder_ == null) {
+          ensureAggregationIsMutable();
+          aggregation_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          aggregationBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public Builder addAllAggregation(
+          java.lang.Iterable<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation> values) {
+        if (aggregationBuilder_ == null) {
+          ensureAggregationIsMutable();
+          super.addAll(values, aggregation_);
+          onChanged();
+        } else {
+          aggregationBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public Builder clearAggregation() {
+        if (aggregationBuilder_ == null) {
+          aggregation_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000004);
+          onChanged();
+        } else {
+          aggregationBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public Builder removeAggregation(int index) {
+        if (aggregationBuilder_ == null) {
+          ensureAggregationIsMutable();
+          aggregation_.remove(index);
+          onChanged();
+        } else {
+          aggregationBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder getAggregationBuilder(
+          int index) {
+        return getAggregationFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder getAggregationOrBuilder(
+          int index) {
+        if (aggregationBuilder_ == null) {
+          return aggregation_.get(index);  } else {
+          return aggregationBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder> 
+           getAggregationOrBuilderList() {
+        if (aggregationBuilder_ != null) {
+          return aggregationBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(aggregation_);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder addAggregationBuilder() {
+        return getAggregationFieldBuilder().addBuilder(
+            org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder addAggregationBuilder(
+          int index) {
+        return getAggregationFieldBuilder().addBuilder(
+            index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .hbase.pb.Aggregation aggregation = 3;</code>
+       */
+      public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder> 
+           getAggregationBuilderList() {
+        return getAggregationFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder> 
+          getAggregationFieldBuilder() {
+        if (aggregationBuilder_ == null) {
+          aggregationBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.Aggregation.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationOrBuilder>(
+                  aggregation_,
+                  ((bitField0_ & 0x00000004) == 0x00000004),
+                  getParentForChildren(),
+                  isClean());
+          aggregation_ = null;
+        }
+        return aggregationBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:hbase.pb.GroupAggregateRequest)
+    }
+
+    static {
+      defaultInstance = new GroupAggregateRequest(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:hbase.pb.GroupAggregateRequest)
+  }
+
+  public interface AggregationStateOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // optional int64 count = 1;
+    /**
+     * <code>optional int64 count = 1;</code>
+     */
+    boolean hasCount();
+    /**
+     * <code>optional int64 count = 1;</code>
+     */
+    long getCount();
+
+    // optional int64 sum = 2;
+    /**
+     * <code>optional int64 sum = 2;</code>
+     */
+    boolean hasSum();
+    /**
+     * <code>optional int64 sum = 2;</code>
+     */
+    long getSum();
+
+    // optional int64 min = 3;
+    /**
+     * <code>optional int64 min = 3;</code>
+     */
+    boolean hasMin();
+    /**
+     * <code>optional int64 min = 3;</code>
+     */
+    long getMin();
+
+    // optional int64 max = 4;
+    /**
+     * <code>optional int64 max = 4;</code>
+     */
+    boolean hasMax();
+    /**
+     * <code>optional int64 max = 4;</code>
+     */
+    long getMax();
+
+    // optional bytes sketch = 5;
+    /**
+     * <code>optional bytes sketch = 5;</code>
+     */
+    boolean hasSketch();
+    /**
+     * <code>optional bytes sketch = 5;</code>
+     */
+    com.google.protobuf.ByteString getSketch();
+  }
+  /**
+   * Protobuf type {@code hbase.pb.AggregationState}
+   *
+   * <pre>
+   ** The partial state of an aggregation, which regions and clients merge 
+   * </pre>
+   */
+  public static final class AggregationState extends
+      com.google.protobuf.GeneratedMessage
+      implements AggregationStateOrBuilder {
+    // Use AggregationState.newBuilder() to construct.
+    private AggregationState(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private AggregationState(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final AggregationState defaultInstance;
+    public static AggregationState getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public AggregationState getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private AggregationState(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 8: {
+              bitField0_ |= 0x00000001;
+              count_ = input.readInt64();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              sum_ = input.readInt64();
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              min_ = input.readInt64();
+              break;
+            }
+            case 32: {
+              bitField0_ |= 0x00000008;
+              max_ = input.readInt64();
+              break;
+            }
+            case 42: {
+              bitField0_ |= 0x00000010;
+              sketch_ = input.readBytes();
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregationState_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregationState_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<AggregationState> PARSER =
+        new com.google.protobuf.AbstractParser<AggregationState>() {
+      public AggregationState parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new AggregationState(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<AggregationState> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    // optional int64 count = 1;
+    public static final int COUNT_FIELD_NUMBER = 1;
+    private long count_;
+    /**
+     * <code>optional int64 count = 1;</code>
+     */
+    public boolean hasCount() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional int64 count = 1;</code>
+     */
+    public long getCount() {
+      return count_;
+    }
+
+    // optional int64 sum = 2;
+    public static final int SUM_FIELD_NUMBER = 2;
+    private long sum_;
+    /**
+     * <code>optional int64 sum = 2;</code>
+     */
+    public boolean hasSum() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
+    }
+    /**
+     * <code>optional int64 sum = 2;</code>
+     */
+    public long getSum() {
+      return sum_;
+    }
+
+    // optional int64 min = 3;
+    public static final int MIN_FIELD_NUMBER = 3;
+    private long min_;
+    /**
+     * <code>optional int64 min = 3;</code>
+     */
+    public boolean hasMin() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
+    }
+    /**
+     * <code>optional int64 min = 3;</code>
+     */
+    public long getMin() {
+      return min_;
+    }
+
+    // optional int64 max = 4;
+    public static final int MAX_FIELD_NUMBER = 4;
+    private long max_;
+    /**
+     * <code>optional int64 max = 4;</code>
+     */
+    public boolean hasMax() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional int64 max = 4;</code>
+     */
+    public long getMax() {
+      return max_;
+    }
+
+    // optional bytes sketch = 5;
+    public static final int SKETCH_FIELD_NUMBER = 5;
+    private com.google.protobuf.ByteString sketch_;
+    /**
+     * <code>optional bytes sketch = 5;</code>
+     */
+    public boolean hasSketch() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <code>optional bytes sketch = 5;</code>
+     */
+    public com.google.protobuf.ByteString getSketch() {
+      return sketch_;
+    }
+
+    private void initFields() {
+      count_ = 0L;
+      sum_ = 0L;
+      min_ = 0L;
+      max_ = 0L;
+      sketch_ = com.google.protobuf.ByteString.EMPTY;
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt64(1, count_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeInt64(2, sum_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeInt64(3, min_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeInt64(4, max_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeBytes(5, sketch_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(1, count_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(2, sum_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(3, min_);
+      }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(4, max_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(5, sketch_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState)) {
+        return super.equals(obj);
+      }
+      org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState other = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState) obj;
+
+      boolean result = true;
+      result = result && (hasCount() == other.hasCount());
+      if (hasCount()) {
+        result = result && (getCount()
+            == other.getCount());
+      }
+      result = result && (hasSum() == other.hasSum());
+      if (hasSum()) {
+        result = result && (getSum()
+            == other.getSum());
+      }
+      result = result && (hasMin() == other.hasMin());
+      if (hasMin()) {
+        result = result && (getMin()
+            == other.getMin());
+      }
+      result = result && (hasMax() == other.hasMax());
+      if (hasMax()) {
+        result = result && (getMax()
+            == other.getMax());
+      }
+      result = result && (hasSketch() == other.hasSketch());
+      if (hasSketch()) {
+        result = result && getSketch()
+            .equals(other.getSketch());
+      }
+      result = result &&
+          getUnknownFields().equals(other.getUnknownFields());
+      return result;
+    }
+
+    private int memoizedHashCode = 0;
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (hasCount()) {
+        hash = (37 * hash) + COUNT_FIELD_NUMBER;
+        hash = (53 * hash) + hashLong(getCount());
+      }
+      if (hasSum()) {
+        hash = (37 * hash) + SUM_FIELD_NUMBER;
+        hash = (53 * hash) + hashLong(getSum());
+      }
+      if (hasMin()) {
+        hash = (37 * hash) + MIN_FIELD_NUMBER;
+        hash = (53 * hash) + hashLong(getMin());
+      }
+      if (hasMax()) {
+        hash = (37 * hash) + MAX_FIELD_NUMBER;
+        hash = (53 * hash) + hashLong(getMax());
+      }
+      if (hasSketch()) {
+        hash = (37 * hash) + SKETCH_FIELD_NUMBER;
+        hash = (53 * hash) + getSketch().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code hbase.pb.AggregationState}
+     *
+     * <pre>
+     ** The partial state of an aggregation, which regions and clients merge 
+     * </pre>
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregationState_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregationState_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder.class);
+      }
+
+      // Construct using org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        count_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        sum_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        min_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        max_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000008);
+        sketch_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000010);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregationState_descriptor;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState getDefaultInstanceForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.getDefaultInstance();
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState build() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState buildPartial() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState result = new org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.count_ = count_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.sum_ = sum_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.min_ = min_;
+        if (((from_bitField0_ & 0x00000008) == 0x00000008)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.max_ = max_;
+        if (((from_bitField0_ & 0x00000010) == 0x00000010)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.sketch_ = sketch_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState) {
+          return mergeFrom((org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState other) {
+        if (other == org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.getDefaultInstance()) return this;
+        if (other.hasCount()) {
+          setCount(other.getCount());
+        }
+        if (other.hasSum()) {
+          setSum(other.getSum());
+        }
+        if (other.hasMin()) {
+          setMin(other.getMin());
+        }
+        if (other.hasMax()) {
+          setMax(other.getMax());
+        }
+        if (other.hasSketch()) {
+          setSketch(other.getSketch());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // optional int64 count = 1;
+      private long count_ ;
+      /**
+       * <code>optional int64 count = 1;</code>
+       */
+      public boolean hasCount() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional int64 count = 1;</code>
+       */
+      public long getCount() {
+        return count_;
+      }
+      /**
+       * <code>optional int64 count = 1;</code>
+       */
+      public Builder setCount(long value) {
+        bitField0_ |= 0x00000001;
+        count_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 count = 1;</code>
+       */
+      public Builder clearCount() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        count_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      // optional int64 sum = 2;
+      private long sum_ ;
+      /**
+       * <code>optional int64 sum = 2;</code>
+       */
+      public boolean hasSum() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional int64 sum = 2;</code>
+       */
+      public long getSum() {
+        return sum_;
+      }
+      /**
+       * <code>optional int64 sum = 2;</code>
+       */
+      public Builder setSum(long value) {
+        bitField0_ |= 0x00000002;
+        sum_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 sum = 2;</code>
+       */
+      public Builder clearSum() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        sum_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      // optional int64 min = 3;
+      private long min_ ;
+      /**
+       * <code>optional int64 min = 3;</code>
+       */
+      public boolean hasMin() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional int64 min = 3;</code>
+       */
+      public long getMin() {
+        return min_;
+      }
+      /**
+       * <code>optional int64 min = 3;</code>
+       */
+      public Builder setMin(long value) {
+        bitField0_ |= 0x00000004;
+        min_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 min = 3;</code>
+       */
+      public Builder clearMin() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        min_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      // optional int64 max = 4;
+      private long max_ ;
+      /**
+       * <code>optional int64 max = 4;</code>
+       */
+      public boolean hasMax() {
+        return ((bitField0_ & 0x00000008) == 0x00000008);
+      }
+      /**
+       * <code>optional int64 max = 4;</code>
+       */
+      public long getMax() {
+        return max_;
+      }
+      /**
+       * <code>optional int64 max = 4;</code>
+       */
+      public Builder setMax(long value) {
+        bitField0_ |= 0x00000008;
+        max_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int64 max = 4;</code>
+       */
+      public Builder clearMax() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        max_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      // optional bytes sketch = 5;
+      private com.google.protobuf.ByteString sketch_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes sketch = 5;</code>
+       */
+      public boolean hasSketch() {
+        return ((bitField0_ & 0x00000010) == 0x00000010);
+      }
+      /**
+       * <code>optional bytes sketch = 5;</code>
+       */
+      public com.google.protobuf.ByteString getSketch() {
+        return sketch_;
+      }
+      /**
+       * <code>optional bytes sketch = 5;</code>
+       */
+      public Builder setSketch(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000010;
+        sketch_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes sketch = 5;</code>
+       */
+      public Builder clearSketch() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        sketch_ = getDefaultInstance().getSketch();
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:hbase.pb.AggregationState)
+    }
+
+    static {
+      defaultInstance = new AggregationState(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:hbase.pb.AggregationState)
+  }
+
+  public interface AggregateGroupOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // repeated bytes key = 1;
+    /**
+     * <code>repeated bytes key = 1;</code>
+     *
+     * <pre>
+     ** One value per group by column 
+     * </pre>
+     */
+    java.util.List<com.google.protobuf.ByteString> getKeyList();
+    /**
+     * <code>repeated bytes key = 1;</code>
+     *
+     * <pre>
+     ** One value per group by column 
+     * </pre>
+     */
+    int getKeyCount();
+    /**
+     * <code>repeated bytes key = 1;</code>
+     *
+     * <pre>
+     ** One value per group by column 
+     * </pre>
+     */
+    com.google.protobuf.ByteString getKey(int index);
+
+    // repeated .hbase.pb.AggregationState state = 2;
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState> 
+        getStateList();
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState getState(int index);
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    int getStateCount();
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder> 
+        getStateOrBuilderList();
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder getStateOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code hbase.pb.AggregateGroup}
+   */
+  public static final class AggregateGroup extends
+      com.google.protobuf.GeneratedMessage
+      implements AggregateGroupOrBuilder {
+    // Use AggregateGroup.newBuilder() to construct.
+    private AggregateGroup(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private AggregateGroup(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final AggregateGroup defaultInstance;
+    public static AggregateGroup getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public AggregateGroup getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private AggregateGroup(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                key_ = new java.util.ArrayList<com.google.protobuf.ByteString>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              key_.add(input.readBytes());
+              break;
+            }
+            case 18: {
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                state_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState>();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              state_.add(input.readMessage(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.PARSER, extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+          key_ = java.util.Collections.unmodifiableList(key_);
+        }
+        if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+          state_ = java.util.Collections.unmodifiableList(state_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateGroup_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateGroup_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<AggregateGroup> PARSER =
+        new com.google.protobuf.AbstractParser<AggregateGroup>() {
+      public AggregateGroup parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new AggregateGroup(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<AggregateGroup> getParserForType() {
+      return PARSER;
+    }
+
+    // repeated bytes key = 1;
+    public static final int KEY_FIELD_NUMBER = 1;
+    private java.util.List<com.google.protobuf.ByteString> key_;
+    /**
+     * <code>repeated bytes key = 1;</code>
+     *
+     * <pre>
+     ** One value per group by column 
+     * </pre>
+     */
+    public java.util.List<com.google.protobuf.ByteString>
+        getKeyList() {
+      return key_;
+    }
+    /**
+     * <code>repeated bytes key = 1;</code>
+     *
+     * <pre>
+     ** One value per group by column 
+     * </pre>
+     */
+    public int getKeyCount() {
+      return key_.size();
+    }
+    /**
+     * <code>repeated bytes key = 1;</code>
+     *
+     * <pre>
+     ** One value per group by column 
+     * </pre>
+     */
+    public com.google.protobuf.ByteString getKey(int index) {
+      return key_.get(index);
+    }
+
+    // repeated .hbase.pb.AggregationState state = 2;
+    public static final int STATE_FIELD_NUMBER = 2;
+    private java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState> state_;
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState> getStateList() {
+      return state_;
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder> 
+        getStateOrBuilderList() {
+      return state_;
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    public int getStateCount() {
+      return state_.size();
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState getState(int index) {
+      return state_.get(index);
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+     *
+     * <pre>
+     ** One state per aggregation, in the order of the request 
+     * </pre>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder getStateOrBuilder(
+        int index) {
+      return state_.get(index);
+    }
+
+    private void initFields() {
+      key_ = java.util.Collections.emptyList();
+      state_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < key_.size(); i++) {
+        output.writeBytes(1, key_.get(i));
+      }
+      for (int i = 0; i < state_.size(); i++) {
+        output.writeMessage(2, state_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      {
+        int dataSize = 0;
+        for (int i = 0; i < key_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(key_.get(i));
+        }
+        size += dataSize;
+        size += 1 * getKeyList().size();
+      }
+      for (int i = 0; i < state_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, state_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup)) {
+        return super.equals(obj);
+      }
+      org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup other = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup) obj;
+
+      boolean result = true;
+      result = result && getKeyList()
+          .equals(other.getKeyList());
+      result = result && getStateList()
+          .equals(other.getStateList());
+      result = result &&
+          getUnknownFields().equals(other.getUnknownFields());
+      return result;
+    }
+
+    private int memoizedHashCode = 0;
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (getKeyCount() > 0) {
+        hash = (37 * hash) + KEY_FIELD_NUMBER;
+        hash = (53 * hash) + getKeyList().hashCode();
+      }
+      if (getStateCount() > 0) {
+        hash = (37 * hash) + STATE_FIELD_NUMBER;
+        hash = (53 * hash) + getStateList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code hbase.pb.AggregateGroup}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateGroup_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateGroup_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder.class);
+      }
+
+      // Construct using org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getStateFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        key_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (stateBuilder_ == null) {
+          state_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+        } else {
+          stateBuilder_.clear();
+        }
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_AggregateGroup_descriptor;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup getDefaultInstanceForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.getDefaultInstance();
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup build() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup buildPartial() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup result = new org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup(this);
+        int from_bitField0_ = bitField0_;
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          key_ = java.util.Collections.unmodifiableList(key_);
+          bitField0_ = (bitField0_ & ~0x00000001);
+        }
+        result.key_ = key_;
+        if (stateBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002)) {
+            state_ = java.util.Collections.unmodifiableList(state_);
+            bitField0_ = (bitField0_ & ~0x00000002);
+          }
+          result.state_ = state_;
+        } else {
+          result.state_ = stateBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup) {
+          return mergeFrom((org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup other) {
+        if (other == org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.getDefaultInstance()) return this;
+        if (!other.key_.isEmpty()) {
+          if (key_.isEmpty()) {
+            key_ = other.key_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+          } else {
+            ensureKeyIsMutable();
+            key_.addAll(other.key_);
+          }
+          onChanged();
+        }
+        if (stateBuilder_ == null) {
+          if (!other.state_.isEmpty()) {
+            if (state_.isEmpty()) {
+              state_ = other.state_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+            } else {
+              ensureStateIsMutable();
+              state_.addAll(other.state_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.state_.isEmpty()) {
+            if (stateBuilder_.isEmpty()) {
+              stateBuilder_.dispose();
+              stateBuilder_ = null;
+              state_ = other.state_;
+              bitField0_ = (bitField0_ & ~0x00000002);
+              stateBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getStateFieldBuilder() : null;
+            } else {
+              stateBuilder_.addAllMessages(other.state_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // repeated bytes key = 1;
+      private java.util.List<com.google.protobuf.ByteString> key_ = java.util.Collections.emptyList();
+      private void ensureKeyIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          key_ = new java.util.ArrayList<com.google.protobuf.ByteString>(key_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+      /**
+       * <code>repeated bytes key = 1;</code>
+       *
+       * <pre>
+       ** One value per group by column 
+       * </pre>
+       */
+      public java.util.List<com.google.protobuf.ByteString>
+          getKeyList() {
+        return java.util.Collections.unmodifiableList(key_);
+      }
+      /**
+       * <code>repeated bytes key = 1;</code>
+       *
+       * <pre>
+       ** One value per group by column 
+       * </pre>
+       */
+      public int getKeyCount() {
+        return key_.size();
+      }
+      /**
+       * <code>repeated bytes key = 1;</code>
+       *
+       * <pre>
+       ** One value per group by column 
+       * </pre>
+       */
+      public com.google.protobuf.ByteString getKey(int index) {
+        return key_.get(index);
+      }
+      /**
+       * <code>repeated bytes key = 1;</code>
+       *
+       * <pre>
+       ** One value per group by column 
+       * </pre>
+       */
+      public Builder setKey(
+          int index, com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureKeyIsMutable();
+        key_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes key = 1;</code>
+       *
+       * <pre>
+       ** One value per group by column 
+       * </pre>
+       */
+      public Builder addKey(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureKeyIsMutable();
+        key_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes key = 1;</code>
+       *
+       * <pre>
+       ** One value per group by column 
+       * </pre>
+       */
+      public Builder addAllKey(
+          java.lang.Iterable<? extends com.google.protobuf.ByteString> values) {
+        ensureKeyIsMutable();
+        super.addAll(values, key_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated bytes key = 1;</code>
+       *
+       * <pre>
+       ** One value per group by column 
+       * </pre>
+       */
+      public Builder clearKey() {
+        key_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
+        return this;
+      }
+
+      // repeated .hbase.pb.AggregationState state = 2;
+      private java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState> state_ =
+        java.util.Collections.emptyList();
+      private void ensureStateIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          state_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState>(state_);
+          bitField0_ |= 0x00000002;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder> stateBuilder_;
+
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState> getStateList() {
+        if (stateBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(state_);
+        } else {
+          return stateBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public int getStateCount() {
+        if (stateBuilder_ == null) {
+          return state_.size();
+        } else {
+          return stateBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState getState(int index) {
+        if (stateBuilder_ == null) {
+          return state_.get(index);
+        } else {
+          return stateBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public Builder setState(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState value) {
+        if (stateBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureStateIsMutable();
+          state_.set(index, value);
+          onChanged();
+        } else {
+          stateBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public Builder setState(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder builderForValue) {
+        if (stateBuilder_ == null) {
+          ensureStateIsMutable();
+          state_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          stateBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public Builder addState(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState value) {
+        if (stateBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureStateIsMutable();
+          state_.add(value);
+          onChanged();
+        } else {
+          stateBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public Builder addState(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState value) {
+        if (stateBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureStateIsMutable();
+          state_.add(index, value);
+          onChanged();
+        } else {
+          stateBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public Builder addState(
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder builderForValue) {
+        if (stateBuilder_ == null) {
+          ensureStateIsMutable();
+          state_.add(builderForValue.build());
+          onChanged();
+        } else {
+          stateBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public Builder addState(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder builderForValue) {
+        if (stateBuilder_ == null) {
+          ensureStateIsMutable();
+          state_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          stateBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public Builder addAllState(
+          java.lang.Iterable<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState> values) {
+        if (stateBuilder_ == null) {
+          ensureStateIsMutable();
+          super.addAll(values, state_);
+          onChanged();
+        } else {
+          stateBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public Builder clearState() {
+        if (stateBuilder_ == null) {
+          state_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000002);
+          onChanged();
+        } else {
+          stateBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public Builder removeState(int index) {
+        if (stateBuilder_ == null) {
+          ensureStateIsMutable();
+          state_.remove(index);
+          onChanged();
+        } else {
+          stateBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder getStateBuilder(
+          int index) {
+        return getStateFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder getStateOrBuilder(
+          int index) {
+        if (stateBuilder_ == null) {
+          return state_.get(index);  } else {
+          return stateBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder> 
+           getStateOrBuilderList() {
+        if (stateBuilder_ != null) {
+          return stateBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(state_);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder addStateBuilder() {
+        return getStateFieldBuilder().addBuilder(
+            org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder addStateBuilder(
+          int index) {
+        return getStateFieldBuilder().addBuilder(
+            index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregationState state = 2;</code>
+       *
+       * <pre>
+       ** One state per aggregation, in the order of the request 
+       * </pre>
+       */
+      public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder> 
+           getStateBuilderList() {
+        return getStateFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder> 
+          getStateFieldBuilder() {
+        if (stateBuilder_ == null) {
+          stateBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationState.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregationStateOrBuilder>(
+                  state_,
+                  ((bitField0_ & 0x00000002) == 0x00000002),
+                  getParentForChildren(),
+                  isClean());
+          state_ = null;
+        }
+        return stateBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:hbase.pb.AggregateGroup)
+    }
+
+    static {
+      defaultInstance = new AggregateGroup(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:hbase.pb.AggregateGroup)
+  }
+
+  public interface GroupAggregateResponseOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // repeated .hbase.pb.AggregateGroup group = 1;
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup> 
+        getGroupList();
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup getGroup(int index);
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    int getGroupCount();
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder> 
+        getGroupOrBuilderList();
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder getGroupOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code hbase.pb.GroupAggregateResponse}
+   */
+  public static final class GroupAggregateResponse extends
+      com.google.protobuf.GeneratedMessage
+      implements GroupAggregateResponseOrBuilder {
+    // Use GroupAggregateResponse.newBuilder() to construct.
+    private GroupAggregateResponse(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private GroupAggregateResponse(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final GroupAggregateResponse defaultInstance;
+    public static GroupAggregateResponse getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public GroupAggregateResponse getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private GroupAggregateResponse(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                group_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              group_.add(input.readMessage(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.PARSER, extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+          group_ = java.util.Collections.unmodifiableList(group_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateResponse_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateResponse_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<GroupAggregateResponse> PARSER =
+        new com.google.protobuf.AbstractParser<GroupAggregateResponse>() {
+      public GroupAggregateResponse parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new GroupAggregateResponse(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<GroupAggregateResponse> getParserForType() {
+      return PARSER;
+    }
+
+    // repeated .hbase.pb.AggregateGroup group = 1;
+    public static final int GROUP_FIELD_NUMBER = 1;
+    private java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup> group_;
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup> getGroupList() {
+      return group_;
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder> 
+        getGroupOrBuilderList() {
+      return group_;
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    public int getGroupCount() {
+      return group_.size();
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup getGroup(int index) {
+      return group_.get(index);
+    }
+    /**
+     * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder getGroupOrBuilder(
+        int index) {
+      return group_.get(index);
+    }
+
+    private void initFields() {
+      group_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < group_.size(); i++) {
+        output.writeMessage(1, group_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < group_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, group_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse)) {
+        return super.equals(obj);
+      }
+      org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse other = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse) obj;
+
+      boolean result = true;
+      result = result && getGroupList()
+          .equals(other.getGroupList());
+      result = result &&
+          getUnknownFields().equals(other.getUnknownFields());
+      return result;
+    }
+
+    private int memoizedHashCode = 0;
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (getGroupCount() > 0) {
+        hash = (37 * hash) + GROUP_FIELD_NUMBER;
+        hash = (53 * hash) + getGroupList().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code hbase.pb.GroupAggregateResponse}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateResponse_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateResponse_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.class, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.Builder.class);
+      }
+
+      // Construct using org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getGroupFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        if (groupBuilder_ == null) {
+          group_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          groupBuilder_.clear();
+        }
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.internal_static_hbase_pb_GroupAggregateResponse_descriptor;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse getDefaultInstanceForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.getDefaultInstance();
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse build() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse buildPartial() {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse result = new org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse(this);
+        int from_bitField0_ = bitField0_;
+        if (groupBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            group_ = java.util.Collections.unmodifiableList(group_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.group_ = group_;
+        } else {
+          result.group_ = groupBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse) {
+          return mergeFrom((org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse other) {
+        if (other == org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.getDefaultInstance()) return this;
+        if (groupBuilder_ == null) {
+          if (!other.group_.isEmpty()) {
+            if (group_.isEmpty()) {
+              group_ = other.group_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureGroupIsMutable();
+              group_.addAll(other.group_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.group_.isEmpty()) {
+            if (groupBuilder_.isEmpty()) {
+              groupBuilder_.dispose();
+              groupBuilder_ = null;
+              group_ = other.group_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              groupBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getGroupFieldBuilder() : null;
+            } else {
+              groupBuilder_.addAllMessages(other.group_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // repeated .hbase.pb.AggregateGroup group = 1;
+      private java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup> group_ =
+        java.util.Collections.emptyList();
+      private void ensureGroupIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          group_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup>(group_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder> groupBuilder_;
+
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup> getGroupList() {
+        if (groupBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(group_);
+        } else {
+          return groupBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public int getGroupCount() {
+        if (groupBuilder_ == null) {
+          return group_.size();
+        } else {
+          return groupBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup getGroup(int index) {
+        if (groupBuilder_ == null) {
+          return group_.get(index);
+        } else {
+          return groupBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public Builder setGroup(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup value) {
+        if (groupBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGroupIsMutable();
+          group_.set(index, value);
+          onChanged();
+        } else {
+          groupBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public Builder setGroup(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder builderForValue) {
+        if (groupBuilder_ == null) {
+          ensureGroupIsMutable();
+          group_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          groupBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public Builder addGroup(org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup value) {
+        if (groupBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGroupIsMutable();
+          group_.add(value);
+          onChanged();
+        } else {
+          groupBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public Builder addGroup(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup value) {
+        if (groupBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureGroupIsMutable();
+          group_.add(index, value);
+          onChanged();
+        } else {
+          groupBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public Builder addGroup(
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder builderForValue) {
+        if (groupBuilder_ == null) {
+          ensureGroupIsMutable();
+          group_.add(builderForValue.build());
+          onChanged();
+        } else {
+          groupBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public Builder addGroup(
+          int index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder builderForValue) {
+        if (groupBuilder_ == null) {
+          ensureGroupIsMutable();
+          group_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          groupBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public Builder addAllGroup(
+          java.lang.Iterable<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup> values) {
+        if (groupBuilder_ == null) {
+          ensureGroupIsMutable();
+          super.addAll(values, group_);
+          onChanged();
+        } else {
+          groupBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public Builder clearGroup() {
+        if (groupBuilder_ == null) {
+          group_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          groupBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public Builder removeGroup(int index) {
+        if (groupBuilder_ == null) {
+          ensureGroupIsMutable();
+          group_.remove(index);
+          onChanged();
+        } else {
+          groupBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder getGroupBuilder(
+          int index) {
+        return getGroupFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder getGroupOrBuilder(
+          int index) {
+        if (groupBuilder_ == null) {
+          return group_.get(index);  } else {
+          return groupBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder> 
+           getGroupOrBuilderList() {
+        if (groupBuilder_ != null) {
+          return groupBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(group_);
+        }
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder addGroupBuilder() {
+        return getGroupFieldBuilder().addBuilder(
+            org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder addGroupBuilder(
+          int index) {
+        return getGroupFieldBuilder().addBuilder(
+            index, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .hbase.pb.AggregateGroup group = 1;</code>
+       */
+      public java.util.List<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder> 
+           getGroupBuilderList() {
+        return getGroupFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder> 
+          getGroupFieldBuilder() {
+        if (groupBuilder_ == null) {
+          groupBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroup.Builder, org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.AggregateGroupOrBuilder>(
+                  group_,
+                  ((bitField0_ & 0x00000001) == 0x00000001),
+                  getParentForChildren(),
+                  isClean());
+          group_ = null;
+        }
+        return groupBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:hbase.pb.GroupAggregateResponse)
+    }
+
+    static {
+      defaultInstance = new GroupAggregateResponse(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:hbase.pb.GroupAggregateResponse)
+  }
+
+  /**
+   * Protobuf service {@code hbase.pb.GroupAggregateService}
+   *
+   * <pre>
+   ** Refer to the GroupAggregateImplementation class for an overview of the service. 
+   * </pre>
+   */
+  public static abstract class GroupAggregateService
+      implements com.google.protobuf.Service {
+    protected GroupAggregateService() {}
+
+    public interface Interface {
+      /**
+       * <code>rpc Aggregate(.hbase.pb.GroupAggregateRequest) returns (.hbase.pb.GroupAggregateResponse);</code>
+       */
+      public abstract void aggregate(
+          com.google.protobuf.RpcController controller,
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest request,
+          com.google.protobuf.RpcCallback<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse> done);
+
+    }
+
+    public static com.google.protobuf.Service newReflectiveService(
+        final Interface impl) {
+      return new GroupAggregateService() {
+        @java.lang.Override
+        public  void aggregate(
+            com.google.protobuf.RpcController controller,
+            org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest request,
+            com.google.protobuf.RpcCallback<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse> done) {
+          impl.aggregate(controller, request, done);
+        }
+
+      };
+    }
+
+    public static com.google.protobuf.BlockingService
+        newReflectiveBlockingService(final BlockingInterface impl) {
+      return new com.google.protobuf.BlockingService() {
+        public final com.google.protobuf.Descriptors.ServiceDescriptor
+            getDescriptorForType() {
+          return getDescriptor();
+        }
+
+        public final com.google.protobuf.Message callBlockingMethod(
+            com.google.protobuf.Descriptors.MethodDescriptor method,
+            com.google.protobuf.RpcController controller,
+            com.google.protobuf.Message request)
+            throws com.google.protobuf.ServiceException {
+          if (method.getService() != getDescriptor()) {
+            throw new java.lang.IllegalArgumentException(
+              "Service.callBlockingMethod() given method descriptor for " +
+              "wrong service type.");
+          }
+          switch(method.getIndex()) {
+            case 0:
+              return impl.aggregate(controller, (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest)request);
+            default:
+              throw new java.lang.AssertionError("Can't get here.");
+          }
+        }
+
+        public final com.google.protobuf.Message
+            getRequestPrototype(
+            com.google.protobuf.Descriptors.MethodDescriptor method) {
+          if (method.getService() != getDescriptor()) {
+            throw new java.lang.IllegalArgumentException(
+              "Service.getRequestPrototype() given method " +
+              "descriptor for wrong service type.");
+          }
+          switch(method.getIndex()) {
+            case 0:
+              return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest.getDefaultInstance();
+            default:
+              throw new java.lang.AssertionError("Can't get here.");
+          }
+        }
+
+        public final com.google.protobuf.Message
+            getResponsePrototype(
+            com.google.protobuf.Descriptors.MethodDescriptor method) {
+          if (method.getService() != getDescriptor()) {
+            throw new java.lang.IllegalArgumentException(
+              "Service.getResponsePrototype() given method " +
+              "descriptor for wrong service type.");
+          }
+          switch(method.getIndex()) {
+            case 0:
+              return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.getDefaultInstance();
+            default:
+              throw new java.lang.AssertionError("Can't get here.");
+          }
+        }
+
+      };
+    }
+
+    /**
+     * <code>rpc Aggregate(.hbase.pb.GroupAggregateRequest) returns (.hbase.pb.GroupAggregateResponse);</code>
+     */
+    public abstract void aggregate(
+        com.google.protobuf.RpcController controller,
+        org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest request,
+        com.google.protobuf.RpcCallback<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse> done);
+
+    public static final
+        com.google.protobuf.Descriptors.ServiceDescriptor
+        getDescriptor() {
+      return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.getDescriptor().getServices().get(0);
+    }
+    public final com.google.protobuf.Descriptors.ServiceDescriptor
+        getDescriptorForType() {
+      return getDescriptor();
+    }
+
+    public final void callMethod(
+        com.google.protobuf.Descriptors.MethodDescriptor method,
+        com.google.protobuf.RpcController controller,
+        com.google.protobuf.Message request,
+        com.google.protobuf.RpcCallback<
+          com.google.protobuf.Message> done) {
+      if (method.getService() != getDescriptor()) {
+        throw new java.lang.IllegalArgumentException(
+          "Service.callMethod() given method descriptor for wrong " +
+          "service type.");
+      }
+      switch(method.getIndex()) {
+        case 0:
+          this.aggregate(controller, (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest)request,
+            com.google.protobuf.RpcUtil.<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse>specializeCallback(
+              done));
+          return;
+        default:
+          throw new java.lang.AssertionError("Can't get here.");
+      }
+    }
+
+    public final com.google.protobuf.Message
+        getRequestPrototype(
+        com.google.protobuf.Descriptors.MethodDescriptor method) {
+      if (method.getService() != getDescriptor()) {
+        throw new java.lang.IllegalArgumentException(
+          "Service.getRequestPrototype() given method " +
+          "descriptor for wrong service type.");
+      }
+      switch(method.getIndex()) {
+        case 0:
+          return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest.getDefaultInstance();
+        default:
+          throw new java.lang.AssertionError("Can't get here.");
+      }
+    }
+
+    public final com.google.protobuf.Message
+        getResponsePrototype(
+        com.google.protobuf.Descriptors.MethodDescriptor method) {
+      if (method.getService() != getDescriptor()) {
+        throw new java.lang.IllegalArgumentException(
+          "Service.getResponsePrototype() given method " +
+          "descriptor for wrong service type.");
+      }
+      switch(method.getIndex()) {
+        case 0:
+          return org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.getDefaultInstance();
+        default:
+          throw new java.lang.AssertionError("Can't get here.");
+      }
+    }
+
+    public static Stub newStub(
+        com.google.protobuf.RpcChannel channel) {
+      return new Stub(channel);
+    }
+
+    public static final class Stub extends org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateService implements Interface {
+      private Stub(com.google.protobuf.RpcChannel channel) {
+        this.channel = channel;
+      }
+
+      private final com.google.protobuf.RpcChannel channel;
+
+      public com.google.protobuf.RpcChannel getChannel() {
+        return channel;
+      }
+
+      public  void aggregate(
+          com.google.protobuf.RpcController controller,
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest request,
+          com.google.protobuf.RpcCallback<org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse> done) {
+        channel.callMethod(
+          getDescriptor().getMethods().get(0),
+          controller,
+          request,
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.getDefaultInstance(),
+          com.google.protobuf.RpcUtil.generalizeCallback(
+            done,
+            org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.class,
+            org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.getDefaultInstance()));
+      }
+    }
+
+    public static BlockingInterface newBlockingStub(
+        com.google.protobuf.BlockingRpcChannel channel) {
+      return new BlockingStub(channel);
+    }
+
+    public interface BlockingInterface {
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse aggregate(
+          com.google.protobuf.RpcController controller,
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest request)
+          throws com.google.protobuf.ServiceException;
+    }
+
+    private static final class BlockingStub implements BlockingInterface {
+      private BlockingStub(com.google.protobuf.BlockingRpcChannel channel) {
+        this.channel = channel;
+      }
+
+      private final com.google.protobuf.BlockingRpcChannel channel;
+
+      public org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse aggregate(
+          com.google.protobuf.RpcController controller,
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateRequest request)
+          throws com.google.protobuf.ServiceException {
+        return (org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse) channel.callBlockingMethod(
+          getDescriptor().getMethods().get(0),
+          controller,
+          request,
+          org.apache.hadoop.hbase.protobuf.generated.GroupAggregateProtos.GroupAggregateResponse.getDefaultInstance());
+      }
+
+    }
+
+    // @@protoc_insertion_point(class_scope:hbase.pb.GroupAggregateService)
+  }
+
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_hbase_pb_AggregateColumn_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_hbase_pb_AggregateColumn_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_hbase_pb_Aggregation_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_hbase_pb_Aggregation_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_hbase_pb_GroupAggregateRequest_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_hbase_pb_GroupAggregateRequest_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_hbase_pb_AggregationState_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_hbase_pb_AggregationState_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_hbase_pb_AggregateGroup_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_hbase_pb_AggregateGroup_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_hbase_pb_GroupAggregateResponse_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_hbase_pb_GroupAggregateResponse_fieldAccessorTable;
+
+  public static com.google.protobuf.Descriptors.FileDescriptor
+      getDescriptor() {
+    return descriptor;
+  }
+  private static com.google.protobuf.Descriptors.FileDescriptor
+      descriptor;
+  static {
+    java.lang.String[] descriptorData = {
+      "\n\024GroupAggregate.proto\022\010hbase.pb\032\014Client" +
+      ".proto\"4\n\017AggregateColumn\022\016\n\006family\030\001 \002(" +
+      "\014\022\021\n\tqualifier\030\002 \002(\014\"\263\001\n\013Aggregation\022(\n\004" +
+      "type\030\001 \002(\0162\032.hbase.pb.Aggregation.Type\022)" +
+      "\n\006column\030\002 \001(\0132\031.hbase.pb.AggregateColum" +
+      "n\"O\n\004Type\022\t\n\005COUNT\020\000\022\007\n\003SUM\020\001\022\007\n\003MIN\020\002\022\007" +
+      "\n\003MAX\020\003\022\022\n\016COUNT_DISTINCT\020\004\022\r\n\tQUANTILES" +
+      "\020\005\"\216\001\n\025GroupAggregateRequest\022\034\n\004scan\030\001 \002" +
+      "(\0132\016.hbase.pb.Scan\022+\n\010group_by\030\002 \003(\0132\031.h" +
+      "base.pb.AggregateColumn\022*\n\013aggregation\030\003",
+      " \003(\0132\025.hbase.pb.Aggregation\"X\n\020Aggregati" +
+      "onState\022\r\n\005count\030\001 \001(\003\022\013\n\003sum\030\002 \001(\003\022\013\n\003m" +
+      "in\030\003 \001(\003\022\013\n\003max\030\004 \001(\003\022\016\n\006sketch\030\005 \001(\014\"H\n" +
+      "\016AggregateGroup\022\013\n\003key\030\001 \003(\014\022)\n\005state\030\002 " +
+      "\003(\0132\032.hbase.pb.AggregationState\"A\n\026Group" +
+      "AggregateResponse\022\'\n\005group\030\001 \003(\0132\030.hbase" +
+      ".pb.AggregateGroup2g\n\025GroupAggregateServ" +
+      "ice\022N\n\tAggregate\022\037.hbase.pb.GroupAggrega" +
+      "teRequest\032 .hbase.pb.GroupAggregateRespo" +
+      "nseBJ\n*org.apache.hadoop.hbase.protobuf.",
+      "generatedB\024GroupAggregateProtosH\001\210\001\001\240\001\001"
+    };
+    com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
+      new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
+        public com.google.protobuf.ExtensionRegistry assignDescriptors(
+            com.google.protobuf.Descriptors.FileDescriptor root) {
+          descriptor = root;
+          internal_static_hbase_pb_AggregateColumn_descriptor =
+            getDescriptor().getMessageTypes().get(0);
+          internal_static_hbase_pb_AggregateColumn_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_hbase_pb_AggregateColumn_descriptor,
+              new java.lang.String[] { "Family", "Qualifier", });
+          internal_static_hbase_pb_Aggregation_descriptor =
+            getDescriptor().getMessageTypes().get(1);
+          internal_static_hbase_pb_Aggregation_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_hbase_pb_Aggregation_descriptor,
+              new java.lang.String[] { "Type", "Column", });
+          internal_static_hbase_pb_GroupAggregateRequest_descriptor =
+            getDescriptor().getMessageTypes().get(2);
+          internal_static_hbase_pb_GroupAggregateRequest_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_hbase_pb_GroupAggregateRequest_descriptor,
+              new java.lang.String[] { "Scan", "GroupBy", "Aggregation", });
+          internal_static_hbase_pb_AggregationState_descriptor =
+            getDescriptor().getMessageTypes().get(3);
+          internal_static_hbase_pb_AggregationState_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_hbase_pb_AggregationState_descriptor,
+              new java.lang.String[] { "Count", "Sum", "Min", "Max", "Sketch", });
+          internal_static_hbase_pb_AggregateGroup_descriptor =
+            getDescriptor().getMessageTypes().get(4);
+          internal_static_hbase_pb_AggregateGroup_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_hbase_pb_AggregateGroup_descriptor,
+              new java.lang.String[] { "Key", "State", });
+          internal_static_hbase_pb_GroupAggregateResponse_descriptor =
+            getDescriptor().getMessageTypes().get(5);
+          internal_static_hbase_pb_GroupAggregateResponse_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_hbase_pb_GroupAggregateResponse_descriptor,
+              new java.lang.String[] { "Group", });
+          return null;
+        }
+      };
+    com.google.protobuf.Descriptors.FileDescriptor
+      .internalBuildGeneratedFileFrom(descriptorData,
+        new com.google.protobuf.Descriptors.FileDescriptor[] {
+          org.apache.hadoop.hbase.protobuf.generated.ClientProtos.getDescriptor(),
+        }, assigner);
+  }
+
+  // @@protoc_insertion_point(outer_class_scope)
+}
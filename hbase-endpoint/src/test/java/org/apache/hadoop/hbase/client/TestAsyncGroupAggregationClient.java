@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.coprocessor.AsyncGroupAggregationClient;
+import org.apache.hadoop.hbase.client.coprocessor.GroupAggregation;
+import org.apache.hadoop.hbase.coprocessor.CoprocessorHost;
+import org.apache.hadoop.hbase.coprocessor.GroupAggregateImplementation;
+import org.apache.hadoop.hbase.testclassification.CoprocessorTests;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ MediumTests.class, CoprocessorTests.class })
+public class TestAsyncGroupAggregationClient {
+
+  private static HBaseTestingUtility UTIL = new HBaseTestingUtility();
+
+  private static TableName TABLE_NAME = TableName.valueOf("TestAsyncGroupAggregationClient");
+
+  private static byte[] CF = Bytes.toBytes("CF");
+
+  private static byte[] GROUP = Bytes.toBytes("G");
+
+  private static byte[] VALUE = Bytes.toBytes("V");
+
+  private static byte[] DISTINCT = Bytes.toBytes("D");
+
+  private static int COUNT = 1000;
+
+  private static int GROUPS = 3;
+
+  private static AsyncConnection CONN;
+
+  private static RawAsyncTable TABLE;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    Configuration conf = UTIL.getConfiguration();
+    conf.setStrings(CoprocessorHost.REGION_COPROCESSOR_CONF_KEY,
+      GroupAggregateImplementation.class.getName());
+    UTIL.startMiniCluster(3);
+    byte[][] splitKeys = new byte[3][];
+    for (int i = 250; i < 1000; i += 250) {
+      splitKeys[i / 250 - 1] = Bytes.toBytes(String.format("%03d", i));
+    }
+    UTIL.createTable(TABLE_NAME, CF, splitKeys);
+    CONN = ConnectionFactory.createAsyncConnection(UTIL.getConfiguration()).get();
+    TABLE = CONN.getRawTable(TABLE_NAME);
+    // the odd rows in the store files, so that the regions are scanned in several ranges
+    TABLE.putAll(LongStream.range(0, COUNT).filter(l -> l % 2 == 1).mapToObj(l -> put(l))
+        .collect(Collectors.toList())).get();
+    UTIL.flush(TABLE_NAME);
+    TABLE.putAll(LongStream.range(0, COUNT).filter(l -> l % 2 == 0).mapToObj(l -> put(l))
+        .collect(Collectors.toList())).get();
+  }
+
+  private static Put put(long l) {
+    return new Put(Bytes.toBytes(String.format("%03d", l)))
+        .addColumn(CF, GROUP, Bytes.toBytes("g" + l % GROUPS))
+        .addColumn(CF, VALUE, Bytes.toBytes(l)).addColumn(CF, DISTINCT, Bytes.toBytes(l % 100));
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    CONN.close();
+    UTIL.shutdownMiniCluster();
+  }
+
+  @Test
+  public void testGroupBy() throws InterruptedException, ExecutionException {
+    GroupAggregation aggregation = new GroupAggregation().groupBy(CF, GROUP).count()
+        .sum(CF, VALUE).min(CF, VALUE).max(CF, VALUE).countDistinct(CF, DISTINCT)
+        .quantiles(CF, VALUE);
+    AtomicInteger regions = new AtomicInteger();
+    List<GroupAggregation.Group> groups = AsyncGroupAggregationClient
+        .aggregate(TABLE, aggregation, new Scan(), (region, result) -> regions.incrementAndGet())
+        .get().getGroups();
+    assertEquals(4, regions.get());
+    assertEquals(GROUPS, groups.size());
+    for (int g = 0; g < GROUPS; g++) {
+      int group = g;
+      GroupAggregation.Group result = groups.get(g);
+      assertArrayEquals(Bytes.toBytes("g" + g), result.getKey(0));
+      assertEquals(LongStream.range(0, COUNT).filter(l -> l % GROUPS == group).count(),
+        result.getCount(0));
+      assertEquals(LongStream.range(0, COUNT).filter(l -> l % GROUPS == group).sum(),
+        result.getSum(1));
+      assertEquals(g, result.getMin(2).longValue());
+      assertEquals(LongStream.range(0, COUNT).filter(l -> l % GROUPS == group).max().getAsLong(),
+        result.getMax(3).longValue());
+      assertEquals(100, result.getCountDistinct(4), 2);
+      assertEquals(COUNT / 2, result.getQuantile(5, 0.5), COUNT * 0.02);
+      assertEquals(COUNT / 10, result.getQuantile(5, 0.1), COUNT * 0.02);
+    }
+  }
+
+  @Test
+  public void testSelectedColumnsAndRange() throws InterruptedException, ExecutionException {
+    // the columns aggregated are added to the scan
+    Scan scan = new Scan().withStartRow(Bytes.toBytes("100")).withStopRow(Bytes.toBytes("600"))
+        .addColumn(CF, DISTINCT);
+    List<GroupAggregation.Group> groups = AsyncGroupAggregationClient
+        .aggregate(TABLE, new GroupAggregation().sum(CF, VALUE).count(), scan).get().getGroups();
+    assertEquals(1, groups.size());
+    assertEquals(LongStream.range(100, 600).sum(), groups.get(0).getSum(0));
+    assertEquals(500, groups.get(0).getCount(1));
+  }
+
+  @Test
+  public void testMissingValues() throws InterruptedException, ExecutionException {
+    List<GroupAggregation.Group> groups = AsyncGroupAggregationClient
+        .aggregate(TABLE, new GroupAggregation().groupBy(CF, Bytes.toBytes("none")).min(CF, GROUP),
+          new Scan().addFamily(CF))
+        .get().getGroups();
+    assertEquals(1, groups.size());
+    assertArrayEquals(HConstants.EMPTY_BYTE_ARRAY, groups.get(0).getKey(0));
+    // not 8 byte values
+    assertEquals(0, groups.get(0).getCount(0));
+    assertNull(groups.get(0).getMin(0));
+  }
+}
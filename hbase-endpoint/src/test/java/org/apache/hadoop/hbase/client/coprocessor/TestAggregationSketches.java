@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client.coprocessor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.hadoop.hbase.testclassification.ClientTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ ClientTests.class, SmallTests.class })
+public class TestAggregationSketches {
+
+  @Test
+  public void testHyperLogLog() throws IOException {
+    HyperLogLog left = new HyperLogLog();
+    HyperLogLog right = new HyperLogLog();
+    for (long i = 0; i < 100000; i++) {
+      byte[] value = Bytes.toBytes(i);
+      // overlapping halves
+      if (i < 60000) {
+        left.add(value, 0, value.length);
+      }
+      if (i >= 40000) {
+        right.add(value, 0, value.length);
+      }
+    }
+    assertEquals(60000, left.estimate(), 60000 * 0.05);
+    left.merge(HyperLogLog.parseFrom(right.toBytes()));
+    assertEquals(100000, left.estimate(), 100000 * 0.05);
+
+    HyperLogLog small = new HyperLogLog();
+    for (int i = 0; i < 3; i++) {
+      small.add(Bytes.toBytes("v" + i), 0, 2);
+      small.add(Bytes.toBytes("v" + i), 0, 2);
+    }
+    assertEquals(3, small.estimate());
+  }
+
+  @Test
+  public void testQuantileSketch() throws IOException {
+    Random random = new Random(42);
+    double[] values = new double[10000];
+    QuantileSketch left = new QuantileSketch();
+    QuantileSketch right = new QuantileSketch();
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i % 10 == 0 ? 0 : (long) (random.nextGaussian() * 1000000);
+      (i % 2 == 0 ? left : right).add(values[i]);
+    }
+    left.merge(QuantileSketch.parseFrom(right.toBytes()));
+    assertEquals(values.length, left.getCount());
+    Arrays.sort(values);
+    for (double quantile : new double[] { 0, 0.01, 0.25, 0.5, 0.75, 0.99, 1 }) {
+      double expected = values[(int) (quantile * (values.length - 1))];
+      double actual = left.getQuantile(quantile);
+      assertTrue(quantile + ": " + expected + " " + actual,
+        Math.abs(actual - expected) <= Math.abs(expected) * QuantileSketch.DEFAULT_RELATIVE_ACCURACY
+            + 1E-9);
+    }
+    assertTrue(Double.isNaN(new QuantileSketch().getQuantile(0.5)));
+  }
+}
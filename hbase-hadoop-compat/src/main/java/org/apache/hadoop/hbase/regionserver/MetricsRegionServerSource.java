@@ -125,6 +125,27 @@ public interface MetricsRegionServerSource extends BaseSource, JvmPauseMonitorSo
    */
   void incrSlowAppend();
 
+  /**
+   * Increment the number of Gets served without opening a region scanner.
+   */
+  void incrFastPathGet();
+
+  /**
+   * Increment the number of Gets of a family served from the row cache.
+   */
+  void incrRowCacheHit();
+
+  /**
+   * Increment the number of Gets of a family looked up in the row cache but not found there.
+   */
+  void incrRowCacheMiss();
+
+  /**
+   * Increment the number of rows evicted from the row cache.
+   * @param count the number of rows evicted
+   */
+  void incrRowCacheEvicted(long count);
+
   /**
    * Update the split transaction time histogram
    * @param t time it took, in milliseconds
@@ -354,6 +375,18 @@ public interface MetricsRegionServerSource extends BaseSource, JvmPauseMonitorSo
   String SLOW_DELETE_DESC =
       "The number of Deletes that took over 1000ms to complete";
   String SLOW_GET_DESC = "The number of Gets that took over 1000ms to complete";
+  String FAST_PATH_GET_KEY = "fastPathGetCount";
+  String FAST_PATH_GET_DESC = "The number of Gets served without opening a region scanner";
+  String ROW_CACHE_HIT_KEY = "rowCacheHitCount";
+  String ROW_CACHE_HIT_DESC = "The number of Gets of a family served from the row cache";
+  String ROW_CACHE_MISS_KEY = "rowCacheMissCount";
+  String ROW_CACHE_MISS_DESC = "The number of Gets of a family not found in the row cache";
+  String ROW_CACHE_EVICTED_KEY = "rowCacheEvictionCount";
+  String ROW_CACHE_EVICTED_DESC = "The number of rows evicted from the row cache";
+  String ROW_CACHE_COUNT = "rowCacheCount";
+  String ROW_CACHE_COUNT_DESC = "Number of rows of a family in the row cache.";
+  String ROW_CACHE_SIZE = "rowCacheSize";
+  String ROW_CACHE_SIZE_DESC = "Size of the rows in the row cache.";
   String SLOW_INCREMENT_DESC =
       "The number of Increments that took over 1000ms to complete";
   String SLOW_APPEND_DESC =
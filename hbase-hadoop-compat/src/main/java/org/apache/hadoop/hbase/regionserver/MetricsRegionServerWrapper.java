@@ -378,6 +378,16 @@ public interface MetricsRegionServerWrapper {
    */
   double getMobFileCacheHitPercent();
 
+  /**
+   * Get the number of rows of a family in the row cache.
+   */
+  long getRowCacheCount();
+
+  /**
+   * Get the total size (in bytes) of the rows in the row cache.
+   */
+  long getRowCacheSize();
+
   /**
    * @return Count of hedged read operations
    */
@@ -48,6 +48,10 @@ public class MetricsRegionServerSourceImpl
   private final MutableFastCounter slowPut;
   private final MutableFastCounter slowDelete;
   private final MutableFastCounter slowGet;
+  private final MutableFastCounter fastPathGet;
+  private final MutableFastCounter rowCacheHit;
+  private final MutableFastCounter rowCacheMiss;
+  private final MutableFastCounter rowCacheEvicted;
   private final MutableFastCounter slowIncrement;
   private final MutableFastCounter slowAppend;
   private final MutableFastCounter splitRequest;
@@ -105,6 +109,11 @@ public class MetricsRegionServerSourceImpl
 
     getHisto = getMetricsRegistry().newTimeHistogram(GET_KEY);
     slowGet = getMetricsRegistry().newCounter(SLOW_GET_KEY, SLOW_GET_DESC, 0L);
+    fastPathGet = getMetricsRegistry().newCounter(FAST_PATH_GET_KEY, FAST_PATH_GET_DESC, 0L);
+    rowCacheHit = getMetricsRegistry().newCounter(ROW_CACHE_HIT_KEY, ROW_CACHE_HIT_DESC, 0L);
+    rowCacheMiss = getMetricsRegistry().newCounter(ROW_CACHE_MISS_KEY, ROW_CACHE_MISS_DESC, 0L);
+    rowCacheEvicted =
+        getMetricsRegistry().newCounter(ROW_CACHE_EVICTED_KEY, ROW_CACHE_EVICTED_DESC, 0L);
 
     incrementHisto = getMetricsRegistry().newTimeHistogram(INCREMENT_KEY);
     slowIncrement = getMetricsRegistry().newCounter(SLOW_INCREMENT_KEY, SLOW_INCREMENT_DESC, 0L);
@@ -224,6 +233,26 @@ public class MetricsRegionServerSourceImpl
     slowGet.incr();
   }
 
+  @Override
+  public void incrFastPathGet() {
+    fastPathGet.incr();
+  }
+
+  @Override
+  public void incrRowCacheHit() {
+    rowCacheHit.incr();
+  }
+
+  @Override
+  public void incrRowCacheMiss() {
+    rowCacheMiss.incr();
+  }
+
+  @Override
+  public void incrRowCacheEvicted(long count) {
+    rowCacheEvicted.incr(count);
+  }
+
   @Override
   public void incrSlowIncrement() {
     slowIncrement.incr();
@@ -496,6 +525,10 @@ public class MetricsRegionServerSourceImpl
               rsWrap.getMobFileCacheEvictedCount())
           .addGauge(Interns.info(MOB_FILE_CACHE_HIT_PERCENT, MOB_FILE_CACHE_HIT_PERCENT_DESC),
               rsWrap.getMobFileCacheHitPercent())
+          .addGauge(Interns.info(ROW_CACHE_COUNT, ROW_CACHE_COUNT_DESC),
+              rsWrap.getRowCacheCount())
+          .addGauge(Interns.info(ROW_CACHE_SIZE, ROW_CACHE_SIZE_DESC),
+              rsWrap.getRowCacheSize())
 
           .addCounter(Interns.info(HEDGED_READS, HEDGED_READS_DESC), rsWrap.getHedgedReadOps())
           .addCounter(Interns.info(HEDGED_READ_WINS, HEDGED_READ_WINS_DESC),
@@ -207,6 +207,19 @@ public class PrefixTreeSeeker implements EncodedSeeker {
     }
   }
 
+  @Override
+  public int seekToPreviousRowInBlock(Cell key) {
+    // the last cell before the key, the searcher steps back from after the last cell too
+    ptSearcher.positionAtOrAfter(key);
+    if (!ptSearcher.previous()) {
+      return -1;
+    }
+    byte[] row = CellUtil.cloneRow(ptSearcher.current());
+    boolean firstRow = !ptSearcher.previousRow(false);
+    ptSearcher.positionAtOrAfter(CellUtil.createFirstOnRow(row));
+    return firstRow ? 0 : 1;
+  }
+
   @Override
   public int compareKey(CellComparator comparator, Cell key) {
     return comparator.compare(key,
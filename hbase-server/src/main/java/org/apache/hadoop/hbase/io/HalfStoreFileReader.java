@@ -20,6 +20,7 @@ package org.apache.hadoop.hbase.io;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -279,11 +280,42 @@ public class HalfStoreFileReader extends StoreFileReader {
         return ret;
       }
 
+      @Override
+      public boolean seekToPreviousRow(Cell key) throws IOException {
+        if (top) {
+          if (getComparator().compareKeyIgnoresMvcc(key, splitCell) <= 0) {
+            return false;
+          }
+        } else if (getComparator().compareKeyIgnoresMvcc(key, splitCell) > 0) {
+          // the last row of the bottom half is the one before the split key
+          key = splitCell;
+        }
+        if (!this.delegate.seekToPreviousRow(key)) {
+          return false;
+        }
+        if (top && getComparator().compareKeyIgnoresMvcc(delegate.getKey(), splitCell) < 0) {
+          // stepped back into the bottom half
+          return false;
+        }
+        atEnd = false;
+        return true;
+      }
+
       @Override
       public Cell getNextIndexedKey() {
         return null;
       }
 
+      @Override
+      public void setTimeRange(long minTimestamp, long maxTimestamp) throws IOException {
+        delegate.setTimeRange(minTimestamp, maxTimestamp);
+      }
+
+      @Override
+      public void setReadAhead(Executor executor) {
+        delegate.setReadAhead(executor);
+      }
+
       @Override
       public void close() {
         this.delegate.close();
@@ -32,6 +32,7 @@ import org.apache.hadoop.hbase.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.io.hfile.BlockType.BlockCategory;
 import org.apache.hadoop.hbase.io.hfile.bucket.BucketCache;
 import org.apache.hadoop.hbase.io.util.MemorySizeUtil;
+import org.apache.hadoop.hbase.regionserver.throttle.IOScheduler;
 import org.apache.hadoop.hbase.util.ReflectionUtils;
 import org.apache.hadoop.util.StringUtils;
 
@@ -226,6 +227,9 @@ public class CacheConfig {
 
   private final boolean dropBehindCompaction;
 
+  /** I/O budget of the region server the prefetches of a file draw from, if any */
+  private IOScheduler ioScheduler;
+
   /**
    * Create a cache configuration using the specified configuration object and
    * family descriptor.
@@ -327,6 +331,7 @@ public class CacheConfig {
         cacheConf.cacheBloomsOnWrite, cacheConf.evictOnClose,
         cacheConf.cacheDataCompressed, cacheConf.prefetchOnOpen,
         cacheConf.cacheDataInL1, cacheConf.dropBehindCompaction);
+    this.ioScheduler = cacheConf.ioScheduler;
   }
 
   private CacheConfig() {
@@ -479,6 +484,20 @@ public class CacheConfig {
     return isBlockCacheEnabled() && this.prefetchOnOpen;
   }
 
+  /**
+   * @return the I/O budget the prefetches draw from, or null if they are not throttled
+   */
+  public IOScheduler getIOScheduler() {
+    return ioScheduler;
+  }
+
+  /**
+   * @param ioScheduler the I/O budget of the region server the prefetches draw from
+   */
+  public void setIOScheduler(IOScheduler ioScheduler) {
+    this.ioScheduler = ioScheduler;
+  }
+
   /**
    * Return true if we may find this type of block in block cache.
    * <p>
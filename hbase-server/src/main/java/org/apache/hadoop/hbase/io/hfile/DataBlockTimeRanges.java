@@ -0,0 +1,178 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.io.hfile;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * The range of timestamps covered by each data block of an {@link HFile}, stored in the meta
+ * block {@link #META_BLOCK_NAME} when {@link #ENABLED_KEY} is set. A scanner given a time range
+ * uses it to step over the data blocks which cannot hold any cell of this range, without reading
+ * them.
+ * <p>
+ * A delete marker may mask the cells older than itself, so it counts as covering all the
+ * timestamps up to its own. A block with no cell of the scanned range but a delete marker newer
+ * than the start of the range is then still read.
+ * <p>
+ * Files written without the meta block, or read by a version which does not know about it, are
+ * scanned block after block as before.
+ */
+@InterfaceAudience.Private
+public class DataBlockTimeRanges implements Writable {
+
+  /** Whether the writers record the time range of each data block */
+  public static final String ENABLED_KEY = "hbase.hfile.block.timeranges.enabled";
+
+  public static final boolean DEFAULT_ENABLED = false;
+
+  /** Name of the meta block holding the time ranges */
+  public static final String META_BLOCK_NAME = "DATA_BLOCK_TIME_RANGES";
+
+  private static final int INITIAL_CAPACITY = 64;
+
+  private long[] offsets;
+  private int[] onDiskSizes;
+  private long[] minTimestamps;
+  private long[] maxTimestamps;
+  private int count;
+
+  public DataBlockTimeRanges() {
+    this(INITIAL_CAPACITY);
+  }
+
+  private DataBlockTimeRanges(int capacity) {
+    offsets = new long[capacity];
+    onDiskSizes = new int[capacity];
+    minTimestamps = new long[capacity];
+    maxTimestamps = new long[capacity];
+  }
+
+  /**
+   * @return whether the writers should record the time range of each data block
+   */
+  public static boolean isEnabled(Configuration conf) {
+    return conf.getBoolean(ENABLED_KEY, DEFAULT_ENABLED);
+  }
+
+  /**
+   * @return the lowest timestamp the cell may mask or hold
+   */
+  static long getMinTimestamp(Cell cell) {
+    return CellUtil.isDelete(cell) ? HConstants.OLDEST_TIMESTAMP : cell.getTimestamp();
+  }
+
+  /**
+   * Record the next data block of the file.
+   * @param offset the offset of the block in the file
+   * @param onDiskSize the size of the block on disk, header included
+   * @param minTimestamp the lowest timestamp of the block, see {@link #getMinTimestamp(Cell)}
+   * @param maxTimestamp the highest timestamp of the block
+   */
+  void add(long offset, int onDiskSize, long minTimestamp, long maxTimestamp) {
+    if (count == offsets.length) {
+      int capacity = count * 2;
+      offsets = Arrays.copyOf(offsets, capacity);
+      onDiskSizes = Arrays.copyOf(onDiskSizes, capacity);
+      minTimestamps = Arrays.copyOf(minTimestamps, capacity);
+      maxTimestamps = Arrays.copyOf(maxTimestamps, capacity);
+    }
+    offsets[count] = offset;
+    onDiskSizes[count] = onDiskSize;
+    minTimestamps[count] = minTimestamp;
+    maxTimestamps[count] = maxTimestamp;
+    count++;
+  }
+
+  /**
+   * @return the number of data blocks
+   */
+  public int size() {
+    return count;
+  }
+
+  long getOffset(int block) {
+    return offsets[block];
+  }
+
+  int getOnDiskSize(int block) {
+    return onDiskSizes[block];
+  }
+
+  /**
+   * Find the first data block at or after the given offset which may hold cells of the given
+   * time range.
+   * @param offset the offset to start from
+   * @param minTimestamp the lowest timestamp of the range, inclusive
+   * @param maxTimestamp the highest timestamp of the range, exclusive
+   * @return the index of this block, or -1 if there is none
+   */
+  int nextMatchingBlock(long offset, long minTimestamp, long maxTimestamp) {
+    int block = Arrays.binarySearch(offsets, 0, count, offset);
+    if (block < 0) {
+      block = -(block + 1);
+    }
+    for (; block < count; block++) {
+      if (maxTimestamps[block] >= minTimestamp && minTimestamps[block] < maxTimestamp) {
+        return block;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public void write(DataOutput out) throws IOException {
+    WritableUtils.writeVInt(out, count);
+    long previousOffset = 0;
+    for (int i = 0; i < count; i++) {
+      WritableUtils.writeVLong(out, offsets[i] - previousOffset);
+      WritableUtils.writeVInt(out, onDiskSizes[i]);
+      WritableUtils.writeVLong(out, minTimestamps[i]);
+      WritableUtils.writeVLong(out, maxTimestamps[i] - minTimestamps[i]);
+      previousOffset = offsets[i];
+    }
+  }
+
+  @Override
+  public void readFields(DataInput in) throws IOException {
+    int size = WritableUtils.readVInt(in);
+    DataBlockTimeRanges ranges = new DataBlockTimeRanges(Math.max(1, size));
+    long offset = 0;
+    for (int i = 0; i < size; i++) {
+      offset += WritableUtils.readVLong(in);
+      int onDiskSize = WritableUtils.readVInt(in);
+      long minTimestamp = WritableUtils.readVLong(in);
+      ranges.add(offset, onDiskSize, minTimestamp, minTimestamp + WritableUtils.readVLong(in));
+    }
+    offsets = ranges.offsets;
+    onDiskSizes = ranges.onDiskSizes;
+    minTimestamps = ranges.minTimestamps;
+    maxTimestamps = ranges.maxTimestamps;
+    count = ranges.count;
+  }
+}
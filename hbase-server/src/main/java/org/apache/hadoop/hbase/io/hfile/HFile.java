@@ -253,6 +253,7 @@ public class HFile {
     protected InetSocketAddress[] favoredNodes;
     private HFileContext fileContext;
     protected boolean shouldDropBehind = false;
+    private int writeBehindBufferSize = 0;
 
     WriterFactory(Configuration conf, CacheConfig cacheConf) {
       this.conf = conf;
@@ -295,6 +296,16 @@ public class HFile {
       return this;
     }
 
+    /**
+     * Lets a thread of the writer write the file, up to the given number of bytes behind the
+     * writer. Only applies to writers created with a path.
+     * @param bufferSize the number of bytes, 0 to write the file directly
+     */
+    public WriterFactory withWriteBehind(int bufferSize) {
+      this.writeBehindBufferSize = bufferSize;
+      return this;
+    }
+
 
     public Writer create() throws IOException {
       if ((path != null ? 1 : 0) + (ostream != null ? 1 : 0) != 1) {
@@ -309,6 +320,10 @@ public class HFile {
           if (LOG.isTraceEnabled()) LOG.trace("Unable to set drop behind on " + path, uoe);
           else if (LOG.isDebugEnabled()) LOG.debug("Unable to set drop behind on " + path);
         }
+        if (writeBehindBufferSize > 0) {
+          ostream = new FSDataOutputStream(new WriteBehindOutputStream(ostream,
+              writeBehindBufferSize, "WriteBehind-" + path.getName()), null, ostream.getPos());
+        }
       }
       return new HFileWriterImpl(conf, cacheConf, path, ostream, comparator, fileContext);
     }
@@ -428,6 +443,12 @@ public class HFile {
 
     HFileBlockIndex.BlockIndexReader getDataBlockIndexReader();
 
+    /**
+     * @return the first keys of the blocks the root level of the data block index points to, in
+     *         order. Each of them starts a part of the file of about the same size.
+     */
+    List<Cell> getRootIndexKeys();
+
     HFileScanner getScanner(boolean cacheBlocks, boolean pread);
 
     Compression.Algorithm getCompressionAlgorithm();
@@ -468,6 +489,11 @@ public class HFile {
 
     boolean isDecodeMemstoreTS();
 
+    /**
+     * @return the time range of each data block, or null if the file does not record them
+     */
+    DataBlockTimeRanges getDataBlockTimeRanges() throws IOException;
+
     DataBlockEncoding getEffectiveEncodingInCache(boolean isCompaction);
 
     @VisibleForTesting
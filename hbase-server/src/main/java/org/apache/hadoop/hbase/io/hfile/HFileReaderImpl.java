@@ -19,10 +19,14 @@ package org.apache.hadoop.hbase.io.hfile;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.security.Key;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
@@ -51,6 +55,7 @@ import org.apache.hadoop.hbase.io.encoding.HFileBlockDecodingContext;
 import org.apache.hadoop.hbase.io.hfile.HFile.FileInfo;
 import org.apache.hadoop.hbase.nio.ByteBuff;
 import org.apache.hadoop.hbase.regionserver.KeyValueScanner;
+import org.apache.hadoop.hbase.regionserver.throttle.IOScheduler;
 import org.apache.hadoop.hbase.security.EncryptionUtil;
 import org.apache.hadoop.hbase.util.ByteBufferUtils;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -140,6 +145,13 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
    */
   private List<HFileBlock> loadOnOpenBlocks = new ArrayList<>();
 
+  /**
+   * The time range of each data block, loaded on first use. Null if not loaded yet, or if the
+   * file does not record them.
+   */
+  private volatile DataBlockTimeRanges dataBlockTimeRanges;
+  private volatile boolean dataBlockTimeRangesLoaded = false;
+
   /** Minimum minor version supported by this HFile format */
   static final int MIN_MINOR_VERSION = 0;
 
@@ -245,6 +257,7 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
 
     // Prefetch file blocks upon open if requested
     if (cacheConf.shouldPrefetchOnOpen()) {
+      final IOScheduler ioScheduler = cacheConf.getIOScheduler();
       PrefetchExecutor.request(path, new Runnable() {
         public void run() {
           long offset = 0;
@@ -274,6 +287,15 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
               returnBlock(block);
               prevBlock = block;
               offset += block.getOnDiskSizeWithHeader();
+              if (ioScheduler != null) {
+                ioScheduler.acquire(IOScheduler.IOClass.PREFETCH,
+                  block.getOnDiskSizeWithHeader());
+              }
+            }
+          } catch (InterruptedException e) {
+            // Cancelled while waiting for the I/O budget
+            if (LOG.isTraceEnabled()) {
+              LOG.trace("Prefetch " + getPathOffsetEndStr(path, offset, end), e);
             }
           } catch (IOException e) {
             // IOExceptions are probably due to region closes (relocation, etc.)
@@ -383,6 +405,19 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
         : dataBlockIndexReader.getRootBlockKey(0);
   }
 
+  @Override
+  public List<Cell> getRootIndexKeys() {
+    if (dataBlockIndexReader == null) {
+      throw new BlockIndexNotLoadedException();
+    }
+    int count = dataBlockIndexReader.getRootBlockCount();
+    List<Cell> keys = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      keys.add(dataBlockIndexReader.getRootBlockKey(i));
+    }
+    return keys;
+  }
+
   /**
    * TODO left from {@link HFile} version 1: move this to StoreFile after Ryan's
    * patch goes in to eliminate {@link KeyValue} here.
@@ -507,6 +542,18 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
     protected HFileBlock curBlock;
     // Previous blocks that were used in the course of the read
     protected final ArrayList<HFileBlock> prevBlocks = new ArrayList<>();
+    // The time range of each data block, when the blocks out of the time range of the scan can
+    // be skipped
+    private DataBlockTimeRanges blockTimeRanges;
+    private long minTimestamp;
+    private long maxTimestamp;
+    // The offsets of the first cell of each row of the current block, filled on the first step
+    // back to a previous row, -1 rows until then
+    private int[] rowOffsets = new int[16];
+    private int rowCount = -1;
+    // Reads the block following the current one in the background when set
+    private Executor readAheadExecutor;
+    private BlockReadAhead readAhead;
 
     public HFileScannerImpl(final HFile.Reader reader, final boolean cacheBlocks,
         final boolean pread, final boolean isCompaction) {
@@ -526,6 +573,118 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
         prevBlocks.add(this.curBlock);
       }
       this.curBlock = block;
+      if (block != null && readAheadExecutor != null) {
+        readAhead(block);
+      }
+    }
+
+    /**
+     * Starts reading the block following the given one, unless it is already being read.
+     */
+    private void readAhead(HFileBlock block) {
+      if (blockTimeRanges != null || block.getOffset() < 0
+          || block.getOffset() >= reader.getTrailer().getLastDataBlockOffset()) {
+        return;
+      }
+      long offset = block.getOffset() + block.getOnDiskSizeWithHeader();
+      if (readAhead != null) {
+        if (readAhead.offset == offset) {
+          return;
+        }
+        readAhead.discard();
+        readAhead = null;
+      }
+      BlockReadAhead next = new BlockReadAhead(offset, block.getNextBlockOnDiskSize());
+      try {
+        readAheadExecutor.execute(next);
+        readAhead = next;
+      } catch (RejectedExecutionException e) {
+        // the block is read when needed
+      }
+    }
+
+    /**
+     * @return the block read ahead at the given offset, or null if it was not read ahead
+     */
+    private HFileBlock takeReadAhead(long offset) throws IOException {
+      BlockReadAhead pending = readAhead;
+      if (pending == null) {
+        return null;
+      }
+      readAhead = null;
+      if (pending.offset != offset) {
+        pending.discard();
+        return null;
+      }
+      return pending.get();
+    }
+
+    /**
+     * The read of a block by the read ahead executor. The block is returned to the reader if it
+     * is discarded.
+     */
+    private final class BlockReadAhead implements Runnable {
+      private final long offset;
+      private final int onDiskSize;
+      private HFileBlock block;
+      private IOException error;
+      private boolean done;
+      private boolean discarded;
+
+      BlockReadAhead(long offset, int onDiskSize) {
+        this.offset = offset;
+        this.onDiskSize = onDiskSize;
+      }
+
+      @Override
+      public void run() {
+        HFileBlock read = null;
+        IOException failure = null;
+        try {
+          // not validating the block type, it might be a non-data block
+          read = reader.readBlock(offset, onDiskSize, cacheBlocks, pread, isCompaction, true,
+            null, getEffectiveDataBlockEncoding());
+        } catch (IOException e) {
+          failure = e;
+        } catch (RuntimeException e) {
+          failure = new IOException(e);
+        }
+        synchronized (this) {
+          if (discarded) {
+            if (read != null) {
+              reader.returnBlock(read);
+            }
+          } else {
+            block = read;
+            error = failure;
+          }
+          done = true;
+          notifyAll();
+        }
+      }
+
+      synchronized HFileBlock get() throws IOException {
+        while (!done) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            discard();
+            throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+          }
+        }
+        if (error != null) {
+          throw error;
+        }
+        return block;
+      }
+
+      synchronized void discard() {
+        discarded = true;
+        if (block != null) {
+          reader.returnBlock(block);
+          block = null;
+        }
+      }
     }
 
     void reset() {
@@ -587,6 +746,10 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
     @Override
     public void close() {
       this.returnBlocks(true);
+      if (readAhead != null) {
+        readAhead.discard();
+        readAhead = null;
+      }
     }
 
     // Returns the #bytes in HFile for the current cell. Used to skip these many bytes in current
@@ -789,6 +952,22 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
       return nextIndexedKey;
     }
 
+    @Override
+    public void setTimeRange(long minTimestamp, long maxTimestamp) throws IOException {
+      this.blockTimeRanges = reader.getDataBlockTimeRanges();
+      this.minTimestamp = minTimestamp;
+      this.maxTimestamp = maxTimestamp;
+    }
+
+    @Override
+    public void setReadAhead(Executor executor) {
+      this.readAheadExecutor = executor;
+      if (executor == null && readAhead != null) {
+        readAhead.discard();
+        readAhead = null;
+      }
+    }
+
     @Override
     public int seekTo(Cell key) throws IOException {
       return seekTo(key, true);
@@ -889,6 +1068,143 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
       return true;
     }
 
+    @Override
+    public boolean seekToPreviousRow(Cell key) throws IOException {
+      Cell firstOnRow = CellUtil.createFirstOnRow(key);
+      if (!isInOrBeforeCurrentBlock(firstOnRow)) {
+        HFileBlock seekToBlock = reader.getDataBlockIndexReader().seekToDataBlock(firstOnRow,
+            curBlock, cacheBlocks, pread, isCompaction, getEffectiveDataBlockEncoding());
+        if (seekToBlock == null) {
+          return false;
+        }
+        if (this.curBlock == null || this.curBlock.getOffset() != seekToBlock.getOffset()) {
+          updateCurrentBlock(seekToBlock);
+        }
+      }
+      int found;
+      while ((found = seekToPreviousRowInBlock(firstOnRow)) < 0) {
+        if (!readPreviousDataBlock()) {
+          return false;
+        }
+      }
+      // The row may have started in the blocks before
+      while (found == 0) {
+        byte[] row = CellUtil.cloneRow(getCell());
+        long followingBlockOffset = curBlock.getOffset();
+        int followingBlockSize = curBlock.getOnDiskSizeWithHeader();
+        if (!readPreviousDataBlock()) {
+          break;
+        }
+        found = seekToPreviousRowInBlock(CellUtil.createLastOnRow(row));
+        if (found < 0 || !CellUtil.matchingRow(getCell(), row)) {
+          // The row starts at the first cell of the block we came from
+          updateCurrentBlock(reader.readBlock(followingBlockOffset, followingBlockSize,
+              cacheBlocks, pread, isCompaction, true, BlockType.DATA,
+              getEffectiveDataBlockEncoding()));
+          break;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * @return whether the last cell before the given key is in the current block, or in one of the
+     *         blocks before
+     */
+    private boolean isInOrBeforeCurrentBlock(Cell key) {
+      if (!isSeeked() || getCell() == null) {
+        // the prefix tree seeker has no cell once past the end of its block
+        return false;
+      }
+      if (compareKey(reader.getComparator(), key) <= 0) {
+        return true;
+      }
+      return this.nextIndexedKey != null
+          && (this.nextIndexedKey == KeyValueScanner.NO_NEXT_INDEXED_KEY
+              || reader.getComparator().compareKeyIgnoresMvcc(key, this.nextIndexedKey) <= 0);
+    }
+
+    /**
+     * Makes the data block before the current one current, reaching it through the offset in the
+     * header of the current block.
+     * @return false if the current block is the first data block
+     */
+    private boolean readPreviousDataBlock() throws IOException {
+      long previousBlockOffset = curBlock.getPrevBlockOffset();
+      if (previousBlockOffset == -1) {
+        return false;
+      }
+      updateCurrentBlock(reader.readBlock(previousBlockOffset, -1, cacheBlocks, pread,
+          isCompaction, true, BlockType.DATA, getEffectiveDataBlockEncoding()));
+      return true;
+    }
+
+    /**
+     * Positions at the first cell of the row of the last cell before the given key in the
+     * current block, binary searching the offsets of the rows of the block.
+     * @return -1 if no cell of the block is before the key, 0 if positioned at the first cell of
+     *         the block, 1 if positioned at a later cell
+     */
+    protected int seekToPreviousRowInBlock(Cell key) {
+      if (rowCount < 0) {
+        findRowOffsets();
+      }
+      // the first row with a first cell not before the key
+      int low = 0;
+      int high = rowCount;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        int offset = rowOffsets[mid];
+        int klen = blockBuffer.getInt(offset);
+        blockBuffer.asSubByteBuffer(offset + KEY_VALUE_LEN_SIZE, klen, pair);
+        bufBackedKeyOnlyKv.setKey(pair.getFirst(), pair.getSecond(), klen);
+        if (reader.getComparator().compareKeyIgnoresMvcc(bufBackedKeyOnlyKv, key) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      if (low == 0) {
+        return -1;
+      }
+      blockBuffer.position(rowOffsets[low - 1]);
+      readKeyValueLen();
+      return low == 1 ? 0 : 1;
+    }
+
+    private void findRowOffsets() {
+      boolean includesTags = reader.getFileContext().isIncludesTags();
+      boolean includesMemstoreTS = reader.shouldIncludeMemstoreTS();
+      int limit = blockBuffer.limit();
+      int previous = -1;
+      rowCount = 0;
+      for (int p = 0; p < limit;) {
+        if (previous < 0 || !matchingRows(previous, p)) {
+          if (rowCount == rowOffsets.length) {
+            rowOffsets = Arrays.copyOf(rowOffsets, rowCount * 2);
+          }
+          rowOffsets[rowCount++] = p;
+        }
+        previous = p;
+        p += KEY_VALUE_LEN_SIZE + blockBuffer.getInt(p) + blockBuffer.getInt(p + Bytes.SIZEOF_INT);
+        if (includesTags) {
+          p += Bytes.SIZEOF_SHORT + (blockBuffer.getShort(p) & 0xffff);
+        }
+        if (includesMemstoreTS) {
+          p += WritableUtils.decodeVIntSize(blockBuffer.get(p));
+        }
+      }
+    }
+
+    private boolean matchingRows(int left, int right) {
+      // the row follows its length at the start of the key
+      int leftLength = blockBuffer.getShort(left + KEY_VALUE_LEN_SIZE);
+      int rightLength = blockBuffer.getShort(right + KEY_VALUE_LEN_SIZE);
+      return leftLength == rightLength && ByteBuff.compareTo(blockBuffer,
+        left + KEY_VALUE_LEN_SIZE + Bytes.SIZEOF_SHORT, leftLength, blockBuffer,
+        right + KEY_VALUE_LEN_SIZE + Bytes.SIZEOF_SHORT, rightLength) == 0;
+    }
+
     /**
      * Scans blocks in the "scanned" section of the {@link HFile} until the next
      * data block is found.
@@ -905,6 +1221,18 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
 
       HFileBlock block = this.curBlock;
 
+      if (blockTimeRanges != null) {
+        // Go straight to the next data block which may hold cells of the time range
+        int next = blockTimeRanges.nextMatchingBlock(
+          block.getOffset() + block.getOnDiskSizeWithHeader(), minTimestamp, maxTimestamp);
+        if (next < 0) {
+          return null;
+        }
+        return reader.readBlock(blockTimeRanges.getOffset(next),
+          blockTimeRanges.getOnDiskSize(next), cacheBlocks, pread, isCompaction, true,
+          BlockType.DATA, getEffectiveDataBlockEncoding());
+      }
+
       do {
         if (block.getOffset() >= lastDataBlockOffset) {
           return null;
@@ -914,9 +1242,11 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
           throw new IOException("Invalid block file offset: " + block);
         }
 
+        long nextOffset = block.getOffset() + block.getOnDiskSizeWithHeader();
+        HFileBlock readAheadBlock = takeReadAhead(nextOffset);
         // We are reading the next block without block type validation, because
         // it might turn out to be a non-data block.
-        block = reader.readBlock(block.getOffset() + block.getOnDiskSizeWithHeader(),
+        block = readAheadBlock != null ? readAheadBlock : reader.readBlock(nextOffset,
             block.getNextBlockOnDiskSize(), cacheBlocks, pread,
             isCompaction, true, null, getEffectiveDataBlockEncoding());
         if (block != null && !block.getBlockType().isData()) { // Findbugs: NP_NULL_ON_SOME_PATH
@@ -1190,6 +1520,7 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
 
       updateCurrBlockRef(newBlock);
       blockBuffer = newBlock.getBufferWithoutHeader();
+      rowCount = -1;
       readKeyValueLen();
       blockFetches.incrementAndGet();
 
@@ -1406,6 +1737,29 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
     }
   }
 
+  @Override
+  public DataBlockTimeRanges getDataBlockTimeRanges() throws IOException {
+    if (!dataBlockTimeRangesLoaded) {
+      synchronized (this) {
+        if (!dataBlockTimeRangesLoaded) {
+          // The parsed ranges are kept by this reader, no need to cache the meta block as well
+          HFileBlock block = getMetaBlock(DataBlockTimeRanges.META_BLOCK_NAME, false);
+          if (block != null) {
+            try {
+              DataBlockTimeRanges ranges = new DataBlockTimeRanges();
+              ranges.readFields(block.getByteStream());
+              dataBlockTimeRanges = ranges;
+            } finally {
+              returnBlock(block);
+            }
+          }
+          dataBlockTimeRangesLoaded = true;
+        }
+      }
+    }
+    return dataBlockTimeRanges;
+  }
+
   @Override
   public HFileBlock readBlock(long dataBlockOffset, long onDiskBlockSize,
       final boolean cacheBlock, boolean pread, final boolean isCompaction,
@@ -1725,6 +2079,11 @@ public class HFileReaderImpl implements HFile.Reader, Configurable {
       return seeker.seekToKeyInBlock(key, seekBefore);
     }
 
+    @Override
+    protected int seekToPreviousRowInBlock(Cell key) {
+      return seeker.seekToPreviousRowInBlock(key);
+    }
+
     public int compareKey(CellComparator comparator, Cell key) {
       return seeker.compareKey(comparator, key);
     }
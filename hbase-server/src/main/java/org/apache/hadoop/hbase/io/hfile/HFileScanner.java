@@ -21,6 +21,7 @@ package org.apache.hadoop.hbase.io.hfile;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
 
 import org.apache.hadoop.hbase.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.regionserver.Shipper;
@@ -92,6 +93,18 @@ public interface HFileScanner extends Shipper, Closeable {
    */
   boolean seekBefore(Cell cell) throws IOException;
 
+  /**
+   * Positions this scanner at the first cell of the last row before the row of the passed
+   * <code>cell</code>, for reversed scans. Unlike {@link #seekBefore(Cell)} followed by
+   * {@link #seekTo(Cell)}, the current data block is reused when it holds the row, and the
+   * blocks before it are reached by their offset rather than through the block index.
+   * @param cell Cell the row before which to seek
+   * @return false if there is no row before the row of the cell, true with the scanner at the
+   * first cell of the previous row otherwise
+   * @throws IOException
+   */
+  boolean seekToPreviousRow(Cell cell) throws IOException;
+
   /**
    * Positions this scanner at the start of the file.
    * @return False if empty file; i.e. a call to next would return false and
@@ -163,6 +176,23 @@ public interface HFileScanner extends Shipper, Closeable {
    */
   Cell getNextIndexedKey();
 
+  /**
+   * Let {@link #next()} step over the data blocks which hold no cell in the given time range,
+   * when the file records the time range of its data blocks. Cells outside of the range may still
+   * be returned.
+   * @param minTimestamp the lowest timestamp of the range, inclusive
+   * @param maxTimestamp the highest timestamp of the range, exclusive
+   * @throws IOException if the time ranges of the data blocks could not be read
+   */
+  void setTimeRange(long minTimestamp, long maxTimestamp) throws IOException;
+
+  /**
+   * Let the data block following the current one be read and unpacked by the given executor
+   * while the current one is scanned, for sequential reads like the ones of compactions.
+   * @param executor runs the reads of the next blocks, or null to read blocks when needed only
+   */
+  void setReadAhead(Executor executor);
+
   /**
    * Close this HFile scanner and do necessary cleanup.
    */
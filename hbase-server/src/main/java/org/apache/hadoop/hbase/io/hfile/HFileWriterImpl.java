@@ -157,6 +157,13 @@ public class HFileWriterImpl implements HFile.Writer {
 
   protected long maxMemstoreTS = 0;
 
+  /** The time range of each data block, null if they are not recorded. */
+  private DataBlockTimeRanges dataBlockTimeRanges;
+
+  /** The time range of the data block being written. */
+  private long blockMinTimestamp = Long.MAX_VALUE;
+  private long blockMaxTimestamp = Long.MIN_VALUE;
+
   public HFileWriterImpl(final Configuration conf, CacheConfig cacheConf, Path path,
       FSDataOutputStream outputStream,
       CellComparator comparator, HFileContext fileContext) {
@@ -297,6 +304,9 @@ public class HFileWriterImpl implements HFile.Writer {
 
     // Meta data block index writer
     metaBlockIndexWriter = new HFileBlockIndex.BlockIndexWriter();
+    if (DataBlockTimeRanges.isEnabled(conf)) {
+      dataBlockTimeRanges = new DataBlockTimeRanges();
+    }
     if (LOG.isTraceEnabled()) LOG.trace("Initialized with " + cacheConf);
   }
 
@@ -332,6 +342,10 @@ public class HFileWriterImpl implements HFile.Writer {
     if (cacheConf.shouldCacheDataOnWrite()) {
       doCacheOnWrite(lastDataBlockOffset);
     }
+    if (dataBlockTimeRanges != null) {
+      dataBlockTimeRanges.add(lastDataBlockOffset, onDiskSize, blockMinTimestamp,
+        blockMaxTimestamp);
+    }
   }
 
   /**
@@ -544,6 +558,8 @@ public class HFileWriterImpl implements HFile.Writer {
     if (lastCell != null) {
       lastCellOfPreviousBlock = lastCell;
     }
+    blockMinTimestamp = Long.MAX_VALUE;
+    blockMaxTimestamp = Long.MIN_VALUE;
   }
 
   /**
@@ -586,6 +602,10 @@ public class HFileWriterImpl implements HFile.Writer {
     finishBlock();
     writeInlineBlocks(true);
 
+    if (dataBlockTimeRanges != null && dataBlockTimeRanges.size() > 0) {
+      appendMetaBlock(DataBlockTimeRanges.META_BLOCK_NAME, dataBlockTimeRanges);
+    }
+
     FixedFileTrailer trailer = new FixedFileTrailer(getMajorVersion(), getMinorVersion());
 
     // Write out the metadata blocks if any.
@@ -741,6 +761,10 @@ public class HFileWriterImpl implements HFile.Writer {
     if (tagsLength > this.maxTagsLength) {
       this.maxTagsLength = tagsLength;
     }
+    if (dataBlockTimeRanges != null) {
+      blockMinTimestamp = Math.min(blockMinTimestamp, DataBlockTimeRanges.getMinTimestamp(cell));
+      blockMaxTimestamp = Math.max(blockMaxTimestamp, cell.getTimestamp());
+    }
   }
 
   @Override
@@ -0,0 +1,185 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.io.hfile;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.util.Threads;
+
+/**
+ * An output stream handing its writes over to a thread of its own, which writes them to the
+ * wrapped stream. The writer only waits on the file system when it gets more than the buffer
+ * size ahead of it. A failure of the wrapped stream is thrown by the next write, flush or close.
+ */
+@InterfaceAudience.Private
+class WriteBehindOutputStream extends OutputStream implements Runnable {
+
+  private final OutputStream out;
+  private final long bufferSize;
+
+  // the writes not done yet, the head one being written while queuedBytes counts it
+  private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+  private long queuedBytes;
+  private boolean closed;
+  private IOException error;
+  private final Thread thread;
+
+  /**
+   * @param out the stream to write to, closed with this one
+   * @param bufferSize the number of bytes the writer may get ahead of the wrapped stream
+   * @param name the name of the writing thread
+   */
+  WriteBehindOutputStream(OutputStream out, long bufferSize, String name) {
+    this.out = out;
+    this.bufferSize = bufferSize;
+    this.thread = Threads.setDaemonThreadRunning(new Thread(this), name);
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] { (byte) b }, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return;
+    }
+    byte[] copy = Arrays.copyOfRange(b, off, off + len);
+    synchronized (this) {
+      checkOpen();
+      // a write larger than the buffer goes alone
+      while (queuedBytes > 0 && queuedBytes + len > bufferSize) {
+        await();
+      }
+      queue.add(copy);
+      queuedBytes += len;
+      notifyAll();
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    synchronized (this) {
+      checkOpen();
+      while (queuedBytes > 0) {
+        await();
+      }
+    }
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    IOException failure = null;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      try {
+        while (queuedBytes > 0) {
+          await();
+        }
+      } catch (IOException e) {
+        failure = e;
+      }
+      closed = true;
+      notifyAll();
+    }
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      if (failure == null) {
+        failure = (IOException) new InterruptedIOException().initCause(e);
+      }
+    }
+    out.close();
+    if (failure == null) {
+      failure = error;
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  private void checkOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  /**
+   * Waits for the writing thread to make progress.
+   */
+  private void await() throws IOException {
+    try {
+      wait();
+    } catch (InterruptedException e) {
+      throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  @Override
+  public void run() {
+    while (true) {
+      byte[] b;
+      synchronized (this) {
+        while (queue.isEmpty() && !closed) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            error = (IOException) new InterruptedIOException().initCause(e);
+            notifyAll();
+            return;
+          }
+        }
+        if (queue.isEmpty()) {
+          return;
+        }
+        b = queue.peek();
+      }
+      try {
+        out.write(b, 0, b.length);
+      } catch (IOException e) {
+        synchronized (this) {
+          error = e;
+          queue.clear();
+          queuedBytes = 0;
+          notifyAll();
+        }
+        return;
+      }
+      synchronized (this) {
+        queue.poll();
+        queuedBytes -= b.length;
+        notifyAll();
+      }
+    }
+  }
+}
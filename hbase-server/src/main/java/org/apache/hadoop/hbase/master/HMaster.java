@@ -330,6 +330,7 @@ public class HMaster extends HRegionServer implements MasterServices {
   private RegionNormalizer normalizer;
   private BalancerChore balancerChore;
   private RegionNormalizerChore normalizerChore;
+  private MajorCompactionCoordinator majorCompactionCoordinator;
   private ClusterStatusChore clusterStatusChore;
   private ClusterStatusPublisher clusterStatusPublisherChore = null;
   private PeriodicDoMetrics periodicDoMetricsChore = null;
@@ -711,6 +712,7 @@ public class HMaster extends HRegionServer implements MasterServices {
     this.mpmHost = new MasterProcedureManagerHost();
     this.mpmHost.register(this.snapshotManager);
     this.mpmHost.register(new MasterFlushTableProcedureManager());
+    this.mpmHost.register(new MajorCompactionCoordinatorProcedureManager(this));
     this.mpmHost.loadProcedures(conf);
     this.mpmHost.initialize(this, this.metricsMaster);
   }
@@ -864,6 +866,13 @@ public class HMaster extends HRegionServer implements MasterServices {
     getChoreService().scheduleChore(balancerChore);
     this.normalizerChore = new RegionNormalizerChore(this);
     getChoreService().scheduleChore(normalizerChore);
+    int majorCompactionPeriod = conf.getInt(MajorCompactionCoordinator.PERIOD_KEY,
+      MajorCompactionCoordinator.DEFAULT_PERIOD);
+    if (majorCompactionPeriod > 0) {
+      this.majorCompactionCoordinator = new MajorCompactionCoordinator(this, majorCompactionPeriod);
+      getChoreService().scheduleChore(majorCompactionCoordinator);
+      configurationManager.registerObserver(majorCompactionCoordinator);
+    }
     this.catalogJanitorChore = new CatalogJanitor(this);
     getChoreService().scheduleChore(catalogJanitorChore);
 
@@ -1176,6 +1185,9 @@ public class HMaster extends HRegionServer implements MasterServices {
     if (this.normalizerChore != null) {
       this.normalizerChore.cancel(true);
     }
+    if (this.majorCompactionCoordinator != null) {
+      this.majorCompactionCoordinator.cancel(true);
+    }
     if (this.clusterStatusChore != null) {
       this.clusterStatusChore.cancel(true);
     }
@@ -3131,6 +3143,13 @@ public class HMaster extends HRegionServer implements MasterServices {
         .getDefaultLoadBalancerClass().getName());
   }
 
+  /**
+   * @return the coordinator of the major compactions, null if disabled
+   */
+  public MajorCompactionCoordinator getMajorCompactionCoordinator() {
+    return majorCompactionCoordinator;
+  }
+
   /**
    * @return RegionNormalizerTracker instance
    */
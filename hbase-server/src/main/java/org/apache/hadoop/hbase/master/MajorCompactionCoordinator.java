@@ -0,0 +1,374 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.master;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.RegionLoad;
+import org.apache.hadoop.hbase.ScheduledChore;
+import org.apache.hadoop.hbase.ServerLoad;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.client.CompactType;
+import org.apache.hadoop.hbase.conf.ConfigurationObserver;
+import org.apache.hadoop.hbase.regionserver.compactions.OffPeakHours;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.Pair;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Chore scheduling the major compactions of the regions of the whole cluster, rather than leaving
+ * each store to major compact when its own period elapses, or a table-wide request to compact all
+ * the regions of the table at once.
+ * <p>
+ * On each run, the regions due are the ones whose last major compaction, as reported in their
+ * {@link RegionLoad}, is older than {@value #MAX_AGE_KEY}, the ones never major compacted with
+ * more than a file per store, and the ones of the tables requested through
+ * {@link #requestMajorCompaction(TableName)}, which a client asks for with
+ * {@link org.apache.hadoop.hbase.client.Admin#majorCompact(TableName, CompactType)} and
+ * {@link CompactType#COORDINATED}, not compacted since. They are compacted from the one
+ * which lost the most locality or has the most files per store, as long as their server and rack
+ * run less than {@value #MAX_PER_SERVER_KEY} and {@value #MAX_PER_RACK_KEY} major compactions,
+ * and only from {@value #START_HOUR_KEY} to {@value #END_HOUR_KEY} when set. A region is compacting
+ * until it reports a major compaction done since requested, for {@value #TIMEOUT_KEY} at most.
+ * <p>
+ * The coordinator is paused by {@value #PAUSED_KEY}, which is reloaded with the configuration, or
+ * by an admin through {@link MajorCompactionCoordinatorProcedureManager}, and reports its state in
+ * {@link #toString()}. It works from the region loads, so that a new
+ * active master goes on from where the previous one stopped, but for the tables requested. To
+ * leave the major compactions to the coordinator, set {@value HConstants#MAJOR_COMPACTION_PERIOD}
+ * to 0 for the region servers.
+ */
+@InterfaceAudience.Private
+public class MajorCompactionCoordinator extends ScheduledChore implements ConfigurationObserver {
+  private static final Log LOG = LogFactory.getLog(MajorCompactionCoordinator.class);
+
+  /** The period of the coordinator in milliseconds, 0 to disable it */
+  public static final String PERIOD_KEY = "hbase.master.majorcompaction.coordinator.period";
+  public static final int DEFAULT_PERIOD = 0;
+
+  /** The number of milliseconds since its last major compaction making a region due for one */
+  public static final String MAX_AGE_KEY = "hbase.master.majorcompaction.coordinator.max.age";
+  public static final long DEFAULT_MAX_AGE = 1000L * 60 * 60 * 24 * 7;
+
+  /** The number of major compactions running at once on a server */
+  public static final String MAX_PER_SERVER_KEY =
+      "hbase.master.majorcompaction.coordinator.max.per.server";
+  public static final int DEFAULT_MAX_PER_SERVER = 1;
+
+  /** The number of major compactions running at once in a rack, 0 for no limit */
+  public static final String MAX_PER_RACK_KEY =
+      "hbase.master.majorcompaction.coordinator.max.per.rack";
+  public static final int DEFAULT_MAX_PER_RACK = 0;
+
+  /** The hour major compactions may start from, inclusive, -1 for any hour */
+  public static final String START_HOUR_KEY =
+      "hbase.master.majorcompaction.coordinator.start.hour";
+
+  /** The hour major compactions may start until, exclusive, -1 for any hour */
+  public static final String END_HOUR_KEY = "hbase.master.majorcompaction.coordinator.end.hour";
+
+  /** The number of milliseconds after which a major compaction not reported done is left */
+  public static final String TIMEOUT_KEY = "hbase.master.majorcompaction.coordinator.timeout";
+  public static final long DEFAULT_TIMEOUT = 1000L * 60 * 60;
+
+  /** Whether the coordinator starts no major compaction */
+  public static final String PAUSED_KEY = "hbase.master.majorcompaction.coordinator.paused";
+
+  /**
+   * The regions which lost the most locality or have the most files per store first, both
+   * weighing the same.
+   */
+  private static final Comparator<Pair<ServerName, RegionLoad>> PRIORITY =
+      new Comparator<Pair<ServerName, RegionLoad>>() {
+    @Override
+    public int compare(Pair<ServerName, RegionLoad> r1, Pair<ServerName, RegionLoad> r2) {
+      return Double.compare(getPriority(r2.getSecond()), getPriority(r1.getSecond()));
+    }
+  };
+
+  private static class Compaction {
+    final ServerName server;
+    final String rack;
+    final long startTime;
+
+    Compaction(ServerName server, String rack, long startTime) {
+      this.server = server;
+      this.rack = rack;
+      this.startTime = startTime;
+    }
+  }
+
+  private final HMaster master;
+  private RackManager rackManager;
+
+  private long maxAge;
+  private int maxPerServer;
+  private int maxPerRack;
+  private OffPeakHours hours;
+  private long timeout;
+  private boolean pausedByConf;
+  private boolean pausedByAdmin;
+
+  // by region name
+  private final Map<String, Compaction> running = new HashMap<>();
+  // the time of the request by table
+  private final Map<TableName, Long> requestedTables = new HashMap<>();
+  private long started;
+  private long completed;
+  private long timedOut;
+
+  public MajorCompactionCoordinator(HMaster master, int period) {
+    super(master.getServerName() + "-MajorCompactionCoordinator", master, period);
+    this.master = master;
+    this.rackManager = new RackManager(master.getConfiguration());
+    onConfigurationChange(master.getConfiguration());
+  }
+
+  @Override
+  public synchronized void onConfigurationChange(Configuration conf) {
+    this.maxAge = conf.getLong(MAX_AGE_KEY, DEFAULT_MAX_AGE);
+    this.maxPerServer = conf.getInt(MAX_PER_SERVER_KEY, DEFAULT_MAX_PER_SERVER);
+    this.maxPerRack = conf.getInt(MAX_PER_RACK_KEY, DEFAULT_MAX_PER_RACK);
+    this.hours = OffPeakHours.getInstance(conf.getInt(START_HOUR_KEY, -1),
+      conf.getInt(END_HOUR_KEY, -1));
+    this.timeout = conf.getLong(TIMEOUT_KEY, DEFAULT_TIMEOUT);
+    boolean pause = conf.getBoolean(PAUSED_KEY, false);
+    if (pause != pausedByConf) {
+      LOG.info((pause ? "Pausing" : "Resuming") + " the major compaction coordinator");
+    }
+    this.pausedByConf = pause;
+  }
+
+  /**
+   * Pauses or resumes the coordinator on an admin request. It stays paused while
+   * {@value #PAUSED_KEY} is set, whatever the admin requests.
+   */
+  public synchronized void setPaused(boolean pause) {
+    if (pause != pausedByAdmin) {
+      LOG.info((pause ? "Pausing" : "Resuming") + " the major compaction coordinator on request");
+    }
+    this.pausedByAdmin = pause;
+  }
+
+  public synchronized boolean isPaused() {
+    return pausedByConf || pausedByAdmin;
+  }
+
+  /**
+   * @return the region name a client sends the major compaction of the table to the master with
+   */
+  public static HRegionInfo getRequestRegionInfo(TableName tableName) {
+    return new HRegionInfo(tableName, HConstants.MAJOR_COMPACTION_REQUEST_START_KEY,
+        HConstants.EMPTY_END_ROW, false, 0);
+  }
+
+  /**
+   * @return whether the region name stands for the major compaction of the whole table
+   */
+  public static boolean isRequestRegionName(TableName tableName, byte[] regionName) {
+    return Bytes.equals(regionName, getRequestRegionInfo(tableName).getRegionName());
+  }
+
+  @VisibleForTesting
+  void setRackManager(RackManager rackManager) {
+    this.rackManager = rackManager;
+  }
+
+  /**
+   * Has all the regions of the table major compacted, under the limits of the coordinator.
+   * @param tableName the table to compact
+   */
+  public synchronized void requestMajorCompaction(TableName tableName) {
+    LOG.info("Major compaction of " + tableName + " requested");
+    requestedTables.put(tableName, EnvironmentEdgeManager.currentTime());
+  }
+
+  @Override
+  protected void chore() {
+    ServerManager serverManager = master.getServerManager();
+    if (serverManager == null) {
+      return;
+    }
+    List<Pair<ServerName, RegionLoad>> compactions =
+        schedule(serverManager.getOnlineServers(), EnvironmentEdgeManager.currentTime());
+    for (Pair<ServerName, RegionLoad> compaction : compactions) {
+      ServerName server = compaction.getFirst();
+      RegionLoad load = compaction.getSecond();
+      try {
+        serverManager.sendRegionCompact(server, load.getName(), true);
+      } catch (IOException e) {
+        LOG.warn("Failed to request the major compaction of " + load.getNameAsString() + " on "
+            + server, e);
+        synchronized (this) {
+          running.remove(load.getNameAsString());
+          started--;
+        }
+      }
+    }
+  }
+
+  /**
+   * Updates the compactions running from the region loads, and picks the regions to compact now.
+   * @param servers the loads of the online servers
+   * @param now the current time
+   * @return the regions to major compact, with their server
+   */
+  @VisibleForTesting
+  synchronized List<Pair<ServerName, RegionLoad>> schedule(Map<ServerName, ServerLoad> servers,
+      long now) {
+    Map<String, Pair<ServerName, RegionLoad>> regions = new HashMap<>();
+    for (Map.Entry<ServerName, ServerLoad> e : servers.entrySet()) {
+      for (RegionLoad load : e.getValue().getRegionsLoad().values()) {
+        regions.put(load.getNameAsString(), new Pair<>(e.getKey(), load));
+      }
+    }
+
+    Map<ServerName, Integer> perServer = new HashMap<>();
+    Map<String, Integer> perRack = new HashMap<>();
+    Set<TableName> compactingTables = new HashSet<>();
+    for (Iterator<Map.Entry<String, Compaction>> it = running.entrySet().iterator();
+        it.hasNext();) {
+      Map.Entry<String, Compaction> e = it.next();
+      Compaction compaction = e.getValue();
+      Pair<ServerName, RegionLoad> region = regions.get(e.getKey());
+      if (region == null || !region.getFirst().equals(compaction.server)) {
+        // the region moved, its compaction with it
+        it.remove();
+      } else if (region.getSecond().getLastMajorCompactionTs() >= compaction.startTime) {
+        it.remove();
+        completed++;
+      } else if (now - compaction.startTime >= timeout) {
+        LOG.warn("No major compaction of " + e.getKey() + " reported after "
+            + (now - compaction.startTime) + "ms, leaving it");
+        it.remove();
+        timedOut++;
+      } else {
+        increment(perServer, compaction.server);
+        increment(perRack, compaction.rack);
+        compactingTables.add(HRegionInfo.getTable(region.getSecond().getName()));
+      }
+    }
+
+    List<Pair<ServerName, RegionLoad>> candidates = new ArrayList<>();
+    Set<TableName> dueTables = new HashSet<>();
+    for (Map.Entry<String, Pair<ServerName, RegionLoad>> e : regions.entrySet()) {
+      RegionLoad load = e.getValue().getSecond();
+      if (running.containsKey(e.getKey()) || load.getStorefiles() == 0) {
+        continue;
+      }
+      long lastMajorCompaction = load.getLastMajorCompactionTs();
+      TableName table = HRegionInfo.getTable(load.getName());
+      Long requestTime = requestedTables.get(table);
+      if (requestTime != null && lastMajorCompaction < requestTime) {
+        dueTables.add(table);
+        candidates.add(e.getValue());
+      } else if (lastMajorCompaction == 0 ? load.getStorefiles() > load.getStores()
+          : maxAge > 0 && now - lastMajorCompaction >= maxAge) {
+        candidates.add(e.getValue());
+      }
+    }
+    for (Iterator<TableName> it = requestedTables.keySet().iterator(); it.hasNext();) {
+      TableName table = it.next();
+      if (!dueTables.contains(table) && !compactingTables.contains(table)) {
+        LOG.info("Major compaction of " + table + " done");
+        it.remove();
+      }
+    }
+
+    if (isPaused() || hours != OffPeakHours.DISABLED && !hours.isOffPeakHour()
+        || candidates.isEmpty()) {
+      return Collections.emptyList();
+    }
+    Collections.sort(candidates, PRIORITY);
+    List<Pair<ServerName, RegionLoad>> compactions = new ArrayList<>();
+    for (Pair<ServerName, RegionLoad> candidate : candidates) {
+      ServerName server = candidate.getFirst();
+      String rack = rackManager.getRack(server);
+      if (get(perServer, server) >= maxPerServer
+          || maxPerRack > 0 && get(perRack, rack) >= maxPerRack) {
+        continue;
+      }
+      increment(perServer, server);
+      increment(perRack, rack);
+      running.put(candidate.getSecond().getNameAsString(), new Compaction(server, rack, now));
+      started++;
+      compactions.add(candidate);
+    }
+    if (!compactions.isEmpty()) {
+      LOG.info("Starting " + compactions.size() + " major compactions of " + candidates.size()
+          + " due; " + this);
+    }
+    return compactions;
+  }
+
+  /**
+   * @return the priority of the major compaction of the region, the higher first
+   */
+  @VisibleForTesting
+  static double getPriority(RegionLoad load) {
+    double localityLoss = 1 - load.getDataLocality();
+    double extraFiles =
+        Math.max(0, (double) load.getStorefiles() / Math.max(1, load.getStores()) - 1);
+    return localityLoss + extraFiles / (1 + extraFiles);
+  }
+
+  private static <K> int get(Map<K, Integer> counts, K key) {
+    Integer count = counts.get(key);
+    return count == null ? 0 : count;
+  }
+
+  private static <K> void increment(Map<K, Integer> counts, K key) {
+    counts.put(key, get(counts, key) + 1);
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder sb = new StringBuilder("MajorCompactionCoordinator[paused=").append(isPaused())
+        .append(", inWindow=").append(hours == OffPeakHours.DISABLED || hours.isOffPeakHour())
+        .append(", started=").append(started).append(", completed=").append(completed)
+        .append(", timedOut=").append(timedOut).append(", requestedTables=")
+        .append(requestedTables.keySet()).append(", running=[");
+    boolean first = true;
+    for (Map.Entry<String, Compaction> e : running.entrySet()) {
+      if (!first) {
+        sb.append(", ");
+      }
+      first = false;
+      sb.append(e.getKey()).append(" on ").append(e.getValue().server);
+    }
+    return sb.append("]]").toString();
+  }
+}
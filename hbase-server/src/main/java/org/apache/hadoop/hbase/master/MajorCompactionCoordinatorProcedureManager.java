@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.master;
+
+import java.io.IOException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.procedure.MasterProcedureManager;
+import org.apache.hadoop.hbase.shaded.protobuf.generated.HBaseProtos.ProcedureDescription;
+
+/**
+ * Pauses and resumes the {@link MajorCompactionCoordinator} on an admin request, with
+ * {@link org.apache.hadoop.hbase.client.Admin#execProcedure(String, String, java.util.Map)}, the
+ * signature {@value #PROCEDURE_SIGNATURE} and the instance {@value #PAUSE} or {@value #RESUME}.
+ * The pause is not kept over a master failover, set
+ * {@value MajorCompactionCoordinator#PAUSED_KEY} for that.
+ */
+@InterfaceAudience.Private
+public class MajorCompactionCoordinatorProcedureManager extends MasterProcedureManager {
+  private static final Log LOG =
+      LogFactory.getLog(MajorCompactionCoordinatorProcedureManager.class);
+
+  public static final String PROCEDURE_SIGNATURE = "major-compaction-coordinator";
+  public static final String PAUSE = "pause";
+  public static final String RESUME = "resume";
+
+  private final HMaster master;
+  private boolean stopped;
+
+  public MajorCompactionCoordinatorProcedureManager(HMaster master) {
+    this.master = master;
+  }
+
+  @Override
+  public void initialize(MasterServices master, MetricsMaster metricsMaster) {
+  }
+
+  @Override
+  public String getProcedureSignature() {
+    return PROCEDURE_SIGNATURE;
+  }
+
+  @Override
+  public void execProcedure(ProcedureDescription desc) throws IOException {
+    MajorCompactionCoordinator coordinator = master.getMajorCompactionCoordinator();
+    if (coordinator == null) {
+      throw new DoNotRetryIOException("The major compaction coordinator is disabled");
+    }
+    if (PAUSE.equals(desc.getInstance())) {
+      coordinator.setPaused(true);
+    } else if (RESUME.equals(desc.getInstance())) {
+      coordinator.setPaused(false);
+    } else {
+      throw new DoNotRetryIOException("Unknown instance " + desc.getInstance() + " of "
+          + PROCEDURE_SIGNATURE + ", expected " + PAUSE + " or " + RESUME);
+    }
+  }
+
+  @Override
+  public boolean isProcedureDone(ProcedureDescription desc) {
+    // done as soon as executed
+    return true;
+  }
+
+  @Override
+  public void stop(String why) {
+    LOG.info("stop: " + why);
+    this.stopped = true;
+  }
+
+  @Override
+  public boolean isStopped() {
+    return this.stopped;
+  }
+}
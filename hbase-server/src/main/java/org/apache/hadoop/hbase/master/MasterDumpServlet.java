@@ -78,6 +78,11 @@ public class MasterDumpServlet extends StateDumpServlet {
     out.println(LINE);
     dumpExecutors(master.getExecutorService(), out);
 
+    out.println("\n\nMajor compactions:");
+    out.println(LINE);
+    MajorCompactionCoordinator coordinator = master.getMajorCompactionCoordinator();
+    out.println(coordinator == null ? "MajorCompactionCoordinator is disabled" : coordinator);
+
     out.println("\n\nStacks:");
     out.println(LINE);
     out.flush();
@@ -1450,6 +1450,8 @@ public class MasterRpcServices extends RSRpcServices
       // if the region is a mob region, do the mob file compaction.
       if (MobUtils.isMobRegionName(tableName, regionName)) {
         return compactMob(request, tableName);
+      } else if (MajorCompactionCoordinator.isRequestRegionName(tableName, regionName)) {
+        return requestMajorCompaction(request, tableName);
       } else {
         return super.compactRegion(controller, request);
       }
@@ -1478,6 +1480,31 @@ public class MasterRpcServices extends RSRpcServices
     }
   }
 
+  /**
+   * Has the major compaction coordinator compact all the regions of the table.
+   * @param request the request.
+   * @param tableName the table to compact.
+   * @return The response of the request, sent before the compactions start.
+   * @throws IOException
+   */
+  private CompactRegionResponse requestMajorCompaction(final CompactRegionRequest request,
+      TableName tableName) throws IOException {
+    MajorCompactionCoordinator coordinator = master.getMajorCompactionCoordinator();
+    if (coordinator == null) {
+      throw new DoNotRetryIOException("The major compaction coordinator is disabled");
+    }
+    if (!request.hasMajor() || !request.getMajor() || request.hasFamily()) {
+      throw new DoNotRetryIOException(
+          "Only the major compactions of whole tables are coordinated");
+    }
+    if (!master.getTableStateManager().isTableState(tableName, TableState.State.ENABLED)) {
+      throw new DoNotRetryIOException("Table " + tableName + " is not enabled");
+    }
+    LOG.info(master.getClientIdAuditPrefix() + " coordinated major compaction of " + tableName);
+    coordinator.requestMajorCompaction(tableName);
+    return CompactRegionResponse.newBuilder().build();
+  }
+
   /**
    * Compacts the mob files in the current table.
    * @param request the request.
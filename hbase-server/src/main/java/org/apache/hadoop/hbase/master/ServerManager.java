@@ -69,6 +69,7 @@ import org.apache.hadoop.hbase.shaded.protobuf.ProtobufUtil;
 import org.apache.hadoop.hbase.shaded.protobuf.RequestConverter;
 import org.apache.hadoop.hbase.shaded.protobuf.ResponseConverter;
 import org.apache.hadoop.hbase.shaded.protobuf.generated.AdminProtos.AdminService;
+import org.apache.hadoop.hbase.shaded.protobuf.generated.AdminProtos.CompactRegionRequest;
 import org.apache.hadoop.hbase.shaded.protobuf.generated.AdminProtos.OpenRegionRequest;
 import org.apache.hadoop.hbase.shaded.protobuf.generated.AdminProtos.OpenRegionResponse;
 import org.apache.hadoop.hbase.shaded.protobuf.generated.AdminProtos.ServerInfo;
@@ -922,6 +923,25 @@ public class ServerManager {
     }
   }
 
+  /**
+   * Sends a COMPACT RPC to the specified server to compact the specified region.
+   * @param server server to compact the region on
+   * @param regionName the name of the region to compact
+   * @param major whether to run a major compaction
+   * @throws IOException if the RPC fails
+   */
+  public void sendRegionCompact(ServerName server, byte[] regionName, boolean major)
+      throws IOException {
+    AdminService.BlockingInterface admin = getRsAdmin(server);
+    CompactRegionRequest request =
+        RequestConverter.buildCompactRegionRequest(regionName, major, null);
+    try {
+      admin.compactRegion(newRpcController(), request);
+    } catch (ServiceException se) {
+      throw ProtobufUtil.getRemoteException(se);
+    }
+  }
+
   /**
    * Contacts a region server and waits up to timeout ms
    * to close the region.  This bypasses the active hmaster.
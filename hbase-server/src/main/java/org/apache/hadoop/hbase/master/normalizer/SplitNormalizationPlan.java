@@ -74,12 +74,18 @@ public class SplitNormalizationPlan implements NormalizationPlan {
 
   /**
    * {@inheritDoc}
+   * Without a split point, the region server picks it with the split policy of the region, at the
+   * median of the load of the region when its requests are sampled.
    */
   @Override
   public void execute(Admin admin) {
     LOG.info("Executing splitting normalization plan: " + this);
     try {
-      admin.splitRegion(regionInfo.getRegionName());
+      if (splitPoint != null) {
+        admin.splitRegion(regionInfo.getRegionName(), splitPoint);
+      } else {
+        admin.splitRegion(regionInfo.getRegionName());
+      }
     } catch (IOException ex) {
       LOG.error("Error during region split: ", ex);
     }
@@ -91,6 +91,9 @@ public class CompactSplitThread implements CompactionRequestor, PropagatingConfi
 
   private volatile ThroughputController compactionThroughputController;
 
+  /** The processes the large compactions are handed to, null to run them all here */
+  private final CompactionWorkerPool compactionWorkers;
+
   /**
    * Splitting should not take place if the total number of regions exceed this.
    * This is not a hard limit to the number of regions but it is a guideline to
@@ -163,6 +166,9 @@ public class CompactSplitThread implements CompactionRequestor, PropagatingConfi
     // compaction throughput controller
     this.compactionThroughputController =
         CompactionThroughputControllerFactory.create(server, conf);
+
+    this.compactionWorkers = conf.getInt(CompactionWorkerPool.WORKERS_KEY,
+        CompactionWorkerPool.DEFAULT_WORKERS) > 0 ? new CompactionWorkerPool(conf) : null;
   }
 
   @Override
@@ -397,6 +403,9 @@ public class CompactSplitThread implements CompactionRequestor, PropagatingConfi
     waitFor(mergePool, "Merge Thread");
     waitFor(longCompactions, "Large Compaction Thread");
     waitFor(shortCompactions, "Small Compaction Thread");
+    if (compactionWorkers != null) {
+      compactionWorkers.close();
+    }
   }
 
   /**
@@ -502,6 +511,11 @@ public class CompactSplitThread implements CompactionRequestor, PropagatingConfi
       }
       // Finally we can compact something.
       assert this.compaction != null;
+      CompactionContext compaction = this.compaction;
+      if (compactionWorkers != null
+          && store.throttleCompaction(compaction.getRequest().getSize())) {
+        compaction = compactionWorkers.offload(store, compaction);
+      }
 
       this.compaction.getRequest().beforeExecute();
       try {
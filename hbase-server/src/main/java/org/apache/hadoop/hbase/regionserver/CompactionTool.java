@@ -18,7 +18,11 @@
 
 package org.apache.hadoop.hbase.regionserver;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -54,10 +58,15 @@ import org.apache.hadoop.hbase.HTableDescriptor;
 import org.apache.hadoop.hbase.HRegionInfo;
 import org.apache.hadoop.hbase.regionserver.HRegion;
 import org.apache.hadoop.hbase.regionserver.HRegionFileSystem;
+import org.apache.hadoop.hbase.regionserver.CompactionWorkerPool.Request;
+import org.apache.hadoop.hbase.regionserver.CompactionWorkerPool.Response;
 import org.apache.hadoop.hbase.regionserver.compactions.CompactionContext;
+import org.apache.hadoop.hbase.regionserver.compactions.CompactionProgress;
+import org.apache.hadoop.hbase.regionserver.compactions.CompactionRequest;
 import org.apache.hadoop.hbase.regionserver.throttle.NoLimitThroughputController;
 import org.apache.hadoop.hbase.mapreduce.JobUtil;
 import org.apache.hadoop.hbase.mapreduce.TableMapReduceUtil;
+import org.apache.hadoop.hbase.security.UserProvider;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
 import org.apache.hadoop.hbase.util.FSTableDescriptors;
@@ -70,6 +79,7 @@ import org.apache.hadoop.hbase.util.FSUtils;
  *  <li>region folder (all families in the region will be compacted)
  *  <li>family folder (the store files will be compacted)
  * </ul>
+ * It also runs as a compaction worker of a region server, see {@link CompactionWorkerPool}.
  */
 @InterfaceAudience.LimitedPrivate(HBaseInterfaceAudience.TOOLS)
 public class CompactionTool extends Configured implements Tool {
@@ -375,6 +385,85 @@ public class CompactionTool extends Configured implements Tool {
     }
   }
 
+  /**
+   * Compact the given files of a store into the given temporary directory, without committing
+   * the result: the region server requesting the compaction does it.
+   */
+  static Response compactFiles(final Configuration conf, final FileSystem fs,
+      final Request request) throws IOException {
+    Path regionDir = request.familyDir.getParent();
+    Path tableDir = regionDir.getParent();
+    HTableDescriptor htd = FSTableDescriptors.getTableDescriptorFromFs(fs, tableDir);
+    HRegionInfo hri = HRegionFileSystem.loadRegionInfoFileContent(fs, regionDir);
+    HRegionFileSystem regionFs = new HRegionFileSystem(conf, fs, tableDir, hri) {
+      @Override
+      public Path getTempDir() {
+        return request.tmpDir;
+      }
+    };
+    // keep the cells the scanners of the region server may still read as they are
+    HRegion region = new HRegion(regionFs, null, conf, htd, null) {
+      @Override
+      public long getSmallestReadPoint() {
+        return request.smallestReadPoint;
+      }
+    };
+    HStore store = new HStore(region, htd.getFamily(Bytes.toBytes(request.familyDir.getName())),
+        conf);
+    try {
+      Set<String> fileNames = new HashSet<>(request.fileNames);
+      List<StoreFile> filesToCompact = new ArrayList<>(fileNames.size());
+      for (StoreFile sf : store.getStorefiles()) {
+        if (fileNames.contains(sf.getPath().getName())) {
+          filesToCompact.add(sf);
+        }
+      }
+      if (filesToCompact.size() != fileNames.size()) {
+        throw new IOException("Some of the files to compact are missing in "
+            + request.familyDir + ": " + request.fileNames);
+      }
+      CompactionRequest cr = new CompactionRequest(filesToCompact);
+      cr.setIsMajor(request.major, request.allFiles);
+      CompactionContext compaction = store.storeEngine.createCompaction();
+      compaction.forceSelect(cr);
+      List<Path> newFiles = compaction.compact(NoLimitThroughputController.INSTANCE, null);
+      CompactionProgress progress = store.getCompactionProgress();
+      return new Response(progress.totalCompactingKVs, progress.totalCompactedSize, newFiles);
+    } finally {
+      store.close();
+    }
+  }
+
+  /**
+   * Execute the compactions requested on the standard input, one per line, until it is closed.
+   * The outcome of each is written as a line on the standard output.
+   */
+  private int doWorker() throws IOException {
+    Configuration conf = getConf();
+    // the worker runs on the host of its region server, with its credentials
+    UserProvider.instantiate(conf).login("hbase.regionserver.keytab.file",
+      "hbase.regionserver.kerberos.principal", null);
+    FileSystem fs = FileSystem.get(conf);
+    // keep the standard output for the responses
+    PrintStream out = System.out;
+    System.setOut(System.err);
+    BufferedReader in = new BufferedReader(new InputStreamReader(System.in,
+        StandardCharsets.UTF_8));
+    String line;
+    while ((line = in.readLine()) != null) {
+      String response;
+      try {
+        response = compactFiles(conf, fs, Request.decode(line)).encode();
+      } catch (Exception e) {
+        LOG.error("Compaction failed, request=" + line, e);
+        response = Response.encodeError(e);
+      }
+      out.println(response);
+      out.flush();
+    }
+    return 0;
+  }
+
   /**
    * Execute compaction, from this client, one path at the time.
    */
@@ -393,6 +482,7 @@ public class CompactionTool extends Configured implements Tool {
     boolean compactOnce = false;
     boolean major = false;
     boolean mapred = false;
+    boolean worker = false;
 
     Configuration conf = getConf();
     FileSystem fs = FileSystem.get(conf);
@@ -406,6 +496,8 @@ public class CompactionTool extends Configured implements Tool {
           major = true;
         } else if (opt.equals("-mapred")) {
           mapred = true;
+        } else if (opt.equals("-worker")) {
+          worker = true;
         } else if (!opt.startsWith("-")) {
           Path path = new Path(opt);
           FileStatus status = fs.getFileStatus(path);
@@ -423,6 +515,10 @@ public class CompactionTool extends Configured implements Tool {
       return 1;
     }
 
+    if (worker) {
+      return doWorker();
+    }
+
     if (toCompactDirs.isEmpty()) {
       printUsage("No directories to compact specified.");
       return 1;
@@ -446,11 +542,13 @@ public class CompactionTool extends Configured implements Tool {
     }
     System.err.println("Usage: java " + this.getClass().getName() + " \\");
     System.err.println("  [-compactOnce] [-major] [-mapred] [-D<property=value>]* files...");
+    System.err.println("  or [-D<property=value>]* -worker");
     System.err.println();
     System.err.println("Options:");
     System.err.println(" mapred         Use MapReduce to run compaction.");
     System.err.println(" compactOnce    Execute just one compaction step. (default: while needed)");
     System.err.println(" major          Trigger major compaction.");
+    System.err.println(" worker         Run the compactions of a region server read on stdin.");
     System.err.println();
     System.err.println("Note: -D properties will be applied to the conf used. ");
     System.err.println("For example: ");
@@ -0,0 +1,407 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.lang.ProcessBuilder.Redirect;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.regionserver.compactions.CompactionContext;
+import org.apache.hadoop.hbase.regionserver.compactions.CompactionProgress;
+import org.apache.hadoop.hbase.regionserver.throttle.ThroughputController;
+import org.apache.hadoop.hbase.security.User;
+import org.apache.hadoop.io.IOUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * A pool of processes running {@link CompactionTool} on the host of the region server, to which
+ * the large compactions are handed so their heap and CPU usage do not pause the serving of the
+ * requests.
+ * <p>
+ * The region server selects the files as usual, then sends the family directory and the names of
+ * the files to an idle worker on its standard input, one request per line. The worker compacts
+ * them into the temporary directory of the region and answers with the paths of the new files on
+ * its standard output. The region server then commits them itself, writing the compaction marker
+ * and replacing the store files as for a compaction it ran.
+ * <p>
+ * Only the compactions of the default store engine are handed out, and not those of the regions
+ * loading coprocessors, as their compaction hooks would not be called in the worker. The workers
+ * are started on the first compaction and restarted after a failure. A compaction is aborted by
+ * killing its worker when the region stops accepting writes, e.g. because it is closing. The
+ * compaction throughput controller of the region server does not apply to the workers.
+ */
+@InterfaceAudience.Private
+class CompactionWorkerPool implements Closeable {
+  private static final Log LOG = LogFactory.getLog(CompactionWorkerPool.class);
+
+  /** Number of compaction worker processes, 0 to run all the compactions in the region server */
+  static final String WORKERS_KEY = "hbase.regionserver.compaction.workers";
+  static final int DEFAULT_WORKERS = 0;
+
+  /** JVM options of the compaction worker processes, e.g. their heap size */
+  static final String WORKER_OPTS_KEY = "hbase.regionserver.compaction.workers.java.opts";
+
+  private static final String LOCAL_DIR_KEY = "hbase.local.dir";
+
+  static final String OK = "OK";
+  static final String ERROR = "ERROR";
+  private static final String SEPARATOR = "\t";
+
+  /** How often to check whether a compaction must be aborted, in milliseconds */
+  private static final long POLL_INTERVAL = 100;
+
+  /**
+   * A compaction to run in a worker.
+   */
+  static final class Request {
+    final Path familyDir;
+    final Path tmpDir;
+    final long smallestReadPoint;
+    final boolean major;
+    final boolean allFiles;
+    final List<String> fileNames;
+
+    Request(Path familyDir, Path tmpDir, long smallestReadPoint, boolean major,
+        boolean allFiles, List<String> fileNames) {
+      this.familyDir = familyDir;
+      this.tmpDir = tmpDir;
+      this.smallestReadPoint = smallestReadPoint;
+      this.major = major;
+      this.allFiles = allFiles;
+      this.fileNames = fileNames;
+    }
+
+    String encode() {
+      StringBuilder sb = new StringBuilder();
+      sb.append(familyDir).append(SEPARATOR).append(tmpDir).append(SEPARATOR)
+          .append(smallestReadPoint).append(SEPARATOR).append(major).append(SEPARATOR)
+          .append(allFiles);
+      for (String fileName : fileNames) {
+        sb.append(SEPARATOR).append(fileName);
+      }
+      return sb.toString();
+    }
+
+    static Request decode(String line) throws IOException {
+      String[] fields = line.split(SEPARATOR);
+      if (fields.length < 6) {
+        throw new IOException("Malformed compaction request: " + line);
+      }
+      return new Request(new Path(fields[0]), new Path(fields[1]), Long.parseLong(fields[2]),
+          Boolean.parseBoolean(fields[3]), Boolean.parseBoolean(fields[4]),
+          Arrays.asList(fields).subList(5, fields.length));
+    }
+  }
+
+  /**
+   * The outcome of a compaction run in a worker.
+   */
+  static final class Response {
+    final long compactedKVs;
+    final long compactedSize;
+    final List<Path> newFiles;
+
+    Response(long compactedKVs, long compactedSize, List<Path> newFiles) {
+      this.compactedKVs = compactedKVs;
+      this.compactedSize = compactedSize;
+      this.newFiles = newFiles;
+    }
+
+    String encode() {
+      StringBuilder sb = new StringBuilder(OK);
+      sb.append(SEPARATOR).append(compactedKVs).append(SEPARATOR).append(compactedSize);
+      for (Path newFile : newFiles) {
+        sb.append(SEPARATOR).append(newFile);
+      }
+      return sb.toString();
+    }
+
+    static String encodeError(Throwable t) {
+      return ERROR + SEPARATOR + String.valueOf(t).replaceAll("\\s+", " ");
+    }
+
+    static Response decode(String line) throws IOException {
+      String[] fields = line.split(SEPARATOR);
+      if (fields[0].equals(ERROR)) {
+        throw new IOException("Compaction failed in worker: "
+            + (fields.length > 1 ? fields[1] : "unknown error"));
+      }
+      if (!fields[0].equals(OK) || fields.length < 3) {
+        throw new IOException("Malformed compaction response: " + line);
+      }
+      List<Path> newFiles = new ArrayList<>(fields.length - 3);
+      for (int i = 3; i < fields.length; i++) {
+        newFiles.add(new Path(fields[i]));
+      }
+      return new Response(Long.parseLong(fields[1]), Long.parseLong(fields[2]), newFiles);
+    }
+  }
+
+  /**
+   * A worker process, used by one compaction at a time.
+   */
+  private final class Worker {
+    private Process process;
+    private BufferedReader in;
+    private BufferedWriter out;
+
+    String call(HStore store, String request) throws IOException, InterruptedException {
+      if (process == null) {
+        start();
+      }
+      try {
+        out.write(request);
+        out.newLine();
+        out.flush();
+        while (!in.ready() && process.isAlive()) {
+          checkAborted(store);
+          Thread.sleep(POLL_INTERVAL);
+        }
+        String response = in.readLine();
+        if (response == null) {
+          throw new IOException("Compaction worker exited");
+        }
+        return response;
+      } catch (IOException | InterruptedException e) {
+        destroy();
+        throw e;
+      }
+    }
+
+    private void start() throws IOException {
+      ProcessBuilder builder = new ProcessBuilder(getCommand());
+      builder.redirectError(Redirect.INHERIT);
+      process = builder.start();
+      in = new BufferedReader(
+          new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+      out = new BufferedWriter(
+          new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+      LOG.info("Started compaction worker " + process);
+    }
+
+    void destroy() {
+      if (process != null) {
+        // closing its input makes the worker exit once done, if it survives the kill
+        process.destroy();
+        IOUtils.closeStream(out);
+        IOUtils.closeStream(in);
+        process = null;
+      }
+    }
+  }
+
+  /**
+   * A compaction selected by the region server and run by a worker.
+   */
+  private final class WorkerCompaction extends CompactionContext {
+    private final HStore store;
+    private final CompactionContext selection;
+
+    WorkerCompaction(HStore store, CompactionContext selection) {
+      this.store = store;
+      this.selection = selection;
+      this.request = selection.getRequest();
+    }
+
+    @Override
+    public List<StoreFile> preSelect(List<StoreFile> filesCompacting) {
+      return selection.preSelect(filesCompacting);
+    }
+
+    @Override
+    public boolean select(List<StoreFile> filesCompacting, boolean isUserCompaction,
+        boolean mayUseOffPeak, boolean forceMajor) throws IOException {
+      return selection.select(filesCompacting, isUserCompaction, mayUseOffPeak, forceMajor);
+    }
+
+    @Override
+    public List<Path> compact(ThroughputController throughputController, User user)
+        throws IOException {
+      List<String> fileNames = new ArrayList<>(request.getFiles().size());
+      for (StoreFile sf : request.getFiles()) {
+        fileNames.add(sf.getPath().getName());
+      }
+      HRegionFileSystem regionFs = store.getRegionFileSystem();
+      Request workerRequest = new Request(regionFs.getStoreDir(store.getColumnFamilyName()),
+          regionFs.getTempDir(), store.getSmallestReadPoint(), request.isMajor(),
+          request.isAllFiles(), fileNames);
+      Response response = CompactionWorkerPool.this.compact(store, workerRequest);
+      CompactionProgress progress = new CompactionProgress(response.compactedKVs);
+      progress.currentCompactedKVs = response.compactedKVs;
+      progress.totalCompactedSize = response.compactedSize;
+      store.storeEngine.getCompactor().setProgress(progress);
+      return response.newFiles;
+    }
+  }
+
+  private final Configuration conf;
+  private final BlockingQueue<Worker> idleWorkers = new LinkedBlockingQueue<>();
+  private File confFile;
+  private volatile boolean closed = false;
+
+  CompactionWorkerPool(Configuration conf) {
+    this.conf = conf;
+    int workers = conf.getInt(WORKERS_KEY, DEFAULT_WORKERS);
+    for (int i = 0; i < workers; i++) {
+      idleWorkers.add(new Worker());
+    }
+  }
+
+  /**
+   * @return the compaction to run in a worker instead of the given one, or the given one if it
+   *   must run in the region server
+   */
+  CompactionContext offload(Store store, CompactionContext compaction) {
+    if (!(store instanceof HStore)) {
+      return compaction;
+    }
+    HStore hstore = (HStore) store;
+    if (!(hstore.storeEngine instanceof DefaultStoreEngine)) {
+      return compaction;
+    }
+    RegionCoprocessorHost host = hstore.getCoprocessorHost();
+    if (host != null && !host.getCoprocessors().isEmpty()) {
+      return compaction;
+    }
+    return new WorkerCompaction(hstore, compaction);
+  }
+
+  private Response compact(HStore store, Request request) throws IOException {
+    Worker worker = null;
+    try {
+      while ((worker = idleWorkers.poll(POLL_INTERVAL, TimeUnit.MILLISECONDS)) == null) {
+        checkAborted(store);
+      }
+      return Response.decode(worker.call(store, request.encode()));
+    } catch (InterruptedException e) {
+      throw (InterruptedIOException) new InterruptedIOException(
+          "Interrupted while compacting " + store + " in a worker").initCause(e);
+    } finally {
+      if (worker != null) {
+        idleWorkers.add(worker);
+        if (closed) {
+          destroyIdleWorkers();
+        }
+      }
+    }
+  }
+
+  private void checkAborted(HStore store) throws InterruptedIOException {
+    if (closed || !store.areWritesEnabled()) {
+      throw new InterruptedIOException("Aborting compaction of store " + store + " in region "
+          + store.getRegionInfo().getRegionNameAsString() + " because it was interrupted.");
+    }
+  }
+
+  /**
+   * @return the command starting a worker, with the configuration of the region server minus
+   *   its block cache, which would be useless to a compaction
+   */
+  @VisibleForTesting
+  synchronized List<String> getCommand() throws IOException {
+    if (confFile == null) {
+      confFile = writeWorkerConf();
+    }
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator
+        + "java");
+    String opts = conf.get(WORKER_OPTS_KEY, "").trim();
+    if (!opts.isEmpty()) {
+      Collections.addAll(command, opts.split("\\s+"));
+    }
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(CompactionTool.class.getName());
+    command.add("-conf");
+    command.add(confFile.getAbsolutePath());
+    command.add("-worker");
+    return command;
+  }
+
+  /**
+   * Writes the configuration of the workers, which may hold secrets, under the local directory of
+   * the region server, readable by its user only.
+   */
+  private File writeWorkerConf() throws IOException {
+    Configuration workerConf = new Configuration(conf);
+    workerConf.setFloat(HConstants.HFILE_BLOCK_CACHE_SIZE_KEY, 0);
+    workerConf.unset(HConstants.BUCKET_CACHE_IOENGINE_KEY);
+    File dir = new File(conf.get(LOCAL_DIR_KEY), "compaction-workers");
+    boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    Files.createDirectories(dir.toPath());
+    if (posix) {
+      Files.setPosixFilePermissions(dir.toPath(), PosixFilePermissions.fromString("rwx------"));
+    }
+    File file = Files.createTempFile(dir.toPath(), "compaction-worker-", ".xml").toFile();
+    file.deleteOnExit();
+    if (posix) {
+      Files.setPosixFilePermissions(file.toPath(), PosixFilePermissions.fromString("rw-------"));
+    }
+    try (OutputStream os = new FileOutputStream(file)) {
+      workerConf.writeXml(os);
+    }
+    return file;
+  }
+
+  private void destroyIdleWorkers() {
+    Worker worker;
+    while ((worker = idleWorkers.poll()) != null) {
+      worker.destroy();
+    }
+  }
+
+  /**
+   * Kills the workers. The compactions they run are aborted.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    destroyIdleWorkers();
+    synchronized (this) {
+      if (confFile != null && !confFile.delete()) {
+        LOG.debug("Failed to delete " + confFile);
+      }
+    }
+  }
+}
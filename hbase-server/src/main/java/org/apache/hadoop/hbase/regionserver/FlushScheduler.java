@@ -0,0 +1,225 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.ScheduledChore;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.regionserver.wal.AbstractFSWAL;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.wal.WAL;
+import org.apache.hadoop.util.StringUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Requests the flushes of the regions of a region server ahead of the global memstore low water
+ * mark and of the maximum number of WAL files, so they are not forced later in a hurry.
+ * <p>
+ * Once the global memstore size goes over {@value #THRESHOLD_KEY} of the low water mark, or the
+ * rolled WAL files of a WAL over that fraction of hbase.regionserver.maxlogs, the regions are
+ * ranked by the sum of their memstore size relative to their flush size, the age of their oldest
+ * edit relative to the periodic flush interval, and the number of WAL files they keep from being
+ * archived relative to the maximum number, divided by one plus the compaction pressure of their
+ * busiest store, as the file a flush adds there costs the most. The best regions are flushed
+ * until the memstore size is back under the threshold, at most {@value #MAX_PER_RUN_KEY} per
+ * run, counting the memstores of the regions already queued for a flush as freed. The regions
+ * whose memstore is under {@value #MIN_SIZE_KEY} of their flush size are only flushed to free WAL
+ * files, so memory pressure does not make tiny flushes.
+ */
+@InterfaceAudience.Private
+class FlushScheduler extends ScheduledChore {
+  private static final Log LOG = LogFactory.getLog(FlushScheduler.class);
+
+  /** Period in milliseconds to rank the regions at, 0 to disable */
+  static final String PERIOD_KEY = "hbase.regionserver.flush.scheduler.period";
+  static final int DEFAULT_PERIOD = 0;
+
+  /** Fraction of the memstore low water mark and of the maximum WAL files to flush ahead of */
+  static final String THRESHOLD_KEY = "hbase.regionserver.flush.scheduler.threshold";
+  static final float DEFAULT_THRESHOLD = 0.8f;
+
+  /** Fraction of its flush size a region memstore must reach to be flushed for memory */
+  static final String MIN_SIZE_KEY = "hbase.regionserver.flush.scheduler.min.size";
+  static final float DEFAULT_MIN_SIZE = 0.25f;
+
+  /** Maximum number of flushes requested per run */
+  static final String MAX_PER_RUN_KEY = "hbase.regionserver.flush.scheduler.max.per.run";
+  static final int DEFAULT_MAX_PER_RUN = 2;
+
+  /**
+   * What a region would gain from a flush.
+   */
+  @VisibleForTesting
+  static final class Candidate {
+    final Region region;
+    final long memstoreSize;
+    final boolean bigEnough;
+    final boolean freesWALs;
+    final double score;
+
+    Candidate(Region region, long memstoreSize, boolean bigEnough, boolean freesWALs,
+        double score) {
+      this.region = region;
+      this.memstoreSize = memstoreSize;
+      this.bigEnough = bigEnough;
+      this.freesWALs = freesWALs;
+      this.score = score;
+    }
+  }
+
+  private static final Comparator<Candidate> BY_SCORE = new Comparator<Candidate>() {
+    @Override
+    public int compare(Candidate c1, Candidate c2) {
+      return Double.compare(c2.score, c1.score);
+    }
+  };
+
+  private final HRegionServer server;
+  private final float threshold;
+  private final float minSize;
+  private final int maxPerRun;
+  private final long flushInterval;
+
+  FlushScheduler(HRegionServer server, int period) {
+    super(server.getServerName() + "-FlushScheduler", server, period);
+    this.server = server;
+    Configuration conf = server.getConfiguration();
+    this.threshold = conf.getFloat(THRESHOLD_KEY, DEFAULT_THRESHOLD);
+    this.minSize = conf.getFloat(MIN_SIZE_KEY, DEFAULT_MIN_SIZE);
+    this.maxPerRun = conf.getInt(MAX_PER_RUN_KEY, DEFAULT_MAX_PER_RUN);
+    this.flushInterval = conf.getLong(HRegion.MEMSTORE_PERIODIC_FLUSH_INTERVAL,
+      HRegion.DEFAULT_CACHE_FLUSH_INTERVAL);
+  }
+
+  @Override
+  protected void chore() {
+    FlushRequester requester = server.getFlushRequester();
+    if (requester == null) {
+      return;
+    }
+    RegionServerAccounting accounting = server.getRegionServerAccounting();
+    long excessSize = accounting.getGlobalMemstoreDataSize()
+        - (long) (threshold * accounting.getGlobalMemstoreLimitLowMark());
+    long now = EnvironmentEdgeManager.currentTime();
+    Map<WAL, Boolean> walPressures = new HashMap<>();
+    List<Candidate> candidates = new ArrayList<>();
+    for (Region r : server.getOnlineRegionsLocalContext()) {
+      HRegion region = (HRegion) r;
+      boolean flushable;
+      synchronized (region.writestate) {
+        flushable = !region.writestate.flushing && region.writestate.writesEnabled;
+      }
+      if (!flushable || region.getMemstoreSize() <= 0) {
+        continue;
+      }
+      if (requester instanceof MemStoreFlusher && ((MemStoreFlusher) requester).isQueued(region)) {
+        // a request would be dropped, the memstore will be freed by the queued flush
+        excessSize -= region.getMemstoreSize();
+        continue;
+      }
+      Boolean walPressure = null;
+      WAL wal = region.getWAL();
+      if (wal instanceof AbstractFSWAL) {
+        walPressure = walPressures.get(wal);
+        if (walPressure == null) {
+          AbstractFSWAL<?> fsWAL = (AbstractFSWAL<?>) wal;
+          walPressure = fsWAL.getNumRolledLogFiles() >= threshold * fsWAL.getMaxLogs();
+          walPressures.put(wal, walPressure);
+        }
+      }
+      candidates.add(getCandidate(region, walPressure != null && walPressure, now));
+    }
+    for (Candidate candidate : select(candidates, excessSize, maxPerRun)) {
+      LOG.info("Requesting flush of " + candidate.region + " ahead of the limits, memstore size="
+          + StringUtils.humanReadableInt(candidate.memstoreSize) + ", score="
+          + String.format("%.2f", candidate.score));
+      // the older WAL files are only released when all the stores are flushed
+      requester.requestFlush(candidate.region, candidate.freesWALs);
+    }
+  }
+
+  private Candidate getCandidate(HRegion region, boolean walPressure, long now) {
+    long memstoreSize = region.getMemstoreSize();
+    long oldestEdit = Long.MAX_VALUE;
+    double compactionPressure = 0;
+    for (Store store : region.getStores()) {
+      oldestEdit = Math.min(oldestEdit, store.timeOfOldestEdit());
+      compactionPressure = Math.max(compactionPressure, store.getCompactionPressure());
+    }
+    int pinnedWALs = 0;
+    int maxLogs = 1;
+    WAL wal = region.getWAL();
+    if (wal instanceof AbstractFSWAL) {
+      AbstractFSWAL<?> fsWAL = (AbstractFSWAL<?>) wal;
+      pinnedWALs = fsWAL.getNumPinnedLogFiles(region.getRegionInfo().getEncodedNameAsBytes());
+      maxLogs = Math.max(1, fsWAL.getMaxLogs());
+    }
+    long flushSize = Math.max(1, region.getMemstoreFlushSize());
+    double score = getScore((double) memstoreSize / flushSize,
+      oldestEdit == Long.MAX_VALUE || flushInterval <= 0 ? 0
+          : (double) (now - oldestEdit) / flushInterval,
+      (double) pinnedWALs / maxLogs, compactionPressure);
+    return new Candidate(region, memstoreSize, memstoreSize >= minSize * flushSize,
+        walPressure && pinnedWALs > 0, score);
+  }
+
+  /**
+   * @param size the memstore size of the region relative to its flush size
+   * @param age the age of the oldest edit of the region relative to the periodic flush interval
+   * @param pinnedWALs the WAL files kept by the region relative to the maximum number
+   * @param compactionPressure the highest compaction pressure of the stores of the region
+   * @return the score of the flush of the region, the higher the better
+   */
+  @VisibleForTesting
+  static double getScore(double size, double age, double pinnedWALs,
+      double compactionPressure) {
+    return (size + age + pinnedWALs) / (1 + Math.max(0, compactionPressure));
+  }
+
+  /**
+   * @param candidates the regions which can be flushed
+   * @param excessSize the global memstore size over the threshold, negative when under it
+   * @param maxPerRun the maximum number of regions to pick
+   * @return the regions to flush, the best first
+   */
+  @VisibleForTesting
+  static List<Candidate> select(List<Candidate> candidates, long excessSize, int maxPerRun) {
+    Collections.sort(candidates, BY_SCORE);
+    List<Candidate> selected = new ArrayList<>();
+    for (Candidate candidate : candidates) {
+      if (selected.size() >= maxPerRun) {
+        break;
+      }
+      if ((excessSize > 0 && candidate.bigEnough) || candidate.freesWALs) {
+        selected.add(candidate);
+        excessSize -= candidate.memstoreSize;
+      }
+    }
+    return selected;
+  }
+}
@@ -138,6 +138,7 @@ import org.apache.hadoop.hbase.ipc.CoprocessorRpcUtils;
 import org.apache.hadoop.hbase.ipc.RpcCall;
 import org.apache.hadoop.hbase.ipc.RpcCallContext;
 import org.apache.hadoop.hbase.ipc.RpcServer;
+import org.apache.hadoop.hbase.mob.MobUtils;
 import org.apache.hadoop.hbase.monitoring.MonitoredTask;
 import org.apache.hadoop.hbase.monitoring.TaskMonitor;
 import org.apache.hadoop.hbase.regionserver.MultiVersionConcurrencyControl.WriteEntry;
@@ -145,6 +146,7 @@ import org.apache.hadoop.hbase.regionserver.ScannerContext.LimitScope;
 import org.apache.hadoop.hbase.regionserver.ScannerContext.NextState;
 import org.apache.hadoop.hbase.regionserver.compactions.CompactionContext;
 import org.apache.hadoop.hbase.regionserver.throttle.CompactionThroughputControllerFactory;
+import org.apache.hadoop.hbase.regionserver.throttle.IOScheduler;
 import org.apache.hadoop.hbase.regionserver.throttle.NoLimitThroughputController;
 import org.apache.hadoop.hbase.regionserver.throttle.ThroughputController;
 import org.apache.hadoop.hbase.regionserver.wal.WALEdit;
@@ -205,6 +207,21 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
   public static final String HREGION_UNASSIGN_FOR_FNFE = "hbase.hregion.unassign.for.fnfe";
   public static final boolean DEFAULT_HREGION_UNASSIGN_FOR_FNFE = true;
 
+  /** Config key for reading the Gets without filter without opening a region scanner */
+  public static final String HREGION_GET_FAST_PATH = "hbase.hregion.get.fastpath";
+  public static final boolean DEFAULT_HREGION_GET_FAST_PATH = false;
+
+  /**
+   * Config key for the number of row keys of the requests sampled to split the region at the
+   * median of its load rather than of its size, 0 to disable, see {@link RowKeySampler}
+   */
+  public static final String HREGION_REQUEST_SAMPLE_SIZE = "hbase.hregion.request.sample.size";
+  public static final int DEFAULT_HREGION_REQUEST_SAMPLE_SIZE = 0;
+
+  /** Config key for the maximum number of stores of a region flushed concurrently */
+  public static final String HREGION_FLUSH_PARALLELISM = "hbase.hregion.flush.parallelism";
+  public static final int DEFAULT_HREGION_FLUSH_PARALLELISM = 1;
+
   /**
    * This is the global default value for durability. All tables/mutations not
    * defining a durability or using USE_DEFAULT will default to this value.
@@ -312,7 +329,8 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
   static final long DEFAULT_ROW_PROCESSOR_TIMEOUT = 60 * 1000L;
   final ExecutorService rowProcessorExecutor = Executors.newCachedThreadPool();
 
-  private final ConcurrentHashMap<RegionScanner, Long> scannerReadPoints;
+  // the read points of the open RegionScanners and of the Gets read on the fast path
+  private final ConcurrentHashMap<Object, Long> scannerReadPoints;
 
   /**
    * The sequence ID that was enLongAddered when this region was opened.
@@ -325,6 +343,23 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
    */
   private boolean isLoadingCfsOnDemandDefault = false;
 
+  /**
+   * Whether the Gets which allow it are read store by store, see {@link #isFastPathGet(Get)}.
+   */
+  private final boolean fastPathGet;
+
+  /**
+   * The rows of the families with a row cache, read by the Gets on the fast path. Null when no
+   * family has a row cache.
+   */
+  private final RowCache.RegionRows rowCache;
+
+  /**
+   * The rows of the requests served, to split the region at the median of its load. Null when
+   * not sampled.
+   */
+  private volatile RowKeySampler requestSampler;
+
   private final AtomicInteger majorInProgress = new AtomicInteger(0);
   private final AtomicInteger minorInProgress = new AtomicInteger(0);
 
@@ -720,6 +755,9 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
                     DEFAULT_ROWLOCK_WAIT_DURATION);
 
     this.isLoadingCfsOnDemandDefault = conf.getBoolean(LOAD_CFS_ON_DEMAND_CONFIG_KEY, true);
+    // the cells of the MOB families have to be resolved by the scanners of HMobStore
+    this.fastPathGet = conf.getBoolean(HREGION_GET_FAST_PATH, DEFAULT_HREGION_GET_FAST_PATH)
+        && !MobUtils.hasMobColumns(htd);
     this.htableDescriptor = htd;
     Set<byte[]> families = this.htableDescriptor.getFamiliesKeys();
     for (byte[] family : families) {
@@ -733,6 +771,20 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
       }
     }
     this.rsServices = rsServices;
+    // the secondary replicas replay the edits of the primary, they do not cache its rows
+    RowCache serverRowCache = null;
+    if (fastPathGet && RowCache.isEnabled(htd)
+        && RegionReplicaUtil.isDefaultReplica(fs.getRegionInfo())) {
+      // a region out of a region server, as in tools and tests, has a cache of its own
+      serverRowCache = rsServices != null ? rsServices.getRowCache() : RowCache.create(conf);
+    }
+    this.rowCache = serverRowCache == null ? null
+        : serverRowCache.forRegion(htd, rsServices != null ? rsServices.getMetrics() : null);
+    int requestSampleSize =
+        conf.getInt(HREGION_REQUEST_SAMPLE_SIZE, DEFAULT_HREGION_REQUEST_SAMPLE_SIZE);
+    if (requestSampleSize > 0) {
+      this.requestSampler = new RowKeySampler(requestSampleSize);
+    }
     this.threadWakeFrequency = conf.getLong(HConstants.THREAD_WAKE_FREQUENCY, 10 * 1000);
     setHTableSpecificConf();
     this.scannerReadPoints = new ConcurrentHashMap<>();
@@ -1629,6 +1681,9 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
         }
       }
 
+      if (rowCache != null) {
+        rowCache.clear();
+      }
       Map<byte[], List<StoreFile>> result = new TreeMap<>(Bytes.BYTES_COMPARATOR);
       if (!stores.isEmpty()) {
         // initialize the thread pool for closing stores in parallel.
@@ -1750,6 +1805,51 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
     }
   }
 
+  /**
+   * Writes the snapshots of the given stores to their temporary files, up to
+   * {@link #HREGION_FLUSH_PARALLELISM} stores at a time. Nothing is committed here, so the flush
+   * still has a single commit point.
+   */
+  private void flushStores(Collection<StoreFlushContext> flushes, final MonitoredTask status)
+      throws IOException {
+    int maxThreads = Math.min(flushes.size(),
+      conf.getInt(HREGION_FLUSH_PARALLELISM, DEFAULT_HREGION_FLUSH_PARALLELISM));
+    if (maxThreads <= 1) {
+      for (StoreFlushContext flush : flushes) {
+        flush.flushCache(status);
+      }
+      return;
+    }
+    ThreadPoolExecutor storeFlusherThreadPool = getOpenAndCloseThreadPool(maxThreads,
+      "StoreFlusherThread-" + getRegionInfo().getShortNameToLog());
+    CompletionService<Void> completionService =
+        new ExecutorCompletionService<>(storeFlusherThreadPool);
+    for (final StoreFlushContext flush : flushes) {
+      completionService.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws IOException {
+          flush.flushCache(status);
+          return null;
+        }
+      });
+    }
+    try {
+      for (int i = 0; i < flushes.size(); i++) {
+        completionService.take().get();
+      }
+    } catch (InterruptedException e) {
+      throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new IOException(cause);
+    } finally {
+      storeFlusherThreadPool.shutdownNow();
+    }
+  }
+
   protected ThreadPoolExecutor getStoreOpenAndCloseThreadPool(
       final String threadNamePrefix) {
     int numStores = Math.max(1, this.htableDescriptor.getFamilies().size());
@@ -2601,9 +2701,7 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
       // just-made new flush store file. The new flushed file is still in the
       // tmp directory.
 
-      for (StoreFlushContext flush : storeFlushCtxs.values()) {
-        flush.flushCache(status);
-      }
+      flushStores(storeFlushCtxs.values(), status);
 
       // Switch snapshot (in memstore) -> new hfile (thus causing
       // all the store scanners to reset/reseek).
@@ -2746,6 +2844,11 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
       long nonceGroup, long nonce) throws IOException {
     startRegionOperation(Operation.SCAN);
     try {
+      // the scans of the whole region say nothing of where the load is, and the gets are
+      // sampled by the callers serving them
+      if (scan.getStartRow().length > 0 && !scan.isGetScan()) {
+        sampleRequest(scan.getStartRow());
+      }
       // Verify families are all valid
       if (!scan.hasFamilies()) {
         // Adding all families to scanner
@@ -3393,6 +3496,11 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
             replay? batchOp.getReplaySequenceId(): writeEntry.getWriteNumber());
         }
         applyFamilyMapToMemstore(familyMaps[i], memstoreSize);
+        // before the mvcc makes the cells visible, so the rows read before are not cached
+        if (rowCache != null) {
+          rowCache.invalidate(familyMaps[i],
+            replay ? batchOp.getReplaySequenceId() : writeEntry.getWriteNumber());
+        }
       }
 
       // calling the post CP hook for batch mutation
@@ -3585,6 +3693,9 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
       prepareDelete((Delete)mutation);
     }
     checkRow(mutation.getRow(), "doMiniBatchMutation");
+    if (!replay) {
+      sampleRequest(mutation.getRow());
+    }
   }
 
   /**
@@ -4210,6 +4321,8 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
       HStore store = null;
       boolean reported_once = false;
       ServerNonceManager ng = this.rsServices == null ? null : this.rsServices.getNonceManager();
+      IOScheduler ioScheduler = this.rsServices == null ? null : this.rsServices.getIOScheduler();
+      long lastPosition = 0;
 
       try {
         // How many edits seen before we check elapsed time
@@ -4230,6 +4343,16 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
             ng.reportOperationFromWal(key.getNonceGroup(), key.getNonce(), key.getWriteTime());
           }
 
+          if (ioScheduler != null) {
+            long position = reader.getPosition();
+            try {
+              ioScheduler.acquire(IOScheduler.IOClass.RECOVERED_EDITS, position - lastPosition);
+            } catch (InterruptedException e) {
+              throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+            }
+            lastPosition = position;
+          }
+
           if (reporter != null) {
             intervalEdits += val.size();
             if (intervalEdits >= interval) {
@@ -5708,6 +5831,10 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
 
       isSuccessful = true;
     } finally {
+      // the rows cached, or being read, may miss the cells of the files loaded
+      if (rowCache != null && !storeFiles.isEmpty()) {
+        rowCache.clear();
+      }
       if (wal != null && !storeFiles.isEmpty()) {
         // Write a bulk load event for hfiles that are loaded
         try {
@@ -5773,6 +5900,9 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
     private final long maxResultSize;
     private final ScannerContext defaultScannerContext;
     private final FilterWrapper filter;
+    // the scanners of the stores fetching rows in parallel, null if the scan is sequential
+    List<ParallelStoreScanner> parallelScanners;
+    private int parallelism;
 
     @Override
     public HRegionInfo getRegionInfo() {
@@ -5836,11 +5966,22 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
         instantiatedScanners.addAll(additionalScanners);
       }
 
+      int parallelism = getIntraRegionParallelism(scan);
       try {
         for (Map.Entry<byte[], NavigableSet<byte[]>> entry : scan.getFamilyMap().entrySet()) {
           Store store = stores.get(entry.getKey());
           KeyValueScanner scanner = store.getScanner(scan, entry.getValue(), this.readPt);
           instantiatedScanners.add(scanner);
+          if (parallelism > 1 && scanner instanceof StoreScanner) {
+            ParallelStoreScanner parallelScanner = new ParallelStoreScanner(scanner, comparator);
+            if (this.parallelScanners == null) {
+              this.parallelScanners = new ArrayList<>(scan.getFamilyMap().size());
+              this.parallelism = parallelism;
+            }
+            this.parallelScanners.add(parallelScanner);
+            instantiatedScanners.set(instantiatedScanners.size() - 1, parallelScanner);
+            scanner = parallelScanner;
+          }
           if (this.filter == null || !scan.doLoadColumnFamiliesOnDemand()
               || this.filter.isFamilyEssential(entry.getKey())) {
             scanners.add(scanner);
@@ -5854,6 +5995,23 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
       }
     }
 
+    /**
+     * @return the number of threads to read the stores of the region with, at most 1 if the scan
+     * has to be read sequentially
+     */
+    private int getIntraRegionParallelism(Scan scan) {
+      // the filter is shared by the stores, and is not thread safe
+      if (scan.getIntraRegionParallelism() <= 1 || this.filter != null || scan.isReversed()
+          || rsServices == null || rsServices.getExecutorService() == null
+          || conf.getInt(ParallelStoreScanner.REGION_SERVER_SCAN_PARALLEL_THREADS,
+            ParallelStoreScanner.DEFAULT_REGION_SERVER_SCAN_PARALLEL_THREADS) <= 0) {
+        return 1;
+      }
+      return Math.min(scan.getIntraRegionParallelism(),
+        conf.getInt(ParallelStoreScanner.REGION_SERVER_SCAN_PARALLEL_MAX,
+          ParallelStoreScanner.DEFAULT_REGION_SERVER_SCAN_PARALLEL_MAX));
+    }
+
     protected void initializeKVHeap(List<KeyValueScanner> scanners,
         List<KeyValueScanner> joinedScanners, HRegion region)
         throws IOException {
@@ -6021,6 +6179,10 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
       boolean tmpKeepProgress = scannerContext.getKeepProgress();
       // Scanning between column families and thus the scope is between cells
       LimitScope limitScope = LimitScope.BETWEEN_CELLS;
+      if (heap == this.storeHeap && this.parallelScanners != null) {
+        ParallelStoreScanner.fetchRows(this.parallelScanners, currentRowCell, scannerContext,
+          this.parallelism, rsServices.getExecutorService());
+      }
       do {
         // We want to maintain any progress that is made towards the limits while scanning across
         // different column families. To do this, we toggle the keep progress flag on during calls
@@ -6911,16 +7073,20 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
     }
     long before =  EnvironmentEdgeManager.currentTime();
     Scan scan = new Scan(get);
-    if (scan.getLoadColumnFamiliesOnDemandValue() == null) {
-      scan.setLoadColumnFamiliesOnDemand(isLoadingCfsOnDemandDefault());
-    }
-    RegionScanner scanner = null;
-    try {
-      scanner = getScanner(scan, null, nonceGroup, nonce);
-      scanner.next(results);
-    } finally {
-      if (scanner != null)
-        scanner.close();
+    if (isFastPathGet(get) && nonce == HConstants.NO_NONCE) {
+      getOnFastPath(scan, results);
+    } else {
+      if (scan.getLoadColumnFamiliesOnDemandValue() == null) {
+        scan.setLoadColumnFamiliesOnDemand(isLoadingCfsOnDemandDefault());
+      }
+      RegionScanner scanner = null;
+      try {
+        scanner = getScanner(scan, null, nonceGroup, nonce);
+        scanner.next(results);
+      } finally {
+        if (scanner != null)
+          scanner.close();
+      }
     }
 
     // post-get CP hook
@@ -6933,6 +7099,111 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
     return results;
   }
 
+  /**
+   * A Get can be read store after store with a {@link PointGet}, rather than with a region scanner,
+   * when the region has nothing to do but gather the cells of its row: no filter, no limit on the
+   * number of cells per family, and no region observer which could replace the store scanners.
+   * Regions with MOB families always go through the region scanner.
+   * @return whether the Get can be read on the fast path
+   */
+  @VisibleForTesting
+  boolean isFastPathGet(Get get) {
+    return fastPathGet && get.getFilter() == null
+        && get.getMaxResultsPerColumnFamily() < 0 && get.getRowOffsetPerColumnFamily() <= 0
+        && (coprocessorHost == null || !coprocessorHost.hasRegionObserver());
+  }
+
+  private void getOnFastPath(Scan scan, List<Cell> results) throws IOException {
+    List<KeyValueScanner> scanners = new ArrayList<>();
+    try {
+      getOnFastPath(scan, results, scanners);
+    } finally {
+      for (KeyValueScanner scanner : scanners) {
+        scanner.close();
+      }
+    }
+  }
+
+  /**
+   * Read a Get on the fast path, see {@link #isFastPathGet(Get)}, leaving the store scanners
+   * open. The cells read may point into the blocks these scanners hold, so the caller closes them
+   * once done with the cells, for example after the response is sent.
+   * @param scan the scan of the Get
+   * @param results where to add the cells
+   * @param scanners where to add the scanners opened, to close by the caller even on failure
+   */
+  void getOnFastPath(Scan scan, List<Cell> results, List<KeyValueScanner> scanners)
+      throws IOException {
+    startRegionOperation(Operation.GET);
+    Object readPoint = new Object();
+    try {
+      if (!scan.hasFamilies()) {
+        for (byte[] family : this.htableDescriptor.getFamiliesKeys()) {
+          scan.addFamily(family);
+        }
+      } else {
+        for (byte[] family : scan.getFamilyMap().keySet()) {
+          checkFamily(family);
+        }
+      }
+      // synchronize on scannerReadPoints so that nobody calculates
+      // getSmallestReadPoint, before scannerReadPoints is updated.
+      long readPt;
+      synchronized (scannerReadPoints) {
+        readPt = getReadPoint(scan.getIsolationLevel());
+        scannerReadPoints.put(readPoint, readPt);
+      }
+      readRequestsCount.increment();
+      boolean cacheable = rowCache != null && RowCache.isCacheable(scan);
+      // the families are sorted, the cells of each store come after the ones of the previous store
+      for (Map.Entry<byte[], NavigableSet<byte[]>> entry : scan.getFamilyMap().entrySet()) {
+        Store store = stores.get(entry.getKey());
+        if (cacheable && rowCache.isCached(entry.getKey())) {
+          getThroughRowCache(store, scan, entry.getValue(), readPt, results, scanners);
+        } else {
+          PointGet.get(store, scan, entry.getValue(), readPt, results, scanners);
+        }
+      }
+    } catch (FileNotFoundException e) {
+      LOG.warn("A store file got lost, so close and reopen region", e);
+      if (regionUnassigner != null) {
+        regionUnassigner.unassign();
+      }
+      throw e;
+    } finally {
+      scannerReadPoints.remove(readPoint);
+      closeRegionOperation(Operation.GET);
+    }
+    if (rsServices != null && rsServices.getMetrics() != null) {
+      rsServices.getMetrics().incrFastPathGet();
+    }
+  }
+
+  @VisibleForTesting
+  RowCache.RegionRows getRowCache() {
+    return rowCache;
+  }
+
+  /**
+   * Read the cells of a Get in a family from the row cache. On a miss the whole row is read in the
+   * family and cached, unless it got mutated in the meantime.
+   */
+  private void getThroughRowCache(Store store, Scan scan, NavigableSet<byte[]> columns,
+      long readPt, List<Cell> results, List<KeyValueScanner> scanners) throws IOException {
+    byte[] row = scan.getStartRow();
+    byte[] family = store.getFamily().getName();
+    long oldestUnexpiredTS = EnvironmentEdgeManager.currentTime() - store.getScanInfo().getTtl();
+    List<Cell> cells = rowCache.get(row, family, oldestUnexpiredTS);
+    if (cells == null) {
+      long generation = rowCache.getGeneration();
+      Scan rowScan = new Scan(new Get(row).addFamily(family).setCacheBlocks(scan.getCacheBlocks()));
+      cells = new ArrayList<>();
+      PointGet.get(store, rowScan, null, readPt, cells, scanners);
+      rowCache.cache(row, family, cells, readPt, generation);
+    }
+    RowCache.select(cells, columns, results);
+  }
+
   void metricsUpdateForGet(List<Cell> results, long before) {
     if (this.metricsRegion != null) {
       this.metricsRegion.updateGet(EnvironmentEdgeManager.currentTime() - before);
@@ -7090,6 +7361,9 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
               }
               applyToMemstore(getHStore(cell), cell, memstoreSize);
             }
+            if (rowCache != null) {
+              rowCache.invalidate(m.getFamilyCellMap(), sequenceId);
+            }
           }
 
           // STEP 8. call postBatchMutate hook
@@ -7256,6 +7530,10 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
         // Now write to MemStore. Do it a column family at a time.
         for (Map.Entry<Store, List<Cell>> e : forMemStore.entrySet()) {
           applyToMemstore(e.getKey(), e.getValue(), true, memstoreSize);
+          if (rowCache != null) {
+            rowCache.invalidate(e.getKey().getFamily().getName(), e.getValue(),
+              writeEntry.getWriteNumber());
+          }
         }
         mvcc.completeAndWait(writeEntry);
         if (rsServices != null && rsServices.getNonceManager() != null) {
@@ -7614,7 +7892,7 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
       ClassSize.ARRAY +
       50 * ClassSize.REFERENCE + 2 * Bytes.SIZEOF_INT +
       (14 * Bytes.SIZEOF_LONG) +
-      6 * Bytes.SIZEOF_BOOLEAN);
+      7 * Bytes.SIZEOF_BOOLEAN);
 
   // woefully out of date - currently missing:
   // 1 x HashMap - coprocessorServiceHandlers
@@ -7734,6 +8012,43 @@ public class HRegion implements HeapSize, PropagatingConfigurationObserver, Regi
     return this.explicitSplitPoint;
   }
 
+  /**
+   * Samples the rows of the requests served from now on, if not already, to split the region at
+   * the median of its load.
+   * @param sampleSize the number of rows to sample
+   */
+  void startSamplingRequests(int sampleSize) {
+    if (this.requestSampler == null && sampleSize > 0) {
+      this.requestSampler = new RowKeySampler(sampleSize);
+    }
+  }
+
+  @VisibleForTesting
+  RowKeySampler getRequestSampler() {
+    return this.requestSampler;
+  }
+
+  void sampleRequest(byte[] row) {
+    RowKeySampler sampler = this.requestSampler;
+    if (sampler != null) {
+      sampler.sample(row);
+    }
+  }
+
+  /**
+   * @return the row splitting the requests served by the region in two halves, null if the
+   *         requests are not sampled, not enough yet, or all on the first row of the region
+   */
+  byte[] getLoadSplitPoint() {
+    RowKeySampler sampler = this.requestSampler;
+    byte[] median = sampler != null ? sampler.getMedian() : null;
+    if (median == null || Bytes.equals(median, getRegionInfo().getStartKey())
+        || !getRegionInfo().containsRow(median)) {
+      return null;
+    }
+    return median;
+  }
+
   void forceSplit(byte[] sp) {
     // This HRegion will go away after the forced split is successful
     // But if a forced split fails, we need to clear forced split.
@@ -122,6 +122,7 @@ import org.apache.hadoop.hbase.regionserver.handler.CloseMetaHandler;
 import org.apache.hadoop.hbase.regionserver.handler.CloseRegionHandler;
 import org.apache.hadoop.hbase.regionserver.handler.RegionReplicaFlushHandler;
 import org.apache.hadoop.hbase.regionserver.throttle.FlushThroughputControllerFactory;
+import org.apache.hadoop.hbase.regionserver.throttle.IOScheduler;
 import org.apache.hadoop.hbase.regionserver.throttle.ThroughputController;
 import org.apache.hadoop.hbase.regionserver.wal.MetricsWAL;
 import org.apache.hadoop.hbase.regionserver.wal.WALActionsListener;
@@ -381,6 +382,11 @@ public class HRegionServer extends HasThread implements
    */
   ScheduledChore periodicFlusher;
 
+  /*
+   * Flushes ahead of the memstore and WAL limits
+   */
+  ScheduledChore flushScheduler;
+
   protected volatile WALFactory walFactory;
 
   // WAL roller. log is protected rather than private to avoid
@@ -508,6 +514,10 @@ public class HRegionServer extends HasThread implements
 
   private volatile ThroughputController flushThroughputController;
 
+  private IOScheduler ioScheduler;
+
+  private RowCache rowCache;
+
   protected SecureBulkLoadManager secureBulkLoadManager;
 
   /**
@@ -621,7 +631,10 @@ public class HRegionServer extends HasThread implements
     putUpWebUI();
     this.walRoller = new LogRoller(this, this);
     this.choreService = new ChoreService(getServerName().toString(), true);
+    this.ioScheduler = new IOScheduler(conf);
+    this.ioScheduler.setup(this);
     this.flushThroughputController = FlushThroughputControllerFactory.create(this, conf);
+    this.rowCache = RowCache.create(conf);
 
     if (!SystemUtils.IS_OS_WINDOWS) {
       Signal.handle(new Signal("HUP"), new SignalHandler() {
@@ -909,6 +922,11 @@ public class HRegionServer extends HasThread implements
     // in a while. It will take care of not checking too frequently on store-by-store basis.
     this.compactionChecker = new CompactionChecker(this, this.threadWakeFrequency, this);
     this.periodicFlusher = new PeriodicMemstoreFlusher(this.threadWakeFrequency, this);
+    int flushSchedulerPeriod =
+        conf.getInt(FlushScheduler.PERIOD_KEY, FlushScheduler.DEFAULT_PERIOD);
+    if (flushSchedulerPeriod > 0) {
+      this.flushScheduler = new FlushScheduler(this, flushSchedulerPeriod);
+    }
     this.leases = new Leases(this.threadWakeFrequency);
 
     // Create the thread to clean the moved regions list
@@ -947,6 +965,7 @@ public class HRegionServer extends HasThread implements
     // Registering the compactSplitThread object with the ConfigurationManager.
     configurationManager.registerObserver(this.compactSplitThread);
     configurationManager.registerObserver(this.rpcServices);
+    configurationManager.registerObserver(this.ioScheduler);
     configurationManager.registerObserver(this);
   }
 
@@ -1465,6 +1484,7 @@ public class HRegionServer extends HasThread implements
       this.walFactory = setupWALAndReplication();
       // Init in here rather than in constructor after thread name has been set
       this.metricsRegionServer = new MetricsRegionServer(new MetricsRegionServerWrapperImpl(this));
+      ioScheduler.registerMetrics(metricsRegionServer.getMetricRegistry());
       this.metricsTable = new MetricsTable(new MetricsTableWrapperAggregateImpl(this));
       // Now that we have a metrics source, start the pause monitor
       this.pauseMonitor = new JvmPauseMonitor(conf, getMetrics().getMetricsSource());
@@ -1796,6 +1816,11 @@ public class HRegionServer extends HasThread implements
       this.service.startExecutorService(ExecutorType.RS_PARALLEL_SEEK,
         conf.getInt("hbase.storescanner.parallel.seek.threads", 10));
     }
+    int parallelScanThreads = conf.getInt(ParallelStoreScanner.REGION_SERVER_SCAN_PARALLEL_THREADS,
+      ParallelStoreScanner.DEFAULT_REGION_SERVER_SCAN_PARALLEL_THREADS);
+    if (parallelScanThreads > 0) {
+      this.service.startExecutorService(ExecutorType.RS_PARALLEL_SCAN, parallelScanThreads);
+    }
     this.service.startExecutorService(ExecutorType.RS_LOG_REPLAY_OPS, conf.getInt(
        "hbase.regionserver.wal.max.splitters", SplitLogWorkerCoordination.DEFAULT_MAX_SPLITTERS));
     // Start the threads for compacted files discharger
@@ -1813,6 +1838,7 @@ public class HRegionServer extends HasThread implements
 
     if (this.compactionChecker != null) choreService.scheduleChore(compactionChecker);
     if (this.periodicFlusher != null) choreService.scheduleChore(periodicFlusher);
+    if (this.flushScheduler != null) choreService.scheduleChore(flushScheduler);
     if (this.healthCheckChore != null) choreService.scheduleChore(healthCheckChore);
     if (this.nonceManagerChore != null) choreService.scheduleChore(nonceManagerChore);
     if (this.storefileRefresher != null) choreService.scheduleChore(storefileRefresher);
@@ -2319,6 +2345,7 @@ public class HRegionServer extends HasThread implements
     if (this.nonceManagerChore != null) nonceManagerChore.cancel(true);
     if (this.compactionChecker != null) compactionChecker.cancel(true);
     if (this.periodicFlusher != null) periodicFlusher.cancel(true);
+    if (this.flushScheduler != null) flushScheduler.cancel(true);
     if (this.healthCheckChore != null) healthCheckChore.cancel(true);
     if (this.storefileRefresher != null) storefileRefresher.cancel(true);
     if (this.movedRegionsCleaner != null) movedRegionsCleaner.cancel(true);
@@ -3617,6 +3644,16 @@ public class HRegionServer extends HasThread implements
     return flushThroughputController;
   }
 
+  @Override
+  public IOScheduler getIOScheduler() {
+    return ioScheduler;
+  }
+
+  @Override
+  public RowCache getRowCache() {
+    return rowCache;
+  }
+
   @Override
   public double getFlushPressure() {
     if (getRegionServerAccounting() == null || cacheFlusher == null) {
@@ -45,6 +45,7 @@ import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -72,6 +73,7 @@ import org.apache.hadoop.hbase.monitoring.MonitoredTask;
 import org.apache.hadoop.hbase.regionserver.compactions.CompactionContext;
 import org.apache.hadoop.hbase.regionserver.compactions.CompactionProgress;
 import org.apache.hadoop.hbase.regionserver.compactions.CompactionRequest;
+import org.apache.hadoop.hbase.regionserver.compactions.Compactor;
 import org.apache.hadoop.hbase.regionserver.compactions.DefaultCompactor;
 import org.apache.hadoop.hbase.regionserver.compactions.OffPeakHours;
 import org.apache.hadoop.hbase.regionserver.querymatcher.ScanQueryMatcher;
@@ -195,6 +197,8 @@ public class HStore implements Store {
   private volatile long flushedOutputFileSize = 0;
   private volatile long compactedCellsSize = 0;
   private volatile long majorCompactedCellsSize = 0;
+  private final LongAdder readRequestsCount = new LongAdder();
+  private final LongAdder storeFileSeeksCount = new LongAdder();
 
   /**
    * Constructor
@@ -268,6 +272,9 @@ public class HStore implements Store {
 
     // Setting up cache configuration for this family
     createCacheConf(family);
+    if (region.getRegionServerServices() != null) {
+      this.cacheConf.setIOScheduler(region.getRegionServerServices().getIOScheduler());
+    }
 
     this.verifyBulkLoads = conf.getBoolean("hbase.hstore.bulkload.verify", false);
 
@@ -409,6 +416,16 @@ public class HStore implements Store {
   public long getBlockingFileCount() {
     return blockingFileCount;
   }
+
+  @Override
+  public long getReadRequestsCount() {
+    return readRequestsCount.sum();
+  }
+
+  @Override
+  public long getStoreFileSeeksCount() {
+    return storeFileSeeksCount.sum();
+  }
   /* End implementation of StoreConfigInformation */
 
   /**
@@ -1079,6 +1096,11 @@ public class HStore implements Store {
             .withFavoredNodes(favoredNodes)
             .withFileContext(hFileContext)
             .withShouldDropCacheBehind(shouldDropBehind);
+    if (isCompaction && conf.getBoolean(Compactor.COMPACTION_PIPELINED,
+        Compactor.DEFAULT_COMPACTION_PIPELINED)) {
+      builder.withWriteBehind(conf.getInt(Compactor.COMPACTION_PIPELINED_WRITE_BUFFER,
+        Compactor.DEFAULT_COMPACTION_PIPELINED_WRITE_BUFFER));
+    }
     if (trt != null) {
       builder.withTimeRangeTracker(trt);
     }
@@ -2359,6 +2381,12 @@ public class HStore implements Store {
     return majorCompactedCellsSize;
   }
 
+  @Override
+  public void recordRead(int storeFilesToSeek) {
+    readRequestsCount.increment();
+    storeFileSeeksCount.add(storeFilesToSeek);
+  }
+
   /**
    * Returns the StoreEngine that is backing this concrete implementation of Store.
    * @return Returns the {@link StoreEngine} object used internally inside this HStore object.
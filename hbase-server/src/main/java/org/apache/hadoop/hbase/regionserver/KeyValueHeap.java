@@ -24,11 +24,13 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.Queue;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.regionserver.ScannerContext.NextState;
 
@@ -48,7 +50,7 @@ import org.apache.hadoop.hbase.regionserver.ScannerContext.NextState;
 public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
     implements KeyValueScanner, InternalScanner {
   private static final Log LOG = LogFactory.getLog(KeyValueHeap.class);
-  protected PriorityQueue<KeyValueScanner> heap = null;
+  protected Queue<KeyValueScanner> heap = null;
   // Holds the scanners when a ever a eager close() happens.  All such eagerly closed
   // scans are collected and when the final scanner.close() happens will perform the
   // actual close.
@@ -76,7 +78,20 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
    */
   public KeyValueHeap(List<? extends KeyValueScanner> scanners,
       CellComparator comparator) throws IOException {
-    this(scanners, new KVScannerComparator(comparator));
+    this(scanners, comparator, false);
+  }
+
+  /**
+   * Constructor.  This KeyValueHeap will handle closing of passed in
+   * KeyValueScanners.
+   * @param scanners
+   * @param comparator
+   * @param loserTree whether to merge the scanners with a {@link LoserTree} instead of a
+   *          {@link PriorityQueue}, which needs less comparisons for many scanners.
+   */
+  public KeyValueHeap(List<? extends KeyValueScanner> scanners,
+      CellComparator comparator, boolean loserTree) throws IOException {
+    this(scanners, new KVScannerComparator(comparator), loserTree);
   }
 
   /**
@@ -87,10 +102,19 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
    */
   KeyValueHeap(List<? extends KeyValueScanner> scanners,
       KVScannerComparator comparator) throws IOException {
+    this(scanners, comparator, false);
+  }
+
+  KeyValueHeap(List<? extends KeyValueScanner> scanners,
+      KVScannerComparator comparator, boolean loserTree) throws IOException {
     this.comparator = comparator;
     this.scannersForDelayedClose = new ArrayList<>(scanners.size());
     if (!scanners.isEmpty()) {
-      this.heap = new PriorityQueue<>(scanners.size(), this.comparator);
+      if (loserTree) {
+        this.heap = new LoserTree<>(scanners.size(), this.comparator);
+      } else {
+        this.heap = new PriorityQueue<>(scanners.size(), this.comparator);
+      }
       for (KeyValueScanner scanner : scanners) {
         if (scanner.peek() != null) {
           this.heap.add(scanner);
@@ -123,9 +147,9 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
       KeyValueScanner topScanner = this.heap.peek();
       // no need to add current back to the heap if it is the only scanner left
       if (topScanner != null && this.comparator.compare(kvNext, topScanner.peek()) >= 0) {
-        this.heap.add(this.current);
+        KeyValueScanner scanner = this.current;
         this.current = null;
-        this.current = pollRealKV();
+        this.current = pollRealKV(scanner);
       }
     }
     return kvReturn;
@@ -163,14 +187,15 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
      * the heap. This is also required for certain optimizations.
      */
 
+    KeyValueScanner scanner = this.current;
+    this.current = null;
     if (pee == null || !moreCells) {
       // add the scanner that is to be closed
-      this.scannersForDelayedClose.add(this.current);
+      this.scannersForDelayedClose.add(scanner);
+      this.current = pollRealKV();
     } else {
-      this.heap.add(this.current);
+      this.current = pollRealKV(scanner);
     }
-    this.current = null;
-    this.current = pollRealKV();
     if (this.current == null) {
       moreCells = scannerContext.setScannerState(NextState.NO_MORE_VALUES).hasMoreValues();
     }
@@ -305,9 +330,9 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
           // invariant that the top scanner has done a real seek. This way
           // StoreScanner and RegionScanner do not have to worry about fake
           // keys.
-          heap.add(scanner);
+          KeyValueScanner top = scanner;
           scanner = null;
-          current = pollRealKV();
+          current = pollRealKV(top);
           return current != null;
         }
 
@@ -322,10 +347,10 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
 
         if (!seekResult) {
           this.scannersForDelayedClose.add(scanner);
+          scanner = heap.poll();
         } else {
-          heap.add(scanner);
+          scanner = addAndPoll(scanner);
         }
-        scanner = heap.poll();
         if (scanner == null) {
           current = null;
         }
@@ -345,6 +370,57 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
     return false;
   }
 
+  /**
+   * Moves the scanners of the store files holding no cell newer than the given family delete
+   * marker past its row, as all their cells in this row are deleted. The current scanner, which
+   * the marker comes from, is left in place.
+   * @param deleteMarker a family delete marker masking all the cells of its row up to its
+   *          timestamp
+   */
+  void seekOlderScannersToNextRow(Cell deleteMarker) throws IOException {
+    if (heap == null || heap.isEmpty()) {
+      return;
+    }
+    boolean found = false;
+    for (KeyValueScanner scanner : heap) {
+      if (isOlderInRow(scanner, deleteMarker)) {
+        found = true;
+        break;
+      }
+    }
+    if (!found) {
+      return;
+    }
+    List<KeyValueScanner> scanners = new ArrayList<>(heap.size());
+    KeyValueScanner scanner;
+    while ((scanner = heap.poll()) != null) {
+      scanners.add(scanner);
+    }
+    Cell lastOnRow = CellUtil.createLastOnRow(deleteMarker);
+    for (int i = 0; i < scanners.size(); i++) {
+      scanner = scanners.get(i);
+      try {
+        if (isOlderInRow(scanner, deleteMarker) && !scanner.reseek(lastOnRow)) {
+          this.scannersForDelayedClose.add(scanner);
+          continue;
+        }
+      } catch (IOException e) {
+        for (int j = i; j < scanners.size(); j++) {
+          scanners.get(j).close();
+        }
+        throw e;
+      }
+      heap.add(scanner);
+    }
+  }
+
+  private static boolean isOlderInRow(KeyValueScanner scanner, Cell deleteMarker) {
+    // Scanners which only did a lazy seek are positioned on a fake key, leave them alone
+    return scanner instanceof StoreFileScanner && scanner.realSeekDone()
+        && ((StoreFileScanner) scanner).getReader().getMaxTimestamp() <= deleteMarker.getTimestamp()
+        && CellUtil.matchingRows(scanner.peek(), deleteMarker);
+  }
+
   /**
    * Fetches the top sub-scanner from the priority queue, ensuring that a real
    * seek has been done on it. Works by fetching the top sub-scanner, and if it
@@ -357,7 +433,15 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
    * among all top KVs (some of which are fake) in the scanner heap.
    */
   protected KeyValueScanner pollRealKV() throws IOException {
-    KeyValueScanner kvScanner = heap.poll();
+    return pollRealKV(null);
+  }
+
+  /**
+   * Same as {@link #pollRealKV()}, after adding the scanner to the heap.
+   * @param added the scanner to add first, may be null
+   */
+  protected KeyValueScanner pollRealKV(KeyValueScanner added) throws IOException {
+    KeyValueScanner kvScanner = added != null ? addAndPoll(added) : heap.poll();
     if (kvScanner == null) {
       return null;
     }
@@ -390,7 +474,8 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
           // Otherwise, put the scanner back into the heap and let it compete
           // against all other scanners (both those that have done a "real
           // seek" and a "lazy seek").
-          heap.add(kvScanner);
+          kvScanner = addAndPoll(kvScanner);
+          continue;
         } else {
           // Close the scanner because we did a real seek and found out there
           // are no more KVs.
@@ -407,10 +492,21 @@ public class KeyValueHeap extends NonReversedNonLazyKeyValueScanner
     return kvScanner;
   }
 
+  /**
+   * Adds the scanner to the heap and polls the top one, in a single step for a {@link LoserTree}.
+   */
+  protected KeyValueScanner addAndPoll(KeyValueScanner scanner) {
+    if (heap instanceof LoserTree) {
+      return ((LoserTree<KeyValueScanner>) heap).addAndPoll(scanner);
+    }
+    heap.add(scanner);
+    return heap.poll();
+  }
+
   /**
    * @return the current Heap
    */
-  public PriorityQueue<KeyValueScanner> getHeap() {
+  public Queue<KeyValueScanner> getHeap() {
     return this.heap;
   }
 
@@ -0,0 +1,45 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import org.apache.hadoop.hbase.HBaseInterfaceAudience;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+
+/**
+ * A split policy deciding when to split like {@link IncreasingToUpperBoundRegionSplitPolicy}, but
+ * splitting at the median of the row keys of the requests the region serves rather than at the
+ * middle of its largest store, so that a hot spot on a small key range is shared by the two
+ * daughters. The rows of the gets, scans and mutations are sampled by the region, see
+ * {@link RowKeySampler}; until enough are sampled the region splits in the middle of its size.
+ * <p>
+ * The splits requested without a split point, e.g. by the region normalizer of the master, use
+ * the same split point.
+ */
+@InterfaceAudience.LimitedPrivate(HBaseInterfaceAudience.CONFIG)
+public class LoadBasedRegionSplitPolicy extends IncreasingToUpperBoundRegionSplitPolicy {
+
+  /** The number of row keys of the requests sampled by the region */
+  public static final String SAMPLE_SIZE_KEY = "hbase.load.policy.sample.size";
+  public static final int DEFAULT_SAMPLE_SIZE = 256;
+
+  @Override
+  protected void configureForRegion(HRegion region) {
+    super.configureForRegion(region);
+    region.startSamplingRequests(getConf().getInt(SAMPLE_SIZE_KEY, DEFAULT_SAMPLE_SIZE));
+  }
+}
@@ -0,0 +1,226 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+
+/**
+ * A priority queue implemented as a tournament tree of losers, used by {@link KeyValueHeap} to
+ * merge many scanners.
+ * <p>
+ * Each element sits in a leaf of the tree, and each internal node holds the leaf which lost the
+ * match played at this node; the overall winner is kept apart. When the winner is removed or
+ * replaced, the matches are replayed from its leaf up to the root only, with one comparison per
+ * level, where a binary heap needs up to two comparisons per level to sift an element down, and
+ * as much to sift one up. {@link #addAndPoll(Object)} does both in a single replay, and without any
+ * replay at all when the added element is still ahead of the others.
+ * <p>
+ * Empty leaves lose against any element. A plain {@link #offer(Object)} only fills an empty leaf,
+ * growing the leaves when there is none left, and the matches are played again on the next access
+ * to the head of the queue: the heap is built with offers and then only polled from, so this
+ * costs one pass over the tree when the heap is first used. Not thread safe.
+ */
+@InterfaceAudience.Private
+class LoserTree<E> extends AbstractQueue<E> {
+
+  private final Comparator<? super E> comparator;
+
+  // the elements by leaf, null for the empty leaves
+  private E[] leaves;
+
+  // tree[0] is the winning leaf, tree[1..capacity - 1] the losing leaf of each match, the leaf i
+  // playing its first match at node (capacity + i) / 2
+  private int[] tree;
+
+  // the empty leaves
+  private int[] free;
+
+  private int freeCount;
+
+  private int size;
+
+  // whether elements were offered since the matches were last played
+  private boolean dirty;
+
+  @SuppressWarnings("unchecked")
+  LoserTree(int initialCapacity, Comparator<? super E> comparator) {
+    this.comparator = comparator;
+    init((E[]) new Object[Math.max(1, initialCapacity)], 0);
+  }
+
+  private void init(E[] leaves, int size) {
+    this.leaves = leaves;
+    this.tree = new int[leaves.length];
+    this.free = new int[leaves.length];
+    this.size = size;
+    this.freeCount = 0;
+    for (int i = leaves.length - 1; i >= 0; i--) {
+      if (leaves[i] == null) {
+        free[freeCount++] = i;
+      }
+    }
+    this.dirty = true;
+  }
+
+  private void ensureBuilt() {
+    if (dirty) {
+      tree[0] = build(1);
+      dirty = false;
+    }
+  }
+
+  // Play the matches of the subtree rooted at the node, returns the winning leaf.
+  private int build(int node) {
+    int capacity = leaves.length;
+    if (node >= capacity) {
+      return node - capacity;
+    }
+    int left = build(2 * node);
+    int right = build(2 * node + 1);
+    if (beats(right, left)) {
+      tree[node] = left;
+      return right;
+    }
+    tree[node] = right;
+    return left;
+  }
+
+  // whether leaf a goes before leaf b, empty leaves go last
+  private boolean beats(int a, int b) {
+    E ea = leaves[a];
+    E eb = leaves[b];
+    if (ea == null) {
+      return false;
+    }
+    if (eb == null) {
+      return true;
+    }
+    return comparator.compare(ea, eb) < 0;
+  }
+
+  // Replay the matches on the path from the leaf to the root.
+  private void replay(int leaf) {
+    int winner = leaf;
+    for (int node = (leaves.length + leaf) >>> 1; node > 0; node >>>= 1) {
+      int loser = tree[node];
+      if (beats(loser, winner)) {
+        tree[node] = winner;
+        winner = loser;
+      }
+    }
+    tree[0] = winner;
+  }
+
+  @Override
+  public boolean offer(E e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    if (freeCount == 0) {
+      init(Arrays.copyOf(leaves, leaves.length * 2), size);
+    }
+    int leaf = free[--freeCount];
+    leaves[leaf] = e;
+    size++;
+    dirty = true;
+    return true;
+  }
+
+  @Override
+  public E poll() {
+    if (size == 0) {
+      return null;
+    }
+    ensureBuilt();
+    int leaf = tree[0];
+    E e = leaves[leaf];
+    leaves[leaf] = null;
+    free[freeCount++] = leaf;
+    size--;
+    replay(leaf);
+    return e;
+  }
+
+  @Override
+  public E peek() {
+    if (size == 0) {
+      return null;
+    }
+    ensureBuilt();
+    return leaves[tree[0]];
+  }
+
+  /**
+   * Same as {@link #add(Object)} followed by {@link #poll()}.
+   */
+  E addAndPoll(E e) {
+    if (size == 0) {
+      return e;
+    }
+    ensureBuilt();
+    if (comparator.compare(e, leaves[tree[0]]) <= 0) {
+      return e;
+    }
+    int leaf = tree[0];
+    E winner = leaves[leaf];
+    leaves[leaf] = e;
+    replay(leaf);
+    return winner;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return new Iterator<E>() {
+
+      private int next = advance(0);
+
+      private int advance(int from) {
+        while (from < leaves.length && leaves[from] == null) {
+          from++;
+        }
+        return from;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next < leaves.length;
+      }
+
+      @Override
+      public E next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        E e = leaves[next];
+        next = advance(next + 1);
+        return e;
+      }
+    };
+  }
+}
@@ -380,6 +380,15 @@ class MemStoreFlusher implements FlushRequester {
     return flushQueue.size();
   }
 
+  /**
+   * @return whether a flush of the region is queued, and not started yet
+   */
+  boolean isQueued(Region r) {
+    synchronized (regionsInQueue) {
+      return regionsInQueue.containsKey(r);
+    }
+  }
+
   /**
    * Only interrupt once it's done with a run through the work loop.
    */
@@ -67,6 +67,13 @@ public class MetricsRegionServer {
     return serverSource;
   }
 
+  /**
+   * @return the hbase-metrics based registry of the region server, null if not created with one
+   */
+  public MetricRegistry getMetricRegistry() {
+    return metricRegistry;
+  }
+
   public MetricsRegionServerWrapper getRegionServerWrapper() {
     return regionServerWrapper;
   }
@@ -92,6 +99,22 @@ public class MetricsRegionServer {
     serverSource.updateGet(t);
   }
 
+  public void incrFastPathGet() {
+    serverSource.incrFastPathGet();
+  }
+
+  public void incrRowCacheHit() {
+    serverSource.incrRowCacheHit();
+  }
+
+  public void incrRowCacheMiss() {
+    serverSource.incrRowCacheMiss();
+  }
+
+  public void incrRowCacheEvicted(long count) {
+    serverSource.incrRowCacheEvicted(count);
+  }
+
   public void updateIncrement(long t) {
     if (t > 1000) {
       serverSource.incrSlowIncrement();
@@ -619,6 +619,18 @@ class MetricsRegionServerWrapperImpl
     return mobFileCacheHitRatio * 100;
   }
 
+  @Override
+  public long getRowCacheCount() {
+    RowCache rowCache = regionServer.getRowCache();
+    return rowCache == null ? 0 : rowCache.count();
+  }
+
+  @Override
+  public long getRowCacheSize() {
+    RowCache rowCache = regionServer.getRowCache();
+    return rowCache == null ? 0 : rowCache.size();
+  }
+
   /**
    * This is the runnable that will be executed on the executor every PERIOD number of seconds
    * It will take metrics/numbers from all of the regions and use them to compute point in
@@ -0,0 +1,231 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.coprocessor.RegionObserver;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+
+/**
+ * Serves several Gets of a region with a single {@link RegionScanner}.
+ * <p>
+ * The Gets are sorted by row and the scanner is opened from the first row to the last one. Each
+ * Get then reseeks the scanner forward to its row, so the store file scanners, and the blocks
+ * they are positioned on, are shared by the Gets instead of being opened and read again for each
+ * of them. This pays off when the rows are close to each other; since the row Bloom filters are
+ * only used to select the store files of a single row Get, it may cost more than it saves for
+ * rows spread over the whole region.
+ * <p>
+ * Only the Gets which would open the same scanner can share it: same columns, time range,
+ * versions and attributes, and no filter. The Gets are not batched at all when the region has a
+ * {@link RegionObserver}, as it may rewrite a Get in its preGet hook, nor when it has a
+ * {@link RowCache}, as the shared scanner would neither use nor fill it.
+ * <p>
+ * The batched Gets are read through the region scanner, not on the fast path of
+ * {@link HRegion#isFastPathGet(Get)}, which reads a single row. They are sampled for the load
+ * based split point as the Gets of the regular path.
+ */
+@InterfaceAudience.Private
+final class MultiGetBatcher {
+
+  private static final Log LOG = LogFactory.getLog(MultiGetBatcher.class);
+
+  private MultiGetBatcher() {
+  }
+
+  /**
+   * @return whether the Gets of the region can be batched at all.
+   */
+  static boolean canBatch(HRegion region) {
+    if (region.getRowCache() != null) {
+      return false;
+    }
+    RegionCoprocessorHost host = region.getCoprocessorHost();
+    return host == null || host.findCoprocessors(RegionObserver.class).isEmpty();
+  }
+
+  /**
+   * @return whether the Get can share a scanner with other Gets.
+   */
+  static boolean isBatchable(Get get) {
+    return get.getFilter() == null && get.getColumnFamilyTimeRange().isEmpty()
+        && get.getMaxResultsPerColumnFamily() < 0 && get.getRowOffsetPerColumnFamily() <= 0;
+  }
+
+  /**
+   * @return whether the two Gets would open the same scanner, but for the rows.
+   */
+  static boolean canShareScanner(Get a, Get b) {
+    return a.getMaxVersions() == b.getMaxVersions()
+        && a.getTimeRange().getMin() == b.getTimeRange().getMin()
+        && a.getTimeRange().getMax() == b.getTimeRange().getMax()
+        && a.getCacheBlocks() == b.getCacheBlocks()
+        && a.getIsolationLevel() == b.getIsolationLevel()
+        && a.getConsistency() == b.getConsistency()
+        && a.getLoadColumnFamiliesOnDemandValue() == b.getLoadColumnFamiliesOnDemandValue()
+        && sameColumns(a.getFamilyMap(), b.getFamilyMap())
+        && sameAttributes(a.getAttributesMap(), b.getAttributesMap());
+  }
+
+  private static boolean sameColumns(Map<byte[], NavigableSet<byte[]>> a,
+      Map<byte[], NavigableSet<byte[]>> b) {
+    if (a.size() != b.size()) {
+      return false;
+    }
+    for (Map.Entry<byte[], NavigableSet<byte[]>> e : a.entrySet()) {
+      if (!b.containsKey(e.getKey())) {
+        return false;
+      }
+      NavigableSet<byte[]> qa = e.getValue();
+      NavigableSet<byte[]> qb = b.get(e.getKey());
+      if (qa == null || qa.isEmpty()) {
+        if (qb != null && !qb.isEmpty()) {
+          return false;
+        }
+      } else if (qb == null || qa.size() != qb.size() || !qa.containsAll(qb)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean sameAttributes(Map<String, byte[]> a, Map<String, byte[]> b) {
+    if (a.size() != b.size()) {
+      return false;
+    }
+    for (Map.Entry<String, byte[]> e : a.entrySet()) {
+      if (!Bytes.equals(e.getValue(), b.get(e.getKey()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Serve the Gets which can share a scanner with the first batchable one. The Gets must have
+   * been prepared with {@link HRegion#prepareGet(Get)}.
+   * @param gets the Gets, null for the ones which must not be batched.
+   * @param scannerCallback called with the opened scanner, which must stay open until the results
+   *          have been shipped, as their cells may be backed by blocks of the block cache.
+   * @param maxResultSize the Gets are not served once the results reach this size.
+   * @return the results, at the position of their Get, or null for the Gets which have not been
+   *         served and should go through the regular path.
+   */
+  static Result[] get(HRegion region, Get[] gets, Consumer<RegionScanner> scannerCallback,
+      long maxResultSize) throws IOException {
+    Result[] results = new Result[gets.length];
+    List<Integer> batch = new ArrayList<>(gets.length);
+    Get first = null;
+    for (int i = 0; i < gets.length; i++) {
+      Get get = gets[i];
+      if (get == null || !isBatchable(get)) {
+        continue;
+      }
+      if (first == null) {
+        first = get;
+      } else if (!canShareScanner(first, get)) {
+        continue;
+      }
+      batch.add(i);
+    }
+    if (batch.size() < 2) {
+      return results;
+    }
+    // a stable sort, so duplicated rows keep their order
+    Collections.sort(batch, (i, j) -> Bytes.compareTo(gets[i].getRow(), gets[j].getRow()));
+    Scan scan = new Scan(first).withStartRow(gets[batch.get(0)].getRow())
+        .withStopRow(gets[batch.get(batch.size() - 1)].getRow(), true)
+        .setReadType(Scan.ReadType.PREAD);
+    if (scan.getLoadColumnFamiliesOnDemandValue() == null) {
+      scan.setLoadColumnFamiliesOnDemand(region.isLoadingCfsOnDemandDefault());
+    }
+    boolean stale = region.getRegionInfo().getReplicaId() != 0;
+    RegionScanner scanner = region.getScanner(scan);
+    scannerCallback.accept(scanner);
+
+    List<Cell> current = Collections.emptyList();
+    byte[] currentRow = null;
+    boolean moreRows = true;
+    long size = 0;
+    for (int i : batch) {
+      if (size >= maxResultSize) {
+        break;
+      }
+      Get get = gets[i];
+      byte[] row = get.getRow();
+      long before = EnvironmentEdgeManager.currentTime();
+      try {
+        // Move forward to the first row which is not before the row of the Get. The scanner is
+        // positioned on the first row of the batch when opened, then reseeked for the next ones.
+        while (moreRows && (currentRow == null || Bytes.compareTo(currentRow, row) < 0)) {
+          if (currentRow != null) {
+            scanner.reseek(row);
+          }
+          current = new ArrayList<>();
+          moreRows = scanner.next(current);
+          currentRow = current.isEmpty() ? null : CellUtil.cloneRow(current.get(0));
+        }
+      } catch (IOException e) {
+        // Leave this Get and the following ones to the regular path, which reports the error.
+        if (LOG.isDebugEnabled()) {
+          LOG.debug("Failed batched get in " + region + ", row=" + Bytes.toStringBinary(row), e);
+        }
+        break;
+      }
+      // The row of the first Get was sampled as the start row of the scanner, unless all the Gets
+      // are on the same row.
+      if (i != batch.get(0) || scan.isGetScan()) {
+        region.sampleRequest(row);
+      }
+      boolean found = currentRow != null && Bytes.equals(currentRow, row);
+      region.metricsUpdateForGet(found ? current : Collections.emptyList(), before);
+      if (get.isCheckExistenceOnly()) {
+        // the existence only, as RSRpcServices#get returns it, without the cells
+        results[i] = Result.create(Collections.emptyList(), found, stale);
+        continue;
+      }
+      List<Cell> cells = found ? new ArrayList<>(current) : Collections.emptyList();
+      results[i] = Result.create(cells, null, stale);
+      for (Cell c : cells) {
+        size += CellUtil.estimatedSerializedSizeOf(c);
+      }
+    }
+    if (LOG.isTraceEnabled()) {
+      LOG.trace("Served " + Arrays.stream(results).filter(r -> r != null).count() + " of "
+          + batch.size() + " batched gets in " + region);
+    }
+    return results;
+  }
+}
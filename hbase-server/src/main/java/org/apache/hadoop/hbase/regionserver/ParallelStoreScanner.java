@@ -0,0 +1,384 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValueUtil;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.executor.EventHandler;
+import org.apache.hadoop.hbase.executor.EventType;
+import org.apache.hadoop.hbase.executor.ExecutorService;
+import org.apache.hadoop.hbase.regionserver.ScannerContext.LimitScope;
+import org.apache.hadoop.hbase.regionserver.ScannerContext.NextState;
+
+/**
+ * The scanner of a store for a region scan using several threads, see
+ * {@link org.apache.hadoop.hbase.client.Scan#setIntraRegionParallelism(int)}.
+ * <p>
+ * When the region scanner starts a row,
+ * {@link #fetchRows(List, Cell, ScannerContext, int, ExecutorService)} lets the stores having cells
+ * on the row read it at once, in parallel, each up to the batch and size limits left in the scanner
+ * context of the region scanner. The cells are then
+ * handed out by {@link #next(List, ScannerContext)}, which counts them against the limits of the
+ * scanner context the same way {@link StoreScanner} does, so the region scanner sees the same
+ * cells in the same order, and stops on the same limits, as if it read the stores one after the
+ * other. Only the time limit, which is not deterministic anyway, is not checked for fetched cells.
+ * <p>
+ * A row a store stopped fetching on a limit is fetched on by the store when the region scanner
+ * reads on. A row partly read before, after the store stopped on a limit outside of a fetch, is
+ * finished by the store itself.
+ */
+@InterfaceAudience.Private
+class ParallelStoreScanner extends NonReversedNonLazyKeyValueScanner
+    implements InternalScanner {
+
+  /**
+   * Number of threads fetching rows for scans with an intra region parallelism. 0, the default,
+   * disables parallel scans on this server.
+   */
+  static final String REGION_SERVER_SCAN_PARALLEL_THREADS =
+      "hbase.regionserver.scan.parallel.threads";
+  static final int DEFAULT_REGION_SERVER_SCAN_PARALLEL_THREADS = 0;
+
+  /**
+   * Upper bound of the number of threads a single scan may use, including its handler, whatever
+   * the client asks for.
+   */
+  static final String REGION_SERVER_SCAN_PARALLEL_MAX = "hbase.regionserver.scan.parallel.max";
+  static final int DEFAULT_REGION_SERVER_SCAN_PARALLEL_MAX = 4;
+
+  private final KeyValueScanner delegate;
+  private final CellComparator comparator;
+
+  // the cells of the fetched row not handed out yet, from index
+  private final List<Cell> row = new ArrayList<>();
+  private int index;
+  // whether a row was fetched and next(List, ScannerContext) was not called for all of it yet
+  private boolean fetched;
+  // the cell the delegate was on before the fetch, standing for a row without any cell to return
+  private Cell rowPeek;
+  private boolean moreValues;
+  // the limits of the next fetch
+  private ScannerContext fetchContext;
+  // set while the delegate stopped on a limit in the middle of the row of this cell
+  private Cell midRowCell;
+
+  /**
+   * @param delegate the scanner of the store, an {@link InternalScanner} too
+   */
+  ParallelStoreScanner(KeyValueScanner delegate, CellComparator comparator) {
+    this.delegate = delegate;
+    this.comparator = comparator;
+  }
+
+  /**
+   * Fetches the given row in the scanners which have cells on it, up to <code>parallelism</code>
+   * threads sharing them, the calling one included.
+   */
+  static void fetchRows(List<ParallelStoreScanner> scanners, Cell currentRowCell,
+      ScannerContext scannerContext, int parallelism, ExecutorService executor)
+      throws IOException {
+    List<ParallelStoreScanner> toFetch = null;
+    for (ParallelStoreScanner scanner : scanners) {
+      if (scanner.needsFetch(currentRowCell)) {
+        if (toFetch == null) {
+          toFetch = new ArrayList<>(scanners.size());
+        }
+        toFetch.add(scanner);
+      }
+    }
+    if (toFetch == null || toFetch.size() < 2) {
+      // nothing to overlap
+      return;
+    }
+    for (ParallelStoreScanner scanner : toFetch) {
+      scanner.fetchContext = newFetchContext(scannerContext);
+    }
+    int threads = Math.min(parallelism, toFetch.size());
+    CountDownLatch latch = new CountDownLatch(threads - 1);
+    List<FetchHandler> handlers = new ArrayList<>(threads - 1);
+    for (int i = 1; i < threads; i++) {
+      FetchHandler handler = new FetchHandler(toFetch, i, threads, latch);
+      executor.submit(handler);
+      handlers.add(handler);
+    }
+    IOException error = null;
+    try {
+      fetch(toFetch, 0, threads);
+    } catch (IOException e) {
+      error = e;
+    }
+    // the handlers use the scanners, they are all waited for even when interrupted
+    InterruptedException interrupted = null;
+    while (true) {
+      try {
+        latch.await();
+        break;
+      } catch (InterruptedException ie) {
+        interrupted = ie;
+      }
+    }
+    if (interrupted != null) {
+      Thread.currentThread().interrupt();
+      throw (InterruptedIOException) new InterruptedIOException().initCause(interrupted);
+    }
+    for (FetchHandler handler : handlers) {
+      if (error == null && handler.error != null) {
+        error = handler.error;
+      }
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  /**
+   * @return a context with the batch and size limits left in the given one, the time limit is
+   *         checked by the region scanner only
+   */
+  private static ScannerContext newFetchContext(ScannerContext scannerContext) {
+    ScannerContext fetchContext = ScannerContext.newBuilder(true)
+        .setBatchLimit(scannerContext.getBatchLimit())
+        .setSizeLimit(scannerContext.getSizeLimitScope(), scannerContext.getDataSizeLimit(),
+          scannerContext.getHeapSizeLimit())
+        .build();
+    fetchContext.setBatchProgress(scannerContext.getBatchProgress());
+    fetchContext.setSizeProgress(scannerContext.getDataSizeProgress(),
+      scannerContext.getHeapSizeProgress());
+    return fetchContext;
+  }
+
+  private static void fetch(List<ParallelStoreScanner> scanners, int first, int step)
+      throws IOException {
+    for (int i = first; i < scanners.size(); i += step) {
+      scanners.get(i).fetchRow();
+    }
+  }
+
+  private boolean needsFetch(Cell currentRowCell) {
+    if (fetched) {
+      return false;
+    }
+    Cell cell = delegate.peek();
+    if (cell == null || !CellUtil.matchingRow(cell, currentRowCell)) {
+      return false;
+    }
+    if (midRowCell != null) {
+      if (CellUtil.matchingRow(midRowCell, currentRowCell)) {
+        return false;
+      }
+      midRowCell = null;
+    }
+    return true;
+  }
+
+  private void fetchRow() throws IOException {
+    rowPeek = delegate.peek();
+    row.clear();
+    index = 0;
+    moreValues = ((InternalScanner) delegate).next(row, fetchContext);
+    fetchContext = null;
+    fetched = true;
+  }
+
+  @VisibleForTesting
+  int getFetchedCount() {
+    return row.size() - index;
+  }
+
+  @Override
+  public Cell peek() {
+    if (!fetched) {
+      return delegate.peek();
+    }
+    // a row without cells keeps its place in the heap until next(List) is called for it
+    return index < row.size() ? row.get(index) : rowPeek;
+  }
+
+  @Override
+  public Cell next() throws IOException {
+    if (fetched && index < row.size()) {
+      Cell cell = row.get(index++);
+      if (index == row.size()) {
+        clearRow();
+      }
+      return cell;
+    }
+    clearRow();
+    return delegate.next();
+  }
+
+  @Override
+  public boolean next(List<Cell> result) throws IOException {
+    return next(result, NoLimitScannerContext.getInstance());
+  }
+
+  @Override
+  public boolean next(List<Cell> result, ScannerContext scannerContext) throws IOException {
+    if (!fetched) {
+      int size = result.size();
+      boolean more = ((InternalScanner) delegate).next(result, scannerContext);
+      if (result.size() > size && scannerContext.checkAnyLimitReached(LimitScope.BETWEEN_CELLS)) {
+        // the row may not be complete, the store has to go on with it
+        midRowCell = result.get(result.size() - 1);
+      }
+      return more;
+    }
+    if (index == row.size()) {
+      clearRow();
+      return moreValues;
+    }
+    if (!scannerContext.getKeepProgress()) {
+      scannerContext.clearProgress();
+    }
+    // count the cells as the store does
+    while (index < row.size()) {
+      Cell cell = row.get(index++);
+      result.add(cell);
+      scannerContext.incrementSizeProgress(CellUtil.estimatedSerializedSizeOf(cell),
+        CellUtil.estimatedHeapSizeOf(cell));
+      scannerContext.incrementBatchProgress(1);
+      if (scannerContext.checkBatchLimit(LimitScope.BETWEEN_CELLS)
+          || scannerContext.checkSizeLimit(LimitScope.BETWEEN_CELLS)) {
+        break;
+      }
+    }
+    if (index == row.size()) {
+      clearRow();
+    }
+    return scannerContext.setScannerState(NextState.MORE_VALUES).hasMoreValues();
+  }
+
+  private void clearRow() {
+    row.clear();
+    index = 0;
+    rowPeek = null;
+    fetched = false;
+  }
+
+  /**
+   * Drops the fetched cells before the key.
+   * @return true if fetched cells are left
+   */
+  private boolean skipFetched(Cell key) {
+    if (!fetched) {
+      return false;
+    }
+    while (index < row.size() && comparator.compare(row.get(index), key) < 0) {
+      index++;
+    }
+    if (index < row.size()) {
+      return true;
+    }
+    clearRow();
+    return false;
+  }
+
+  @Override
+  public boolean seek(Cell key) throws IOException {
+    clearRow();
+    return delegate.seek(key);
+  }
+
+  @Override
+  public boolean reseek(Cell key) throws IOException {
+    // the delegate is past the fetched cells
+    return skipFetched(key) || delegate.reseek(key);
+  }
+
+  @Override
+  public boolean requestSeek(Cell kv, boolean forward, boolean useBloom) throws IOException {
+    if (!forward) {
+      return seek(kv);
+    }
+    return skipFetched(kv) || delegate.requestSeek(kv, forward, useBloom);
+  }
+
+  @Override
+  public long getScannerOrder() {
+    return delegate.getScannerOrder();
+  }
+
+  @Override
+  public Cell getNextIndexedKey() {
+    return fetched ? null : delegate.getNextIndexedKey();
+  }
+
+  @Override
+  public void shipped() throws IOException {
+    // the cells still to hand out may be backed by blocks the delegate lets go of
+    for (int i = index; i < row.size(); i++) {
+      row.set(i, KeyValueUtil.copyToNewKeyValue(row.get(i)));
+    }
+    if (rowPeek != null) {
+      rowPeek = KeyValueUtil.toNewKeyCell(rowPeek);
+    }
+    if (midRowCell != null) {
+      midRowCell = KeyValueUtil.toNewKeyCell(midRowCell);
+    }
+    delegate.shipped();
+  }
+
+  @Override
+  public void close() {
+    clearRow();
+    delegate.close();
+  }
+
+  /**
+   * Fetches every <code>step</code>th scanner of a row from <code>first</code>.
+   */
+  private static class FetchHandler extends EventHandler {
+    private final List<ParallelStoreScanner> scanners;
+    private final int first;
+    private final int step;
+    private final CountDownLatch latch;
+    private IOException error;
+
+    FetchHandler(List<ParallelStoreScanner> scanners, int first, int step, CountDownLatch latch) {
+      super(null, EventType.RS_PARALLEL_SCAN);
+      this.scanners = scanners;
+      this.first = first;
+      this.step = step;
+      this.latch = latch;
+    }
+
+    @Override
+    public void process() {
+      try {
+        fetch(scanners, first, step);
+      } catch (IOException e) {
+        error = e;
+      } catch (RuntimeException e) {
+        error = new IOException(e);
+      } finally {
+        latch.countDown();
+      }
+    }
+  }
+}
@@ -0,0 +1,271 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.regionserver.querymatcher.ScanQueryMatcher;
+import org.apache.hadoop.hbase.regionserver.querymatcher.UserScanQueryMatcher;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+
+/**
+ * Reads the cells of one row of a store for a Get, without the {@link StoreScanner} and
+ * {@link KeyValueHeap} a scan goes through. The memstore segments and the store files which pass
+ * the Bloom filter, time range and TTL checks are sought to the row directly, and merged in place
+ * by picking the scanner with the lowest cell each time, which is cheap for the handful of
+ * scanners a row is spread over.
+ * <p>
+ * The scanners are handed back to the caller, to be closed once done with the cells read, there
+ * is no need to follow flushes and compactions as a {@link StoreScanner} does. It is only used
+ * for the Gets the region does not have to filter, see HRegion#isFastPathGet(Get).
+ */
+@InterfaceAudience.Private
+class PointGet {
+
+  private final CellComparator comparator;
+  private final ScanQueryMatcher matcher;
+  private final boolean lazySeek;
+  private final boolean useRowColBloom;
+  private final long maxRowSize;
+  private final long oldestUnexpiredTS;
+
+  // every scanner opened, closed by the caller only as the cells read may point into their blocks
+  private final List<KeyValueScanner> opened;
+  // the scanners not exhausted yet, with their order, higher for newer data
+  private KeyValueScanner[] scanners;
+  private long[] orders;
+  private int size;
+
+  private PointGet(Store store, Scan scan, NavigableSet<byte[]> columns,
+      List<KeyValueScanner> opened) throws IOException {
+    this.opened = opened;
+    ScanInfo scanInfo = store.getScanInfo();
+    long now = EnvironmentEdgeManager.currentTime();
+    this.oldestUnexpiredTS = now - scanInfo.getTtl();
+    this.comparator = store.getComparator();
+    this.matcher = UserScanQueryMatcher.create(scan, scanInfo, columns, oldestUnexpiredTS, now,
+      store.getCoprocessorHost());
+    int numCol = columns == null ? 0 : columns.size();
+    this.lazySeek = numCol > 0 && StoreScanner.lazySeekEnabledGlobally;
+    this.useRowColBloom = numCol > 1;
+    this.maxRowSize = scanInfo.getTableMaxRowSize();
+  }
+
+  /**
+   * Add the cells of the row of the given Get scan found in the store to the results.
+   * @param store the store to read
+   * @param scan the scan of the Get, see {@link Scan#isGetScan()}
+   * @param columns the columns to read, or null for all of them
+   * @param readPt the read point of the Get
+   * @param results where to add the cells
+   * @param opened where to add the scanners opened, which the caller closes once done with the
+   *          cells, even when the read fails
+   */
+  static void get(Store store, Scan scan, NavigableSet<byte[]> columns, long readPt,
+      List<Cell> results, List<KeyValueScanner> opened) throws IOException {
+    PointGet get = new PointGet(store, scan, columns, opened);
+    get.open(store, scan, readPt);
+    get.read(scan.getStartRow(), results);
+  }
+
+  private void open(Store store, Scan scan, long readPt) throws IOException {
+    ScanInfo scanInfo = store.getScanInfo();
+    // We can only exclude store files based on TTL if minVersions is set to 0, as StoreScanner
+    long expiredTimestampCutoff = scanInfo.getMinVersions() == 0
+        ? oldestUnexpiredTS : Long.MIN_VALUE;
+    List<KeyValueScanner> all = store.getScanners(scan.getCacheBlocks(), true, true, false,
+      matcher, scan.getStartRow(), scan.getStopRow(), readPt);
+    scanners = new KeyValueScanner[all.size() + 2];
+    orders = new long[scanners.length];
+    for (KeyValueScanner scanner : all) {
+      if (scanner instanceof MemStoreScanner) {
+        // read the segments directly rather than through the heap of the memstore scanner. They
+        // are listed from the newest, and newer than any store file.
+        List<KeyValueScanner> segments = ((MemStoreScanner) scanner).scanners;
+        for (int i = 0; i < segments.size(); i++) {
+          add(segments.get(i), Long.MAX_VALUE - i, scan, store, expiredTimestampCutoff);
+        }
+      } else {
+        add(scanner, scanner.getScannerOrder(), scan, store, expiredTimestampCutoff);
+      }
+    }
+    // counted as StoreScanner does, once the files without the row are left out
+    int storeFilesToSeek = 0;
+    for (int i = 0; i < size; i++) {
+      if (scanners[i].isFileScanner()) {
+        storeFilesToSeek++;
+      }
+    }
+    store.recordRead(storeFilesToSeek);
+
+    Cell startKey = matcher.getStartKey();
+    long totalScannersSoughtBytes = 0;
+    for (int i = size - 1; i >= 0; i--) {
+      if (totalScannersSoughtBytes >= maxRowSize) {
+        throw new RowTooBigException("Max row size allowed: " + maxRowSize
+          + ", but row is bigger than that");
+      }
+      KeyValueScanner scanner = scanners[i];
+      boolean found = lazySeek && scanner.isFileScanner()
+          ? scanner.requestSeek(startKey, false, true) : scanner.seek(startKey);
+      if (!found) {
+        remove(i);
+      } else if (scanner.realSeekDone()) {
+        totalScannersSoughtBytes += CellUtil.estimatedSerializedSizeOf(scanner.peek());
+      }
+    }
+  }
+
+  private void add(KeyValueScanner scanner, long order, Scan scan, Store store,
+      long expiredTimestampCutoff) {
+    opened.add(scanner);
+    if (!scanner.shouldUseScanner(scan, store, expiredTimestampCutoff)) {
+      return;
+    }
+    if (size == scanners.length) {
+      scanners = Arrays.copyOf(scanners, size * 2);
+      orders = Arrays.copyOf(orders, size * 2);
+    }
+    scanners[size] = scanner;
+    orders[size] = order;
+    size++;
+  }
+
+  private void remove(int i) {
+    size--;
+    scanners[i] = scanners[size];
+    orders[i] = orders[size];
+    scanners[size] = null;
+  }
+
+  /**
+   * @return the index of the scanner with the lowest cell, the newest one on equal cells, after
+   *         having done the seeks it had delayed, or -1 when all the scanners are exhausted
+   */
+  private int top() throws IOException {
+    while (size > 0) {
+      int top = 0;
+      for (int i = 1; i < size; i++) {
+        int comparison = comparator.compare(scanners[i].peek(), scanners[top].peek());
+        if (comparison < 0 || (comparison == 0 && orders[i] > orders[top])) {
+          top = i;
+        }
+      }
+      KeyValueScanner scanner = scanners[top];
+      if (scanner.realSeekDone()) {
+        return top;
+      }
+      scanner.enforceSeek();
+      if (scanner.peek() == null) {
+        remove(top);
+      }
+    }
+    return -1;
+  }
+
+  private void next(int i) throws IOException {
+    KeyValueScanner scanner = scanners[i];
+    scanner.next();
+    if (scanner.peek() == null) {
+      remove(i);
+    }
+  }
+
+  /**
+   * Reseek the scanners which are before the given key, as KeyValueHeap#requestSeek does.
+   */
+  private void seek(Cell key) throws IOException {
+    for (int i = size - 1; i >= 0; i--) {
+      KeyValueScanner scanner = scanners[i];
+      if (comparator.compare(key, scanner.peek()) <= 0) {
+        continue;
+      }
+      boolean found = lazySeek && scanner.isFileScanner()
+          ? scanner.requestSeek(key, true, useRowColBloom) : scanner.reseek(key);
+      if (!found) {
+        remove(i);
+      }
+    }
+  }
+
+  private void read(byte[] row, List<Cell> results) throws IOException {
+    int top = top();
+    if (top < 0 || !CellUtil.matchingRow(scanners[top].peek(), row)) {
+      return;
+    }
+    matcher.setToNewRow(scanners[top].peek());
+    long totalBytesRead = 0;
+    LOOP: do {
+      Cell cell = scanners[top].peek();
+      ScanQueryMatcher.MatchCode qcode = matcher.match(cell);
+      switch (qcode) {
+        case INCLUDE:
+        case INCLUDE_AND_SEEK_NEXT_ROW:
+        case INCLUDE_AND_SEEK_NEXT_COL:
+          results.add(cell);
+          totalBytesRead += CellUtil.estimatedSerializedSizeOf(cell);
+          if (totalBytesRead > maxRowSize) {
+            throw new RowTooBigException(
+                "Max row size allowed: " + maxRowSize + ", but the row is bigger than that.");
+          }
+          if (qcode == ScanQueryMatcher.MatchCode.INCLUDE_AND_SEEK_NEXT_ROW) {
+            break LOOP;
+          } else if (qcode == ScanQueryMatcher.MatchCode.INCLUDE_AND_SEEK_NEXT_COL) {
+            seek(matcher.getKeyForNextColumn(cell));
+          } else {
+            next(top);
+          }
+          break;
+
+        case SEEK_NEXT_COL:
+          seek(matcher.getKeyForNextColumn(cell));
+          break;
+
+        case SKIP:
+          next(top);
+          break;
+
+        case SEEK_NEXT_USING_HINT:
+          Cell nextKV = matcher.getNextKeyHint(cell);
+          if (nextKV != null) {
+            seek(nextKV);
+          } else {
+            next(top);
+          }
+          break;
+
+        case DONE:
+        case DONE_SCAN:
+        case SEEK_NEXT_ROW:
+          // nothing more to read in the row of the Get
+          break LOOP;
+
+        default:
+          throw new RuntimeException("UNEXPECTED");
+      }
+    } while ((top = top()) >= 0);
+  }
+}
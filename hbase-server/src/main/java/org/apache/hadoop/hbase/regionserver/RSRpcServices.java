@@ -18,6 +18,7 @@
  */
 package org.apache.hadoop.hbase.regionserver;
 
+import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InterruptedIOException;
@@ -37,6 +38,8 @@ import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
@@ -56,6 +59,7 @@ import org.apache.hadoop.hbase.HBaseIOException;
 import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.HRegionInfo;
 import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.KeyValueUtil;
 import org.apache.hadoop.hbase.MultiActionResultTooLarge;
 import org.apache.hadoop.hbase.NotServingRegionException;
 import org.apache.hadoop.hbase.ServerName;
@@ -199,6 +203,7 @@ import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
 import org.apache.hadoop.hbase.util.Pair;
 import org.apache.hadoop.hbase.util.ServerRegionReplicaUtil;
 import org.apache.hadoop.hbase.util.Strings;
+import org.apache.hadoop.hbase.util.Threads;
 import org.apache.hadoop.hbase.wal.WAL;
 import org.apache.hadoop.hbase.wal.WALKey;
 import org.apache.hadoop.hbase.wal.WALSplitter;
@@ -232,6 +237,29 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
    */
   private static final long DEFAULT_REGION_SERVER_RPC_MINIMUM_SCAN_TIME_LIMIT_DELTA = 10;
 
+  /**
+   * Number of threads which scan ahead for streaming scanners, see
+   * {@link Scan#setStreamingWindow(int)}. Set to 0 to disable streaming scans on this server.
+   */
+  static final String REGION_SERVER_SCAN_STREAMING_THREADS =
+      "hbase.regionserver.scan.streaming.threads";
+  static final int DEFAULT_REGION_SERVER_SCAN_STREAMING_THREADS = 10;
+
+  /**
+   * Upper bound of the number of batches a streaming scanner may buffer, whatever the client asks
+   * for.
+   */
+  static final String REGION_SERVER_SCAN_STREAMING_MAX_WINDOW =
+      "hbase.regionserver.scan.streaming.max.window";
+  static final int DEFAULT_REGION_SERVER_SCAN_STREAMING_MAX_WINDOW = 4;
+
+  /**
+   * Whether the Gets of a multi request which go to the same region share a single region
+   * scanner, see {@link MultiGetBatcher}.
+   */
+  static final String REGION_SERVER_MULTIGET_BATCHING = "hbase.regionserver.multiget.batching";
+  static final boolean DEFAULT_REGION_SERVER_MULTIGET_BATCHING = false;
+
   // Request counter. (Includes requests that are not serviced by regions.)
   final LongAdder requestCount = new LongAdder();
 
@@ -275,6 +303,15 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
    */
   private final long minimumScanTimeLimitDelta;
 
+  /**
+   * The pool scanning ahead for streaming scanners, null if streaming scans are disabled.
+   */
+  private final ThreadPoolExecutor streamingScanPool;
+
+  private final int maxStreamingWindow;
+
+  private final boolean multiGetBatching;
+
   /**
    * An Rpc callback for closing a RegionScanner.
    */
@@ -320,18 +357,19 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
 
   /**
    * An RpcCallBack that creates a list of scanners that needs to perform callBack operation on
-   * completion of multiGets.
+   * completion of multiGets. These are region scanners, or the store scanners of the Gets read on
+   * the fast path.
    */
    static class RegionScannersCloseCallBack implements RpcCallback {
-    private final List<RegionScanner> scanners = new ArrayList<>();
+    private final List<Closeable> scanners = new ArrayList<>();
 
-    public void addScanner(RegionScanner scanner) {
+    public void addScanner(Closeable scanner) {
       this.scanners.add(scanner);
     }
 
     @Override
     public void run() {
-      for (RegionScanner scanner : scanners) {
+      for (Closeable scanner : scanners) {
         try {
           scanner.close();
         } catch (IOException e) {
@@ -352,14 +390,18 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     private final Region r;
     private final RpcCallback closeCallBack;
     private final RpcCallback shippedCallback;
+    // null if this is not a streaming scanner
+    private final StreamingScanBuffer streamingBuffer;
 
     public RegionScannerHolder(String scannerName, RegionScanner s, Region r,
-        RpcCallback closeCallBack, RpcCallback shippedCallback) {
+        RpcCallback closeCallBack, RpcCallback shippedCallback,
+        StreamingScanBuffer streamingBuffer) {
       this.scannerName = scannerName;
       this.s = s;
       this.r = r;
       this.closeCallBack = closeCallBack;
       this.shippedCallback = shippedCallback;
+      this.streamingBuffer = streamingBuffer;
     }
 
     public long getNextCallSeq() {
@@ -387,6 +429,9 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     public void leaseExpired() {
       RegionScannerHolder rsh = scanners.remove(this.scannerName);
       if (rsh != null) {
+        if (rsh.streamingBuffer != null) {
+          rsh.streamingBuffer.close();
+        }
         RegionScanner s = rsh.s;
         LOG.info("Scanner " + this.scannerName + " lease expired on region "
           + s.getRegionInfo().getRegionNameAsString());
@@ -722,7 +767,14 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     Object lastBlock = null;
     ClientProtos.ResultOrException.Builder resultOrExceptionBuilder = ResultOrException.newBuilder();
     boolean hasResultOrException = false;
+    Result[] batchedGetResults = null;
+    if (multiGetBatching && context != null && closeCallBack != null) {
+      batchedGetResults = getBatched((HRegion) region, actions, closeCallBack, context,
+        maxQuotaResultSize);
+    }
+    int actionPosition = -1;
     for (ClientProtos.Action action : actions.getActionList()) {
+      actionPosition++;
       hasResultOrException = false;
       resultOrExceptionBuilder.clear();
       try {
@@ -765,7 +817,9 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
           }
           continue;
         }
-        if (action.hasGet()) {
+        if (batchedGetResults != null && batchedGetResults[actionPosition] != null) {
+          r = batchedGetResults[actionPosition];
+        } else if (action.hasGet()) {
           long before = EnvironmentEdgeManager.currentTime();
           try {
             Get get = ProtobufUtil.toGet(action.getGet());
@@ -775,10 +829,7 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
               r = region.get(get);
             }
           } finally {
-            if (regionServer.metricsRegionServer != null) {
-              regionServer.metricsRegionServer.updateGet(
-                EnvironmentEdgeManager.currentTime() - before);
-            }
+            updateGetMetrics(EnvironmentEdgeManager.currentTime() - before);
           }
         } else if (action.hasServiceCall()) {
           hasResultOrException = true;
@@ -868,6 +919,70 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     return cellsToReturn;
   }
 
+  /**
+   * Serve the Gets of a region action through {@link MultiGetBatcher}, when the action only holds
+   * Gets. Actions mixing Gets and mutations are left to the regular path, which applies them in
+   * order.
+   * @return the results by position of the action, null for the actions left to the regular path,
+   *         or null if nothing has been batched.
+   */
+  private Result[] getBatched(HRegion region, RegionAction actions,
+      RegionScannersCloseCallBack closeCallBack, RpcCallContext context, long maxResultSize) {
+    if (actions.getActionCount() < 2 || !MultiGetBatcher.canBatch(region)) {
+      return null;
+    }
+    Get[] gets = new Get[actions.getActionCount()];
+    for (int i = 0; i < gets.length; i++) {
+      ClientProtos.Action action = actions.getAction(i);
+      if (!action.hasGet()) {
+        return null;
+      }
+      try {
+        Get get = ProtobufUtil.toGet(action.getGet());
+        region.prepareGet(get);
+        gets[i] = get;
+      } catch (IOException e) {
+        // reported by the regular path
+      }
+    }
+    long before = EnvironmentEdgeManager.currentTime();
+    Result[] results;
+    try {
+      results = MultiGetBatcher.get(region, gets, closeCallBack::addScanner,
+        maxResultSize - context.getResponseCellSize());
+    } catch (IOException e) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Failed to batch the gets of " + region + ", getting them one by one", e);
+      }
+      return null;
+    }
+    int served = 0;
+    for (Result r : results) {
+      if (r != null) {
+        served++;
+      }
+    }
+    if (served > 0) {
+      long perGet = (EnvironmentEdgeManager.currentTime() - before) / served;
+      for (int i = 0; i < served; i++) {
+        updateGetMetrics(perGet);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Reports the latency of a get served to the metrics, and to the I/O budget tuned by it.
+   */
+  private void updateGetMetrics(long time) {
+    if (regionServer.metricsRegionServer != null) {
+      regionServer.metricsRegionServer.updateGet(time);
+    }
+    if (regionServer.getIOScheduler() != null) {
+      regionServer.getIOScheduler().updateReadLatency(time);
+    }
+  }
+
   /**
    * Execute a list of Put/Delete mutations.
    *
@@ -1024,6 +1139,9 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     // Close any outstanding scanners. Means they'll get an UnknownScanner
     // exception next time they come in.
     for (Map.Entry<String, RegionScannerHolder> e : scanners.entrySet()) {
+      if (e.getValue().streamingBuffer != null) {
+        e.getValue().streamingBuffer.close();
+      }
       try {
         e.getValue().s.close();
       } catch (IOException ioe) {
@@ -1096,6 +1214,18 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     minimumScanTimeLimitDelta = rs.conf.getLong(
       REGION_SERVER_RPC_MINIMUM_SCAN_TIME_LIMIT_DELTA,
       DEFAULT_REGION_SERVER_RPC_MINIMUM_SCAN_TIME_LIMIT_DELTA);
+    int streamingThreads = rs.conf.getInt(REGION_SERVER_SCAN_STREAMING_THREADS,
+      DEFAULT_REGION_SERVER_SCAN_STREAMING_THREADS);
+    maxStreamingWindow = rs.conf.getInt(REGION_SERVER_SCAN_STREAMING_MAX_WINDOW,
+      DEFAULT_REGION_SERVER_SCAN_STREAMING_MAX_WINDOW);
+    multiGetBatching = rs.conf.getBoolean(REGION_SERVER_MULTIGET_BATCHING,
+      DEFAULT_REGION_SERVER_MULTIGET_BATCHING);
+    if (streamingThreads > 0 && maxStreamingWindow > 0 && !(this instanceof MasterRpcServices)) {
+      streamingScanPool = Threads.getBoundedCachedThreadPool(streamingThreads, 60L,
+        TimeUnit.SECONDS, Threads.newDaemonThreadFactory(name + "-streamingScan"));
+    } else {
+      streamingScanPool = null;
+    }
 
     InetSocketAddress address = rpcServer.getListenerAddress();
     if (address == null) {
@@ -1210,8 +1340,8 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     return lastBlock;
   }
 
-  private RegionScannerHolder addScanner(String scannerName, RegionScanner s, Region r)
-      throws LeaseStillHeldException {
+  private RegionScannerHolder addScanner(String scannerName, RegionScanner s, Region r,
+      int streamingWindow) throws LeaseStillHeldException {
     Lease lease = regionServer.leases.createLease(scannerName, this.scannerLeaseTimeoutPeriod,
       new ScannerListener(scannerName));
     RpcCallback shippedCallback = new RegionScannerShippedCallBack(scannerName, s, lease);
@@ -1221,8 +1351,13 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     } else {
       closeCallback = new RegionScannerCloseCallBack(s);
     }
-    RegionScannerHolder rsh =
-        new RegionScannerHolder(scannerName, s, r, closeCallback, shippedCallback);
+    StreamingScanBuffer streamingBuffer = null;
+    if (streamingWindow > 0 && streamingScanPool != null) {
+      streamingBuffer = new StreamingScanBuffer(Math.min(streamingWindow, maxStreamingWindow),
+          streamingScanPool);
+    }
+    RegionScannerHolder rsh = new RegionScannerHolder(scannerName, s, r, closeCallback,
+        shippedCallback, streamingBuffer);
     RegionScannerHolder existing = scanners.putIfAbsent(scannerName, rsh);
     assert existing == null : "scannerId must be unique within regionserver's whole lifecycle!";
     return rsh;
@@ -1275,6 +1410,9 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
   void stop() {
     closeAllScanners();
     rpcServer.stop();
+    if (streamingScanPool != null) {
+      streamingScanPool.shutdownNow();
+    }
   }
 
   /**
@@ -2301,9 +2439,7 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     } catch (IOException ie) {
       throw new ServiceException(ie);
     } finally {
-      if (regionServer.metricsRegionServer != null) {
-        regionServer.metricsRegionServer.updateGet(EnvironmentEdgeManager.currentTime() - before);
-      }
+      updateGetMetrics(EnvironmentEdgeManager.currentTime() - before);
       if (quota != null) {
         quota.close();
       }
@@ -2313,6 +2449,7 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
   private Result get(Get get, HRegion region, RegionScannersCloseCallBack closeCallBack,
       RpcCallContext context) throws IOException {
     region.prepareGet(get);
+    region.sampleRequest(get.getRow());
     List<Cell> results = new ArrayList<>();
     boolean stale = region.getRegionInfo().getReplicaId() != 0;
     // pre-get CP hook
@@ -2327,25 +2464,41 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     if (scan.getLoadColumnFamiliesOnDemandValue() == null) {
       scan.setLoadColumnFamiliesOnDemand(region.isLoadingCfsOnDemandDefault());
     }
-    RegionScanner scanner = null;
-    try {
-      scanner = region.getScanner(scan);
-      scanner.next(results);
-    } finally {
-      if (scanner != null) {
+    if (region.isFastPathGet(get)) {
+      List<KeyValueScanner> scanners = new ArrayList<>();
+      try {
+        region.getOnFastPath(scan, results, scanners);
+      } finally {
+        // closed once the response is sent, as for the region scanner below
         if (closeCallBack == null) {
-          // If there is a context then the scanner can be added to the current
-          // RpcCallContext. The rpc callback will take care of closing the
-          // scanner, for eg in case
-          // of get()
-          assert scanner instanceof org.apache.hadoop.hbase.ipc.RpcCallback;
-          context.setCallBack((RegionScannerImpl) scanner);
+          RegionScannersCloseCallBack callBack = new RegionScannersCloseCallBack();
+          scanners.forEach(callBack::addScanner);
+          context.setCallBack(callBack);
         } else {
-          // The call is from multi() where the results from the get() are
-          // aggregated and then send out to the
-          // rpc. The rpccall back will close all such scanners created as part
-          // of multi().
-          closeCallBack.addScanner(scanner);
+          scanners.forEach(closeCallBack::addScanner);
+        }
+      }
+    } else {
+      RegionScanner scanner = null;
+      try {
+        scanner = region.getScanner(scan);
+        scanner.next(results);
+      } finally {
+        if (scanner != null) {
+          if (closeCallBack == null) {
+            // If there is a context then the scanner can be added to the current
+            // RpcCallContext. The rpc callback will take care of closing the
+            // scanner, for eg in case
+            // of get()
+            assert scanner instanceof org.apache.hadoop.hbase.ipc.RpcCallback;
+            context.setCallBack((RegionScannerImpl) scanner);
+          } else {
+            // The call is from multi() where the results from the get() are
+            // aggregated and then send out to the
+            // rpc. The rpccall back will close all such scanners created as part
+            // of multi().
+            closeCallBack.addScanner(scanner);
+          }
         }
       }
     }
@@ -2716,7 +2869,11 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     builder.setMvccReadPoint(scanner.getMvccReadPoint());
     builder.setTtl(scannerLeaseTimeoutPeriod);
     String scannerName = String.valueOf(scannerId);
-    return addScanner(scannerName, scanner, region);
+    // A limited scan stops at a row count tracked by the handler, do not read past it. Nor read
+    // ahead of the quota of the user, which is checked and charged by each RPC.
+    int streamingWindow = request.hasLimitOfRows() || getQuotaManager().isQuotaEnabled() ? 0
+        : scan.getStreamingWindow();
+    return addScanner(scannerName, scanner, region, streamingWindow);
   }
 
   private void checkScanNextCallSeq(ScanRequest request, RegionScannerHolder rsh)
@@ -3035,12 +3192,21 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     }
     MutableObject lastBlock = new MutableObject();
     boolean scannerClosed = false;
+    StreamingScanBuffer streamingBuffer = rsh.streamingBuffer;
     try {
       List<Result> results = new ArrayList<>();
       if (rows > 0) {
         boolean done = false;
+        if (streamingBuffer != null) {
+          StreamingScanBuffer.Batch batch = streamingBuffer.take();
+          if (batch != null) {
+            done = true;
+            moreResultsInRegion =
+                addStreamedBatch(batch, results, builder, lastBlock, context);
+          }
+        }
         // Call coprocessor. Get region info from scanner.
-        if (region.getCoprocessorHost() != null) {
+        if (!done && region.getCoprocessorHost() != null) {
           Boolean bypass = region.getCoprocessorHost().preScannerNext(scanner, results, rows);
           if (!results.isEmpty()) {
             for (Result r : results) {
@@ -3054,6 +3220,10 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
         if (!done) {
           moreResultsInRegion = scan((HBaseRpcController) controller, request, rsh,
             maxQuotaResultSize, rows, results, builder, lastBlock, context);
+          if (streamingBuffer != null) {
+            // The scanner is going to move on while this response is being sent
+            detachResults(scanner, results);
+          }
         }
       }
 
@@ -3125,7 +3295,19 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
         throw new ServiceException(ioe);
       }
     } finally {
-      if (!scannerClosed) {
+      if (!scannerClosed && streamingBuffer != null) {
+        // The results do not reference any block, so there is nothing to do once they are shipped
+        // and we can start scanning ahead right now.
+        addScannerLeaseBack(lease);
+        final int batchRows = rows;
+        streamingBuffer.fill(new StreamingScanBuffer.BatchProducer() {
+
+          @Override
+          public StreamingScanBuffer.Batch produce() {
+            return scanAhead(request, rsh, maxQuotaResultSize, batchRows);
+          }
+        });
+      } else if (!scannerClosed) {
         // Adding resets expiration time on lease.
         // the closeCallBack will be set in closeScanner so here we only care about shippedCallback
         if (context != null) {
@@ -3139,6 +3321,91 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     }
   }
 
+  /**
+   * Scan the next batch of a streaming scanner on behalf of the next scan RPC.
+   */
+  private StreamingScanBuffer.Batch scanAhead(ScanRequest request, RegionScannerHolder rsh,
+      long maxQuotaResultSize, int rows) {
+    Region region = rsh.r;
+    RegionScanner scanner = rsh.s;
+    ScanResponse.Builder builder = ScanResponse.newBuilder();
+    List<Result> results = new ArrayList<>();
+    try {
+      synchronized (scanner) {
+        boolean moreResultsInRegion = true;
+        boolean done = false;
+        if (region.getCoprocessorHost() != null) {
+          Boolean bypass = region.getCoprocessorHost().preScannerNext(scanner, results, rows);
+          done = bypass != null && bypass.booleanValue();
+        }
+        if (!done) {
+          moreResultsInRegion = scan(null, request, rsh, maxQuotaResultSize, rows, results,
+            builder, new MutableObject(), null);
+        }
+        if (scanner.isFilterDone()) {
+          // Let the next RPC find out the scan is over, nothing to scan ahead anymore.
+          rsh.streamingBuffer.markExhausted();
+        }
+        detachResults(scanner, results);
+        return new StreamingScanBuffer.Batch(results, moreResultsInRegion,
+            builder.hasHeartbeatMessage() && builder.getHeartbeatMessage(),
+            builder.hasScanMetrics() ? builder.getScanMetrics() : null);
+      }
+    } catch (IOException e) {
+      return new StreamingScanBuffer.Batch(e);
+    } catch (RuntimeException e) {
+      return new StreamingScanBuffer.Batch(new IOException(e));
+    }
+  }
+
+  /**
+   * Add a batch scanned ahead to the response of the current scan RPC.
+   * @return whether there are more results in region.
+   */
+  private boolean addStreamedBatch(StreamingScanBuffer.Batch batch, List<Result> results,
+      ScanResponse.Builder builder, MutableObject lastBlock, RpcCallContext context)
+      throws IOException {
+    if (batch.error != null) {
+      throw batch.error;
+    }
+    for (Result r : batch.results) {
+      lastBlock.setValue(addSize(context, r, lastBlock.getValue()));
+      results.add(r);
+    }
+    builder.setMoreResultsInRegion(batch.moreResultsInRegion);
+    if (batch.heartbeat) {
+      builder.setHeartbeatMessage(true);
+    }
+    if (batch.scanMetrics != null) {
+      builder.setScanMetrics(batch.scanMetrics);
+    }
+    return batch.moreResultsInRegion;
+  }
+
+  /**
+   * Replace the cells of the results with on heap copies and release the blocks held by the
+   * scanner, so that the scanner can move on while the results are still referenced.
+   */
+  private static void detachResults(RegionScanner scanner, List<Result> results)
+      throws IOException {
+    synchronized (scanner) {
+      for (int i = 0; i < results.size(); i++) {
+        Result r = results.get(i);
+        Cell[] cells = r.rawCells();
+        if (cells == null || cells.length == 0) {
+          continue;
+        }
+        List<Cell> copies = new ArrayList<>(cells.length);
+        for (Cell c : cells) {
+          copies.add(KeyValueUtil.copyToNewKeyValue(c));
+        }
+        results.set(i, Result.create(copies, r.getExists(), r.isStale(),
+          r.mayHaveMoreCellsInRow()));
+      }
+      scanner.shipped();
+    }
+  }
+
   private void closeScanner(Region region, RegionScanner scanner, String scannerName,
       RpcCallContext context) throws IOException {
     if (region.getCoprocessorHost() != null) {
@@ -3149,6 +3416,9 @@ public class RSRpcServices implements HBaseRPCErrorHandler,
     }
     RegionScannerHolder rsh = scanners.remove(scannerName);
     if (rsh != null) {
+      if (rsh.streamingBuffer != null) {
+        rsh.streamingBuffer.close();
+      }
       if (context != null) {
         context.setCallBack(rsh.closeCallBack);
       } else {
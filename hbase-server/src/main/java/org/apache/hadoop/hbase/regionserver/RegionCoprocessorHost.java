@@ -259,6 +259,18 @@ public class RegionCoprocessorHost
     this.hasCustomPostScannerFilterRow = hasCustomPostScannerFilterRow;
   }
 
+  /**
+   * @return true if one of the coprocessors loaded is a {@link RegionObserver}
+   */
+  public boolean hasRegionObserver() {
+    for (RegionEnvironment env: coprocessors) {
+      if (env.getInstance() instanceof RegionObserver) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   static List<TableCoprocessorAttribute> getTableCoprocessorAttrsFromSchema(Configuration conf,
       HTableDescriptor htd) {
     List<TableCoprocessorAttribute> result = Lists.newArrayList();
@@ -36,6 +36,7 @@ import org.apache.hadoop.hbase.executor.ExecutorService;
 import org.apache.hadoop.hbase.ipc.RpcServerInterface;
 import org.apache.hadoop.hbase.shaded.protobuf.generated.RegionServerStatusProtos.RegionStateTransition.TransitionCode;
 import org.apache.hadoop.hbase.quotas.RegionServerQuotaManager;
+import org.apache.hadoop.hbase.regionserver.throttle.IOScheduler;
 import org.apache.hadoop.hbase.regionserver.throttle.ThroughputController;
 import org.apache.hadoop.hbase.wal.WAL;
 import org.apache.zookeeper.KeeperException;
@@ -255,6 +256,16 @@ public interface RegionServerServices extends OnlineRegions, FavoredNodesForRegi
    */
   ThroughputController getFlushThroughputController();
 
+  /**
+   * @return the disk I/O budget shared by the background I/O of this region server
+   */
+  IOScheduler getIOScheduler();
+
+  /**
+   * @return the row cache shared by the regions of this region server, null if disabled
+   */
+  RowCache getRowCache();
+
   /**
    * @return the flush pressure of all stores on this regionserver. The value should be greater than
    *         or equal to 0.0, and any value greater than 1.0 means we enter the emergency state that
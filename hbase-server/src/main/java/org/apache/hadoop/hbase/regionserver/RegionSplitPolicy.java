@@ -67,7 +67,9 @@ public abstract class RegionSplitPolicy extends Configured {
   /**
    * @return the key at which the region should be split, or null
    * if it cannot be split. This will only be called if shouldSplit
-   * previously returned true.
+   * previously returned true. The median of the requests served by the
+   * region when they are sampled, see {@link HRegion#HREGION_REQUEST_SAMPLE_SIZE},
+   * else the middle of the largest store.
    */
   protected byte[] getSplitPoint() {
     byte[] explicitSplitPoint = this.region.getExplicitSplitPoint();
@@ -88,6 +90,13 @@ public abstract class RegionSplitPolicy extends Configured {
       }
     }
 
+    // split where the requests are rather than where the data is, if they are sampled
+    if (splitPointFromLargestStore != null) {
+      byte[] loadSplitPoint = region.getLoadSplitPoint();
+      if (loadSplitPoint != null) {
+        return loadSplitPoint;
+      }
+    }
     return splitPointFromLargestStore;
   }
 
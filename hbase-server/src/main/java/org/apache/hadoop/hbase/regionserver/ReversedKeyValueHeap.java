@@ -44,7 +44,18 @@ public class ReversedKeyValueHeap extends KeyValueHeap {
    */
   public ReversedKeyValueHeap(List<? extends KeyValueScanner> scanners,
       CellComparator comparator) throws IOException {
-    super(scanners, new ReversedKVScannerComparator(comparator));
+    this(scanners, comparator, false);
+  }
+
+  /**
+   * @param scanners
+   * @param comparator
+   * @param loserTree whether to merge the scanners with a {@link LoserTree}
+   * @throws IOException
+   */
+  public ReversedKeyValueHeap(List<? extends KeyValueScanner> scanners,
+      CellComparator comparator, boolean loserTree) throws IOException {
+    super(scanners, new ReversedKVScannerComparator(comparator), loserTree);
   }
 
   @Override
@@ -71,23 +82,22 @@ public class ReversedKeyValueHeap extends KeyValueHeap {
     if (current == null) {
       return false;
     }
-    heap.add(current);
+    KeyValueScanner scanner = addAndPoll(current);
     current = null;
 
-    KeyValueScanner scanner;
-    while ((scanner = heap.poll()) != null) {
+    while (scanner != null) {
       Cell topKey = scanner.peek();
       if (comparator.getComparator().compareRows(topKey, seekKey) < 0) {
         // Row of Top KeyValue is before Seek row.
-        heap.add(scanner);
-        current = pollRealKV();
+        current = pollRealKV(scanner);
         return current != null;
       }
 
       if (!scanner.seekToPreviousRow(seekKey)) {
         this.scannersForDelayedClose.add(scanner);
+        scanner = heap.poll();
       } else {
-        heap.add(scanner);
+        scanner = addAndPoll(scanner);
       }
     }
 
@@ -100,23 +110,22 @@ public class ReversedKeyValueHeap extends KeyValueHeap {
     if (current == null) {
       return false;
     }
-    heap.add(current);
+    KeyValueScanner scanner = addAndPoll(current);
     current = null;
 
-    KeyValueScanner scanner;
-    while ((scanner = heap.poll()) != null) {
+    while (scanner != null) {
       Cell topKey = scanner.peek();
       if ((CellUtil.matchingRow(seekKey, topKey) && comparator
           .getComparator().compare(seekKey, topKey) <= 0)
           || comparator.getComparator().compareRows(seekKey, topKey) > 0) {
-        heap.add(scanner);
-        current = pollRealKV();
+        current = pollRealKV(scanner);
         return current != null;
       }
       if (!scanner.backwardSeek(seekKey)) {
         this.scannersForDelayedClose.add(scanner);
+        scanner = heap.poll();
       } else {
-        heap.add(scanner);
+        scanner = addAndPoll(scanner);
       }
     }
     return false;
@@ -131,20 +140,22 @@ public class ReversedKeyValueHeap extends KeyValueHeap {
     Cell kvNext = this.current.peek();
     if (kvNext == null
         || this.comparator.kvComparator.compareRows(kvNext, kvReturn) > 0) {
-      if (this.current.seekToPreviousRow(kvReturn)) {
-        this.heap.add(this.current);
+      KeyValueScanner scanner = this.current;
+      boolean seekResult = scanner.seekToPreviousRow(kvReturn);
+      this.current = null;
+      if (seekResult) {
+        this.current = pollRealKV(scanner);
       } else {
-        this.scannersForDelayedClose.add(this.current);
+        this.scannersForDelayedClose.add(scanner);
+        this.current = pollRealKV();
       }
-      this.current = null;
-      this.current = pollRealKV();
     } else {
       KeyValueScanner topScanner = this.heap.peek();
       if (topScanner != null
           && this.comparator.compare(this.current, topScanner) > 0) {
-        this.heap.add(this.current);
+        KeyValueScanner scanner = this.current;
         this.current = null;
-        this.current = pollRealKV();
+        this.current = pollRealKV(scanner);
       }
     }
     return kvReturn;
@@ -64,7 +64,7 @@ class ReversedStoreScanner extends StoreScanner implements KeyValueScanner {
   protected void resetKVHeap(List<? extends KeyValueScanner> scanners,
       CellComparator comparator) throws IOException {
     // Combine all seeked scanners with a heap
-    heap = new ReversedKeyValueHeap(scanners, comparator);
+    heap = new ReversedKeyValueHeap(scanners, comparator, useLoserTree(scanners));
   }
 
   @Override
@@ -0,0 +1,483 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.KeyValueUtil;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.client.IsolationLevel;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.ClassSize;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Keeps the latest cells of the rows read by point Gets, family by family, for the families with
+ * {@link HColumnDescriptor#isRowCacheEnabled()}. A hot row is then served without seeking the
+ * memstore and the store files, nor decoding their blocks.
+ * <p>
+ * There is one cache per region server, shared by its regions, so that its memory is bounded
+ * whatever the number of regions. It is sized in bytes with {@value #ROW_CACHE_SIZE_KEY}, and
+ * evicts the least recently used rows of all the regions once full. The rows are hashed to
+ * segments, each one an LRU of its own with its share of the size and its own lock, so that the
+ * handlers reading and mutating different rows do not contend. A row is only cached with all
+ * its columns, at the latest version and for all time, so any point Get with a single version can
+ * be served from it, whatever columns it asks for.
+ * <p>
+ * Each region reads and writes the cache through its {@link RegionRows}. The region invalidates
+ * the row of a family once a mutation is in the memstore, but before its write number is made
+ * visible by the MVCC. A row read at an older read point could still be cached after that, so the
+ * write numbers of the invalidations are kept in stripes hashed from the row and family, guarded
+ * by the lock of the segment of the row, and a row read at a read point lower than the one of its
+ * stripe is not cached. The region clears all
+ * its rows, when store files are bulk loaded for example, which also drops the rows being read at
+ * that time.
+ */
+@InterfaceAudience.Private
+public class RowCache {
+
+  /** Config key for the size in bytes of the row cache of a region server, 0 to disable it */
+  public static final String ROW_CACHE_SIZE_KEY = "hbase.regionserver.rowcache.size";
+  public static final long DEFAULT_ROW_CACHE_SIZE = 4 * 1024 * 1024;
+
+  // the LinkedHashMap entry, the key, the entry and the read-only cell list of a row
+  static final long ENTRY_OVERHEAD = ClassSize.align(ClassSize.MAP_ENTRY + 2 * ClassSize.REFERENCE)
+      + ClassSize.align(ClassSize.OBJECT + 3 * ClassSize.REFERENCE + 2 * Bytes.SIZEOF_INT)
+      + ClassSize.align(ClassSize.OBJECT + ClassSize.REFERENCE + 2 * Bytes.SIZEOF_LONG)
+      + ClassSize.align(ClassSize.OBJECT + 2 * ClassSize.REFERENCE) + ClassSize.ARRAYLIST;
+
+  private static final int STRIPES = 256;
+
+  // a divisor of the number of stripes, so that a stripe is in a single segment
+  private static final int SEGMENTS = 16;
+
+  private final Segment[] segments = new Segment[SEGMENTS];
+
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictedCount = new LongAdder();
+
+  /**
+   * @param maxSize the size in bytes of the cache, shared evenly by its segments
+   */
+  RowCache(long maxSize) {
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment(maxSize / SEGMENTS);
+    }
+  }
+
+  /**
+   * @return the row cache sized by the configuration, null if disabled
+   */
+  static RowCache create(Configuration conf) {
+    long maxSize = conf.getLong(ROW_CACHE_SIZE_KEY, DEFAULT_ROW_CACHE_SIZE);
+    return maxSize > 0 ? new RowCache(maxSize) : null;
+  }
+
+  /**
+   * @param htd the descriptor of the table of the region, to find the families to cache
+   * @param metrics where to report the hits, misses and evictions of the region, may be null
+   * @return the rows of a region in the cache
+   */
+  RegionRows forRegion(HTableDescriptor htd, MetricsRegionServer metrics) {
+    return new RegionRows(htd, metrics);
+  }
+
+  /**
+   * @return whether any family of the table has its rows cached
+   */
+  static boolean isEnabled(HTableDescriptor htd) {
+    for (HColumnDescriptor family : htd.getColumnFamilies()) {
+      if (family.isRowCacheEnabled()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return whether the cached rows can serve the Get of the given scan: a single version for all
+   *         time, read committed
+   */
+  static boolean isCacheable(Scan scan) {
+    return scan.getMaxVersions() == 1 && scan.getTimeRange().isAllTime()
+        && scan.getColumnFamilyTimeRange().isEmpty()
+        && scan.getIsolationLevel() == IsolationLevel.READ_COMMITTED;
+  }
+
+  /**
+   * The rows of a region in the cache.
+   */
+  final class RegionRows {
+
+    private final Set<byte[]> families = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+    private final MetricsRegionServer metrics;
+    // the highest write number invalidated in each stripe, guarded by the segment of the stripe
+    private final long[] invalidated = new long[STRIPES];
+    // bumped by each clear, a row read before is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private RegionRows(HTableDescriptor htd, MetricsRegionServer metrics) {
+      this.metrics = metrics;
+      for (HColumnDescriptor family : htd.getColumnFamilies()) {
+        if (family.isRowCacheEnabled()) {
+          families.add(family.getName());
+        }
+      }
+    }
+
+    /**
+     * @return the cache shared by the regions
+     */
+    RowCache getCache() {
+      return RowCache.this;
+    }
+
+    /**
+     * @return whether the rows of the family are cached
+     */
+    boolean isCached(byte[] family) {
+      return families.contains(family);
+    }
+
+    /**
+     * @return the generation to pass to {@link #cache(byte[], byte[], List, long, long)} for a
+     *         row read from now on
+     */
+    long getGeneration() {
+      return generation.get();
+    }
+
+    /**
+     * @param row the row to look up
+     * @param family the family to look up
+     * @param oldestUnexpiredTS the oldest timestamp not expired by the TTL of the family, the row
+     *          is dropped when a cell is older
+     * @return the cells of the row in the family, an empty list if it has none, or null on a miss
+     */
+    List<Cell> get(byte[] row, byte[] family, long oldestUnexpiredTS) {
+      Key key = new Key(this, row, family);
+      Segment segment = segmentOf(key);
+      List<Cell> cells = null;
+      synchronized (segment) {
+        Entry entry = segment.map.get(key);
+        if (entry != null) {
+          if (entry.oldestTimestamp < oldestUnexpiredTS) {
+            segment.remove(key);
+          } else {
+            cells = entry.cells;
+          }
+        }
+      }
+      if (cells != null) {
+        hitCount.increment();
+      } else {
+        missCount.increment();
+      }
+      if (metrics != null) {
+        if (cells != null) {
+          metrics.incrRowCacheHit();
+        } else {
+          metrics.incrRowCacheMiss();
+        }
+      }
+      return cells;
+    }
+
+    /**
+     * Cache the cells of a row in a family, unless the row got mutated or the rows of the region
+     * cleared since they were read. The cells are copied, they can point into blocks which are
+     * released later.
+     * @param row the row read
+     * @param family the family read
+     * @param cells all the cells of the row in the family, at the latest version
+     * @param readPt the read point the cells were read at
+     * @param generation the generation of the rows of the region before the cells were read
+     */
+    void cache(byte[] row, byte[] family, List<Cell> cells, long readPt, long generation) {
+      Key key = new Key(this, row, family);
+      Segment segment = segmentOf(key);
+      List<Cell> copies = new ArrayList<>(cells.size());
+      long heapSize = ENTRY_OVERHEAD + ClassSize.align(ClassSize.ARRAY
+          + cells.size() * ClassSize.REFERENCE) + ClassSize.align(ClassSize.ARRAY + row.length);
+      long oldestTimestamp = Long.MAX_VALUE;
+      for (Cell cell : cells) {
+        if (cell.getTagsLength() > 0) {
+          // the tags, as a cell TTL, may hide the cell to later reads
+          return;
+        }
+        Cell copy = KeyValueUtil.copyToNewKeyValue(cell);
+        copies.add(copy);
+        heapSize += CellUtil.estimatedHeapSizeOf(copy);
+        oldestTimestamp = Math.min(oldestTimestamp, copy.getTimestamp());
+      }
+      if (heapSize > segment.maxSize) {
+        return;
+      }
+      int evicted = 0;
+      synchronized (segment) {
+        if (generation != this.generation.get() || readPt < invalidated[key.stripe()]) {
+          return;
+        }
+        segment.remove(key);
+        segment.map.put(key,
+          new Entry(Collections.unmodifiableList(copies), oldestTimestamp, heapSize));
+        segment.size += heapSize;
+        for (Iterator<Entry> it = segment.map.values().iterator();
+            segment.size > segment.maxSize && it.hasNext();) {
+          segment.size -= it.next().heapSize;
+          it.remove();
+          evicted++;
+        }
+      }
+      if (evicted > 0) {
+        evictedCount.add(evicted);
+        if (metrics != null) {
+          metrics.incrRowCacheEvicted(evicted);
+        }
+      }
+    }
+
+    /**
+     * Invalidate the rows of the cells of a mutation, before its write number is visible.
+     * @param familyMap the cells of the mutation, by family
+     * @param writeNumber the write number of the mutation
+     */
+    void invalidate(Map<byte[], List<Cell>> familyMap, long writeNumber) {
+      for (Map.Entry<byte[], List<Cell>> entry : familyMap.entrySet()) {
+        invalidate(entry.getKey(), entry.getValue(), writeNumber);
+      }
+    }
+
+    /**
+     * Invalidate the rows of the cells of a mutation in a family, before its write number is
+     * visible.
+     * @param family the family of the cells
+     * @param cells the cells of the mutation in the family
+     * @param writeNumber the write number of the mutation
+     */
+    void invalidate(byte[] family, List<Cell> cells, long writeNumber) {
+      if (!isCached(family)) {
+        return;
+      }
+      Cell previous = null;
+      for (Cell cell : cells) {
+        if (previous == null || !CellUtil.matchingRow(previous, cell)) {
+          invalidate(CellUtil.cloneRow(cell), family, writeNumber);
+        }
+        previous = cell;
+      }
+    }
+
+    private void invalidate(byte[] row, byte[] family, long writeNumber) {
+      Key key = new Key(this, row, family);
+      int stripe = key.stripe();
+      Segment segment = segmentOf(key);
+      synchronized (segment) {
+        invalidated[stripe] = Math.max(invalidated[stripe], writeNumber);
+        segment.remove(key);
+      }
+    }
+
+    /**
+     * Drop all the rows of the region, and the rows being read at this time. The segments are
+     * walked one at a time: a row read before the new generation, and cached meanwhile, is either
+     * dropped by the walk of its segment or refused by the check of the generation.
+     */
+    void clear() {
+      generation.incrementAndGet();
+      for (Segment segment : segments) {
+        synchronized (segment) {
+          for (Iterator<Map.Entry<Key, Entry>> it = segment.map.entrySet().iterator();
+              it.hasNext();) {
+            Map.Entry<Key, Entry> e = it.next();
+            if (e.getKey().region == this) {
+              segment.size -= e.getValue().heapSize;
+              it.remove();
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private Segment segmentOf(Key key) {
+    return segments[key.stripe() % SEGMENTS];
+  }
+
+  /**
+   * Add the cells of the given columns to the results.
+   * @param cells the cells of a row in a family, sorted
+   * @param columns the columns to select, or null for all of them
+   * @param results where to add the cells
+   */
+  static void select(List<Cell> cells, NavigableSet<byte[]> columns, List<Cell> results) {
+    if (columns == null || columns.isEmpty()) {
+      results.addAll(cells);
+      return;
+    }
+    // both are sorted by qualifier
+    Iterator<byte[]> it = columns.iterator();
+    byte[] column = it.next();
+    for (Cell cell : cells) {
+      int cmp;
+      while ((cmp = Bytes.compareTo(cell.getQualifierArray(), cell.getQualifierOffset(),
+          cell.getQualifierLength(), column, 0, column.length)) > 0) {
+        if (!it.hasNext()) {
+          return;
+        }
+        column = it.next();
+      }
+      if (cmp == 0) {
+        results.add(cell);
+      }
+    }
+  }
+
+  /**
+   * @return the size in bytes of the cached rows
+   */
+  long size() {
+    long size = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size;
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return the number of rows of a family cached
+   */
+  long count() {
+    long count = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        count += segment.map.size();
+      }
+    }
+    return count;
+  }
+
+  @VisibleForTesting
+  long getHitCount() {
+    return hitCount.sum();
+  }
+
+  @VisibleForTesting
+  long getMissCount() {
+    return missCount.sum();
+  }
+
+  @VisibleForTesting
+  long getEvictedCount() {
+    return evictedCount.sum();
+  }
+
+  /**
+   * A least recently used share of the rows, guarded by itself.
+   */
+  private static final class Segment {
+
+    private final long maxSize;
+
+    // access ordered, the least recently used row first
+    private final LinkedHashMap<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    Segment(long maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    void remove(Key key) {
+      Entry entry = map.remove(key);
+      if (entry != null) {
+        size -= entry.heapSize;
+      }
+    }
+  }
+
+  private static final class Key {
+
+    private final RegionRows region;
+    private final byte[] row;
+    private final byte[] family;
+    // of the row and family only, the stripe of an invalidation does not depend on the region
+    private final int rowHash;
+    private final int hash;
+
+    Key(RegionRows region, byte[] row, byte[] family) {
+      this.region = region;
+      this.row = row;
+      this.family = family;
+      this.rowHash = 31 * Bytes.hashCode(row) + Bytes.hashCode(family);
+      this.hash = 31 * rowHash + System.identityHashCode(region);
+    }
+
+    int stripe() {
+      return (rowHash & Integer.MAX_VALUE) % STRIPES;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return hash == other.hash && region == other.region && Arrays.equals(row, other.row)
+          && Arrays.equals(family, other.family);
+    }
+  }
+
+  private static final class Entry {
+
+    private final List<Cell> cells;
+    private final long oldestTimestamp;
+    private final long heapSize;
+
+    Entry(List<Cell> cells, long oldestTimestamp, long heapSize) {
+      this.cells = cells;
+      this.oldestTimestamp = oldestTimestamp;
+      this.heapSize = heapSize;
+    }
+  }
+}
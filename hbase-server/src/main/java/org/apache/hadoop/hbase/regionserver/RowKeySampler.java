@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * A uniform sample of the row keys of the requests served by a region, used to find the row
+ * splitting its load in two halves.
+ * <p>
+ * The sample is a reservoir: the first rows fill it, then the n-th row replaces a random sampled
+ * one with a probability of capacity / n. Once {@value #DECAY} times the capacity rows are seen,
+ * the count starts again from the capacity, so the sample follows the load when it moves. Rows are
+ * sampled without locking from the handlers serving the requests.
+ */
+@InterfaceAudience.Private
+public class RowKeySampler {
+  static final int DECAY = 16;
+
+  private final AtomicReferenceArray<byte[]> rows;
+  private final AtomicLong seen = new AtomicLong();
+
+  public RowKeySampler(int capacity) {
+    this.rows = new AtomicReferenceArray<>(capacity);
+  }
+
+  public void sample(byte[] row) {
+    int capacity = rows.length();
+    long n = seen.incrementAndGet();
+    if (n >= (long) DECAY * capacity) {
+      seen.compareAndSet(n, capacity);
+    }
+    long index = n <= capacity ? n - 1 : ThreadLocalRandom.current().nextLong(n);
+    if (index < capacity) {
+      rows.set((int) index, row);
+    }
+  }
+
+  /**
+   * @return the number of rows seen, restarting from the capacity when decayed
+   */
+  long getSeen() {
+    return seen.get();
+  }
+
+  /**
+   * @return the median of the sampled rows, null if the sample is not full yet
+   */
+  public byte[] getMedian() {
+    int capacity = rows.length();
+    if (seen.get() < capacity) {
+      return null;
+    }
+    List<byte[]> sorted = new ArrayList<>(capacity);
+    for (int i = 0; i < capacity; i++) {
+      byte[] row = rows.get(i);
+      if (row != null) {
+        sorted.add(row);
+      }
+    }
+    if (sorted.isEmpty()) {
+      return null;
+    }
+    Collections.sort(sorted, Bytes.BYTES_COMPARATOR);
+    return sorted.get(sorted.size() / 2);
+  }
+}
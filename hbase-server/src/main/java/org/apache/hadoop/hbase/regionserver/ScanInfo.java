@@ -48,11 +48,13 @@ public class ScanInfo {
   private boolean usePread;
   private long cellsPerTimeoutCheck;
   private boolean parallelSeekEnabled;
+  private int loserTreeMinScanners;
+  private boolean seekPastDeletedRows;
   private final Configuration conf;
 
   public static final long FIXED_OVERHEAD = ClassSize.align(ClassSize.OBJECT
-      + (2 * ClassSize.REFERENCE) + (2 * Bytes.SIZEOF_INT)
-      + (4 * Bytes.SIZEOF_LONG) + (3 * Bytes.SIZEOF_BOOLEAN));
+      + (2 * ClassSize.REFERENCE) + (3 * Bytes.SIZEOF_INT)
+      + (4 * Bytes.SIZEOF_LONG) + (4 * Bytes.SIZEOF_BOOLEAN));
 
   /**
    * @param conf
@@ -99,6 +101,10 @@ public class ScanInfo {
         perHeartbeat: StoreScanner.DEFAULT_HBASE_CELLS_SCANNED_PER_HEARTBEAT_CHECK;
     this.parallelSeekEnabled =
       conf.getBoolean(StoreScanner.STORESCANNER_PARALLEL_SEEK_ENABLE, false);
+    this.loserTreeMinScanners = conf.getInt(StoreScanner.STORESCANNER_LOSER_TREE_MIN_SCANNERS,
+      StoreScanner.DEFAULT_STORESCANNER_LOSER_TREE_MIN_SCANNERS);
+    this.seekPastDeletedRows = conf.getBoolean(StoreScanner.STORESCANNER_SEEK_PAST_DELETED_ROWS,
+      StoreScanner.DEFAULT_STORESCANNER_SEEK_PAST_DELETED_ROWS);
     this.conf = conf;
   }
 
@@ -122,6 +128,14 @@ public class ScanInfo {
     return this.parallelSeekEnabled;
   }
 
+  int getLoserTreeMinScanners() {
+    return this.loserTreeMinScanners;
+  }
+
+  boolean isSeekPastDeletedRows() {
+    return this.seekPastDeletedRows;
+  }
+
   public byte[] getFamily() {
     return family;
   }
@@ -289,6 +289,14 @@ public class ScannerContext {
     return limits.getDataSize();
   }
 
+  long getHeapSizeLimit() {
+    return limits.getHeapSize();
+  }
+
+  LimitScope getSizeLimitScope() {
+    return limits.getSizeScope();
+  }
+
   long getTimeLimit() {
     return limits.getTime();
   }
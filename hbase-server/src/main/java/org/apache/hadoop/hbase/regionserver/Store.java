@@ -484,6 +484,13 @@ public interface Store extends HeapSize, StoreConfigInformation, PropagatingConf
    */
   long getMajorCompactedCellsSize();
 
+  /**
+   * Records a user get or scan of the store.
+   * @param storeFilesToSeek the number of store files the read has to seek, the others being ruled
+   *          out by their time range, key range or Bloom filter
+   */
+  void recordRead(int storeFilesToSeek);
+
   /*
    * @param o Observer who wants to know about changes in set of Readers
    */
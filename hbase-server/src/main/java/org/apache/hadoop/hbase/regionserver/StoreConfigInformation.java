@@ -53,4 +53,15 @@ public interface StoreConfigInformation {
    * The number of files required before flushes for this store will be blocked.
    */
   long getBlockingFileCount();
+
+  /**
+   * @return the number of user gets and scans of the store since it was opened
+   */
+  long getReadRequestsCount();
+
+  /**
+   * @return the total number of store files the reads counted by {@link #getReadRequestsCount()}
+   *         had to seek
+   */
+  long getStoreFileSeeksCount();
 }
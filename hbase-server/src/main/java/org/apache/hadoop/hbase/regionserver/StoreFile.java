@@ -77,6 +77,11 @@ public class StoreFile {
   public static final byte[] EXCLUDE_FROM_MINOR_COMPACTION_KEY =
       Bytes.toBytes("EXCLUDE_FROM_MINOR_COMPACTION");
 
+  /**
+   * Key set in FileInfo when the file is one of the outputs of a compaction split in key ranges
+   */
+  public static final byte[] SUB_COMPACTION_KEY = Bytes.toBytes("SUB_COMPACTION");
+
   /** Bloom filter Type in FileInfo */
   public static final byte[] BLOOM_FILTER_TYPE_KEY =
       Bytes.toBytes("BLOOM_FILTER_TYPE");
@@ -94,6 +99,12 @@ public class StoreFile {
   /** Key for timestamp of earliest-put in metadata*/
   public static final byte[] EARLIEST_PUT_TS = Bytes.toBytes("EARLIEST_PUT_TS");
 
+  /** Key for the number of delete markers in metadata */
+  public static final byte[] DELETE_COUNT = Bytes.toBytes("DELETE_COUNT");
+
+  /** Key for the sample of the timestamps of the cells in metadata */
+  public static final byte[] TIMESTAMP_SAMPLE_KEY = Bytes.toBytes("TIMESTAMP_SAMPLE");
+
   /** Key for the number of mob cells in metadata*/
   public static final byte[] MOB_CELLS_COUNT = Bytes.toBytes("MOB_CELLS_COUNT");
 
@@ -150,6 +161,10 @@ public class StoreFile {
   // It's set whenever you get a Reader.
   private boolean excludeFromMinorCompaction = false;
 
+  // If true, this file is one of the outputs of a compaction split in key ranges.
+  // It's set whenever you get a Reader.
+  private boolean subCompaction = false;
+
   /** Meta key set when store file is a result of a bulk load */
   public static final byte[] BULKLOAD_TASK_KEY =
     Bytes.toBytes("BULKLOAD_SOURCE_TASK");
@@ -301,6 +316,15 @@ public class StoreFile {
     return this.excludeFromMinorCompaction;
   }
 
+  /**
+   * @return True if this file and the other one were written by the same compaction, split in
+   *         key ranges.
+   */
+  public boolean isSameSubCompaction(StoreFile other) {
+    return this.subCompaction && other.subCompaction
+        && getMaxSequenceId() == other.getMaxSequenceId();
+  }
+
   /**
    * @return This files maximum edit sequence id.
    */
@@ -485,6 +509,9 @@ public class StoreFile {
     b = metadataMap.get(EXCLUDE_FROM_MINOR_COMPACTION_KEY);
     this.excludeFromMinorCompaction = (b != null && Bytes.toBoolean(b));
 
+    b = metadataMap.get(SUB_COMPACTION_KEY);
+    this.subCompaction = (b != null && Bytes.toBoolean(b));
+
     BloomType hfileBloomType = reader.getBloomFilterType();
     if (cfBloomType != BloomType.NONE) {
       reader.loadBloomfilter(BlockType.GENERAL_BLOOM_META);
@@ -64,6 +64,8 @@ public class StoreFileReader {
   protected TimeRange timeRange = null;
   private byte[] lastBloomKey;
   private long deleteFamilyCnt = -1;
+  private long deleteCount = -1;
+  private TimestampSample timestampSample;
   private boolean bulkLoadResult = false;
   private KeyValue.KeyOnlyKeyValue lastBloomKeyOnlyKV = null;
   private boolean skipResetSeqId = true;
@@ -439,6 +441,11 @@ public class StoreFileReader {
     if (cnt != null) {
       deleteFamilyCnt = Bytes.toLong(cnt);
     }
+    cnt = fi.get(StoreFile.DELETE_COUNT);
+    if (cnt != null) {
+      deleteCount = Bytes.toLong(cnt);
+    }
+    timestampSample = TimestampSample.getTimestampSample(fi.get(StoreFile.TIMESTAMP_SAMPLE_KEY));
 
     return fi;
   }
@@ -553,6 +560,28 @@ public class StoreFileReader {
     return deleteFamilyCnt;
   }
 
+  /**
+   * @return the number of delete markers in the file, -1 if unknown
+   */
+  public long getDeleteCount() {
+    return deleteCount;
+  }
+
+  /**
+   * @param timestamp the timestamp to compare to
+   * @return the estimated number of cells of the file with a timestamp lower than the given one,
+   *         0 if unknown
+   */
+  public long getEstimatedEntriesBefore(long timestamp) {
+    if (timestampSample == null || timeRange != null && timeRange.getMin() >= timestamp) {
+      return 0;
+    }
+    if (timeRange != null && timeRange.getMax() < timestamp) {
+      return getEntries();
+    }
+    return Math.round(timestampSample.getFractionBefore(timestamp) * getEntries());
+  }
+
   public Cell getFirstKey() {
     return reader.getFirstKey();
   }
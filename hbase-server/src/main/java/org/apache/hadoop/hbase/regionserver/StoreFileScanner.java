@@ -25,8 +25,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.LongAdder;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellComparator;
 import org.apache.hadoop.hbase.CellUtil;
@@ -45,6 +48,8 @@ import org.apache.hadoop.hbase.regionserver.querymatcher.ScanQueryMatcher;
  */
 @InterfaceAudience.LimitedPrivate("Coprocessor")
 public class StoreFileScanner implements KeyValueScanner {
+  private static final Log LOG = LogFactory.getLog(StoreFileScanner.class);
+
   // the reader it comes from:
   private final StoreFileReader reader;
   private final HFileScanner hfs;
@@ -445,8 +450,20 @@ public class StoreFileScanner implements KeyValueScanner {
     if (timeRange == null) {
       timeRange = scan.getTimeRange();
     }
-    return reader.passesTimerangeFilter(timeRange, oldestUnexpiredTS) && reader
-        .passesKeyRangeFilter(scan) && reader.passesBloomFilter(scan, scan.getFamilyMap().get(cf));
+    if (!(reader.passesTimerangeFilter(timeRange, oldestUnexpiredTS)
+        && reader.passesKeyRangeFilter(scan)
+        && reader.passesBloomFilter(scan, scan.getFamilyMap().get(cf)))) {
+      return false;
+    }
+    if (!timeRange.isAllTime()) {
+      try {
+        hfs.setTimeRange(timeRange.getMin(), timeRange.getMax());
+      } catch (IOException e) {
+        LOG.warn("Failed to read the time ranges of the data blocks of " + reader.getHFileReader()
+            .getName() + ", reading all of them", e);
+      }
+    }
+    return true;
   }
 
   @Override
@@ -458,20 +475,16 @@ public class StoreFileScanner implements KeyValueScanner {
         do {
           Cell seekKey = CellUtil.createFirstOnRow(key);
           if (seekCount != null) seekCount.increment();
-          if (!hfs.seekBefore(seekKey)) {
+          if (!hfs.seekToPreviousRow(seekKey)) {
             this.cur = null;
             return false;
           }
           Cell curCell = hfs.getCell();
           Cell firstKeyOfPreviousRow = CellUtil.createFirstOnRow(curCell);
 
+          // the second seek of the row is now part of seekToPreviousRow, still counted
           if (seekCount != null) seekCount.increment();
-          if (!seekAtOrAfter(hfs, firstKeyOfPreviousRow)) {
-            this.cur = null;
-            return false;
-          }
-
-          setCurrentCell(hfs.getCell());
+          setCurrentCell(curCell);
           this.stopSkippingKVsIfNextRow = true;
           boolean resultOfSkipKVs;
           try {
@@ -534,4 +547,12 @@ public class StoreFileScanner implements KeyValueScanner {
   public void shipped() throws IOException {
     this.hfs.shipped();
   }
+
+  /**
+   * Reads the data block following the current one in the background, see
+   * {@link HFileScanner#setReadAhead(Executor)}.
+   */
+  public void setReadAhead(Executor executor) {
+    hfs.setReadAhead(executor);
+  }
 }
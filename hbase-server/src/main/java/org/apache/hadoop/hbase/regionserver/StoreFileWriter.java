@@ -62,6 +62,8 @@ public class StoreFileWriter implements CellSink, ShipperListener {
   private final BloomType bloomType;
   private long earliestPutTs = HConstants.LATEST_TIMESTAMP;
   private long deleteFamilyCnt = 0;
+  private long deleteCount = 0;
+  private final TimestampSample timestampSample = new TimestampSample();
   private BloomContext bloomContext = null;
   private BloomContext deleteFamilyBloomContext = null;
 
@@ -95,7 +97,7 @@ public class StoreFileWriter implements CellSink, ShipperListener {
       InetSocketAddress[] favoredNodes, HFileContext fileContext, boolean shouldDropCacheBehind)
           throws IOException {
       this(fs, path, conf, cacheConf, comparator, bloomType, maxKeys, favoredNodes, fileContext,
-          shouldDropCacheBehind, null);
+          shouldDropCacheBehind, null, 0);
     }
 
     /**
@@ -111,6 +113,7 @@ public class StoreFileWriter implements CellSink, ShipperListener {
      * @param fileContext - The HFile context
      * @param shouldDropCacheBehind Drop pages written to page cache after writing the store file.
      * @param trt Ready-made timetracker to use.
+     * @param writeBehindBufferSize Bytes the file may be written behind the writer, 0 for none.
      * @throws IOException problem writing to FS
      */
     private StoreFileWriter(FileSystem fs, Path path,
@@ -118,7 +121,7 @@ public class StoreFileWriter implements CellSink, ShipperListener {
         CacheConfig cacheConf,
         final CellComparator comparator, BloomType bloomType, long maxKeys,
         InetSocketAddress[] favoredNodes, HFileContext fileContext,
-        boolean shouldDropCacheBehind, final TimeRangeTracker trt)
+        boolean shouldDropCacheBehind, final TimeRangeTracker trt, int writeBehindBufferSize)
             throws IOException {
     // If passed a TimeRangeTracker, use it. Set timeRangeTrackerSet so we don't destroy it.
     // TODO: put the state of the TRT on the TRT; i.e. make a read-only version (TimeRange) when
@@ -132,6 +135,7 @@ public class StoreFileWriter implements CellSink, ShipperListener {
         .withFavoredNodes(favoredNodes)
         .withFileContext(fileContext)
         .withShouldDropCacheBehind(shouldDropCacheBehind)
+        .withWriteBehind(writeBehindBufferSize)
         .create();
 
     generalBloomFilterWriter = BloomFilterFactory.createGeneralBloomAtWrite(
@@ -209,15 +213,18 @@ public class StoreFileWriter implements CellSink, ShipperListener {
   }
 
   /**
-   * Add TimestampRange and earliest put timestamp to Metadata
+   * Add TimestampRange, earliest put timestamp, the number of delete markers and the sample of
+   * the timestamps to Metadata
    */
   public void appendTrackedTimestampsToMetadata() throws IOException {
     appendFileInfo(StoreFile.TIMERANGE_KEY, WritableUtils.toByteArray(timeRangeTracker));
     appendFileInfo(StoreFile.EARLIEST_PUT_TS, Bytes.toBytes(earliestPutTs));
+    appendFileInfo(StoreFile.DELETE_COUNT, Bytes.toBytes(deleteCount));
+    appendFileInfo(StoreFile.TIMESTAMP_SAMPLE_KEY, WritableUtils.toByteArray(timestampSample));
   }
 
   /**
-   * Record the earlest Put timestamp.
+   * Record the earlest Put timestamp, count the delete markers and sample the timestamps.
    *
    * If the timeRangeTracker is not set,
    * update TimeRangeTracker to include the timestamp of this key
@@ -225,7 +232,10 @@ public class StoreFileWriter implements CellSink, ShipperListener {
   public void trackTimestamps(final Cell cell) {
     if (KeyValue.Type.Put.getCode() == cell.getTypeByte()) {
       earliestPutTs = Math.min(earliestPutTs, cell.getTimestamp());
+    } else if (CellUtil.isDelete(cell)) {
+      deleteCount++;
     }
+    timestampSample.add(cell.getTimestamp());
     if (!timeRangeTrackerSet) {
       timeRangeTracker.includeTimestamp(cell);
     }
@@ -375,6 +385,7 @@ public class StoreFileWriter implements CellSink, ShipperListener {
     private HFileContext fileContext;
     private TimeRangeTracker trt;
     private boolean shouldDropCacheBehind;
+    private int writeBehindBufferSize;
 
     public Builder(Configuration conf, CacheConfig cacheConf,
         FileSystem fs) {
@@ -458,6 +469,16 @@ public class StoreFileWriter implements CellSink, ShipperListener {
       return this;
     }
 
+    /**
+     * @param bufferSize the number of bytes the file may be written behind the appends by a
+     *          thread of the writer, 0 to write it directly
+     * @return this (for chained invocation)
+     */
+    public Builder withWriteBehind(int bufferSize) {
+      this.writeBehindBufferSize = bufferSize;
+      return this;
+    }
+
     /**
      * Create a store file writer. Client is responsible for closing file when
      * done. If metadata, add BEFORE closing using
@@ -498,7 +519,7 @@ public class StoreFileWriter implements CellSink, ShipperListener {
       }
       return new StoreFileWriter(fs, filePath,
           conf, cacheConf, comparator, bloomType, maxKeyCount, favoredNodes, fileContext,
-          shouldDropCacheBehind, trt);
+          shouldDropCacheBehind, trt, writeBehindBufferSize);
     }
   }
 }
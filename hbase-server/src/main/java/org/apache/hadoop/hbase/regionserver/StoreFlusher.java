@@ -32,6 +32,8 @@ import org.apache.hadoop.hbase.KeyValueUtil;
 import org.apache.hadoop.hbase.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.monitoring.MonitoredTask;
+import org.apache.hadoop.hbase.regionserver.throttle.IOScheduler;
+import org.apache.hadoop.hbase.regionserver.throttle.PressureAwareThroughputController;
 import org.apache.hadoop.hbase.regionserver.throttle.ThroughputControlUtil;
 import org.apache.hadoop.hbase.regionserver.throttle.ThroughputController;
 
@@ -127,20 +129,29 @@ abstract class StoreFlusher {
     if (control) {
       throughputController.start(flushName);
     }
+    // the pressure aware controllers take the I/O budget of the server themselves, the flushes
+    // they do not control are charged to it here, without waiting
+    IOScheduler ioScheduler = control && throughputController instanceof
+        PressureAwareThroughputController ? null : store.getCacheConfig().getIOScheduler();
     try {
       do {
         hasMore = scanner.next(kvs, scannerContext);
         if (!kvs.isEmpty()) {
+          long size = 0;
           for (Cell c : kvs) {
             // If we know that this KV is going to be included always, then let us
             // set its memstoreTS to 0. This will help us save space when writing to
             // disk.
             sink.append(c);
             int len = KeyValueUtil.length(c);
+            size += len;
             if (control) {
               throughputController.control(flushName, len);
             }
           }
+          if (ioScheduler != null) {
+            ioScheduler.charge(IOScheduler.IOClass.FLUSH, size);
+          }
           kvs.clear();
         }
       } while (hasMore);
@@ -64,6 +64,8 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
   // In unit tests, the store could be null
   protected final Store store;
   protected ScanQueryMatcher matcher;
+  // the row before which a compaction of a range of rows stops, null to go to the end of the store
+  private byte[] stopRow;
   protected KeyValueHeap heap;
   protected boolean cacheBlocks;
 
@@ -89,6 +91,8 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
   protected final int minVersions;
   protected final long maxRowSize;
   protected final long cellsPerHeartbeatCheck;
+  private final int loserTreeMinScanners;
+  private final boolean seekPastDeletedRows;
 
   // Collects all the KVHeap that are eagerly getting closed during the
   // course of a scan
@@ -106,6 +110,23 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
   public static final String STORESCANNER_PARALLEL_SEEK_ENABLE =
       "hbase.storescanner.parallel.seek.enable";
 
+  /**
+   * The minimum number of scanners, memstore and store files, for them to be merged with a
+   * {@link LoserTree} rather than a binary heap. 0 always uses the binary heap.
+   */
+  public static final String STORESCANNER_LOSER_TREE_MIN_SCANNERS =
+      "hbase.storescanner.losertree.min.scanners";
+  public static final int DEFAULT_STORESCANNER_LOSER_TREE_MIN_SCANNERS = 0;
+
+  /**
+   * Whether a family delete marker moves the scanners of the store files holding no cell newer
+   * than the marker to the next row, instead of going through their deleted cells one column at
+   * a time.
+   */
+  public static final String STORESCANNER_SEEK_PAST_DELETED_ROWS =
+      "hbase.storescanner.seek.past.deleted.rows";
+  public static final boolean DEFAULT_STORESCANNER_SEEK_PAST_DELETED_ROWS = true;
+
   /** Used during unit testing to ensure that lazy seek does save seek ops */
   protected static boolean lazySeekEnabledGlobally =
       LAZY_SEEK_ENABLED_BY_DEFAULT;
@@ -184,6 +205,10 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
       }
     }
      this.cellsPerHeartbeatCheck = scanInfo.getCellsPerTimeoutCheck();
+     this.loserTreeMinScanners = scanInfo.getLoserTreeMinScanners();
+     // A Get stops at the end of its row anyway, and its lazy seeks already keep the older files
+     // from being read, seeking them past the row would only load blocks.
+     this.seekPastDeletedRows = scanInfo.isSeekPastDeletedRows() && !scan.isReversed() && !get;
      // Parallel seeking is on if the config allows and more there is more than one store file.
      if (this.store != null && this.store.getStorefilesCount() > 1) {
        RegionServerServices rsService = ((HStore)store).getHRegion().getRegionServerServices();
@@ -222,6 +247,13 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
     try {
       // Pass columns to try to filter out unnecessary StoreFiles.
       List<KeyValueScanner> scanners = getScannersNoCompaction();
+      int storeFilesToSeek = 0;
+      for (KeyValueScanner scanner : scanners) {
+        if (scanner.isFileScanner()) {
+          storeFilesToSeek++;
+        }
+      }
+      store.recordRead(storeFilesToSeek);
 
       // Seek all scanners to the start of the Row (or if the exact matching row
       // key does not exist, then to the start of the next matching Row).
@@ -259,7 +291,28 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
   public StoreScanner(Store store, ScanInfo scanInfo, Scan scan,
       List<? extends KeyValueScanner> scanners, ScanType scanType,
       long smallestReadPoint, long earliestPutTs) throws IOException {
-    this(store, scanInfo, scan, scanners, scanType, smallestReadPoint, earliestPutTs, null, null);
+    this(store, scanInfo, scan, scanners, scanType, smallestReadPoint, earliestPutTs, null, null,
+        HConstants.EMPTY_START_ROW, HConstants.EMPTY_END_ROW);
+  }
+
+  /**
+   * Used for compactions of a range of rows only, which the rest of the compaction of the files
+   * runs in other scanners, see sub-compactions in
+   * {@link org.apache.hadoop.hbase.regionserver.compactions.DefaultCompactor}.<p>
+   *
+   * Opens a scanner across specified StoreFiles.
+   * @param store who we scan
+   * @param scan the spec
+   * @param scanners ancillary scanners
+   * @param smallestReadPoint the readPoint that we should use for tracking versions
+   * @param startRow The inclusive left bound of the range; can be EMPTY_START_ROW.
+   * @param stopRow The exclusive right bound of the range; can be EMPTY_END_ROW.
+   */
+  public StoreScanner(Store store, ScanInfo scanInfo, Scan scan,
+      List<? extends KeyValueScanner> scanners, ScanType scanType, long smallestReadPoint,
+      long earliestPutTs, byte[] startRow, byte[] stopRow) throws IOException {
+    this(store, scanInfo, scan, scanners, scanType, smallestReadPoint, earliestPutTs, null, null,
+        startRow, stopRow);
   }
 
   /**
@@ -277,12 +330,14 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
       List<? extends KeyValueScanner> scanners, long smallestReadPoint, long earliestPutTs,
       byte[] dropDeletesFromRow, byte[] dropDeletesToRow) throws IOException {
     this(store, scanInfo, scan, scanners, ScanType.COMPACT_RETAIN_DELETES, smallestReadPoint,
-        earliestPutTs, dropDeletesFromRow, dropDeletesToRow);
+        earliestPutTs, dropDeletesFromRow, dropDeletesToRow, HConstants.EMPTY_START_ROW,
+        HConstants.EMPTY_END_ROW);
   }
 
   private StoreScanner(Store store, ScanInfo scanInfo, Scan scan,
       List<? extends KeyValueScanner> scanners, ScanType scanType, long smallestReadPoint,
-      long earliestPutTs, byte[] dropDeletesFromRow, byte[] dropDeletesToRow) throws IOException {
+      long earliestPutTs, byte[] dropDeletesFromRow, byte[] dropDeletesToRow, byte[] startRow,
+      byte[] stopRow) throws IOException {
     this(store, scan, scanInfo, null,
         ((HStore) store).getHRegion().getReadPoint(IsolationLevel.READ_COMMITTED), false);
     if (scan.hasFilter() || (scan.getStartRow() != null && scan.getStartRow().length > 0)
@@ -302,8 +357,14 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
     // Filter the list of scanners using Bloom filters, time range, TTL, etc.
     scanners = selectScannersFrom(scanners);
 
+    if (stopRow.length > 0) {
+      this.stopRow = stopRow;
+    }
+
     // Seek all scanners to the initial key
-    seekScanners(scanners, matcher.getStartKey(), false, parallelSeekEnabled);
+    seekScanners(scanners,
+      startRow.length > 0 ? CellUtil.createFirstOnRow(startRow) : matcher.getStartKey(), false,
+      parallelSeekEnabled);
     addCurrentScanners(scanners);
     // Combine all seeked scanners with a heap
     resetKVHeap(scanners, store.getComparator());
@@ -408,7 +469,14 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
   protected void resetKVHeap(List<? extends KeyValueScanner> scanners,
       CellComparator comparator) throws IOException {
     // Combine all seeked scanners with a heap
-    heap = new KeyValueHeap(scanners, comparator);
+    heap = new KeyValueHeap(scanners, comparator, useLoserTree(scanners));
+  }
+
+  /**
+   * @return whether the scanners should be merged with a {@link LoserTree}.
+   */
+  protected boolean useLoserTree(List<? extends KeyValueScanner> scanners) {
+    return loserTreeMinScanners > 0 && scanners.size() >= loserTreeMinScanners;
   }
 
   /**
@@ -546,6 +614,11 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
     // rows. Else it is possible we are still traversing the same row so we must perform the row
     // comparison.
     if (!scannerContext.hasAnyLimit(LimitScope.BETWEEN_CELLS) || matcher.currentRow() == null) {
+      if (stopRow != null
+          && store.getComparator().compareRows(cell, stopRow, 0, stopRow.length) >= 0) {
+        close(false);// Do all cleanup except heap.close()
+        return scannerContext.setScannerState(NextState.NO_MORE_VALUES).hasMoreValues();
+      }
       this.countPerRow = 0;
       matcher.setToNewRow(cell);
     }
@@ -666,6 +739,9 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
           break;
 
         case SKIP:
+          if (seekPastDeletedRows && matcher.isRowDeleteMarker(cell)) {
+            this.heap.seekOlderScannersToNextRow(cell);
+          }
           this.heap.next();
           break;
 
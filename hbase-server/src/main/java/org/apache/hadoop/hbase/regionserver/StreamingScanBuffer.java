@@ -0,0 +1,219 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.shaded.protobuf.generated.MapReduceProtos.ScanMetrics;
+
+/**
+ * Buffers the batches of a streaming scanner, i.e. a scanner opened with a positive
+ * {@link org.apache.hadoop.hbase.client.Scan#getStreamingWindow()}.
+ * <p>
+ * After a scan RPC has been answered the region server keeps scanning the region in the
+ * background, appending up to <code>window</code> batches to this buffer. The next scan RPC of the
+ * same scanner then takes a batch from the buffer instead of scanning the region itself, so the
+ * region scan overlaps with the network round trip and the client side processing.
+ * <p>
+ * Only one producer runs at a time, and it is only ever started by the RPC handler which consumes
+ * from the buffer, after it has finished with the scanner. Since the client sends the scan RPCs
+ * of a scanner one after another (enforced by the nextCallSeq check), a batch is either taken
+ * from the buffer or scanned by the handler, never both, and the order of the batches is kept.
+ */
+@InterfaceAudience.Private
+class StreamingScanBuffer {
+
+  private static final Log LOG = LogFactory.getLog(StreamingScanBuffer.class);
+
+  /**
+   * The result of one scan of the region. The cells of the results must not reference any block
+   * of the block cache, as the batch may stay in the buffer across {@code shipped()} calls.
+   */
+  static final class Batch {
+
+    final List<Result> results;
+
+    final boolean moreResultsInRegion;
+
+    final boolean heartbeat;
+
+    final ScanMetrics scanMetrics;
+
+    final IOException error;
+
+    Batch(List<Result> results, boolean moreResultsInRegion, boolean heartbeat,
+        ScanMetrics scanMetrics) {
+      this.results = results;
+      this.moreResultsInRegion = moreResultsInRegion;
+      this.heartbeat = heartbeat;
+      this.scanMetrics = scanMetrics;
+      this.error = null;
+    }
+
+    Batch(IOException error) {
+      this.results = null;
+      this.moreResultsInRegion = false;
+      this.heartbeat = false;
+      this.scanMetrics = null;
+      this.error = error;
+    }
+  }
+
+  /**
+   * Scans the next batch of the region.
+   */
+  interface BatchProducer {
+
+    /**
+     * @return the next batch, or a batch carrying the error if the scan failed.
+     */
+    Batch produce();
+  }
+
+  private final int window;
+
+  private final Executor executor;
+
+  private final Deque<Batch> ready = new ArrayDeque<>();
+
+  private boolean running;
+
+  private boolean exhausted;
+
+  private boolean closed;
+
+  StreamingScanBuffer(int window, Executor executor) {
+    this.window = window;
+    this.executor = executor;
+  }
+
+  int getWindow() {
+    return window;
+  }
+
+  /**
+   * Take the next batch, waiting for the running producer if there is one.
+   * @return the next batch, or null if nothing is buffered and no producer is running, in which
+   *         case the caller should scan the region by itself.
+   */
+  synchronized Batch take() throws InterruptedIOException {
+    while (ready.isEmpty() && running) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+      }
+    }
+    return ready.poll();
+  }
+
+  /**
+   * Start a producer which fills the buffer up to the window, unless the buffer is already full,
+   * a producer is running or the region has no more results.
+   * @param producer the producer used to scan the following batches.
+   */
+  void fill(final BatchProducer producer) {
+    synchronized (this) {
+      if (running || !needMore()) {
+        return;
+      }
+      running = true;
+    }
+    try {
+      executor.execute(new Runnable() {
+
+        @Override
+        public void run() {
+          produce(producer);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // The pool is saturated, the next RPC just scans the region by itself.
+      if (LOG.isTraceEnabled()) {
+        LOG.trace("Streaming scan executor rejected the producer", e);
+      }
+      synchronized (this) {
+        running = false;
+        notifyAll();
+      }
+    }
+  }
+
+  private boolean needMore() {
+    return !closed && !exhausted && ready.size() < window;
+  }
+
+  private void produce(BatchProducer producer) {
+    try {
+      for (;;) {
+        synchronized (this) {
+          if (!needMore()) {
+            return;
+          }
+        }
+        Batch batch = producer.produce();
+        synchronized (this) {
+          if (closed) {
+            return;
+          }
+          ready.add(batch);
+          if (batch.error != null || !batch.moreResultsInRegion) {
+            exhausted = true;
+          }
+          notifyAll();
+        }
+      }
+    } finally {
+      synchronized (this) {
+        running = false;
+        notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Mark the region as exhausted, so no more batches are produced.
+   */
+  synchronized void markExhausted() {
+    exhausted = true;
+  }
+
+  /**
+   * Drop all the buffered batches and stop producing new ones. A running producer finishes its
+   * current batch and then discards it.
+   */
+  synchronized void close() {
+    closed = true;
+    ready.clear();
+    notifyAll();
+  }
+
+  synchronized int size() {
+    return ready.size();
+  }
+}
@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.util.Writables;
+import org.apache.hadoop.io.Writable;
+
+/**
+ * A sample of the timestamps of the cells of a store file, spread evenly over the cells in the
+ * order they are written. The StoreFile writes it out in the file metadata, and the reader uses it
+ * to estimate how many of the cells are older than a given time, e.g. expired by the TTL of the
+ * family.
+ * <p>
+ * Every cell is sampled until the sample is full, then every other timestamp of the sample is
+ * dropped and only every other cell is sampled from there on, and so on. The sample so keeps
+ * between {@value #MAX_SIZE} / 2 and {@value #MAX_SIZE} timestamps however many cells are written.
+ * Timestamps are only added at write time, from a single thread.
+ */
+@InterfaceAudience.Private
+public class TimestampSample implements Writable {
+  static final int MAX_SIZE = 64;
+
+  private long[] timestamps = new long[MAX_SIZE];
+  private int size;
+  // one cell in stride is sampled, the last one
+  private long stride = 1;
+  private long skipped;
+
+  public void add(long timestamp) {
+    if (++skipped < stride) {
+      return;
+    }
+    skipped = 0;
+    timestamps[size++] = timestamp;
+    if (size == MAX_SIZE) {
+      for (int i = 0; i < MAX_SIZE / 2; i++) {
+        timestamps[i] = timestamps[2 * i + 1];
+      }
+      size = MAX_SIZE / 2;
+      stride *= 2;
+    }
+  }
+
+  /**
+   * @return the number of timestamps in the sample
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @param timestamp the timestamp to compare to
+   * @return the share of the sampled timestamps lower than the given one, 0 when the sample is
+   *         empty. Only meaningful for a sample read back from a file.
+   */
+  public double getFractionBefore(long timestamp) {
+    if (size == 0) {
+      return 0;
+    }
+    // the timestamps are sorted once read back
+    int index = Arrays.binarySearch(timestamps, 0, size, timestamp);
+    if (index < 0) {
+      index = -index - 1;
+    } else {
+      while (index > 0 && timestamps[index - 1] == timestamp) {
+        index--;
+      }
+    }
+    return (double) index / size;
+  }
+
+  @Override
+  public void write(final DataOutput out) throws IOException {
+    long[] sorted = Arrays.copyOf(timestamps, size);
+    Arrays.sort(sorted);
+    out.writeInt(size);
+    for (long timestamp : sorted) {
+      out.writeLong(timestamp);
+    }
+  }
+
+  @Override
+  public void readFields(final DataInput in) throws IOException {
+    size = in.readInt();
+    if (size < 0 || size > MAX_SIZE) {
+      throw new IOException("Invalid timestamp sample size " + size);
+    }
+    timestamps = new long[MAX_SIZE];
+    for (int i = 0; i < size; i++) {
+      timestamps[i] = in.readLong();
+    }
+    // only added to at write time
+    stride = Long.MAX_VALUE;
+  }
+
+  @Override
+  public String toString() {
+    return "TimestampSample[size=" + size + ", stride=" + stride + "]";
+  }
+
+  /**
+   * @return An instance of TimestampSample filled w/ the content of the serialized sample in
+   *         <code>bytes</code>, or null if there is none.
+   * @throws IOException
+   */
+  public static TimestampSample getTimestampSample(final byte[] bytes) throws IOException {
+    if (bytes == null) return null;
+    TimestampSample sample = new TimestampSample();
+    Writables.copyWritable(bytes, sample);
+    return sample;
+  }
+}
@@ -19,6 +19,8 @@
 
 package org.apache.hadoop.hbase.regionserver.compactions;
 
+import java.util.concurrent.atomic.LongAdder;
+
 import org.apache.hadoop.hbase.classification.InterfaceAudience;
 
 /**
@@ -27,8 +29,9 @@ import org.apache.hadoop.hbase.classification.InterfaceAudience;
  *
  * <p>The metrics tracked allow one to calculate the percent completion of the
  * compaction based on the number of Key/Value pairs already compacted vs.
- * total amount scheduled to be compacted.
- *
+ * total amount scheduled to be compacted. The time spent in each stage of the compaction is
+ * tracked as well: reading blocks ahead of the merge when the compaction is pipelined, merging the
+ * cells of the files, and appending them to the new files.
  */
 @InterfaceAudience.Private
 public class CompactionProgress {
@@ -39,6 +42,12 @@ public class CompactionProgress {
   public long currentCompactedKVs = 0;
   /** the total size of data processed by the currently running compaction, in bytes */
   public long totalCompactedSize = 0;
+  /** the time spent merging the cells of the compacted files, in nanoseconds */
+  public long mergeTime = 0;
+  /** the time spent appending cells to the new files, throttling aside, in nanoseconds */
+  public long writeTime = 0;
+  // added to by the threads reading ahead
+  private final LongAdder readAheadTime = new LongAdder();
 
   /** Constructor
    * @param totalCompactingKVs the total Key/Value pairs to be compacted
@@ -90,6 +99,35 @@ public class CompactionProgress {
     return totalCompactedSize;
   }
 
+  /**
+   * @return the time spent merging the cells of the compacted files, in nanoseconds
+   */
+  public long getMergeTime() {
+    return mergeTime;
+  }
+
+  /**
+   * @return the time spent appending cells to the new files, throttling aside, in nanoseconds
+   */
+  public long getWriteTime() {
+    return writeTime;
+  }
+
+  /**
+   * @return the time spent reading and unpacking blocks ahead of the merge, in nanoseconds
+   */
+  public long getReadAheadTime() {
+    return readAheadTime.sum();
+  }
+
+  /**
+   * Adds to the time spent reading and unpacking blocks ahead of the merge.
+   * @param time in nanoseconds
+   */
+  public void addReadAheadTime(long time) {
+    readAheadTime.add(time);
+  }
+
   @Override
   public String toString() {
     return String.format("%d/%d (%.2f%%)", currentCompactedKVs, totalCompactingKVs,
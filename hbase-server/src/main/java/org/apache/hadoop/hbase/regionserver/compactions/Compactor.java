@@ -24,6 +24,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -57,6 +60,7 @@ import org.apache.hadoop.hbase.regionserver.throttle.ThroughputController;
 import org.apache.hadoop.hbase.security.User;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.Threads;
 import org.apache.hadoop.util.StringUtils.TraditionalBinaryPrefix;
 
 import com.google.common.io.Closeables;
@@ -88,6 +92,24 @@ public abstract class Compactor<T extends CellSink> {
   private boolean dropCacheMajor;
   private boolean dropCacheMinor;
 
+  /**
+   * Whether compactions overlap the reads and writes of files with the merge of the cells: a
+   * thread per compacted file reads and unpacks the block following the one being merged, and a
+   * thread per new file writes it behind the appends.
+   */
+  public static final String COMPACTION_PIPELINED = "hbase.regionserver.compaction.pipelined";
+  public static final boolean DEFAULT_COMPACTION_PIPELINED = false;
+
+  /**
+   * The number of bytes a new file may be written behind the appends when compactions are
+   * pipelined.
+   */
+  public static final String COMPACTION_PIPELINED_WRITE_BUFFER =
+      "hbase.regionserver.compaction.pipelined.write.buffer";
+  public static final int DEFAULT_COMPACTION_PIPELINED_WRITE_BUFFER = 4 * 1024 * 1024;
+
+  private final boolean pipelined;
+
   //TODO: depending on Store is not good but, realistically, all compactors currently do.
   Compactor(final Configuration conf, final Store store) {
     this.conf = conf;
@@ -100,6 +122,7 @@ public abstract class Compactor<T extends CellSink> {
       HConstants.MIN_KEEP_SEQID_PERIOD), HConstants.MIN_KEEP_SEQID_PERIOD);
     this.dropCacheMajor = conf.getBoolean(MAJOR_COMPACTION_DROP_CACHE, true);
     this.dropCacheMinor = conf.getBoolean(MINOR_COMPACTION_DROP_CACHE, true);
+    this.pipelined = conf.getBoolean(COMPACTION_PIPELINED, DEFAULT_COMPACTION_PIPELINED);
   }
 
 
@@ -113,6 +136,14 @@ public abstract class Compactor<T extends CellSink> {
     return this.progress;
   }
 
+  /**
+   * Reports the progress of a compaction of the store which did not run in this compactor, e.g.
+   * in a compaction worker process.
+   */
+  public void setProgress(CompactionProgress progress) {
+    this.progress = progress;
+  }
+
   /** The sole reason this class exists is that java has no ref/out/pointer parameters. */
   protected static class FileDetails {
     /** Maximum key count after compaction (for blooms) */
@@ -307,6 +338,15 @@ public abstract class Compactor<T extends CellSink> {
       readersToClose = Collections.emptyList();
       scanners = createFileScanners(request.getFiles(), smallestReadPoint, dropCache);
     }
+    ThreadPoolExecutor readAheadPool = null;
+    if (pipelined && !scanners.isEmpty()) {
+      readAheadPool = Threads.getBoundedCachedThreadPool(scanners.size(), 30L, TimeUnit.SECONDS,
+        Threads.newDaemonThreadFactory("compaction-read-ahead-" + store.getColumnFamilyName()));
+      Executor readAhead = timedReadAhead(readAheadPool, progress);
+      for (StoreFileScanner fileScanner : scanners) {
+        fileScanner.setReadAhead(readAhead);
+      }
+    }
     InternalScanner scanner = null;
     boolean finished = false;
     try {
@@ -336,6 +376,9 @@ public abstract class Compactor<T extends CellSink> {
       }
     } finally {
       Closeables.close(scanner, true);
+      if (readAheadPool != null) {
+        readAheadPool.shutdown();
+      }
       for (StoreFile f : readersToClose) {
         try {
           f.closeReader(true);
@@ -352,6 +395,28 @@ public abstract class Compactor<T extends CellSink> {
     return commitWriter(writer, fd, request);
   }
 
+  /**
+   * @return an executor running the reads ahead on the pool, adding their time to the progress
+   */
+  private static Executor timedReadAhead(final Executor pool, final CompactionProgress progress) {
+    return new Executor() {
+      @Override
+      public void execute(final Runnable command) {
+        pool.execute(new Runnable() {
+          @Override
+          public void run() {
+            long start = System.nanoTime();
+            try {
+              command.run();
+            } finally {
+              progress.addReadAheadTime(System.nanoTime() - start);
+            }
+          }
+        });
+      }
+    };
+  }
+
   protected abstract List<Path> commitWriter(T writer, FileDetails fd, CompactionRequest request)
       throws IOException;
 
@@ -430,7 +495,11 @@ public abstract class Compactor<T extends CellSink> {
     long shippedCallSizeLimit = (long) numofFilesToCompact * this.store.getFamily().getBlocksize();
     try {
       do {
+        long mergeStart = System.nanoTime();
         hasMore = scanner.next(cells, scannerContext);
+        long writeStart = System.nanoTime();
+        progress.mergeTime += writeStart - mergeStart;
+        long throttled = 0;
         if (LOG.isDebugEnabled()) {
           now = EnvironmentEdgeManager.currentTime();
         }
@@ -454,7 +523,7 @@ public abstract class Compactor<T extends CellSink> {
           if (LOG.isDebugEnabled()) {
             bytesWrittenProgressForLog += len;
           }
-          throughputController.control(compactionName, len);
+          throttled += throughputController.control(compactionName, len);
           // check periodically to see if a system stop is requested
           if (closeCheckSizeLimit > 0) {
             bytesWrittenProgressForCloseCheck += len;
@@ -490,6 +559,8 @@ public abstract class Compactor<T extends CellSink> {
           // HBASE-16931, set back sequence id to avoid affecting scan order unexpectedly
           CellUtil.setSequenceId(lastCleanCell, lastCleanCellSeqId);
         }
+        progress.writeTime += System.nanoTime() - writeStart
+            - TimeUnit.MILLISECONDS.toNanos(throttled);
         // Log the progress of long running compactions every minute if
         // logging at DEBUG level
         if (LOG.isDebugEnabled()) {
@@ -515,6 +586,12 @@ public abstract class Compactor<T extends CellSink> {
       throughputController.finish(compactionName);
     }
     progress.complete();
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Compaction " + compactionName + " spent "
+          + TimeUnit.NANOSECONDS.toMillis(progress.getReadAheadTime()) + " ms reading ahead, "
+          + TimeUnit.NANOSECONDS.toMillis(progress.getMergeTime()) + " ms merging and "
+          + TimeUnit.NANOSECONDS.toMillis(progress.getWriteTime()) + " ms writing");
+    }
     return true;
   }
 
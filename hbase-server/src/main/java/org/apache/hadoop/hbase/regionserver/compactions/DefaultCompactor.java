@@ -18,23 +18,46 @@
 package org.apache.hadoop.hbase.regionserver.compactions;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.coprocessor.RegionObserver;
 import org.apache.hadoop.hbase.regionserver.InternalScanner;
+import org.apache.hadoop.hbase.regionserver.ScanType;
 import org.apache.hadoop.hbase.regionserver.Store;
 import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.regionserver.StoreFileReader;
+import org.apache.hadoop.hbase.regionserver.StoreFileScanner;
 import org.apache.hadoop.hbase.regionserver.StoreFileWriter;
+import org.apache.hadoop.hbase.regionserver.StoreScanner;
 import org.apache.hadoop.hbase.regionserver.throttle.NoLimitThroughputController;
 import org.apache.hadoop.hbase.regionserver.throttle.ThroughputController;
 import org.apache.hadoop.hbase.security.User;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
+import org.apache.hadoop.hbase.util.Threads;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 /**
  * Compact passed set of files. Create an instance and then call
@@ -44,8 +67,29 @@ import com.google.common.collect.Lists;
 public class DefaultCompactor extends Compactor<StoreFileWriter> {
   private static final Log LOG = LogFactory.getLog(DefaultCompactor.class);
 
+  /**
+   * Maximum number of key ranges a compaction is split in. The ranges are compacted concurrently,
+   * each into its own file. 1 disables sub-compactions.
+   */
+  public static final String SUB_COMPACTIONS_MAX_KEY =
+      "hbase.hstore.compaction.sub.compactions.max";
+  public static final int DEFAULT_SUB_COMPACTIONS_MAX = 1;
+
+  /** Minimum size of the files to compact for each key range of a split compaction. */
+  public static final String SUB_COMPACTION_MIN_SIZE_KEY =
+      "hbase.hstore.compaction.sub.compaction.min.size";
+  public static final long DEFAULT_SUB_COMPACTION_MIN_SIZE = 1024L * 1024 * 1024;
+
+  private final int maxSubCompactions;
+  private final long subCompactionMinSize;
+  // whether this compacts a key range of a split compaction
+  private boolean subCompaction;
+
   public DefaultCompactor(final Configuration conf, final Store store) {
     super(conf, store);
+    this.maxSubCompactions = conf.getInt(SUB_COMPACTIONS_MAX_KEY, DEFAULT_SUB_COMPACTIONS_MAX);
+    this.subCompactionMinSize =
+        conf.getLong(SUB_COMPACTION_MIN_SIZE_KEY, DEFAULT_SUB_COMPACTION_MIN_SIZE);
   }
 
   private final CellSinkFactory<StoreFileWriter> writerFactory =
@@ -58,14 +102,215 @@ public class DefaultCompactor extends Compactor<StoreFileWriter> {
         }
       };
 
+  /**
+   * Creates the scanners of the compaction of the rows of a key range.
+   */
+  private final class RangeScannerFactory implements InternalScannerFactory {
+
+    private final byte[] startRow;
+
+    private final byte[] stopRow;
+
+    RangeScannerFactory(byte[] startRow, byte[] stopRow) {
+      this.startRow = startRow;
+      this.stopRow = stopRow;
+    }
+
+    @Override
+    public ScanType getScanType(CompactionRequest request) {
+      return defaultScannerFactory.getScanType(request);
+    }
+
+    @Override
+    public InternalScanner createScanner(List<StoreFileScanner> scanners, ScanType scanType,
+        FileDetails fd, long smallestReadPoint) throws IOException {
+      Scan scan = new Scan();
+      scan.setMaxVersions(store.getFamily().getMaxVersions());
+      return new StoreScanner(store, store.getScanInfo(), scan, scanners, scanType,
+          smallestReadPoint, fd.earliestPutTs, startRow, stopRow);
+    }
+  }
+
   /**
    * Do a minor/major compaction on an explicit set of storefiles from a Store.
+   * <p>
+   * A compaction of large files may be split in key ranges compacted concurrently, see
+   * {@link #SUB_COMPACTIONS_MAX_KEY}. It then produces a file per range, which are all committed
+   * together as the result of the compaction. The files are marked so that
+   * {@link ExploringCompactionPolicy} selects them together, as a single file.
    */
   public List<Path> compact(final CompactionRequest request,
       ThroughputController throughputController, User user) throws IOException {
+    List<byte[]> boundaries = getSubCompactionBoundaries(request);
+    if (!boundaries.isEmpty()) {
+      return compactRanges(request, boundaries, throughputController, user);
+    }
     return compact(request, defaultScannerFactory, writerFactory, throughputController, user);
   }
 
+  /**
+   * Picks the rows splitting the files of the request in key ranges of about the same size, from
+   * the root level of the data block indexes of the files.
+   * @return the boundaries between the ranges, empty if the compaction is not to be split
+   */
+  @VisibleForTesting
+  List<byte[]> getSubCompactionBoundaries(CompactionRequest request) {
+    long ranges =
+        Math.min(maxSubCompactions, request.getSize() / Math.max(1, subCompactionMinSize));
+    if (ranges < 2) {
+      return Collections.emptyList();
+    }
+    // the coprocessors expect to see a compaction through a single scanner
+    if (store.getCoprocessorHost() != null
+        && !store.getCoprocessorHost().findCoprocessors(RegionObserver.class).isEmpty()) {
+      return Collections.emptyList();
+    }
+    final CellComparator comparator = store.getComparator();
+    // the first keys of parts of the files, with the size of the part
+    List<Pair<Cell, Long>> parts = new ArrayList<>();
+    long totalSize = 0;
+    for (StoreFile file : request.getFiles()) {
+      StoreFileReader r = file.getReader();
+      if (r == null || r.getFirstKey() == null) {
+        continue;
+      }
+      // a reference file only covers a part of the keys of the file it refers to
+      List<Cell> keys = new ArrayList<>();
+      for (Cell key : r.getHFileReader().getRootIndexKeys()) {
+        if (comparator.compare(key, r.getFirstKey()) >= 0
+            && comparator.compare(key, r.getLastKey()) <= 0) {
+          keys.add(key);
+        }
+      }
+      if (keys.isEmpty()) {
+        keys.add(r.getFirstKey());
+      }
+      long size = r.length() / keys.size();
+      for (Cell key : keys) {
+        parts.add(new Pair<>(key, size));
+      }
+      totalSize += size * keys.size();
+    }
+    Collections.sort(parts, new Comparator<Pair<Cell, Long>>() {
+      @Override
+      public int compare(Pair<Cell, Long> p1, Pair<Cell, Long> p2) {
+        return comparator.compare(p1.getFirst(), p2.getFirst());
+      }
+    });
+    List<byte[]> boundaries = new ArrayList<>();
+    long sizeBefore = 0;
+    for (Pair<Cell, Long> part : parts) {
+      if (sizeBefore >= totalSize * (boundaries.size() + 1) / ranges) {
+        Cell key = part.getFirst();
+        byte[] last = boundaries.isEmpty() ? null : boundaries.get(boundaries.size() - 1);
+        if (last == null || comparator.compareRows(key, last, 0, last.length) > 0) {
+          boundaries.add(CellUtil.cloneRow(key));
+          if (boundaries.size() == ranges - 1) {
+            break;
+          }
+        }
+      }
+      sizeBefore += part.getSecond();
+    }
+    return boundaries;
+  }
+
+  /**
+   * Compacts the key ranges between the boundaries concurrently, the calling thread compacting the
+   * first one. The files of all the ranges are returned if they all succeed, none otherwise.
+   */
+  private List<Path> compactRanges(final CompactionRequest request, List<byte[]> boundaries,
+      final ThroughputController throughputController, final User user) throws IOException {
+    int ranges = boundaries.size() + 1;
+    if (LOG.isDebugEnabled()) {
+      StringBuilder sb = new StringBuilder();
+      sb.append("Splitting compaction of ").append(store).append(" in ").append(ranges)
+          .append(" key ranges at");
+      for (byte[] boundary : boundaries) {
+        sb.append(" [").append(Bytes.toStringBinary(boundary)).append("]");
+      }
+      LOG.debug(sb.toString());
+    }
+    long totalKeyCount = 0;
+    for (StoreFile file : request.getFiles()) {
+      StoreFileReader r = file.getReader();
+      if (r != null) {
+        totalKeyCount += r.getEntries();
+      }
+    }
+    // the progress of the ranges is only added up once they are all done
+    this.progress = new CompactionProgress(totalKeyCount);
+
+    List<DefaultCompactor> compactors = new ArrayList<>(ranges);
+    List<Callable<List<Path>>> tasks = new ArrayList<>(ranges);
+    for (int i = 0; i < ranges; i++) {
+      final byte[] startRow = i == 0 ? HConstants.EMPTY_START_ROW : boundaries.get(i - 1);
+      final byte[] stopRow = i == ranges - 1 ? HConstants.EMPTY_END_ROW : boundaries.get(i);
+      // each range has its own progress and throttled operation
+      final DefaultCompactor compactor = new DefaultCompactor(conf, store);
+      compactor.subCompaction = true;
+      compactors.add(compactor);
+      tasks.add(new Callable<List<Path>>() {
+        @Override
+        public List<Path> call() throws IOException {
+          return compactor.compact(request, compactor.new RangeScannerFactory(startRow, stopRow),
+            compactor.writerFactory, throughputController, user);
+        }
+      });
+    }
+
+    ThreadPoolExecutor pool = Threads.getBoundedCachedThreadPool(ranges - 1, 30L,
+      TimeUnit.SECONDS, Threads.newDaemonThreadFactory("SubCompaction-"
+          + store.getRegionInfo().getEncodedName() + "-" + store.getColumnFamilyName()));
+    List<Future<List<Path>>> futures = new ArrayList<>(ranges - 1);
+    List<Path> newFiles = new ArrayList<>();
+    IOException error = null;
+    try {
+      for (int i = 1; i < ranges; i++) {
+        futures.add(pool.submit(tasks.get(i)));
+      }
+      try {
+        newFiles.addAll(tasks.get(0).call());
+      } catch (Exception e) {
+        error = e instanceof IOException ? (IOException) e : new IOException(e);
+      }
+      // wait for all the ranges even on errors, so that no file is left behind
+      for (Future<List<Path>> future : futures) {
+        try {
+          newFiles.addAll(Uninterruptibles.getUninterruptibly(future));
+        } catch (ExecutionException e) {
+          if (error == null) {
+            error = e.getCause() instanceof IOException ? (IOException) e.getCause()
+                : new IOException(e.getCause());
+          }
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+
+    if (error != null) {
+      for (Path leftoverFile : newFiles) {
+        try {
+          store.getFileSystem().delete(leftoverFile, false);
+        } catch (IOException e) {
+          LOG.warn("Failed to delete the leftover file " + leftoverFile
+              + " after an unfinished compaction.", e);
+        }
+      }
+      throw error;
+    }
+    for (DefaultCompactor compactor : compactors) {
+      progress.currentCompactedKVs += compactor.progress.currentCompactedKVs;
+      progress.totalCompactedSize += compactor.progress.totalCompactedSize;
+      progress.mergeTime += compactor.progress.mergeTime;
+      progress.writeTime += compactor.progress.writeTime;
+      progress.addReadAheadTime(compactor.progress.getReadAheadTime());
+    }
+    progress.complete();
+    return newFiles;
+  }
+
   /**
    * Compact a list of files for testing. Creates a fake {@link CompactionRequest} to pass to
    * {@link #compact(CompactionRequest, ThroughputController, User)};
@@ -88,6 +333,10 @@ public class DefaultCompactor extends Compactor<StoreFileWriter> {
       CompactionRequest request) throws IOException {
     List<Path> newFiles = Lists.newArrayList(writer.getPath());
     writer.appendMetadata(fd.maxSeqId, request.isAllFiles());
+    if (subCompaction) {
+      // the compaction policy selects the files of the ranges together
+      writer.appendFileInfo(StoreFile.SUB_COMPACTION_KEY, Bytes.toBytes(true));
+    }
     writer.close();
     return newFiles;
   }
@@ -35,6 +35,11 @@ import org.apache.hadoop.hbase.regionserver.StoreFile;
  *
  * This class will search all possibilities for different and if it gets stuck it will choose
  * the smallest set of files to compact.
+ * <p>
+ * The files written by a compaction split in key ranges, see
+ * {@link DefaultCompactor#SUB_COMPACTIONS_MAX_KEY}, are considered as a single file: they are
+ * selected all or none, count as one file towards the minimum number of files to compact, and
+ * their sizes are added up for the ratio.
  */
 @InterfaceAudience.Private
 public class ExploringCompactionPolicy extends RatioBasedCompactionPolicy {
@@ -72,13 +77,19 @@ public class ExploringCompactionPolicy extends RatioBasedCompactionPolicy {
     int opts = 0, optsInRatio = 0, bestStart = -1; // for debug logging
     // Consider every starting place.
     for (int start = 0; start < candidates.size(); start++) {
+      if (isSameSubCompaction(candidates, start - 1)) {
+        continue;
+      }
       // Consider every different sub list permutation in between start and end with min files.
       for (int currentEnd = start + minFiles - 1;
           currentEnd < candidates.size(); currentEnd++) {
+        if (isSameSubCompaction(candidates, currentEnd)) {
+          continue;
+        }
         List<StoreFile> potentialMatchFiles = candidates.subList(start, currentEnd + 1);
 
         // Sanity checks
-        if (potentialMatchFiles.size() < minFiles) {
+        if (countUnits(potentialMatchFiles) < minFiles) {
           continue;
         }
         if (potentialMatchFiles.size() > maxFiles) {
@@ -125,7 +136,11 @@ public class ExploringCompactionPolicy extends RatioBasedCompactionPolicy {
     return new ArrayList<>(bestSelection);
   }
 
-  private boolean isBetterSelection(List<StoreFile> bestSelection,
+  /**
+   * @return whether the selection should replace the best selection found so far, which is empty
+   *         before the first one
+   */
+  protected boolean isBetterSelection(List<StoreFile> bestSelection,
       long bestSize, List<StoreFile> selection, long size, boolean mightBeStuck) {
     if (mightBeStuck && bestSize > 0 && size > 0) {
       // Keep the selection that removes most files for least size. That penaltizes adding
@@ -158,6 +173,7 @@ public class ExploringCompactionPolicy extends RatioBasedCompactionPolicy {
   /**
    * Check that all files satisfy the constraint
    *      FileSize(i) <= ( Sum(0,N,FileSize(_)) - FileSize(i) ) * Ratio.
+   * The files written by the same compaction are checked as a single file.
    *
    * @param files List of store files to consider as a compaction candidate.
    * @param currentRatio The ratio to use.
@@ -170,13 +186,18 @@ public class ExploringCompactionPolicy extends RatioBasedCompactionPolicy {
 
     long totalFileSize = getTotalStoreSize(files);
 
-    for (StoreFile file : files) {
-      long singleFileSize = file.getReader().length();
+    long singleFileSize = 0;
+    for (int i = 0; i < files.size(); i++) {
+      singleFileSize += files.get(i).getReader().length();
+      if (isSameSubCompaction(files, i)) {
+        continue;
+      }
       long sumAllOtherFileSizes = totalFileSize - singleFileSize;
 
       if (singleFileSize > sumAllOtherFileSizes * currentRatio) {
         return false;
       }
+      singleFileSize = 0;
     }
     return true;
   }
@@ -27,10 +27,12 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HDFSBlocksDistribution;
 import org.apache.hadoop.hbase.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.regionserver.RSRpcServices;
 import org.apache.hadoop.hbase.regionserver.StoreConfigInformation;
 import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.regionserver.StoreFileReader;
 import org.apache.hadoop.hbase.regionserver.StoreUtils;
 import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
 
@@ -38,14 +40,105 @@ import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
  * The default algorithm for selecting files for compaction.
  * Combines the compaction configuration and the provisional file selection that
  * it's given to produce the list of suitable candidates for compaction.
+ * <p>
+ * When no files are selected otherwise, the files made of dead cells for a share of at least
+ * {@value #DEAD_CELLS_RATIO_KEY} are compacted, see {@link #selectDeadFiles(Collection, List)}.
+ * <p>
+ * The files written by a compaction split in key ranges, see
+ * {@link DefaultCompactor#SUB_COMPACTIONS_MAX_KEY}, are considered as a single file.
  */
 @InterfaceAudience.Private
 public class RatioBasedCompactionPolicy extends SortedCompactionPolicy {
   private static final Log LOG = LogFactory.getLog(RatioBasedCompactionPolicy.class);
 
+  /**
+   * The share of the cells of a store file, expired by the TTL of the family or delete markers,
+   * making it worth compacting. 0 disables the compaction of the files with dead cells.
+   */
+  public static final String DEAD_CELLS_RATIO_KEY = "hbase.hstore.compaction.dead.cells.ratio";
+  public static final float DEFAULT_DEAD_CELLS_RATIO = 0f;
+
+  private final float deadCellsRatio;
+
   public RatioBasedCompactionPolicy(Configuration conf,
                                     StoreConfigInformation storeConfigInfo) {
     super(conf, storeConfigInfo);
+    this.deadCellsRatio = conf.getFloat(DEAD_CELLS_RATIO_KEY, DEFAULT_DEAD_CELLS_RATIO);
+  }
+
+  @Override
+  public CompactionRequest selectCompaction(Collection<StoreFile> candidateFiles,
+      List<StoreFile> filesCompacting, boolean isUserCompaction, boolean mayUseOffPeak,
+      boolean forceMajor) throws IOException {
+    CompactionRequest request = super.selectCompaction(candidateFiles, filesCompacting,
+      isUserCompaction, mayUseOffPeak, forceMajor);
+    if (!request.getFiles().isEmpty() || deadCellsRatio <= 0) {
+      return request;
+    }
+    ArrayList<StoreFile> deadFiles = selectDeadFiles(candidateFiles, filesCompacting);
+    if (deadFiles.isEmpty()) {
+      return request;
+    }
+    LOG.info("Selected " + deadFiles.size() + " files from " + candidateFiles.size()
+        + " candidates for their dead cells");
+    CompactionRequest result = new CompactionRequest(deadFiles);
+    result.setIsMajor(false, deadFiles.size() == candidateFiles.size());
+    return result;
+  }
+
+  /**
+   * Selects the files with a share of dead cells of at least {@value #DEAD_CELLS_RATIO_KEY}, as
+   * estimated from the delete markers and the sample of the timestamps in their metadata.
+   * <p>
+   * The cells expired by the TTL of the family are dropped by any compaction, so the files from
+   * the oldest to the newest one with enough of them are selected. The delete markers are only
+   * dropped, along with the cells they mask, by a compaction of all the files of the store, as a
+   * file left out could hold a put older than a delete of the selection. So they only count when
+   * all the files of the store can be selected, and then all are. The files written by such a
+   * compaction keep the delete markers they still have on purpose, so theirs never count.
+   * @param candidateFiles the files of the store, ordered from oldest to newest by seqId
+   * @param filesCompacting the files being compacted
+   * @return the files to compact, empty if none has enough dead cells
+   */
+  protected ArrayList<StoreFile> selectDeadFiles(Collection<StoreFile> candidateFiles,
+      List<StoreFile> filesCompacting) {
+    ArrayList<StoreFile> eligible =
+        filterBulk(getCurrentEligibleFiles(new ArrayList<>(candidateFiles), filesCompacting));
+    boolean mayBeAllFiles = eligible.size() == candidateFiles.size()
+        && eligible.size() <= comConf.getMaxFilesToCompact();
+    long ttl = storeConfigInfo.getStoreFileTtl();
+    long oldestUnexpiredTs =
+        ttl == Long.MAX_VALUE ? Long.MIN_VALUE : EnvironmentEdgeManager.currentTime() - ttl;
+    int first = -1;
+    int last = -1;
+    boolean needsAllFiles = false;
+    for (int i = 0; i < eligible.size(); i++) {
+      StoreFile file = eligible.get(i);
+      StoreFileReader reader = file.getReader();
+      if (reader == null || reader.getEntries() <= 0) {
+        continue;
+      }
+      double deadCells = deadCellsRatio * reader.getEntries();
+      long expired = reader.getEstimatedEntriesBefore(oldestUnexpiredTs);
+      long deletes = mayBeAllFiles && !file.isMajorCompaction()
+          ? Math.max(0, reader.getDeleteCount()) : 0;
+      if (expired >= deadCells) {
+        if (first < 0) {
+          first = i;
+        }
+        last = i;
+      } else if (expired + deletes >= deadCells) {
+        needsAllFiles = true;
+      }
+    }
+    if (needsAllFiles) {
+      return eligible;
+    }
+    if (first < 0) {
+      return new ArrayList<>(0);
+    }
+    last = Math.min(last, first + comConf.getMaxFilesToCompact() - 1);
+    return new ArrayList<>(eligible.subList(first, last + 1));
   }
 
   /*
@@ -66,14 +159,18 @@ public class RatioBasedCompactionPolicy extends SortedCompactionPolicy {
     if (lowTimestamp > 0L && lowTimestamp < (now - mcTime)) {
       // Major compaction time has elapsed.
       long cfTTL = this.storeConfigInfo.getStoreFileTtl();
-      if (filesToCompact.size() == 1) {
-        // Single file
-        StoreFile sf = filesToCompact.iterator().next();
-        Long minTimestamp = sf.getMinimumTimestamp();
+      List<StoreFile> files = new ArrayList<>(filesToCompact);
+      if (countUnits(files) == 1) {
+        // Single file, or the files written by a single compaction split in key ranges
+        StoreFile sf = files.get(0);
+        Long minTimestamp = getMinimumTimestamp(files);
         long oldest = (minTimestamp == null) ? Long.MIN_VALUE : now - minTimestamp.longValue();
         if (sf.isMajorCompaction() && (cfTTL == Long.MAX_VALUE || oldest < cfTTL)) {
-          float blockLocalityIndex =
-            sf.getHDFSBlockDistribution().getBlockLocalityIndex(
+          HDFSBlocksDistribution distribution = new HDFSBlocksDistribution();
+          for (StoreFile file : files) {
+            distribution.add(file.getHDFSBlockDistribution());
+          }
+          float blockLocalityIndex = distribution.getBlockLocalityIndex(
             RSRpcServices.getHostname(comConf.conf, false));
           if (blockLocalityIndex < comConf.getMinLocalityToForceCompact()) {
             LOG.debug("Major compaction triggered on only store " + this
@@ -95,12 +192,27 @@ public class RatioBasedCompactionPolicy extends SortedCompactionPolicy {
       } else {
         LOG.debug("Major compaction triggered on store " + this
           + "; time since last major compaction " + (now - lowTimestamp) + "ms");
+        result = true;
       }
-      result = true;
     }
     return result;
   }
 
+  /**
+   * @return the minimum timestamp of the files, null if one of them does not know it
+   */
+  private static Long getMinimumTimestamp(List<StoreFile> files) {
+    Long min = null;
+    for (StoreFile file : files) {
+      Long minTimestamp = file.getMinimumTimestamp();
+      if (minTimestamp == null) {
+        return null;
+      }
+      min = min == null ? minTimestamp : Math.min(min, minTimestamp);
+    }
+    return min;
+  }
+
   @Override
   protected CompactionRequest createCompactionRequest(ArrayList<StoreFile>
     candidateSelection, boolean tryingMajor, boolean mayUseOffPeak, boolean mayBeStuck)
@@ -173,10 +285,20 @@ public class RatioBasedCompactionPolicy extends SortedCompactionPolicy {
     }
 
 
-    while (countOfFiles - start >= comConf.getMinFilesToCompact() &&
-      fileSizes[start] > Math.max(comConf.getMinCompactSize(),
-          (long) (sumSize[start + 1] * ratio))) {
-      ++start;
+    // the files written by the same compaction are skipped or selected together
+    int units = countUnits(candidates);
+    while (units >= comConf.getMinFilesToCompact()) {
+      int end = start;
+      long size = fileSizes[start];
+      while (isSameSubCompaction(candidates, end)) {
+        size += fileSizes[++end];
+      }
+      long sumOthers = end + 1 < countOfFiles ? sumSize[end + 1] : 0;
+      if (size <= Math.max(comConf.getMinCompactSize(), (long) (sumOthers * ratio))) {
+        break;
+      }
+      start = end + 1;
+      units--;
     }
     if (start < countOfFiles) {
       LOG.info("Default compaction algorithm has selected " + (countOfFiles - start)
@@ -186,6 +308,9 @@ public class RatioBasedCompactionPolicy extends SortedCompactionPolicy {
       int filesToLeave = candidates.size() - comConf.getMinFilesToCompact();
       if (filesToLeave >= 0) {
         start = filesToLeave;
+        while (isSameSubCompaction(candidates, start - 1)) {
+          start--;
+        }
       }
     }
     candidates.subList(0, start).clear();
@@ -201,7 +326,8 @@ public class RatioBasedCompactionPolicy extends SortedCompactionPolicy {
   public boolean needsCompaction(final Collection<StoreFile> storeFiles,
       final List<StoreFile> filesCompacting) {
     int numCandidates = storeFiles.size() - filesCompacting.size();
-    return numCandidates >= comConf.getMinFilesToCompact();
+    return numCandidates >= comConf.getMinFilesToCompact()
+        || deadCellsRatio > 0 && !selectDeadFiles(storeFiles, filesCompacting).isEmpty();
   }
 
   /**
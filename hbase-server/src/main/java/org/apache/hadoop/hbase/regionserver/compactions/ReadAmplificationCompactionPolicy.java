@@ -0,0 +1,157 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver.compactions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.regionserver.StoreConfigInformation;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * An {@link ExploringCompactionPolicy} spending the compaction I/O where it saves the most reads.
+ * <p>
+ * A read of the store has to seek the store files it cannot rule out by their time range, key
+ * range or Bloom filter. The policy samples how often the store is read, and how many of its files
+ * a read seeks on average, giving the chance p of a read to seek any one file. Compacting k files
+ * into one then saves k * p - (1 - (1 - p)^k) seeks per read, and a selection is scored by the
+ * seeks it saves per second for each MB it rewrites. Among the selections in ratio, the best
+ * scored one is picked.
+ * <p>
+ * Minor compactions scoring less than {@value #MIN_SCORE_KEY} are deferred, so that the stores
+ * rarely read are compacted later, in larger selections, unless the compaction is requested by a
+ * user, the store has enough files for a compaction of the maximum size, or it may be stuck.
+ * Until the reads are sampled for a whole {@value #SAMPLE_INTERVAL_KEY}, files are selected as in
+ * {@link ExploringCompactionPolicy}.
+ */
+@InterfaceAudience.Private
+public class ReadAmplificationCompactionPolicy extends ExploringCompactionPolicy {
+  private static final Log LOG = LogFactory.getLog(ReadAmplificationCompactionPolicy.class);
+
+  /** The seeks a minor compaction must save per second for each MB it rewrites to run now */
+  public static final String MIN_SCORE_KEY = "hbase.hstore.compaction.readamplification.min.score";
+  public static final float DEFAULT_MIN_SCORE = 0.01f;
+
+  /** The number of milliseconds the read rate of the store is sampled over */
+  public static final String SAMPLE_INTERVAL_KEY =
+      "hbase.hstore.compaction.readamplification.sample.interval";
+  public static final long DEFAULT_SAMPLE_INTERVAL = 60000;
+
+  private static final double MB = 1024 * 1024;
+
+  private final double minScore;
+  private final long sampleInterval;
+
+  private long sampleTime;
+  private long sampleReads;
+  private long sampleSeeks;
+  // reads per second and store files seeked per read over the last sample, NaN before the first
+  private double readRate = Double.NaN;
+  private double filesPerRead;
+  // the number of files of the store for the selection being made
+  private int storeFiles;
+
+  public ReadAmplificationCompactionPolicy(Configuration conf,
+      StoreConfigInformation storeConfigInfo) {
+    super(conf, storeConfigInfo);
+    this.minScore = conf.getFloat(MIN_SCORE_KEY, DEFAULT_MIN_SCORE);
+    this.sampleInterval = conf.getLong(SAMPLE_INTERVAL_KEY, DEFAULT_SAMPLE_INTERVAL);
+    this.sampleTime = EnvironmentEdgeManager.currentTime();
+    this.sampleReads = storeConfigInfo.getReadRequestsCount();
+    this.sampleSeeks = storeConfigInfo.getStoreFileSeeksCount();
+  }
+
+  @Override
+  public CompactionRequest selectCompaction(Collection<StoreFile> candidateFiles,
+      List<StoreFile> filesCompacting, boolean isUserCompaction, boolean mayUseOffPeak,
+      boolean forceMajor) throws IOException {
+    sampleReads();
+    storeFiles = candidateFiles.size();
+    CompactionRequest request = super.selectCompaction(candidateFiles, filesCompacting,
+      isUserCompaction, mayUseOffPeak, forceMajor);
+    if (isUserCompaction || request.isMajor() || request.getFiles().isEmpty()
+        || Double.isNaN(readRate)) {
+      return request;
+    }
+    // as in SortedCompactionPolicy
+    int futureFiles = filesCompacting.isEmpty() ? 0 : 1;
+    int eligibleFiles = candidateFiles.size() - filesCompacting.size();
+    if (eligibleFiles >= comConf.getMaxFilesToCompact()
+        || eligibleFiles + futureFiles >= storeConfigInfo.getBlockingFileCount()) {
+      return request;
+    }
+    double score = getScore(request.getFiles().size(), request.getSize());
+    if (score >= minScore) {
+      return request;
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Deferring the compaction of " + request.getFiles().size() + " files of size "
+          + request.getSize() + " saving " + score + " seeks per second and MB, at "
+          + readRate + " reads per second seeking " + filesPerRead + " files");
+    }
+    return new CompactionRequest(new ArrayList<StoreFile>(0));
+  }
+
+  private void sampleReads() {
+    long now = EnvironmentEdgeManager.currentTime();
+    if (now - sampleTime < sampleInterval) {
+      return;
+    }
+    long reads = storeConfigInfo.getReadRequestsCount();
+    long seeks = storeConfigInfo.getStoreFileSeeksCount();
+    readRate = (reads - sampleReads) * 1000.0 / (now - sampleTime);
+    filesPerRead = reads > sampleReads ? (double) (seeks - sampleSeeks) / (reads - sampleReads)
+        : 0;
+    sampleTime = now;
+    sampleReads = reads;
+    sampleSeeks = seeks;
+  }
+
+  @Override
+  protected boolean isBetterSelection(List<StoreFile> bestSelection, long bestSize,
+      List<StoreFile> selection, long size, boolean mightBeStuck) {
+    if (mightBeStuck || Double.isNaN(readRate) || readRate == 0 || filesPerRead == 0) {
+      return super.isBetterSelection(bestSelection, bestSize, selection, size, mightBeStuck);
+    }
+    return bestSelection.isEmpty()
+        || getScore(selection.size(), size) > getScore(bestSelection.size(), bestSize);
+  }
+
+  /**
+   * @return the seeks saved per second for each MB rewritten by compacting the given number of
+   *         files of the given size
+   */
+  @VisibleForTesting
+  double getScore(int files, long size) {
+    if (Double.isNaN(readRate) || storeFiles == 0) {
+      return 0;
+    }
+    double p = Math.min(1, filesPerRead / storeFiles);
+    double seeksSaved = files * p - (1 - Math.pow(1 - p, files));
+    return readRate * seeksSaved / Math.max(size / MB, 1 / MB);
+  }
+}
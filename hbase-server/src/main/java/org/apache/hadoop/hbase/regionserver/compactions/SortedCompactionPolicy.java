@@ -30,7 +30,8 @@ import org.apache.hadoop.hbase.regionserver.StoreFile;
 import org.apache.hadoop.hbase.regionserver.StoreUtils;
 
 /**
- * An abstract compaction policy that select files on seq id order.
+ * An abstract compaction policy that select files on seq id order. The files written by a
+ * compaction split in key ranges are selected together, and count as one file.
  */
 @InterfaceAudience.Private
 public abstract class SortedCompactionPolicy extends CompactionPolicy {
@@ -214,9 +215,20 @@ public abstract class SortedCompactionPolicy extends CompactionPolicy {
         LOG.debug("Warning, compacting more than " + comConf.getMaxFilesToCompact()
             + " files because of a user-requested major compaction");
       } else {
-        LOG.debug("Too many admissible files. Excluding " + excess
+        // the files written by the same compaction are kept or excluded together
+        int keep = comConf.getMaxFilesToCompact();
+        while (keep > 0 && isSameSubCompaction(candidates, keep - 1)) {
+          keep--;
+        }
+        if (keep == 0) {
+          keep = comConf.getMaxFilesToCompact();
+          while (isSameSubCompaction(candidates, keep - 1)) {
+            keep++;
+          }
+        }
+        LOG.debug("Too many admissible files. Excluding " + (candidates.size() - keep)
             + " files from compaction candidates");
-        candidates.subList(comConf.getMaxFilesToCompact(), candidates.size()).clear();
+        candidates.subList(keep, candidates.size()).clear();
       }
     }
   }
@@ -227,7 +239,7 @@ public abstract class SortedCompactionPolicy extends CompactionPolicy {
    */
   protected ArrayList<StoreFile> checkMinFilesCriteria(ArrayList<StoreFile> candidates,
     int minFiles) {
-    if (candidates.size() < minFiles) {
+    if (countUnits(candidates) < minFiles) {
       if (LOG.isDebugEnabled()) {
         LOG.debug("Not compacting files because we only have " + candidates.size()
             + " files ready for compaction. Need " + minFiles + " to initiate.");
@@ -236,4 +248,26 @@ public abstract class SortedCompactionPolicy extends CompactionPolicy {
     }
     return candidates;
   }
+
+  /**
+   * @return whether the file at the index and the next one were written by the same compaction,
+   *         split in key ranges
+   */
+  protected static boolean isSameSubCompaction(List<StoreFile> files, int index) {
+    return index >= 0 && index + 1 < files.size()
+        && files.get(index).isSameSubCompaction(files.get(index + 1));
+  }
+
+  /**
+   * @return the number of files, the files written by the same compaction counting as one
+   */
+  protected static int countUnits(List<StoreFile> files) {
+    int units = 0;
+    for (int i = 0; i < files.size(); i++) {
+      if (!isSameSubCompaction(files, i)) {
+        units++;
+      }
+    }
+    return units;
+  }
 }
@@ -22,6 +22,7 @@ import java.io.IOException;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.KeepDeletedCells;
+import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.regionserver.RegionCoprocessorHost;
@@ -42,6 +43,12 @@ public abstract class NormalUserScanQueryMatcher extends UserScanQueryMatcher {
   /** whether time range queries can see rows "behind" a delete */
   private final boolean seePastDeleteMarkers;
 
+  /**
+   * The family delete marker of the current row, when all the older cells of the row are known to
+   * be deleted. Not set for delete trackers provided by coprocessors, which may not delete them.
+   */
+  private Cell rowDeleteMarker;
+
   protected NormalUserScanQueryMatcher(Scan scan, ScanInfo scanInfo, ColumnTracker columns,
       boolean hasNullColumn, DeleteTracker deletes, long oldestUnexpiredTS, long now) {
     super(scan, scanInfo, columns, hasNullColumn, oldestUnexpiredTS, now);
@@ -54,6 +61,7 @@ public abstract class NormalUserScanQueryMatcher extends UserScanQueryMatcher {
   public void beforeShipped() throws IOException {
     super.beforeShipped();
     deletes.beforeShipped();
+    rowDeleteMarker = null;
   }
 
   @Override
@@ -72,6 +80,10 @@ public abstract class NormalUserScanQueryMatcher extends UserScanQueryMatcher {
           : tr.withinOrAfterTimeRange(timestamp);
       if (includeDeleteMarker) {
         this.deletes.add(cell);
+        if (!seePastDeleteMarkers && typeByte == KeyValue.Type.DeleteFamily.getCode()
+            && deletes.getClass() == ScanDeleteTracker.class) {
+          rowDeleteMarker = cell;
+        }
       }
       return MatchCode.SKIP;
     }
@@ -82,9 +94,15 @@ public abstract class NormalUserScanQueryMatcher extends UserScanQueryMatcher {
     return matchColumn(cell, timestamp, typeByte);
   }
 
+  @Override
+  public boolean isRowDeleteMarker(Cell cell) {
+    return cell == rowDeleteMarker;
+  }
+
   @Override
   protected void reset() {
     deletes.reset();
+    rowDeleteMarker = null;
   }
 
   @Override
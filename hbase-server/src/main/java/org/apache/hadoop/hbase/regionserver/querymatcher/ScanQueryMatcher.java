@@ -280,6 +280,15 @@ public abstract class ScanQueryMatcher implements ShipperListener {
 
   public abstract boolean isUserScan();
 
+  /**
+   * Tells whether the cell just matched is a delete marker masking all the cells of its row up to
+   * its timestamp. The scanners holding no newer cell can then go to the next row directly.
+   * @param cell the cell given to the last call to {@link #match(Cell)}
+   */
+  public boolean isRowDeleteMarker(Cell cell) {
+    return false;
+  }
+
   /**
    * @return Returns false if we know there are no more rows to be scanned (We've reached the
    *         <code>stopRow</code> or we are scanning on row only because this Scan is for a Get,
@@ -0,0 +1,319 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver.throttle;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.ScheduledChore;
+import org.apache.hadoop.hbase.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.conf.ConfigurationObserver;
+import org.apache.hadoop.hbase.metrics.Gauge;
+import org.apache.hadoop.hbase.metrics.MetricRegistry;
+import org.apache.hadoop.hbase.regionserver.RegionServerServices;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * A disk I/O budget shared by the background I/O of a region server: flushes, compactions,
+ * prefetches and replays of recovered edits.
+ * <p>
+ * The budget of {@value #BUDGET_KEY} bytes per second is split between the classes of I/O asking
+ * for it in the last second, by their weights, {@value #WEIGHT_KEY_PREFIX}&lt;class&gt;. Each class
+ * has a token bucket filled with its share and holding up to a second of it, and a consumer
+ * sleeps until its bucket pays for the bytes it moved. The classes not using their share leave it
+ * to the others, so a single class gets the whole budget.
+ * <p>
+ * When {@value #READ_LATENCY_TARGET_KEY} is set, the budget is halved every
+ * {@value #TUNE_PERIOD_KEY} the average latency of the gets served exceeds it, down to a tenth,
+ * and raised back by a tenth every period it does not. The bytes and the time slept by class are
+ * published in the metrics of the region server.
+ */
+@InterfaceAudience.Private
+public class IOScheduler implements ConfigurationObserver {
+  private static final Log LOG = LogFactory.getLog(IOScheduler.class);
+
+  /** The classes of I/O sharing the budget, with their default weight */
+  public enum IOClass {
+    RECOVERED_EDITS(8), FLUSH(4), COMPACTION(2), PREFETCH(1);
+
+    private final int defaultWeight;
+
+    IOClass(int defaultWeight) {
+      this.defaultWeight = defaultWeight;
+    }
+  }
+
+  /** The number of bytes per second shared by the background I/O, 0 for no limit */
+  public static final String BUDGET_KEY = "hbase.regionserver.io.budget";
+  public static final long DEFAULT_BUDGET = 0;
+
+  /** The prefix of the weight of a class of I/O, followed by its lower case name */
+  public static final String WEIGHT_KEY_PREFIX = "hbase.regionserver.io.budget.weight.";
+
+  /** The average latency of gets, in milliseconds, to lower the budget above, 0 to disable */
+  public static final String READ_LATENCY_TARGET_KEY =
+      "hbase.regionserver.io.budget.read.latency.target";
+  public static final long DEFAULT_READ_LATENCY_TARGET = 0;
+
+  /** The period in milliseconds to tune the budget by the read latency at */
+  public static final String TUNE_PERIOD_KEY = "hbase.regionserver.io.budget.tune.period";
+  public static final int DEFAULT_TUNE_PERIOD = 10000;
+
+  private static final double MIN_BUDGET_FACTOR = 0.1;
+  // a class is active for a second after it last asked for I/O
+  private static final long ACTIVE_TIME = 1000;
+
+  private static final class Bucket {
+    double tokens;
+    long lastDemand = Long.MIN_VALUE;
+    final LongAdder bytes = new LongAdder();
+    final LongAdder sleepTime = new LongAdder();
+  }
+
+  private final Bucket[] buckets = new Bucket[IOClass.values().length];
+  private final int[] weights = new int[IOClass.values().length];
+  private volatile long budget;
+  private long readLatencyTarget;
+  private int tunePeriod;
+  private double budgetFactor = 1;
+  private long lastRefill;
+
+  private final LongAdder readLatencySum = new LongAdder();
+  private final LongAdder readCount = new LongAdder();
+
+  public IOScheduler(Configuration conf) {
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new Bucket();
+    }
+    lastRefill = EnvironmentEdgeManager.currentTime();
+    onConfigurationChange(conf);
+  }
+
+  @Override
+  public synchronized void onConfigurationChange(Configuration conf) {
+    budget = conf.getLong(BUDGET_KEY, DEFAULT_BUDGET);
+    for (IOClass ioClass : IOClass.values()) {
+      weights[ioClass.ordinal()] = Math.max(1, conf.getInt(
+        WEIGHT_KEY_PREFIX + ioClass.name().toLowerCase(Locale.ROOT), ioClass.defaultWeight));
+    }
+    readLatencyTarget = conf.getLong(READ_LATENCY_TARGET_KEY, DEFAULT_READ_LATENCY_TARGET);
+    tunePeriod = conf.getInt(TUNE_PERIOD_KEY, DEFAULT_TUNE_PERIOD);
+    if (readLatencyTarget <= 0) {
+      budgetFactor = 1;
+    }
+    LOG.info("I/O budget " + (budget > 0 ? budget + " bytes/sec" : "unlimited")
+        + ", read latency target " + readLatencyTarget + " ms");
+  }
+
+  /**
+   * Schedules the chore tuning the budget by the read latency of the given server.
+   */
+  public void setup(RegionServerServices server) {
+    server.getChoreService().scheduleChore(
+      new ScheduledChore("IOBudgetTuner", server, tunePeriod) {
+        @Override
+        protected void chore() {
+          tune();
+        }
+      });
+  }
+
+  /**
+   * Publishes the bytes and the time slept by class of I/O in the given registry.
+   */
+  public void registerMetrics(MetricRegistry registry) {
+    for (IOClass ioClass : IOClass.values()) {
+      final Bucket bucket = buckets[ioClass.ordinal()];
+      String name = "ioBudget" + toCamelCase(ioClass);
+      registry.register(name + "Bytes", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return bucket.bytes.sum();
+        }
+      });
+      registry.register(name + "SleepTime", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return bucket.sleepTime.sum();
+        }
+      });
+    }
+  }
+
+  private static String toCamelCase(IOClass ioClass) {
+    StringBuilder sb = new StringBuilder();
+    for (String word : ioClass.name().toLowerCase(Locale.ROOT).split("_")) {
+      sb.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Takes the given bytes from the budget of the class, sleeping until they are paid for.
+   * @return the time slept, in milliseconds
+   */
+  public long acquire(IOClass ioClass, long bytes) throws InterruptedException {
+    Bucket bucket = buckets[ioClass.ordinal()];
+    bucket.bytes.add(bytes);
+    if (budget <= 0 || bytes <= 0) {
+      return 0;
+    }
+    long sleepTime = reserve(ioClass, bytes, EnvironmentEdgeManager.currentTime());
+    if (sleepTime > 0) {
+      Thread.sleep(sleepTime);
+      bucket.sleepTime.add(sleepTime);
+    }
+    return sleepTime;
+  }
+
+  /**
+   * Takes the given bytes from the budget of the class without waiting, for the I/O which cannot
+   * be delayed. The other classes still slow down to make up for it.
+   */
+  public void charge(IOClass ioClass, long bytes) {
+    buckets[ioClass.ordinal()].bytes.add(bytes);
+    if (budget > 0 && bytes > 0) {
+      reserve(ioClass, bytes, EnvironmentEdgeManager.currentTime());
+    }
+  }
+
+  /**
+   * Takes the given bytes from the bucket of the class.
+   * @return the time to wait for the bucket to pay for them, in milliseconds
+   */
+  @VisibleForTesting
+  synchronized long reserve(IOClass ioClass, long bytes, long now) {
+    Bucket bucket = buckets[ioClass.ordinal()];
+    bucket.lastDemand = now;
+    refill(now);
+    bucket.tokens -= bytes;
+    if (bucket.tokens >= 0) {
+      return 0;
+    }
+    return (long) Math.ceil(-bucket.tokens / getRate(ioClass, now) * 1000);
+  }
+
+  private boolean isActive(Bucket bucket, long now) {
+    return bucket.tokens < 0 || bucket.lastDemand > now - ACTIVE_TIME;
+  }
+
+  private void refill(long now) {
+    long elapsed = now - lastRefill;
+    if (elapsed <= 0) {
+      return;
+    }
+    lastRefill = now;
+    for (IOClass ioClass : IOClass.values()) {
+      Bucket bucket = buckets[ioClass.ordinal()];
+      if (isActive(bucket, now)) {
+        double rate = getRate(ioClass, now);
+        bucket.tokens = Math.min(rate, bucket.tokens + rate * elapsed / 1000);
+      } else {
+        bucket.tokens = 0;
+      }
+    }
+  }
+
+  /**
+   * @return the share of the budget of the class, in bytes per second
+   */
+  @VisibleForTesting
+  synchronized double getRate(IOClass ioClass, long now) {
+    int activeWeights = 0;
+    for (IOClass c : IOClass.values()) {
+      if (c == ioClass || isActive(buckets[c.ordinal()], now)) {
+        activeWeights += weights[c.ordinal()];
+      }
+    }
+    return getBudget() * weights[ioClass.ordinal()] / activeWeights;
+  }
+
+  /**
+   * @return true if the I/O is limited by a budget
+   */
+  public boolean isEnabled() {
+    return budget > 0;
+  }
+
+  /**
+   * @return the current budget in bytes per second, 0 for no limit
+   */
+  public synchronized double getBudget() {
+    return budget * budgetFactor;
+  }
+
+  /**
+   * Records the latency of a get served, to tune the budget by.
+   */
+  public void updateReadLatency(long millis) {
+    readLatencySum.add(millis);
+    readCount.increment();
+  }
+
+  /**
+   * Lowers the budget if the gets served since the last time were slower than the target, raises
+   * it back otherwise.
+   */
+  @VisibleForTesting
+  synchronized void tune() {
+    long count = readCount.sumThenReset();
+    long sum = readLatencySum.sumThenReset();
+    if (readLatencyTarget <= 0 || budget <= 0) {
+      return;
+    }
+    double factor = budgetFactor;
+    if (count > 0 && sum / count > readLatencyTarget) {
+      budgetFactor = Math.max(MIN_BUDGET_FACTOR, budgetFactor / 2);
+    } else {
+      budgetFactor = Math.min(1, budgetFactor + MIN_BUDGET_FACTOR);
+    }
+    if (budgetFactor != factor && LOG.isDebugEnabled()) {
+      LOG.debug("Average read latency " + (count > 0 ? sum / count : 0) + " ms over " + count
+          + " gets, tune the I/O budget to " + (long) getBudget() + " bytes/sec");
+    }
+  }
+
+  /**
+   * @return the bytes moved by the class of I/O
+   */
+  public long getBytes(IOClass ioClass) {
+    return buckets[ioClass.ordinal()].bytes.sum();
+  }
+
+  /**
+   * @return the time slept by the class of I/O, in milliseconds
+   */
+  public long getSleepTime(IOClass ioClass) {
+    return buckets[ioClass.ordinal()].sleepTime.sum();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("IOScheduler [budget=").append((long) getBudget());
+    for (IOClass ioClass : IOClass.values()) {
+      sb.append(", ").append(ioClass).append("=").append(getBytes(ioClass)).append(" bytes/")
+          .append(getSleepTime(ioClass)).append(" ms slept");
+    }
+    return sb.append("]").toString();
+  }
+}
@@ -75,6 +75,8 @@ public class PressureAwareCompactionThroughputController extends PressureAwareTh
 
   @Override
   public void setup(final RegionServerServices server) {
+    ioScheduler = server.getIOScheduler();
+    ioClass = IOScheduler.IOClass.COMPACTION;
     server.getChoreService().scheduleChore(
       new ScheduledChore("CompactionThroughputTuner", this, tuningPeriod) {
 
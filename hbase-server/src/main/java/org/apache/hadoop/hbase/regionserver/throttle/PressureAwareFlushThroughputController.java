@@ -68,6 +68,8 @@ public class PressureAwareFlushThroughputController extends PressureAwareThrough
 
   @Override
   public void setup(final RegionServerServices server) {
+    ioScheduler = server.getIOScheduler();
+    ioClass = IOScheduler.IOClass.FLUSH;
     server.getChoreService().scheduleChore(
       new ScheduledChore("FlushThroughputTuner", this, tuningPeriod, this.tuningPeriod) {
 
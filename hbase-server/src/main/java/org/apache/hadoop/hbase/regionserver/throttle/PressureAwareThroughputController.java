@@ -78,6 +78,11 @@ public abstract class PressureAwareThroughputController extends Configured imple
 
   protected final ConcurrentMap<String, ActiveOperation> activeOperations = new ConcurrentHashMap<>();
 
+  // the budget shared with the other background I/O of the region server, if any
+  protected IOScheduler ioScheduler;
+
+  protected IOScheduler.IOClass ioClass;
+
   @Override
   public abstract void setup(final RegionServerServices server);
 
@@ -108,12 +113,23 @@ public abstract class PressureAwareThroughputController extends Configured imple
       return 0;
     }
     long now = EnvironmentEdgeManager.currentTime();
-    long minTimeAllowed = (long) (deltaSize / maxThroughputPerOperation * 1000); // ms
-    long elapsedTime = now - operation.lastControlTime;
     operation.lastControlSize = operation.totalSize;
+    long budgetSleepTime = 0;
+    if (ioScheduler != null) {
+      if (ioScheduler.isEnabled()) {
+        // the budget shared with the other background I/O, the limit of this controller still
+        // bounds the throughput of each operation
+        budgetSleepTime = acquireIOBudget(operation, deltaSize);
+      } else {
+        ioScheduler.charge(ioClass, deltaSize);
+      }
+    }
+    long minTimeAllowed = (long) (deltaSize / maxThroughputPerOperation * 1000); // ms
+    // the time waited for the budget counts
+    long elapsedTime = now + budgetSleepTime - operation.lastControlTime;
     if (elapsedTime >= minTimeAllowed) {
       operation.lastControlTime = EnvironmentEdgeManager.currentTime();
-      return 0;
+      return budgetSleepTime;
     }
     // too fast
     long sleepTime = minTimeAllowed - elapsedTime;
@@ -133,6 +149,26 @@ public abstract class PressureAwareThroughputController extends Configured imple
     operation.numberOfSleeps++;
     operation.totalSleepTime += sleepTime;
     operation.lastControlTime = EnvironmentEdgeManager.currentTime();
+    return budgetSleepTime + sleepTime;
+  }
+
+  /**
+   * Takes the given bytes from the I/O budget of the region server. The operations this
+   * controller lets run unlimited because of the pressure are charged without waiting.
+   * @return the time slept, in milliseconds
+   */
+  private long acquireIOBudget(ActiveOperation operation, long deltaSize)
+      throws InterruptedException {
+    long sleepTime = 0;
+    if (getMaxThroughput() == Double.MAX_VALUE) {
+      ioScheduler.charge(ioClass, deltaSize);
+    } else {
+      sleepTime = ioScheduler.acquire(ioClass, deltaSize);
+    }
+    if (sleepTime > 0) {
+      operation.numberOfSleeps++;
+      operation.totalSleepTime += sleepTime;
+    }
     return sleepTime;
   }
 
@@ -566,6 +566,32 @@ public abstract class AbstractFSWAL<W> implements WAL {
     return walFile2Props.size();
   }
 
+  // public only until class moves to o.a.h.h.wal
+  /** @return the number of rolled log files above which the oldest regions are force flushed */
+  public int getMaxLogs() {
+    return maxLogs;
+  }
+
+  // public only until class moves to o.a.h.h.wal
+  /**
+   * @return the number of rolled log files holding unflushed edits of the region, so which cannot
+   *         be archived until the region is flushed
+   */
+  public int getNumPinnedLogFiles(byte[] encodedRegionName) {
+    long lowest = this.sequenceIdAccounting.getLowestSequenceId(encodedRegionName);
+    if (lowest == HConstants.NO_SEQNUM) {
+      return 0;
+    }
+    int count = 0;
+    for (WalProps props : this.walFile2Props.values()) {
+      Long highest = props.encodedName2HighestSequenceId.get(encodedRegionName);
+      if (highest != null && highest >= lowest) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   // public only until class moves to o.a.h.h.wal
   /** @return the number of log files in use */
   public int getNumLogFiles() {
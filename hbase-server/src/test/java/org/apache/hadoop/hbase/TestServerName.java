@@ -20,6 +20,7 @@ package org.apache.hadoop.hbase;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.regex.Pattern;
@@ -99,6 +100,15 @@ public class TestServerName {
       ServerName.SERVERNAME_SEPARATOR + "5678");
   }
 
+  @Test
+  public void testInterning() {
+    ServerName sn = ServerName.valueOf("www.example.org", 1234, 5678);
+    assertSame(sn, ServerName.valueOf("www.example.org", 1234, 5678));
+    assertSame(sn, ServerName.valueOf("www.example.org:1234", 5678));
+    assertSame(sn, ServerName.valueOf("www.example.org,1234,5678"));
+    assertNotSame(sn, ServerName.valueOf("www.example.org", 1234, 56789));
+  }
+
   @Test
   public void testHostNameCaseSensitivity() {
     ServerName lower = ServerName.valueOf("www.example.org", 1234, 5678);
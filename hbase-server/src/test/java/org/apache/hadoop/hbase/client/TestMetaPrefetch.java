@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import static org.apache.hadoop.hbase.HConstants.EMPTY_END_ROW;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.security.User;
+import org.apache.hadoop.hbase.testclassification.ClientTests;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test that the region locations of the preceding regions are cached along with the one looked up
+ * in meta, and that they can be invalidated by server.
+ */
+@Category({ MediumTests.class, ClientTests.class })
+public class TestMetaPrefetch {
+
+  private static final HBaseTestingUtility TEST_UTIL = new HBaseTestingUtility();
+
+  private static TableName TABLE_NAME = TableName.valueOf("prefetch");
+
+  private static byte[] FAMILY = Bytes.toBytes("cf");
+
+  private static byte[][] SPLIT_KEYS;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    TEST_UTIL.startMiniCluster(1);
+    SPLIT_KEYS = new byte[8][];
+    for (int i = 111; i < 999; i += 111) {
+      SPLIT_KEYS[i / 111 - 1] = Bytes.toBytes(String.format("%03d", i));
+    }
+    TEST_UTIL.createTable(TABLE_NAME, FAMILY, SPLIT_KEYS);
+    TEST_UTIL.waitTableAvailable(TABLE_NAME);
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    TEST_UTIL.shutdownMiniCluster();
+  }
+
+  private static Configuration prefetchConf(int rows) {
+    Configuration conf = new Configuration(TEST_UTIL.getConfiguration());
+    conf.setInt(ConnectionConfiguration.META_PREFETCH_ROWS_KEY, rows);
+    return conf;
+  }
+
+  @Test
+  public void testPrefetch() throws Exception {
+    try (ConnectionImplementation conn =
+        (ConnectionImplementation) ConnectionFactory.createConnection(prefetchConf(5))) {
+      HRegionLocation loc = conn.getRegionLocation(TABLE_NAME, Bytes.toBytes("999"), false);
+      assertArrayEquals(SPLIT_KEYS[7], loc.getRegionInfo().getStartKey());
+      // the region of the row and the five preceding ones
+      assertEquals(6, conn.getNumberOfCachedRegionLocations(TABLE_NAME));
+      for (int i = 2; i < 8; i++) {
+        assertNotNull(conn.getCachedLocation(TABLE_NAME, SPLIT_KEYS[i]));
+      }
+      assertNull(conn.getCachedLocation(TABLE_NAME, SPLIT_KEYS[1]));
+      // the row of the first region is followed by the rows of another table
+      conn.getRegionLocation(TABLE_NAME, Bytes.toBytes("000"), false);
+      assertEquals(7, conn.getNumberOfCachedRegionLocations(TABLE_NAME));
+      assertNull(conn.getCachedLocation(TABLE_NAME, SPLIT_KEYS[0]));
+      conn.clearCaches(loc.getServerName());
+      assertEquals(0, conn.getNumberOfCachedRegionLocations(TABLE_NAME));
+    }
+  }
+
+  @Test
+  public void testNoPrefetch() throws Exception {
+    try (ConnectionImplementation conn =
+        (ConnectionImplementation) ConnectionFactory.createConnection(prefetchConf(0))) {
+      conn.getRegionLocation(TABLE_NAME, Bytes.toBytes("999"), false);
+      assertEquals(1, conn.getNumberOfCachedRegionLocations(TABLE_NAME));
+    }
+  }
+
+  @Test
+  public void testAsyncPrefetch() throws Exception {
+    Configuration conf = prefetchConf(5);
+    AsyncRegistry registry = AsyncRegistryFactory.getRegistry(conf);
+    AsyncConnectionImpl conn =
+        new AsyncConnectionImpl(conf, registry, registry.getClusterId().get(), User.getCurrent());
+    try {
+      AsyncNonMetaRegionLocator locator = new AsyncNonMetaRegionLocator(conn);
+      HRegionLocation loc = locator
+          .getRegionLocation(TABLE_NAME, Bytes.toBytes("999"), RegionLocateType.CURRENT).get();
+      assertArrayEquals(SPLIT_KEYS[7], loc.getRegionInfo().getStartKey());
+      assertArrayEquals(EMPTY_END_ROW, loc.getRegionInfo().getEndKey());
+      for (int i = 2; i < 8; i++) {
+        HRegionLocation cached = locator.getRegionLocationInCache(TABLE_NAME, SPLIT_KEYS[i]);
+        assertArrayEquals(SPLIT_KEYS[i], cached.getRegionInfo().getStartKey());
+      }
+      assertNull(locator.getRegionLocationInCache(TABLE_NAME, SPLIT_KEYS[1]));
+      ServerName serverName = loc.getServerName();
+      locator.clearCache(serverName);
+      for (int i = 2; i < 8; i++) {
+        assertNull(locator.getRegionLocationInCache(TABLE_NAME, SPLIT_KEYS[i]));
+      }
+    } finally {
+      IOUtils.closeQuietly(conn);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.testclassification.ClientTests;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ MediumTests.class, ClientTests.class })
+public class TestRawAsyncTableCellCursor {
+
+  private static final HBaseTestingUtility TEST_UTIL = new HBaseTestingUtility();
+
+  private static TableName TABLE_NAME = TableName.valueOf("async");
+
+  private static byte[] FAMILY = Bytes.toBytes("cf");
+
+  private static byte[][] CQS =
+      new byte[][] { Bytes.toBytes("cq1"), Bytes.toBytes("cq2"), Bytes.toBytes("cq3") };
+
+  private static int COUNT = 100;
+
+  private static AsyncConnection CONN;
+
+  private static RawAsyncTable TABLE;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    TEST_UTIL.startMiniCluster(1);
+    byte[][] splitKeys = new byte[][] { Bytes.toBytes("33"), Bytes.toBytes("66") };
+    TEST_UTIL.createTable(TABLE_NAME, FAMILY, splitKeys);
+    TEST_UTIL.waitTableAvailable(TABLE_NAME);
+    CONN = ConnectionFactory.createAsyncConnection(TEST_UTIL.getConfiguration()).get();
+    TABLE = CONN.getRawTable(TABLE_NAME);
+    TABLE
+        .putAll(IntStream.range(0, COUNT)
+            .mapToObj(i -> new Put(Bytes.toBytes(String.format("%02d", i)))
+                .addColumn(FAMILY, CQS[0], Bytes.toBytes(i))
+                .addColumn(FAMILY, CQS[1], Bytes.toBytes(2 * i))
+                .addColumn(FAMILY, CQS[2], Bytes.toBytes(3 * i)))
+            .collect(Collectors.toList()))
+        .get();
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    CONN.close();
+    TEST_UTIL.shutdownMiniCluster();
+  }
+
+  /**
+   * Copies the cells it is passed, and records the row boundaries.
+   */
+  private static class CopyingConsumer implements RawScanCellConsumer {
+
+    final List<Cell> cells = new ArrayList<>();
+
+    final List<Boolean> partialFlags = new ArrayList<>();
+
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    int terminateAfterRows = -1;
+
+    boolean cellReused = false;
+
+    @Override
+    public void onNext(CellCursor cursor, ScanController controller) {
+      while (cursor.nextRow()) {
+        Cell previous = null;
+        do {
+          Cell cell = cursor.current();
+          cellReused |= cell == previous;
+          previous = cell;
+          cells.add(CellUtil.createCell(CellUtil.cloneRow(cell), CellUtil.cloneFamily(cell),
+            CellUtil.cloneQualifier(cell), cell.getTimestamp(), cell.getTypeByte(),
+            CellUtil.cloneValue(cell)));
+        } while (cursor.nextCell());
+        partialFlags.add(cursor.mayHaveMoreCellsInRow());
+        if (partialFlags.size() == terminateAfterRows) {
+          controller.terminate();
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void onError(Throwable error) {
+      future.completeExceptionally(error);
+    }
+
+    @Override
+    public void onComplete() {
+      future.complete(null);
+    }
+  }
+
+  private static void assertCell(Cell cell, int row, int column) {
+    assertEquals(String.format("%02d", row), Bytes.toString(CellUtil.cloneRow(cell)));
+    assertTrue(CellUtil.matchingQualifier(cell, CQS[column]));
+    assertEquals((column + 1) * row, Bytes.toInt(CellUtil.cloneValue(cell)));
+  }
+
+  @Test
+  public void testScan() throws Exception {
+    CopyingConsumer consumer = new CopyingConsumer();
+    TABLE.scan(new Scan(), consumer);
+    consumer.future.get();
+    assertEquals(3 * COUNT, consumer.cells.size());
+    assertEquals(COUNT, consumer.partialFlags.size());
+    for (int i = 0; i < COUNT; i++) {
+      for (int j = 0; j < 3; j++) {
+        assertCell(consumer.cells.get(3 * i + j), i, j);
+      }
+      assertFalse(consumer.partialFlags.get(i));
+    }
+    // the cells are decoded in place
+    assertTrue(consumer.cellReused);
+  }
+
+  @Test
+  public void testPartialRows() throws Exception {
+    // the server only returns one cell per call
+    CopyingConsumer consumer = new CopyingConsumer();
+    TABLE.scan(new Scan().setMaxResultSize(1).setReversed(true), consumer);
+    consumer.future.get();
+    assertEquals(3 * COUNT, consumer.cells.size());
+    assertEquals(3 * COUNT, consumer.partialFlags.size());
+    for (int i = 0; i < COUNT; i++) {
+      int row = COUNT - i - 1;
+      for (int j = 0; j < 3; j++) {
+        assertCell(consumer.cells.get(3 * i + j), row, j);
+        assertEquals(j < 2, consumer.partialFlags.get(3 * i + j));
+      }
+    }
+  }
+
+  @Test
+  public void testLimit() throws Exception {
+    CopyingConsumer consumer = new CopyingConsumer();
+    TABLE.scan(new Scan().withStartRow(Bytes.toBytes("30")).setLimit(10).setCaching(3), consumer);
+    consumer.future.get();
+    assertEquals(30, consumer.cells.size());
+    for (int i = 0; i < 10; i++) {
+      assertCell(consumer.cells.get(3 * i), 30 + i, 0);
+    }
+  }
+
+  @Test
+  public void testTerminate() throws Exception {
+    CopyingConsumer consumer = new CopyingConsumer();
+    consumer.terminateAfterRows = 5;
+    TABLE.scan(new Scan().setCaching(20), consumer);
+    consumer.future.get();
+    assertEquals(15, consumer.cells.size());
+    assertCell(consumer.cells.get(14), 4, 2);
+  }
+}
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.testclassification.ClientTests;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test scans with a streaming window, where the region server scans ahead of the client.
+ */
+@Category({ MediumTests.class, ClientTests.class })
+public class TestStreamingScan {
+
+  private static final HBaseTestingUtility TEST_UTIL = new HBaseTestingUtility();
+
+  private static TableName TABLE_NAME = TableName.valueOf("streaming");
+
+  private static byte[] FAMILY = Bytes.toBytes("cf");
+
+  private static byte[] CQ1 = Bytes.toBytes("cq1");
+
+  private static byte[] CQ2 = Bytes.toBytes("cq2");
+
+  private static int COUNT = 1000;
+
+  @BeforeClass
+  public static void setUp() throws Exception {
+    TEST_UTIL.startMiniCluster(1);
+    byte[][] splitKeys = new byte[2][];
+    splitKeys[0] = Bytes.toBytes(String.format("%03d", 333));
+    splitKeys[1] = Bytes.toBytes(String.format("%03d", 666));
+    Table table = TEST_UTIL.createTable(TABLE_NAME, FAMILY, splitKeys);
+    List<Put> puts = new ArrayList<>();
+    for (int i = 0; i < COUNT; i++) {
+      puts.add(new Put(Bytes.toBytes(String.format("%03d", i)))
+          .addColumn(FAMILY, CQ1, Bytes.toBytes(i)).addColumn(FAMILY, CQ2, Bytes.toBytes(i * i)));
+    }
+    TEST_UTIL.waitTableAvailable(TABLE_NAME);
+    table.put(puts);
+    // half of the data in files and half in memstore
+    TEST_UTIL.flush(TABLE_NAME);
+    puts.clear();
+    for (int i = 0; i < COUNT; i += 2) {
+      puts.add(new Put(Bytes.toBytes(String.format("%03d", i)))
+          .addColumn(FAMILY, CQ1, Bytes.toBytes(i)).addColumn(FAMILY, CQ2, Bytes.toBytes(i * i)));
+    }
+    table.put(puts);
+  }
+
+  @AfterClass
+  public static void tearDown() throws Exception {
+    TEST_UTIL.shutdownMiniCluster();
+  }
+
+  private void assertResultEquals(Result result, int i) {
+    assertEquals(String.format("%03d", i), Bytes.toString(result.getRow()));
+    assertEquals(i, Bytes.toInt(result.getValue(FAMILY, CQ1)));
+    assertEquals(i * i, Bytes.toInt(result.getValue(FAMILY, CQ2)));
+  }
+
+  private List<Result> doScan(Scan scan) throws IOException {
+    List<Result> results = new ArrayList<>();
+    try (Table table = TEST_UTIL.getConnection().getTable(TABLE_NAME);
+        ResultScanner scanner = table.getScanner(scan)) {
+      for (Result r; (r = scanner.next()) != null;) {
+        results.add(r);
+      }
+    }
+    return results;
+  }
+
+  @Test
+  public void testScanAll() throws IOException {
+    List<Result> results = doScan(new Scan().setCaching(7).setStreamingWindow(3));
+    assertEquals(COUNT, results.size());
+    for (int i = 0; i < COUNT; i++) {
+      assertResultEquals(results.get(i), i);
+    }
+  }
+
+  @Test
+  public void testReversedScan() throws IOException {
+    List<Result> results =
+        doScan(new Scan().setCaching(11).setReversed(true).setStreamingWindow(2));
+    assertEquals(COUNT, results.size());
+    for (int i = 0; i < COUNT; i++) {
+      assertResultEquals(results.get(i), COUNT - 1 - i);
+    }
+  }
+
+  @Test
+  public void testPartialResults() throws IOException {
+    List<Result> results = doScan(new Scan().setCaching(5).setMaxResultSize(1)
+        .setAllowPartialResults(true).setStreamingWindow(4));
+    assertEquals(2 * COUNT, results.size());
+    for (int i = 0; i < COUNT; i++) {
+      Result complete =
+          Result.createCompleteResult(results.subList(2 * i, 2 * i + 2));
+      assertResultEquals(complete, i);
+    }
+  }
+
+  @Test
+  public void testLimit() throws IOException {
+    // streaming is ignored for limited scans
+    List<Result> results = doScan(new Scan().setCaching(3).setLimit(100).setStreamingWindow(2));
+    assertEquals(100, results.size());
+    for (int i = 0; i < 100; i++) {
+      assertResultEquals(results.get(i), i);
+    }
+  }
+
+  @Test
+  public void testCloseEarly() throws IOException {
+    try (Table table = TEST_UTIL.getConnection().getTable(TABLE_NAME)) {
+      for (int round = 0; round < 10; round++) {
+        try (ResultScanner scanner =
+            table.getScanner(new Scan().setCaching(2).setStreamingWindow(4))) {
+          for (int i = 0; i < 10; i++) {
+            assertResultEquals(scanner.next(), i);
+          }
+        }
+      }
+      try (ResultScanner scanner = table.getScanner(new Scan()
+          .withStartRow(Bytes.toBytes("zzz")).setCaching(2).setStreamingWindow(4))) {
+        assertNull(scanner.next());
+      }
+    }
+  }
+}
@@ -593,5 +593,71 @@ public class TestFilterList {
     assertEquals(Filter.ReturnCode.SKIP, flist.filterKeyValue(kvQual3));
   }
 
+  /**
+   * A nested list validates the Cell to transform against the one it filtered, the same instance
+   * or an equal copy.
+   */
+  @Test
+  public void testTransformNested() throws Exception {
+    FilterList inner = new FilterList(Operator.MUST_PASS_ALL, new KeyOnlyFilter());
+    FilterList flist = new FilterList(Operator.MUST_PASS_ONE, inner);
+    KeyValue kv = new KeyValue(
+        Bytes.toBytes("row"), Bytes.toBytes("fam"), Bytes.toBytes("qual"), Bytes.toBytes("value"));
+    assertEquals(ReturnCode.INCLUDE, flist.filterKeyValue(kv));
+    assertEquals(0, flist.transformCell(kv).getValueLength());
+    assertEquals(0, inner.transformCell(kv.deepClone()).getValueLength());
+    try {
+      inner.transformCell(new KeyValue(Bytes.toBytes("row"), Bytes.toBytes("fam"),
+        Bytes.toBytes("other"), Bytes.toBytes("value")));
+      fail("Should have failed, the cell was not filtered");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  /**
+   * MUST_PASS_ALL stops at the first filter not including the Cell, MUST_PASS_ONE evaluates all
+   * the filters.
+   */
+  @Test
+  public void testShortCircuit() throws Exception {
+    KeyValue kv = new KeyValue(
+        Bytes.toBytes("row"), Bytes.toBytes("fam"), Bytes.toBytes("qual"), Bytes.toBytes("value"));
+    CountingFilter skip = new CountingFilter(ReturnCode.SKIP);
+    CountingFilter include = new CountingFilter(ReturnCode.INCLUDE);
+    FilterList flist = new FilterList(Operator.MUST_PASS_ALL, skip, include);
+    assertEquals(ReturnCode.SKIP, flist.filterKeyValue(kv));
+    assertEquals(1, skip.count);
+    assertEquals(0, include.count);
+
+    flist = new FilterList(Operator.MUST_PASS_ONE, include, skip);
+    assertEquals(ReturnCode.INCLUDE, flist.filterKeyValue(kv));
+    assertEquals(2, skip.count);
+    assertEquals(1, include.count);
+
+    CountingFilter hint = new CountingFilter(ReturnCode.SEEK_NEXT_USING_HINT);
+    flist = new FilterList(Operator.MUST_PASS_ONE, hint, new CountingFilter(
+        ReturnCode.SEEK_NEXT_USING_HINT));
+    assertEquals(ReturnCode.SEEK_NEXT_USING_HINT, flist.filterKeyValue(kv));
+    flist = new FilterList(Operator.MUST_PASS_ONE, hint, skip);
+    assertEquals(ReturnCode.SKIP, flist.filterKeyValue(kv));
+  }
+
+  private static class CountingFilter extends FilterBase {
+
+    private final ReturnCode code;
+    private int count;
+
+    CountingFilter(ReturnCode code) {
+      this.code = code;
+    }
+
+    @Override
+    public ReturnCode filterKeyValue(Cell c) {
+      count++;
+      return code;
+    }
+  }
+
 }
 
@@ -17,11 +17,17 @@
  */
 package org.apache.hadoop.hbase.filter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.KeyValueUtil;
 import org.apache.hadoop.hbase.testclassification.FilterTests;
 import org.apache.hadoop.hbase.testclassification.SmallTests;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -460,6 +466,60 @@ public class TestFuzzyRowFilter {
       new byte[]{-1, -1, 0, -1}));
   }
 
+  @Test
+  public void testIndexSameAsEveryKey() {
+    Random random = new Random(7L);
+    // two masks over 6 bytes, and one over 4 bytes
+    byte[][] masks = { { -1, -1, 2, 2, -1, -1 }, { 2, -1, -1, 2, 2, -1 }, { -1, 2, -1, 2 } };
+    List<Pair<byte[], byte[]>> fuzzyKeysData = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      byte[] mask = masks[random.nextInt(masks.length)];
+      byte[] key = new byte[mask.length];
+      for (int j = 0; j < key.length; j++) {
+        // few distinct values so that the keys share prefixes and the rows match some
+        key[j] = mask[j] == -1 ? (byte) (random.nextInt(4) * 85) : 0;
+      }
+      fuzzyKeysData.add(new Pair<>(key, mask));
+    }
+    FuzzyKeyIndex index = new FuzzyKeyIndex(fuzzyKeysData);
+    int matches = 0;
+    for (int i = 0; i < 5000; i++) {
+      byte[] row = new byte[3 + random.nextInt(6)];
+      for (int j = 0; j < row.length; j++) {
+        row[j] = (byte) (random.nextInt(4) * 85 + random.nextInt(2));
+      }
+      // the rows shorter than the keys are padded by the rule with the bytes after them
+      byte[] padded = Arrays.copyOf(row, row.length + 8);
+      boolean reverse = random.nextBoolean();
+      boolean expectedMatch = false;
+      byte[] expectedNext = null;
+      for (Pair<byte[], byte[]> fuzzyData : fuzzyKeysData) {
+        byte[] key = fuzzyData.getFirst();
+        byte[] mask = new byte[fuzzyData.getSecond().length];
+        boolean match = true;
+        for (int j = 0; j < mask.length; j++) {
+          mask[j] = fuzzyData.getSecond()[j] == -1 ? (byte) -1 : 0;
+          match &= j >= row.length || mask[j] == 0 || row[j] == key[j];
+        }
+        expectedMatch |= match;
+        byte[] next =
+            FuzzyRowFilter.getNextForFuzzyRule(reverse, padded, 0, row.length, key, mask);
+        if (next != null && (expectedNext == null
+            || (reverse ? Bytes.compareTo(next, expectedNext) > 0
+                : Bytes.compareTo(next, expectedNext) < 0))) {
+          expectedNext = next;
+        }
+      }
+      Assert.assertEquals(expectedMatch, index.matches(padded, 0, row.length));
+      Assert.assertEquals(Bytes.toStringBinary(expectedNext),
+        Bytes.toStringBinary(index.nextRow(reverse, padded, 0, row.length)));
+      if (expectedMatch) {
+        matches++;
+      }
+    }
+    Assert.assertTrue(matches > 100);
+  }
+
   private static void assertNext(boolean reverse, byte[] fuzzyRow, byte[] mask, byte[] current,
       byte[] expected) {
     KeyValue kv = KeyValueUtil.createFirstOnRow(current);
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.io.hfile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
+import org.apache.hadoop.hbase.testclassification.IOTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ IOTests.class, SmallTests.class })
+public class TestDataBlockTimeRanges {
+
+  private static final HBaseTestingUtility TEST_UTIL = new HBaseTestingUtility();
+
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+  private static final byte[] QUALIFIER = Bytes.toBytes("q");
+  private static final int ROWS = 1000;
+  private static final int DELETE_ROW = 800;
+  private static final long DELETE_TIMESTAMP = 900;
+
+  // row i is written at timestamp i, with a delete marker in row DELETE_ROW
+  private Path writeFile(String name, boolean enabled, DataBlockEncoding encoding)
+      throws IOException {
+    Configuration conf = new Configuration(TEST_UTIL.getConfiguration());
+    conf.setBoolean(DataBlockTimeRanges.ENABLED_KEY, enabled);
+    Path path = new Path(TEST_UTIL.getDataTestDir(), name);
+    HFileContext context = new HFileContextBuilder().withBlockSize(256)
+        .withDataBlockEncoding(encoding).build();
+    HFile.Writer writer = HFile.getWriterFactoryNoCache(conf)
+        .withPath(TEST_UTIL.getTestFileSystem(), path).withFileContext(context)
+        .withComparator(CellComparator.COMPARATOR).create();
+    try {
+      for (int i = 0; i < ROWS; i++) {
+        byte[] row = Bytes.toBytes(String.format("row%05d", i));
+        if (i == DELETE_ROW) {
+          writer.append(new KeyValue(row, FAMILY, QUALIFIER, DELETE_TIMESTAMP,
+              KeyValue.Type.DeleteColumn));
+        }
+        writer.append(new KeyValue(row, FAMILY, QUALIFIER, i, Bytes.toBytes(i)));
+      }
+    } finally {
+      writer.close();
+    }
+    return path;
+  }
+
+  private List<Cell> scan(HFileScanner scanner) throws IOException {
+    List<Cell> cells = new ArrayList<>();
+    if (scanner.seekTo()) {
+      do {
+        cells.add(scanner.getCell());
+      } while (scanner.next());
+    }
+    return cells;
+  }
+
+  @Test
+  public void testSkipDataBlocks() throws IOException {
+    FileSystem fs = TEST_UTIL.getTestFileSystem();
+    Configuration conf = TEST_UTIL.getConfiguration();
+    for (DataBlockEncoding encoding : new DataBlockEncoding[] { DataBlockEncoding.NONE,
+        DataBlockEncoding.FAST_DIFF }) {
+      Path path = writeFile("skip-" + encoding, true, encoding);
+      HFile.Reader reader = HFile.createReader(fs, path, new CacheConfig(conf), conf);
+      try {
+        DataBlockTimeRanges ranges = reader.getDataBlockTimeRanges();
+        assertNotNull(ranges);
+        assertTrue(ranges.size() > 10);
+
+        HFileReaderImpl.HFileScannerImpl all =
+            (HFileReaderImpl.HFileScannerImpl) reader.getScanner(false, true);
+        assertEquals(ROWS + 1, scan(all).size());
+        assertEquals(ranges.size(), all.blockFetches.get());
+
+        HFileReaderImpl.HFileScannerImpl scanner =
+            (HFileReaderImpl.HFileScannerImpl) reader.getScanner(false, true);
+        scanner.setTimeRange(300, 400);
+        List<Cell> cells = scan(scanner);
+        assertTrue(scanner.blockFetches.get() < ranges.size() / 2);
+        int inRange = 0;
+        boolean deleteFound = false;
+        for (Cell cell : cells) {
+          if (cell.getTimestamp() >= 300 && cell.getTimestamp() < 400) {
+            assertEquals(300 + inRange, cell.getTimestamp());
+            inRange++;
+          }
+          deleteFound |= CellUtil.isDelete(cell);
+        }
+        assertEquals(100, inRange);
+        // the delete marker may mask cells of the range, its block is read
+        assertTrue(deleteFound);
+      } finally {
+        reader.close();
+      }
+    }
+  }
+
+  @Test
+  public void testNotRecorded() throws IOException {
+    FileSystem fs = TEST_UTIL.getTestFileSystem();
+    Configuration conf = TEST_UTIL.getConfiguration();
+    Path path = writeFile("not-recorded", false, DataBlockEncoding.NONE);
+    HFile.Reader reader = HFile.createReader(fs, path, new CacheConfig(conf), conf);
+    try {
+      assertNull(reader.getDataBlockTimeRanges());
+      HFileScanner scanner = reader.getScanner(false, true);
+      scanner.setTimeRange(300, 400);
+      assertEquals(ROWS + 1, scan(scanner).size());
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Test
+  public void testNextMatchingBlock() {
+    DataBlockTimeRanges ranges = new DataBlockTimeRanges();
+    for (int i = 0; i < 100; i++) {
+      ranges.add(i * 100, 100, i * 10, i * 10 + 9);
+    }
+    assertEquals(0, ranges.nextMatchingBlock(0, 0, 10));
+    assertEquals(5, ranges.nextMatchingBlock(0, 55, 56));
+    assertEquals(5, ranges.nextMatchingBlock(500, 0, 60));
+    assertEquals(6, ranges.nextMatchingBlock(550, 0, 70));
+    assertEquals(-1, ranges.nextMatchingBlock(600, 0, 60));
+    assertEquals(-1, ranges.nextMatchingBlock(0, 1000, 2000));
+  }
+}
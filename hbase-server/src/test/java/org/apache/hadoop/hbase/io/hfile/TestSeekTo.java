@@ -366,4 +366,69 @@ public class TestSeekTo {
     reader.close();
     deleteTestDir(fs);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testSeekToPreviousRow() throws Exception {
+    // small blocks, so that rows span several of them
+    testSeekToPreviousRowInternals(false, 128);
+    testSeekToPreviousRowInternals(true, 128);
+    // a single block, stepped back in
+    testSeekToPreviousRowInternals(false, 64 * 1024);
+  }
+
+  protected void testSeekToPreviousRowInternals(boolean compressTags, int blockSize)
+      throws IOException {
+    Path p = new Path(TEST_UTIL.getDataTestDir(), "previousrow.hfile");
+    FileSystem fs = TEST_UTIL.getTestFileSystem();
+    FSDataOutputStream fout = fs.create(p);
+    HFileContext context = new HFileContextBuilder().withBlockSize(blockSize)
+        .withDataBlockEncoding(encoding).withIncludesTags(true).withCompressTags(compressTags)
+        .build();
+    Configuration conf = TEST_UTIL.getConfiguration();
+    HFile.Writer writer = HFile.getWriterFactoryNoCache(conf).withOutputStream(fout)
+        .withFileContext(context)
+        .withComparator(CellComparator.COMPARATOR).create();
+    Tag[] tags = new Tag[] { new ArrayBackedTag((byte) 1, "myTag1") };
+    // row i has i % 5 + 1 columns
+    for (int i = 0; i < 20; i++) {
+      for (int j = 0; j <= i % 5; j++) {
+        writer.append(new KeyValue(Bytes.toBytes(String.format("row%02d", i)),
+            Bytes.toBytes("family"), Bytes.toBytes("q" + j), HConstants.LATEST_TIMESTAMP,
+            Bytes.toBytes("value"), compressTags ? tags : null));
+      }
+    }
+    writer.close();
+    fout.close();
+
+    HFile.Reader reader = HFile.createReader(fs, p, new CacheConfig(conf), conf);
+    reader.loadFileInfo();
+    assertEquals(blockSize < 1024, reader.getTrailer().getDataIndexCount() > 1);
+    HFileScanner scanner = reader.getScanner(false, true);
+    // walk the rows back from after the last one, reading each forward as a reversed scan does
+    Cell key = CellUtil.createFirstOnRow(Bytes.toBytes("row99"));
+    for (int i = 19; i >= 0; i--) {
+      assertTrue(scanner.seekToPreviousRow(key));
+      String row = String.format("row%02d", i);
+      assertEquals(row, toRowStr(scanner.getCell()));
+      assertEquals("q0", Bytes.toString(CellUtil.cloneQualifier(scanner.getCell())));
+      for (int j = 1; j <= i % 5; j++) {
+        assertTrue(scanner.next());
+        assertEquals(row, toRowStr(scanner.getCell()));
+        assertEquals("q" + j, Bytes.toString(CellUtil.cloneQualifier(scanner.getCell())));
+      }
+      key = CellUtil.createFirstOnRow(Bytes.toBytes(row));
+    }
+    assertFalse(scanner.seekToPreviousRow(key));
+
+    // from a new scanner, and from a scanner positioned further back
+    scanner = reader.getScanner(false, true);
+    assertTrue(scanner.seekToPreviousRow(CellUtil.createFirstOnRow(Bytes.toBytes("row14"))));
+    assertEquals("row13", toRowStr(scanner.getCell()));
+    assertTrue(scanner.seekTo());
+    assertTrue(scanner.seekToPreviousRow(CellUtil.createFirstOnRow(Bytes.toBytes("row09"))));
+    assertEquals("row08", toRowStr(scanner.getCell()));
+    assertEquals("q0", Bytes.toString(CellUtil.cloneQualifier(scanner.getCell())));
+    reader.close();
+    deleteTestDir(fs);
+  }
+}
@@ -0,0 +1,90 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.io.hfile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.apache.hadoop.hbase.testclassification.IOTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ IOTests.class, SmallTests.class })
+public class TestWriteBehindOutputStream {
+
+  @Test
+  public void testWritesInOrder() throws IOException {
+    Random rand = new Random(42);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    WriteBehindOutputStream stream = new WriteBehindOutputStream(out, 100, "test");
+    for (int i = 0; i < 1000; i++) {
+      byte[] b = new byte[rand.nextInt(200)];
+      rand.nextBytes(b);
+      int off = b.length > 0 ? rand.nextInt(b.length) : 0;
+      expected.write(b, off, b.length - off);
+      stream.write(b, off, b.length - off);
+      if (i % 100 == 0) {
+        stream.write(i);
+        expected.write(i);
+        stream.flush();
+        assertEquals(expected.size(), out.size());
+      }
+    }
+    stream.close();
+    assertArrayEquals(expected.toByteArray(), out.toByteArray());
+  }
+
+  @Test
+  public void testFailure() throws IOException {
+    final IOException failure = new IOException("failed");
+    OutputStream failing = new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw failure;
+      }
+    };
+    WriteBehindOutputStream stream = new WriteBehindOutputStream(failing, 10, "test");
+    stream.write(new byte[5], 0, 5);
+    try {
+      stream.flush();
+      fail();
+    } catch (IOException e) {
+      assertEquals(failure, e);
+    }
+    try {
+      stream.write(new byte[5], 0, 5);
+      fail();
+    } catch (IOException e) {
+      assertEquals(failure, e);
+    }
+    try {
+      stream.close();
+      fail();
+    } catch (IOException e) {
+      assertEquals(failure, e);
+    }
+  }
+}
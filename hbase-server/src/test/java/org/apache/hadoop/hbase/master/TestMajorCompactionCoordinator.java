@@ -0,0 +1,166 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.master;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.RegionLoad;
+import org.apache.hadoop.hbase.ServerLoad;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.testclassification.MasterTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.Pair;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ MasterTests.class, SmallTests.class })
+public class TestMajorCompactionCoordinator {
+
+  private static final TableName TABLE = TableName.valueOf("test");
+  private static final long DAY = 24 * 60 * 60 * 1000L;
+
+  private final ServerName[] servers = new ServerName[] { ServerName.valueOf("a1", 1, 1),
+      ServerName.valueOf("a2", 1, 1), ServerName.valueOf("b1", 1, 1) };
+  private final Map<ServerName, Map<byte[], RegionLoad>> loads = new HashMap<>();
+  private Configuration conf;
+  private MajorCompactionCoordinator coordinator;
+  private long now;
+
+  @Before
+  public void setUp() {
+    conf = HBaseConfiguration.create();
+    conf.setLong(MajorCompactionCoordinator.MAX_AGE_KEY, DAY);
+    conf.setInt(MajorCompactionCoordinator.MAX_PER_RACK_KEY, 1);
+    HMaster master = mock(HMaster.class);
+    when(master.getConfiguration()).thenReturn(conf);
+    when(master.getServerName()).thenReturn(ServerName.valueOf("master", 1, 1));
+    coordinator = new MajorCompactionCoordinator(master, 1000);
+    RackManager rackManager = mock(RackManager.class);
+    for (ServerName server : servers) {
+      when(rackManager.getRack(server)).thenReturn(server.getHostname().substring(0, 1));
+      loads.put(server, new TreeMap<byte[], RegionLoad>(Bytes.BYTES_COMPARATOR));
+    }
+    coordinator.setRackManager(rackManager);
+    now = EnvironmentEdgeManager.currentTime();
+  }
+
+  private RegionLoad addRegion(ServerName server, int id, float locality, int storeFiles,
+      long lastMajorCompaction) {
+    byte[] name = new HRegionInfo(TABLE, Bytes.toBytes(id), Bytes.toBytes(id + 1)).getRegionName();
+    RegionLoad load = mock(RegionLoad.class);
+    when(load.getName()).thenReturn(name);
+    when(load.getNameAsString()).thenReturn(Bytes.toStringBinary(name));
+    when(load.getStores()).thenReturn(1);
+    when(load.getStorefiles()).thenReturn(storeFiles);
+    when(load.getDataLocality()).thenReturn(locality);
+    when(load.getLastMajorCompactionTs()).thenReturn(lastMajorCompaction);
+    loads.get(server).put(name, load);
+    return load;
+  }
+
+  private List<RegionLoad> schedule() {
+    Map<ServerName, ServerLoad> serverLoads = new HashMap<>();
+    for (Map.Entry<ServerName, Map<byte[], RegionLoad>> e : loads.entrySet()) {
+      ServerLoad serverLoad = mock(ServerLoad.class);
+      when(serverLoad.getRegionsLoad()).thenReturn(e.getValue());
+      serverLoads.put(e.getKey(), serverLoad);
+    }
+    List<RegionLoad> regions = new ArrayList<>();
+    for (Pair<ServerName, RegionLoad> compaction : coordinator.schedule(serverLoads, now)) {
+      assertTrue(loads.get(compaction.getFirst()).containsValue(compaction.getSecond()));
+      regions.add(compaction.getSecond());
+    }
+    return regions;
+  }
+
+  @Test
+  public void testLimitsAndPriority() {
+    RegionLoad a1Local = addRegion(servers[0], 1, 1, 2, now - 2 * DAY);
+    RegionLoad a1Remote = addRegion(servers[0], 2, 0.5f, 2, now - 2 * DAY);
+    RegionLoad a2Files = addRegion(servers[1], 3, 1, 5, now - 2 * DAY);
+    RegionLoad b1 = addRegion(servers[2], 4, 1, 1, now - 2 * DAY);
+    addRegion(servers[2], 5, 0, 5, now - DAY / 2);
+    addRegion(servers[2], 6, 0, 0, 0);
+    addRegion(servers[2], 7, 0, 1, 0);
+
+    // one per rack, the lowest locality or the most files first
+    List<RegionLoad> compactions = schedule();
+    assertEquals(2, compactions.size());
+    assertTrue(compactions.contains(a1Remote));
+    assertTrue(compactions.contains(b1));
+    assertTrue(schedule().isEmpty());
+
+    now += 1000;
+    when(a1Remote.getLastMajorCompactionTs()).thenReturn(now);
+    compactions = schedule();
+    assertEquals(1, compactions.size());
+    assertTrue(compactions.contains(a2Files));
+
+    // b1 is not reported done in time
+    now += MajorCompactionCoordinator.DEFAULT_TIMEOUT;
+    when(a2Files.getLastMajorCompactionTs()).thenReturn(now);
+    compactions = schedule();
+    assertEquals(2, compactions.size());
+    assertTrue(compactions.contains(a1Local));
+    assertTrue(compactions.contains(b1));
+    assertTrue(coordinator.toString().contains("timedOut=1"));
+  }
+
+  @Test
+  public void testRequestedTableAndPause() {
+    RegionLoad a1 = addRegion(servers[0], 1, 1, 1, now - 1000);
+    RegionLoad b1 = addRegion(servers[2], 2, 1, 1, now - 1000);
+    assertTrue(schedule().isEmpty());
+
+    coordinator.requestMajorCompaction(TABLE);
+    conf.setBoolean(MajorCompactionCoordinator.PAUSED_KEY, true);
+    coordinator.onConfigurationChange(conf);
+    assertTrue(schedule().isEmpty());
+    // paused while either the configuration or an admin asks for it
+    coordinator.setPaused(true);
+    conf.setBoolean(MajorCompactionCoordinator.PAUSED_KEY, false);
+    coordinator.onConfigurationChange(conf);
+    assertTrue(schedule().isEmpty());
+    coordinator.setPaused(false);
+    assertEquals(2, schedule().size());
+    assertTrue(coordinator.toString().contains(TABLE.getNameAsString()));
+
+    now += 1000;
+    when(a1.getLastMajorCompactionTs()).thenReturn(now);
+    when(b1.getLastMajorCompactionTs()).thenReturn(now);
+    assertTrue(schedule().isEmpty());
+    assertTrue(coordinator.toString().contains("completed=2"));
+    assertTrue(coordinator.toString().contains("requestedTables=[]"));
+  }
+}
@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.master;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.CompactType;
+import org.apache.hadoop.hbase.testclassification.MasterTests;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * The admin requests to the {@link MajorCompactionCoordinator}.
+ */
+@Category({ MasterTests.class, MediumTests.class })
+public class TestMajorCompactionCoordinatorAdmin {
+
+  private static final HBaseTestingUtility TEST_UTIL = new HBaseTestingUtility();
+  private static final TableName TABLE = TableName.valueOf("test");
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    // not run during the test
+    TEST_UTIL.getConfiguration().setInt(MajorCompactionCoordinator.PERIOD_KEY, 1000 * 60 * 60);
+    TEST_UTIL.startMiniCluster(1);
+    TEST_UTIL.createTable(TABLE, Bytes.toBytes("f"));
+  }
+
+  @AfterClass
+  public static void tearDownAfterClass() throws Exception {
+    TEST_UTIL.shutdownMiniCluster();
+  }
+
+  @Test
+  public void testRequestTable() throws Exception {
+    MajorCompactionCoordinator coordinator =
+        TEST_UTIL.getHBaseCluster().getMaster().getMajorCompactionCoordinator();
+    Admin admin = TEST_UTIL.getAdmin();
+    admin.majorCompact(TABLE, CompactType.COORDINATED);
+    assertTrue(coordinator.toString(),
+      coordinator.toString().contains("requestedTables=[" + TABLE + "]"));
+    try {
+      admin.compact(TABLE, CompactType.COORDINATED);
+      fail("Only major compactions are coordinated");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testPauseAndResume() throws IOException {
+    MajorCompactionCoordinator coordinator =
+        TEST_UTIL.getHBaseCluster().getMaster().getMajorCompactionCoordinator();
+    Admin admin = TEST_UTIL.getAdmin();
+    admin.execProcedure(MajorCompactionCoordinatorProcedureManager.PROCEDURE_SIGNATURE,
+      MajorCompactionCoordinatorProcedureManager.PAUSE, new HashMap<String, String>());
+    assertTrue(coordinator.isPaused());
+    admin.execProcedure(MajorCompactionCoordinatorProcedureManager.PROCEDURE_SIGNATURE,
+      MajorCompactionCoordinatorProcedureManager.RESUME, new HashMap<String, String>());
+    assertFalse(coordinator.isPaused());
+    try {
+      admin.execProcedure(MajorCompactionCoordinatorProcedureManager.PROCEDURE_SIGNATURE,
+        "stop", new HashMap<String, String>());
+      fail("Only pause and resume are known");
+    } catch (DoNotRetryIOException e) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.CollectionBackedScanner;
+
+/**
+ * Compare the time taken by a {@link KeyValueHeap} backed by a binary heap and by a
+ * {@link LoserTree} to merge a number of scanners, with the cells either spread at random over
+ * the scanners or laid out in runs, as for store files written one after the other.
+ */
+public class KeyValueHeapBenchmark {
+  private static final double NANOSEC_IN_MILLISEC = 1000.0 * 1000.0;
+  private static final int NUMBER_OF_CELLS = 1000000;
+  private static final int RUN_LENGTH = 100;
+  private static final int ITERATIONS = 5;
+
+  private final Random randomizer = new Random(42L);
+
+  private List<List<Cell>> prepareCells(int numberOfScanners, boolean runs) {
+    List<List<Cell>> cells = new ArrayList<>(numberOfScanners);
+    for (int i = 0; i < numberOfScanners; i++) {
+      cells.add(new ArrayList<>());
+    }
+    byte[] family = Bytes.toBytes("f");
+    byte[] qualifier = Bytes.toBytes("q");
+    byte[] value = new byte[8];
+    int scanner = 0;
+    for (int i = 0; i < NUMBER_OF_CELLS; i++) {
+      if (!runs) {
+        scanner = randomizer.nextInt(numberOfScanners);
+      } else if (i % RUN_LENGTH == 0) {
+        scanner = randomizer.nextInt(numberOfScanners);
+      }
+      cells.get(scanner).add(new KeyValue(Bytes.toBytes(i), family, qualifier, value));
+    }
+    return cells;
+  }
+
+  private long merge(List<List<Cell>> cells, boolean loserTree) throws IOException {
+    List<KeyValueScanner> scanners = new ArrayList<>(cells.size());
+    for (List<Cell> list : cells) {
+      scanners.add(new CollectionBackedScanner(list, CellComparator.COMPARATOR));
+    }
+    long startTime = System.nanoTime();
+    KeyValueHeap heap = new KeyValueHeap(scanners, CellComparator.COMPARATOR, loserTree);
+    int count = 0;
+    while (heap.next() != null) {
+      count++;
+    }
+    long time = System.nanoTime() - startTime;
+    heap.close();
+    if (count != NUMBER_OF_CELLS) {
+      throw new IllegalStateException("Merged " + count + " cells instead of " + NUMBER_OF_CELLS);
+    }
+    return time;
+  }
+
+  private void runTest(int numberOfScanners, boolean runs) throws IOException {
+    List<List<Cell>> cells = prepareCells(numberOfScanners, runs);
+    // warm up
+    merge(cells, false);
+    merge(cells, true);
+    long heapTime = 0;
+    long loserTreeTime = 0;
+    for (int i = 0; i < ITERATIONS; i++) {
+      heapTime += merge(cells, false);
+      loserTreeTime += merge(cells, true);
+    }
+    System.out.println(String.format("%d scanners, %s: priority queue %.2f ms, loser tree %.2f ms",
+      numberOfScanners, runs ? "runs of " + RUN_LENGTH + " cells" : "interleaved",
+      heapTime / NANOSEC_IN_MILLISEC / ITERATIONS,
+      loserTreeTime / NANOSEC_IN_MILLISEC / ITERATIONS));
+  }
+
+  /**
+   * @param args the numbers of scanners to merge, 4, 16 and 32 by default
+   */
+  public static void main(String[] args) throws IOException {
+    int[] numbersOfScanners = new int[] { 4, 16, 32 };
+    if (args.length > 0) {
+      numbersOfScanners = new int[args.length];
+      for (int i = 0; i < args.length; i++) {
+        numbersOfScanners[i] = Integer.parseInt(args[i]);
+      }
+    }
+    KeyValueHeapBenchmark benchmark = new KeyValueHeapBenchmark();
+    for (int numberOfScanners : numbersOfScanners) {
+      benchmark.runTest(numberOfScanners, false);
+      benchmark.runTest(numberOfScanners, true);
+    }
+  }
+}
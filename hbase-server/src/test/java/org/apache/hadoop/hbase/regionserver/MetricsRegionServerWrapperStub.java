@@ -505,6 +505,16 @@ public class MetricsRegionServerWrapperStub implements MetricsRegionServerWrappe
     return 50;
   }
 
+  @Override
+  public long getRowCacheCount() {
+    return 423;
+  }
+
+  @Override
+  public long getRowCacheSize() {
+    return 424;
+  }
+
   @Override
   public long getAverageRegionSize() {
     return 10000000;
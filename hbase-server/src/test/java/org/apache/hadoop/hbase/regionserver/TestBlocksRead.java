@@ -266,9 +266,23 @@ public class TestBlocksRead  {
    */
   @Test
   public void testLazySeekBlocksRead() throws Exception {
-    byte[] TABLE = Bytes.toBytes("testLazySeekBlocksRead");
+    lazySeekBlocksRead(false);
+  }
+
+  /**
+   * Same as {@link #testLazySeekBlocksRead()}, with the Gets read on the fast path.
+   */
+  @Test
+  public void testLazySeekBlocksReadOnFastPath() throws Exception {
+    lazySeekBlocksRead(true);
+  }
+
+  private void lazySeekBlocksRead(boolean fastPath) throws Exception {
+    byte[] TABLE = Bytes.toBytes(testName.getMethodName());
     String FAMILY = "cf1";
     Cell kvs[];
+    Configuration conf = new Configuration(this.conf);
+    conf.setBoolean(HRegion.HREGION_GET_FAST_PATH, fastPath);
     this.region = initHRegion(TABLE, testName.getMethodName(), conf, FAMILY);
 
     try {
@@ -345,7 +359,13 @@ public class TestBlocksRead  {
       region.flush(true);
 
       // Baseline expected blocks read: 6. [HBASE-4532]
-      kvs = getData(FAMILY, "row", Arrays.asList("col1", "col2", "col3"), 6, 7, 7);
+      // The fast path reseeks to the next column rather than skip the deleted cells of file 6
+      // (HBASE-13109), and so does not read the older files: 5.
+      if (fastPath) {
+        kvs = getData(FAMILY, "row", Arrays.asList("col1", "col2", "col3"), 5);
+      } else {
+        kvs = getData(FAMILY, "row", Arrays.asList("col1", "col2", "col3"), 6, 7, 7);
+      }
       assertEquals(0, kvs.length);
  
       // File 7: Put back new data
@@ -356,7 +376,12 @@ public class TestBlocksRead  {
 
 
       // Expected blocks read: 8. [HBASE-4585, HBASE-13109]
-      kvs = getData(FAMILY, "row", Arrays.asList("col1", "col2", "col3"), 8, 9, 9);
+      // The fast path only reads the new file and the delete markers: 5.
+      if (fastPath) {
+        kvs = getData(FAMILY, "row", Arrays.asList("col1", "col2", "col3"), 5);
+      } else {
+        kvs = getData(FAMILY, "row", Arrays.asList("col1", "col2", "col3"), 8, 9, 9);
+      }
       assertEquals(3, kvs.length);
       verifyData(kvs[0], "row", "col1", 11);
       verifyData(kvs[1], "row", "col2", 12);
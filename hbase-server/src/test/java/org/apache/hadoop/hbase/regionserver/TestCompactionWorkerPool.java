@@ -0,0 +1,233 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.regionserver.CompactionWorkerPool.Request;
+import org.apache.hadoop.hbase.regionserver.CompactionWorkerPool.Response;
+import org.apache.hadoop.hbase.regionserver.compactions.CompactionContext;
+import org.apache.hadoop.hbase.regionserver.throttle.NoLimitThroughputController;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.FSTableDescriptors;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+
+@Category({ RegionServerTests.class, MediumTests.class })
+public class TestCompactionWorkerPool {
+  private static final HBaseTestingUtility UTIL = HBaseTestingUtility.createLocalHTU();
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+
+  private HRegion region;
+
+  @After
+  public void tearDown() throws IOException {
+    if (region != null) {
+      HBaseTestingUtility.closeRegionAndWAL(region);
+    }
+  }
+
+  @Test
+  public void testProtocol() throws IOException {
+    Request request = Request.decode(new Request(new Path("/hbase/data/t/r/f"),
+        new Path("/hbase/data/t/r/.tmp"), 42, true, true, Arrays.asList("a", "b")).encode());
+    assertEquals(new Path("/hbase/data/t/r/f"), request.familyDir);
+    assertEquals(new Path("/hbase/data/t/r/.tmp"), request.tmpDir);
+    assertEquals(42, request.smallestReadPoint);
+    assertTrue(request.major);
+    assertTrue(request.allFiles);
+    assertEquals(Arrays.asList("a", "b"), request.fileNames);
+
+    Response response = Response.decode(new Response(10, 100,
+        Arrays.asList(new Path("/hbase/data/t/r/.tmp/c"))).encode());
+    assertEquals(10, response.compactedKVs);
+    assertEquals(100, response.compactedSize);
+    assertEquals(Arrays.asList(new Path("/hbase/data/t/r/.tmp/c")), response.newFiles);
+    assertTrue(Response.decode(new Response(0, 0, new ArrayList<Path>()).encode())
+        .newFiles.isEmpty());
+
+    try {
+      Response.decode(Response.encodeError(new IOException("multi\nline")));
+      fail("A failed compaction should throw");
+    } catch (IOException e) {
+      assertTrue(e.getMessage(), e.getMessage().endsWith("multi line"));
+    }
+  }
+
+  private HStore createStore(String name) throws IOException {
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(name));
+    htd.addFamily(new HColumnDescriptor(FAMILY));
+    region = UTIL.createLocalHRegion(new HRegionInfo(htd.getTableName()), htd);
+    new FSTableDescriptors(UTIL.getConfiguration()).createTableDescriptorForTableDirectory(
+      region.getRegionFileSystem().getTableDir(), htd, false);
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 10; j++) {
+        region.put(new Put(Bytes.toBytes(i * 10 + j)).addColumn(FAMILY, FAMILY, FAMILY));
+      }
+      region.flush(true);
+    }
+    return (HStore) region.getStore(FAMILY);
+  }
+
+  @Test
+  public void testCompactFiles() throws IOException {
+    HStore store = createStore("testCompactFiles");
+    HRegionFileSystem regionFs = region.getRegionFileSystem();
+    List<String> fileNames = new ArrayList<>();
+    for (StoreFile sf : store.getStorefiles()) {
+      fileNames.add(sf.getPath().getName());
+    }
+    assertEquals(3, fileNames.size());
+
+    Response response = CompactionTool.compactFiles(UTIL.getConfiguration(),
+      regionFs.getFileSystem(), new Request(regionFs.getStoreDir(store.getColumnFamilyName()),
+          regionFs.getTempDir(), store.getSmallestReadPoint(), true, true, fileNames));
+    assertEquals(30, response.compactedKVs);
+    assertEquals(1, response.newFiles.size());
+    Path newFile = response.newFiles.get(0);
+    assertEquals(regionFs.getTempDir().getName(), newFile.getParent().getParent().getName());
+    // nothing is committed by the worker
+    assertEquals(3, store.getStorefilesCount());
+
+    StoreFile sf = store.moveFileIntoPlace(newFile);
+    assertEquals(30, sf.getReader().getEntries());
+  }
+
+  @Test
+  public void testOffload() {
+    HStore store = Mockito.mock(HStore.class);
+    CompactionContext compaction = Mockito.mock(CompactionContext.class);
+    CompactionWorkerPool pool = new CompactionWorkerPool(UTIL.getConfiguration());
+    try {
+      // only the stores of the default engine are compacted in the workers
+      assertSame(compaction, pool.offload(store, compaction));
+    } finally {
+      pool.close();
+    }
+  }
+
+  @Test
+  public void testCommand() throws IOException {
+    UTIL.getConfiguration().set(CompactionWorkerPool.WORKER_OPTS_KEY, " -Xmx1g  -Dfoo=bar ");
+    CompactionWorkerPool pool = new CompactionWorkerPool(UTIL.getConfiguration());
+    try {
+      List<String> command = pool.getCommand();
+      assertEquals(Arrays.asList("-Xmx1g", "-Dfoo=bar"), command.subList(1, 3));
+      assertEquals(CompactionTool.class.getName(), command.get(5));
+      assertEquals("-worker", command.get(command.size() - 1));
+      assertFalse(command.contains(""));
+      // the configuration may hold secrets, only the user of the region server can read it
+      File confFile = new File(command.get(command.size() - 2));
+      assertEquals(new File(UTIL.getConfiguration().get("hbase.local.dir")).getCanonicalPath(),
+        confFile.getParentFile().getParentFile().getCanonicalPath());
+      assertEquals(PosixFilePermissions.fromString("rw-------"),
+        Files.getPosixFilePermissions(confFile.toPath()));
+      assertEquals(PosixFilePermissions.fromString("rwx------"),
+        Files.getPosixFilePermissions(confFile.getParentFile().toPath()));
+    } finally {
+      pool.close();
+    }
+  }
+
+  @Test
+  public void testCompactInWorker() throws IOException {
+    HStore store = createStore("testCompactInWorker");
+    UTIL.getConfiguration().setInt(CompactionWorkerPool.WORKERS_KEY, 1);
+    CompactionWorkerPool pool = new CompactionWorkerPool(UTIL.getConfiguration());
+    try {
+      CompactionContext compaction = pool.offload(store, store.requestCompaction());
+      assertEquals(3, compaction.getRequest().getFiles().size());
+      // run in a worker process, committed by the store
+      List<StoreFile> newFiles =
+          store.compact(compaction, NoLimitThroughputController.INSTANCE, null);
+      assertEquals(1, newFiles.size());
+      assertEquals(1, store.getStorefilesCount());
+      assertEquals(30, store.getStorefiles().iterator().next().getReader().getEntries());
+      assertEquals(30, store.getCompactionProgress().getTotalCompactingKvs());
+    } finally {
+      pool.close();
+      UTIL.getConfiguration().unset(CompactionWorkerPool.WORKERS_KEY);
+    }
+  }
+
+  @Test
+  public void testAbortOnClose() throws Exception {
+    final HStore store = createStore("testAbortOnClose");
+    UTIL.getConfiguration().setInt(CompactionWorkerPool.WORKERS_KEY, 1);
+    // a worker never answering
+    final CompactionWorkerPool pool = new CompactionWorkerPool(UTIL.getConfiguration()) {
+      @Override
+      synchronized List<String> getCommand() {
+        return Arrays.asList("sleep", "600");
+      }
+    };
+    UTIL.getConfiguration().unset(CompactionWorkerPool.WORKERS_KEY);
+    CompactionContext selection = store.requestCompaction();
+    final CompactionContext compaction = pool.offload(store, selection);
+    final AtomicReference<Throwable> error = new AtomicReference<>();
+    Thread compactor = new Thread() {
+      @Override
+      public void run() {
+        try {
+          compaction.compact(NoLimitThroughputController.INSTANCE, null);
+        } catch (Throwable t) {
+          error.set(t);
+        }
+      }
+    };
+    try {
+      compactor.start();
+      compactor.join(1000);
+      assertTrue("The compaction should wait for the worker", compactor.isAlive());
+      pool.close();
+      compactor.join(10000);
+      assertFalse(compactor.isAlive());
+      assertTrue(String.valueOf(error.get()), error.get() instanceof InterruptedIOException);
+      // nothing was committed
+      assertEquals(3, store.getStorefilesCount());
+    } finally {
+      pool.close();
+      store.cancelRequestedCompaction(selection);
+    }
+  }
+}
@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.regionserver.FlushScheduler.Candidate;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ RegionServerTests.class, MediumTests.class })
+public class TestFlushScheduler {
+  private static final HBaseTestingUtility UTIL = HBaseTestingUtility.createLocalHTU();
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+
+  private HRegion region;
+
+  @After
+  public void tearDown() throws IOException {
+    if (region != null) {
+      HBaseTestingUtility.closeRegionAndWAL(region);
+      region = null;
+    }
+  }
+
+  private static Candidate candidate(long memstoreSize, boolean bigEnough, boolean freesWALs,
+      double score) {
+    return new Candidate(mock(Region.class), memstoreSize, bigEnough, freesWALs, score);
+  }
+
+  @Test
+  public void testScore() {
+    // bigger, older and pinning more WALs is better
+    assertTrue(FlushScheduler.getScore(0.8, 0, 0, 0) > FlushScheduler.getScore(0.4, 0, 0, 0));
+    assertTrue(FlushScheduler.getScore(0.4, 0.5, 0, 0) > FlushScheduler.getScore(0.8, 0, 0, 0));
+    assertTrue(FlushScheduler.getScore(0.1, 0, 0.5, 0) > FlushScheduler.getScore(0.5, 0, 0, 0));
+    // unless the stores are about to block on too many files
+    assertEquals(0.4, FlushScheduler.getScore(0.8, 0, 0, 1), 0.001);
+    assertEquals(0.8, FlushScheduler.getScore(0.8, 0, 0, -1), 0.001);
+  }
+
+  @Test
+  public void testSelect() {
+    Candidate small = candidate(10, false, false, 0.9);
+    Candidate big = candidate(100, true, false, 0.5);
+    Candidate bigger = candidate(200, true, false, 0.7);
+    Candidate pinning = candidate(10, false, true, 0.1);
+    List<Candidate> candidates = new ArrayList<>();
+    candidates.add(small);
+    candidates.add(big);
+    candidates.add(bigger);
+    candidates.add(pinning);
+
+    // under the thresholds, only to free WALs
+    List<Candidate> selected = FlushScheduler.select(candidates, -1, 2);
+    assertEquals(1, selected.size());
+    assertTrue(selected.contains(pinning));
+
+    // the best big enough regions until under the threshold
+    selected = FlushScheduler.select(candidates, 150, 2);
+    assertEquals(2, selected.size());
+    assertTrue(selected.get(0) == bigger);
+    assertTrue(selected.get(1) == pinning);
+    selected = FlushScheduler.select(candidates, 250, 2);
+    assertEquals(2, selected.size());
+    assertTrue(selected.get(0) == bigger);
+    assertTrue(selected.get(1) == big);
+    selected = FlushScheduler.select(candidates, 250, 3);
+    assertEquals(3, selected.size());
+    assertTrue(selected.get(2) == pinning);
+  }
+
+  private void createRegion(String name, Configuration conf, long flushSize)
+      throws IOException {
+    region = createRegion(name, conf, flushSize, 10);
+  }
+
+  private static HRegion createRegion(String name, Configuration conf, long flushSize, int rows)
+      throws IOException {
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(name));
+    htd.addFamily(new HColumnDescriptor(FAMILY));
+    htd.setMemStoreFlushSize(flushSize);
+    HRegion created = HBaseTestingUtility.createRegionAndWAL(new HRegionInfo(htd.getTableName()),
+      UTIL.getDataTestDir(name), conf, htd);
+    for (int i = 0; i < rows; i++) {
+      created.put(new Put(Bytes.toBytes(i)).addColumn(FAMILY, FAMILY, new byte[100]));
+    }
+    return created;
+  }
+
+  private FlushScheduler createScheduler(Configuration conf, long globalMemstoreSize,
+      FlushRequester requester) {
+    return createScheduler(conf, globalMemstoreSize, requester,
+      Collections.<Region> singletonList(region));
+  }
+
+  private static FlushScheduler createScheduler(Configuration conf, long globalMemstoreSize,
+      FlushRequester requester, List<Region> regions) {
+    RegionServerAccounting accounting = mock(RegionServerAccounting.class);
+    when(accounting.getGlobalMemstoreDataSize()).thenReturn(globalMemstoreSize);
+    when(accounting.getGlobalMemstoreLimitLowMark()).thenReturn(1000L);
+    HRegionServer server = mock(HRegionServer.class);
+    when(server.getServerName()).thenReturn(ServerName.valueOf("localhost", 1, 1));
+    when(server.getConfiguration()).thenReturn(conf);
+    when(server.getFlushRequester()).thenReturn(requester);
+    when(server.getRegionServerAccounting()).thenReturn(accounting);
+    when(server.getOnlineRegionsLocalContext()).thenReturn(regions);
+    return new FlushScheduler(server, 1000);
+  }
+
+  @Test
+  public void testFlushForMemory() throws IOException {
+    Configuration conf = new Configuration(UTIL.getConfiguration());
+    createRegion("testFlushForMemory", conf, 1000);
+
+    // under the threshold of the low water mark
+    FlushRequester requester = mock(FlushRequester.class);
+    createScheduler(conf, 700, requester).chore();
+    verify(requester, never()).requestFlush(any(Region.class), anyBoolean());
+
+    // over it, the memstore is flushed, the stores picked by the flush policy
+    requester = mock(FlushRequester.class);
+    createScheduler(conf, 900, requester).chore();
+    verify(requester).requestFlush(region, false);
+
+    // but not while it is already flushing
+    synchronized (region.writestate) {
+      region.writestate.flushing = true;
+    }
+    requester = mock(FlushRequester.class);
+    createScheduler(conf, 900, requester).chore();
+    verify(requester, never()).requestFlush(any(Region.class), anyBoolean());
+    synchronized (region.writestate) {
+      region.writestate.flushing = false;
+    }
+  }
+
+  @Test
+  public void testQueuedRegionNotRequestedAgain() throws IOException {
+    Configuration conf = new Configuration(UTIL.getConfiguration());
+    createRegion("testQueuedRegionNotRequestedAgain", conf, 1000);
+    HRegion other = createRegion("testQueuedRegionNotRequestedAgain2", conf, 1000, 5);
+    try {
+      List<Region> regions = new ArrayList<>();
+      regions.add(region);
+      regions.add(other);
+      MemStoreFlusher flusher = mock(MemStoreFlusher.class);
+      when(flusher.isQueued(region)).thenReturn(true);
+      // the queued flush brings the memstore back under the threshold
+      createScheduler(conf, 800 + region.getMemstoreSize(), flusher, regions).chore();
+      verify(flusher, never()).requestFlush(any(Region.class), anyBoolean());
+
+      // not all the way, the other region is flushed
+      flusher = mock(MemStoreFlusher.class);
+      when(flusher.isQueued(region)).thenReturn(true);
+      createScheduler(conf, 801 + region.getMemstoreSize(), flusher, regions).chore();
+      verify(flusher).requestFlush(other, false);
+      verify(flusher, never()).requestFlush(region, false);
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(other);
+    }
+  }
+
+  @Test
+  public void testFlushToFreeWALs() throws IOException {
+    Configuration conf = new Configuration(UTIL.getConfiguration());
+    conf.setInt("hbase.regionserver.maxlogs", 2);
+    conf.setFloat(FlushScheduler.THRESHOLD_KEY, 0.5f);
+    // far from big enough to be flushed for memory
+    createRegion("testFlushToFreeWALs", conf, 1024 * 1024 * 1024);
+
+    FlushRequester requester = mock(FlushRequester.class);
+    createScheduler(conf, 0, requester).chore();
+    verify(requester, never()).requestFlush(any(Region.class), anyBoolean());
+
+    // the rolled WAL file holds edits of the region, all its stores are flushed to release it
+    region.getWAL().rollWriter();
+    requester = mock(FlushRequester.class);
+    createScheduler(conf, 0, requester).chore();
+    verify(requester).requestFlush(region, true);
+  }
+}
@@ -1246,6 +1246,33 @@ public class TestHRegion {
     }
   }
 
+  @Test
+  public void testParallelFlush() throws IOException {
+    Configuration conf = new Configuration(CONF);
+    conf.setInt(HRegion.HREGION_FLUSH_PARALLELISM, 2);
+    byte[][] families = { fam1, fam2, fam3 };
+    this.region = initHRegion(tableName, method, conf, families);
+    try {
+      putData(0, 100, qual1, families);
+      long flushSeqId = region.getReadPoint(null);
+      region.flush(true);
+      assertEquals(0, region.getMemstoreSize());
+      assertTrue(region.getMaxFlushedSeqId() >= flushSeqId);
+      for (byte[] family : families) {
+        assertEquals(1, region.getStore(family).getStorefilesCount());
+      }
+      putData(100, 100, qual1, fam2);
+      region.flush(true);
+      assertEquals(1, region.getStore(fam1).getStorefilesCount());
+      assertEquals(2, region.getStore(fam2).getStorefilesCount());
+      verifyData(region, 0, 100, qual1, families);
+      verifyData(region, 100, 100, qual1, fam2);
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(this.region);
+      this.region = null;
+    }
+  }
+
   @Test
   public void testGetWhileRegionClose() throws IOException {
     Configuration hc = initSplit();
@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.KeyValueUtil;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.CollectionBackedScanner;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestLoserTree {
+
+  private final Random random = new Random(12345);
+
+  @Test
+  public void testSameOrderAsPriorityQueue() {
+    for (int capacity : new int[] { 1, 2, 3, 7, 8, 33 }) {
+      LoserTree<Integer> tree = new LoserTree<>(capacity, Comparator.naturalOrder());
+      PriorityQueue<Integer> queue = new PriorityQueue<>();
+      for (int i = 0; i < 10000; i++) {
+        int op = random.nextInt(3);
+        if (op == 0 && queue.size() < capacity) {
+          int e = random.nextInt(1000);
+          tree.add(e);
+          queue.add(e);
+        } else if (op == 1) {
+          assertEquals(queue.poll(), tree.poll());
+        } else {
+          int e = random.nextInt(1000);
+          queue.add(e);
+          assertEquals(queue.poll(), tree.addAndPoll(e));
+        }
+        assertEquals(queue.size(), tree.size());
+        assertEquals(queue.peek(), tree.peek());
+      }
+    }
+  }
+
+  @Test
+  public void testGrowAndIterate() {
+    LoserTree<Integer> tree = new LoserTree<>(2, Comparator.naturalOrder());
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      int e = random.nextInt();
+      tree.add(e);
+      expected.add(e);
+    }
+    List<Integer> iterated = new ArrayList<>();
+    for (Integer e : tree) {
+      iterated.add(e);
+    }
+    Collections.sort(expected);
+    Collections.sort(iterated);
+    assertEquals(expected, iterated);
+    for (Integer e : expected) {
+      assertEquals(e, tree.poll());
+    }
+    assertNull(tree.poll());
+    assertTrue(tree.isEmpty());
+  }
+
+  private static byte[] row(int i) {
+    return Bytes.toBytes(String.format("row%05d", i));
+  }
+
+  private List<KeyValueScanner> createScanners(int count, int rows) {
+    List<List<Cell>> cells = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      cells.add(new ArrayList<>());
+    }
+    byte[] family = Bytes.toBytes("f");
+    byte[] value = Bytes.toBytes("v");
+    for (int i = 0; i < rows; i++) {
+      for (int q = 0; q < 3; q++) {
+        // spread the cells, and sometimes runs of cells, over the scanners
+        int scanner = random.nextInt(4) == 0 ? i % count : random.nextInt(count);
+        cells.get(scanner).add(new KeyValue(row(i), family, Bytes.toBytes(q), value));
+      }
+    }
+    List<KeyValueScanner> scanners = new ArrayList<>();
+    for (List<Cell> list : cells) {
+      scanners.add(new CollectionBackedScanner(list, CellComparator.COMPARATOR));
+    }
+    return scanners;
+  }
+
+  @Test
+  public void testKeyValueHeap() throws IOException {
+    for (int count : new int[] { 1, 5, 30 }) {
+      long seed = random.nextLong();
+      random.setSeed(seed);
+      KeyValueHeap expected =
+          new KeyValueHeap(createScanners(count, 1000), CellComparator.COMPARATOR, false);
+      random.setSeed(seed);
+      KeyValueHeap actual =
+          new KeyValueHeap(createScanners(count, 1000), CellComparator.COMPARATOR, true);
+      assertTrue(actual.getHeap() instanceof LoserTree);
+      int nexts = 0;
+      while (expected.peek() != null) {
+        assertEquals(expected.peek(), actual.peek());
+        if (random.nextInt(20) == 0) {
+          int currentRow = Integer.parseInt(Bytes.toString(expected.peek().getRowArray(),
+            expected.peek().getRowOffset() + 3, 5));
+          Cell seekKey = KeyValueUtil.createFirstOnRow(row(currentRow + random.nextInt(40)));
+          assertEquals(expected.reseek(seekKey), actual.reseek(seekKey));
+        } else {
+          assertEquals(expected.next(), actual.next());
+          nexts++;
+        }
+      }
+      assertNull(actual.peek());
+      assertTrue(nexts > 0);
+      expected.close();
+      actual.close();
+    }
+  }
+}
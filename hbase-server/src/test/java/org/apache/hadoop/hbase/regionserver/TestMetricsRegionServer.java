@@ -96,6 +96,8 @@ public class TestMetricsRegionServer {
     HELPER.assertGauge("blockCacheExpressHitPercent", 97, serverSource);
     HELPER.assertCounter("blockCacheFailedInsertionCount", 36, serverSource);
     HELPER.assertCounter("updatesBlockedTime", 419, serverSource);
+    HELPER.assertGauge("rowCacheCount", 423, serverSource);
+    HELPER.assertGauge("rowCacheSize", 424, serverSource);
   }
 
   @Test
@@ -141,6 +143,26 @@ public class TestMetricsRegionServer {
     HELPER.assertCounter("slowPutCount", 16, serverSource);
   }
 
+  @Test
+  public void testFastPathGetCount() {
+    for (int i = 0; i < 17; i++) {
+      rsm.incrFastPathGet();
+    }
+    HELPER.assertCounter("fastPathGetCount", 17, serverSource);
+  }
+
+  @Test
+  public void testRowCacheCounts() {
+    for (int i = 0; i < 5; i++) {
+      rsm.incrRowCacheHit();
+    }
+    rsm.incrRowCacheMiss();
+    rsm.incrRowCacheEvicted(3);
+    HELPER.assertCounter("rowCacheHitCount", 5, serverSource);
+    HELPER.assertCounter("rowCacheMissCount", 1, serverSource);
+    HELPER.assertCounter("rowCacheEvictionCount", 3, serverSource);
+  }
+
   String FLUSH_TIME = "flushTime";
   String FLUSH_TIME_DESC = "Histogram for the time in millis for memstore flush";
   String FLUSH_MEMSTORE_SIZE = "flushMemstoreSize";
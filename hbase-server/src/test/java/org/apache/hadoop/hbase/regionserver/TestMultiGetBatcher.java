@@ -0,0 +1,216 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.apache.hadoop.hbase.HBaseTestingUtility.COLUMNS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.KeepDeletedCells;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestMultiGetBatcher {
+
+  private final HBaseTestingUtility hbu = HBaseTestingUtility.createLocalHTU();
+
+  private final byte[] c0 = COLUMNS[0];
+
+  private final byte[] c1 = COLUMNS[1];
+
+  @Rule
+  public TestName name = new TestName();
+
+  private HRegion region;
+
+  private final List<RegionScanner> scanners = new ArrayList<>();
+
+  @Before
+  public void setUp() throws IOException {
+    HTableDescriptor htd = hbu.createTableDescriptor(name.getMethodName(), 0, 3,
+      HConstants.FOREVER, KeepDeletedCells.FALSE);
+    region = hbu.createLocalHRegion(htd, null, null);
+    // even rows only, the first half flushed, every tenth row deleted
+    for (int i = 0; i < 100; i += 2) {
+      Put put = new Put(row(i));
+      put.addColumn(c0, c0, Bytes.toBytes(i));
+      put.addColumn(c0, c1, Bytes.toBytes(-i));
+      put.addColumn(c1, c0, Bytes.toBytes(i * i));
+      region.put(put);
+      if (i == 50) {
+        region.flush(true);
+      }
+    }
+    for (int i = 0; i < 100; i += 10) {
+      region.delete(new Delete(row(i)));
+    }
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    for (RegionScanner scanner : scanners) {
+      scanner.close();
+    }
+    HBaseTestingUtility.closeRegionAndWAL(region);
+  }
+
+  private static byte[] row(int i) {
+    return Bytes.toBytes(String.format("row%03d", i));
+  }
+
+  private Get prepared(Get get) throws IOException {
+    region.prepareGet(get);
+    return get;
+  }
+
+  private Result[] batchedGet(Get[] gets, long maxResultSize) throws IOException {
+    return MultiGetBatcher.get(region, gets, scanners::add, maxResultSize);
+  }
+
+  private void assertResultEquals(Result expected, Result actual) throws Exception {
+    Result.compareResults(expected, actual);
+    assertEquals(expected.getExists(), actual.getExists());
+  }
+
+  @Test
+  public void testSameResultsAsGets() throws Exception {
+    // unsorted, with missing, deleted and duplicated rows
+    int[] rows = { 33, 12, 4, 10, 98, 12, 200, 51, 52, 0, 76 };
+    Get[] gets = new Get[rows.length];
+    for (int i = 0; i < rows.length; i++) {
+      gets[i] = prepared(new Get(row(rows[i])));
+    }
+    Result[] results = batchedGet(gets, Long.MAX_VALUE);
+    assertEquals(1, scanners.size());
+    for (int i = 0; i < rows.length; i++) {
+      assertNotNull(results[i]);
+      assertResultEquals(region.get(prepared(new Get(row(rows[i])))), results[i]);
+    }
+    assertEquals(3, results[1].size());
+    assertTrue(results[3].isEmpty());
+    assertTrue(results[7].isEmpty());
+  }
+
+  @Test
+  public void testColumnsAndExistence() throws Exception {
+    Get[] gets = new Get[4];
+    for (int i = 0; i < gets.length; i++) {
+      gets[i] = prepared(new Get(row(20 + 2 * i)).addColumn(c0, c1).setCheckExistenceOnly(true));
+    }
+    Result[] results = batchedGet(gets, Long.MAX_VALUE);
+    assertTrue(results[1].getExists());
+    assertFalse(results[0].getExists());
+    for (int i = 0; i < gets.length; i++) {
+      Get get = prepared(new Get(row(20 + 2 * i)).addColumn(c0, c1).setCheckExistenceOnly(true));
+      assertResultEquals(region.get(get), results[i]);
+      // no cell is sent back
+      assertTrue(results[i].isEmpty());
+    }
+  }
+
+  @Test
+  public void testRequestsSampledOnce() throws Exception {
+    region.startSamplingRequests(1000);
+    Get[] gets = new Get[5];
+    for (int i = 0; i < gets.length; i++) {
+      gets[i] = prepared(new Get(row(40 - 2 * i)));
+    }
+    batchedGet(gets, Long.MAX_VALUE);
+    assertEquals(gets.length, region.getRequestSampler().getSeen());
+    // all on the same row, the scanner of the batch is a get scan
+    batchedGet(new Get[] { prepared(new Get(row(2))), prepared(new Get(row(2))) },
+      Long.MAX_VALUE);
+    assertEquals(gets.length + 2, region.getRequestSampler().getSeen());
+  }
+
+  @Test
+  public void testNotBatchedWithRowCache() throws Exception {
+    assertTrue(MultiGetBatcher.canBatch(region));
+    hbu.getConfiguration().setBoolean(HRegion.HREGION_GET_FAST_PATH, true);
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(name.getMethodName() + "2"));
+    htd.addFamily(new HColumnDescriptor(c0).setRowCacheEnabled(true));
+    HRegion cached = hbu.createLocalHRegion(htd, null, null);
+    try {
+      assertNotNull(cached.getRowCache());
+      // the cached rows are read on the fast path, one by one
+      assertFalse(MultiGetBatcher.canBatch(cached));
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(cached);
+    }
+  }
+
+  @Test
+  public void testOnlySharedScannerGetsServed() throws Exception {
+    Get[] gets = new Get[] { prepared(new Get(row(2)).addFamily(c0)),
+        prepared(new Get(row(4)).addFamily(c1)), prepared(new Get(row(6)).addFamily(c0)),
+        prepared(new Get(row(8)).addFamily(c0).setFilter(new KeyOnlyFilter())), null,
+        prepared(new Get(row(12)).addFamily(c0).setMaxVersions(2)) };
+    Result[] results = batchedGet(gets, Long.MAX_VALUE);
+    assertEquals(2, results[0].size());
+    assertNull(results[1]);
+    assertEquals(2, results[2].size());
+    assertNull(results[3]);
+    assertNull(results[4]);
+    assertNull(results[5]);
+  }
+
+  @Test
+  public void testSingleGetNotBatched() throws Exception {
+    Result[] results = batchedGet(new Get[] { prepared(new Get(row(2))) }, Long.MAX_VALUE);
+    assertNull(results[0]);
+    assertTrue(scanners.isEmpty());
+  }
+
+  @Test
+  public void testMaxResultSize() throws Exception {
+    Get[] gets = new Get[10];
+    for (int i = 0; i < gets.length; i++) {
+      gets[i] = prepared(new Get(row(2 * i + 2)));
+    }
+    Result[] results = batchedGet(gets, 1);
+    assertNotNull(results[0]);
+    for (int i = 1; i < gets.length; i++) {
+      assertNull(results[i]);
+    }
+  }
+}
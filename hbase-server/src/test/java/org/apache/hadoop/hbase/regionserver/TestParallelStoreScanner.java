@@ -0,0 +1,243 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.executor.ExecutorService;
+import org.apache.hadoop.hbase.executor.ExecutorType;
+import org.apache.hadoop.hbase.filter.PrefixFilter;
+import org.apache.hadoop.hbase.regionserver.ScannerContext.LimitScope;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.wal.WALFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+@Category({ RegionServerTests.class, MediumTests.class })
+public class TestParallelStoreScanner {
+
+  private static final byte[][] FAMILIES = { Bytes.toBytes("a"), Bytes.toBytes("b"),
+      Bytes.toBytes("c"), Bytes.toBytes("d") };
+
+  @Rule
+  public TestName name = new TestName();
+
+  private final HBaseTestingUtility testUtil = HBaseTestingUtility.createLocalHTU();
+  private ExecutorService executor;
+  private WALFactory wals;
+  private HRegion region;
+
+  @Before
+  public void setUp() throws IOException {
+    Configuration conf = testUtil.getConfiguration();
+    Path rootDir = testUtil.getDataTestDir(name.getMethodName());
+    conf.set(HConstants.HBASE_DIR, rootDir.toString());
+    conf.setInt(ParallelStoreScanner.REGION_SERVER_SCAN_PARALLEL_THREADS, 3);
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(name.getMethodName()));
+    for (byte[] family : FAMILIES) {
+      htd.addFamily(new HColumnDescriptor(family).setMaxVersions(2));
+    }
+    HRegionInfo hri = new HRegionInfo(htd.getTableName());
+    wals = TestHRegion.createWALFactory(conf, rootDir);
+
+    executor = new ExecutorService("test");
+    executor.startExecutorService(ExecutorType.RS_PARALLEL_SCAN, 3);
+    RegionServerServices rss = mock(RegionServerServices.class);
+    when(rss.getServerName()).thenReturn(ServerName.valueOf("foo", 1, 1));
+    when(rss.getConfiguration()).thenReturn(conf);
+    when(rss.getRegionServerAccounting()).thenReturn(new RegionServerAccounting(conf));
+    when(rss.getExecutorService()).thenReturn(executor);
+
+    HRegion created = HRegion.createHRegion(hri, rootDir, conf, htd,
+      wals.getWAL(hri.getEncodedNameAsBytes(), hri.getTable().getNamespace()));
+    created.close();
+    region = HRegion.openHRegion(rootDir, hri, htd,
+      wals.getWAL(hri.getEncodedNameAsBytes(), hri.getTable().getNamespace()), conf, rss, null);
+    loadRegion();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    if (region != null) {
+      region.close();
+    }
+    if (wals != null) {
+      wals.close();
+    }
+    executor.shutdown();
+  }
+
+  /**
+   * Rows spread over some of the families, over several files and the memstore, with deletes.
+   */
+  private void loadRegion() throws IOException {
+    Random rand = new Random(42);
+    for (int flush = 0; flush < 3; flush++) {
+      for (int i = 0; i < 200; i++) {
+        byte[] row = Bytes.toBytes(String.format("row%04d", rand.nextInt(100)));
+        Put put = new Put(row);
+        for (byte[] family : FAMILIES) {
+          if (rand.nextInt(3) == 0) {
+            continue;
+          }
+          for (int q = rand.nextInt(6); q >= 0; q--) {
+            put.addColumn(family, Bytes.toBytes("q" + rand.nextInt(8)),
+              Bytes.toBytes("value" + rand.nextInt()));
+          }
+        }
+        if (!put.isEmpty()) {
+          region.put(put);
+        }
+        if (rand.nextInt(10) == 0) {
+          Delete delete = new Delete(row);
+          delete.addFamily(FAMILIES[rand.nextInt(FAMILIES.length)]);
+          region.delete(delete);
+        }
+      }
+      if (flush < 2) {
+        region.flush(true);
+      }
+    }
+  }
+
+  private List<List<Cell>> scan(Scan scan, int batch, long maxResultSize, boolean parallel)
+      throws IOException {
+    scan = new Scan(scan).setIntraRegionParallelism(parallel ? 3 : 0);
+    List<List<Cell>> batches = new ArrayList<>();
+    RegionScanner scanner = region.getScanner(scan);
+    try {
+      if (parallel && scan.getFilter() == null) {
+        assertTrue(((HRegion.RegionScannerImpl) scanner).storeHeap
+            .getCurrentForTesting() instanceof ParallelStoreScanner);
+      }
+      boolean more;
+      do {
+        ScannerContext.Builder builder = ScannerContext.newBuilder().setBatchLimit(batch);
+        if (maxResultSize > 0) {
+          builder.setSizeLimit(LimitScope.BETWEEN_CELLS, maxResultSize, maxResultSize);
+        }
+        List<Cell> results = new ArrayList<>();
+        more = scanner.next(results, builder.build());
+        batches.add(results);
+      } while (more);
+    } finally {
+      scanner.close();
+    }
+    return batches;
+  }
+
+  private void assertSameScan(Scan scan, int batch, long maxResultSize) throws IOException {
+    List<List<Cell>> expected = scan(scan, batch, maxResultSize, false);
+    List<List<Cell>> actual = scan(scan, batch, maxResultSize, true);
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      List<Cell> expectedCells = expected.get(i);
+      List<Cell> actualCells = actual.get(i);
+      assertEquals("batch " + i, expectedCells.size(), actualCells.size());
+      for (int j = 0; j < expectedCells.size(); j++) {
+        assertTrue("batch " + i + " cell " + j,
+          CellUtil.equals(expectedCells.get(j), actualCells.get(j))
+              && CellUtil.matchingValue(expectedCells.get(j), actualCells.get(j)));
+      }
+    }
+  }
+
+  @Test
+  public void testWholeRows() throws IOException {
+    assertSameScan(new Scan(), 0, 0);
+    assertSameScan(new Scan().setMaxVersions(), 0, 0);
+    assertSameScan(new Scan().addFamily(FAMILIES[1]).addFamily(FAMILIES[3]), 0, 0);
+    assertSameScan(new Scan().addColumn(FAMILIES[0], Bytes.toBytes("q1"))
+        .addColumn(FAMILIES[2], Bytes.toBytes("q2")), 0, 0);
+    assertSameScan(new Scan().withStartRow(Bytes.toBytes("row0030"))
+        .withStopRow(Bytes.toBytes("row0060")), 0, 0);
+  }
+
+  @Test
+  public void testBatchLimit() throws IOException {
+    assertSameScan(new Scan(), 1, 0);
+    assertSameScan(new Scan(), 3, 0);
+    assertSameScan(new Scan().setMaxVersions(), 7, 0);
+  }
+
+  @Test
+  public void testSizeLimit() throws IOException {
+    assertSameScan(new Scan(), 0, 1);
+    assertSameScan(new Scan(), 0, 300);
+    assertSameScan(new Scan().setMaxVersions(), 4, 500);
+  }
+
+  @Test
+  public void testFetchWithinLimits() throws IOException {
+    RegionScanner scanner = region.getScanner(new Scan().setIntraRegionParallelism(3));
+    try {
+      List<Cell> results = new ArrayList<>();
+      scanner.next(results, ScannerContext.newBuilder().setBatchLimit(2).build());
+      assertEquals(2, results.size());
+      // each store read two cells of the row at most, not the whole row
+      for (ParallelStoreScanner parallelScanner
+          : ((HRegion.RegionScannerImpl) scanner).parallelScanners) {
+        assertTrue(parallelScanner.getFetchedCount() <= 2);
+      }
+    } finally {
+      scanner.close();
+    }
+  }
+
+  @Test
+  public void testSequentialWithFilter() throws IOException {
+    Scan scan = new Scan().setFilter(new PrefixFilter(Bytes.toBytes("row00")));
+    assertSameScan(scan, 0, 0);
+    RegionScanner scanner = region.getScanner(new Scan(scan).setIntraRegionParallelism(3));
+    try {
+      assertFalse(((HRegion.RegionScannerImpl) scanner).storeHeap
+          .getCurrentForTesting() instanceof ParallelStoreScanner);
+    } finally {
+      scanner.close();
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestPointGet {
+
+  private final HBaseTestingUtility hbu = HBaseTestingUtility.createLocalHTU();
+  private static final byte[][] FAMILIES = { Bytes.toBytes("a"), Bytes.toBytes("b") };
+  private static final int ROWS = 20;
+  private static final int COLUMNS = 10;
+
+  @Rule
+  public TestName name = new TestName();
+
+  private static byte[] row(int i) {
+    return Bytes.toBytes(String.format("row%03d", i));
+  }
+
+  private static byte[] column(int i) {
+    return Bytes.toBytes("c" + i);
+  }
+
+  private HRegion createRegion(boolean fastPath) throws IOException {
+    hbu.getConfiguration().setBoolean(HRegion.HREGION_GET_FAST_PATH, fastPath);
+    HTableDescriptor htd =
+        new HTableDescriptor(TableName.valueOf(name.getMethodName() + "-" + fastPath));
+    for (byte[] family : FAMILIES) {
+      htd.addFamily(new HColumnDescriptor(family).setMaxVersions(3));
+    }
+    HRegion region = hbu.createLocalHRegion(htd, null, null);
+    // the same random writes in both regions, spread over files and the memstore
+    Random random = new Random(42L);
+    for (int file = 0; file < 4; file++) {
+      for (int i = 0; i < 100; i++) {
+        byte[] row = row(random.nextInt(ROWS));
+        byte[] family = FAMILIES[random.nextInt(FAMILIES.length)];
+        byte[] column = column(random.nextInt(COLUMNS));
+        long ts = 1 + random.nextInt(10);
+        switch (random.nextInt(6)) {
+          case 0:
+            region.delete(new Delete(row).addColumn(family, column, ts));
+            break;
+          case 1:
+            region.delete(new Delete(row).addColumns(family, column, ts));
+            break;
+          case 2:
+            region.delete(new Delete(row).addFamily(family, ts));
+            break;
+          default:
+            region.put(new Put(row).addColumn(family, column, ts, Bytes.toBytes(file * 1000 + i)));
+            break;
+        }
+      }
+      if (file < 3) {
+        region.flush(true);
+      }
+    }
+    return region;
+  }
+
+  private static void assertSameResult(Result expected, Result actual) {
+    assertEquals(expected.size(), actual.size());
+    Cell[] expectedCells = expected.rawCells();
+    Cell[] actualCells = actual.rawCells();
+    for (int i = 0; i < expectedCells.length; i++) {
+      assertTrue(expectedCells[i] + " vs " + actualCells[i],
+        CellUtil.equals(expectedCells[i], actualCells[i]));
+      assertTrue(CellUtil.matchingValue(expectedCells[i], actualCells[i]));
+    }
+  }
+
+  @Test
+  public void testSameResults() throws IOException {
+    HRegion fast = createRegion(true);
+    HRegion plain = createRegion(false);
+    try {
+      Random random = new Random(1L);
+      int nonEmpty = 0;
+      for (int i = 0; i < 1000; i++) {
+        Get get = new Get(row(random.nextInt(ROWS + 1)));
+        switch (random.nextInt(4)) {
+          case 0:
+            // the whole row
+            break;
+          case 1:
+            get.addFamily(FAMILIES[random.nextInt(FAMILIES.length)]);
+            break;
+          default:
+            for (int c = random.nextInt(3); c >= 0; c--) {
+              get.addColumn(FAMILIES[random.nextInt(FAMILIES.length)],
+                column(random.nextInt(COLUMNS)));
+            }
+            break;
+        }
+        get.setMaxVersions(1 + random.nextInt(3));
+        if (random.nextBoolean()) {
+          long min = random.nextInt(10);
+          get.setTimeRange(min, min + 1 + random.nextInt(10));
+        }
+        assertTrue(fast.isFastPathGet(get));
+        assertFalse(plain.isFastPathGet(get));
+        Result expected = plain.get(get);
+        assertSameResult(expected, fast.get(get));
+        if (!expected.isEmpty()) {
+          nonEmpty++;
+        }
+      }
+      assertTrue(nonEmpty > 100);
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(fast);
+      HBaseTestingUtility.closeRegionAndWAL(plain);
+    }
+  }
+
+  @Test
+  public void testReadsRecorded() throws IOException {
+    HRegion region = createRegion(true);
+    try {
+      HStore store = (HStore) region.getStore(FAMILIES[0]);
+      long reads = store.getReadRequestsCount();
+      long seeks = store.getStoreFileSeeksCount();
+      region.get(new Get(row(0)).addFamily(FAMILIES[0]));
+      assertEquals(reads + 1, store.getReadRequestsCount());
+      // at most the three flushed files
+      assertTrue(store.getStoreFileSeeksCount() - seeks <= 3);
+      region.get(new Get(row(0)).addFamily(FAMILIES[1]));
+      assertEquals(reads + 1, store.getReadRequestsCount());
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(region);
+    }
+  }
+
+  @Test
+  public void testNotOnFastPath() throws IOException {
+    HRegion region = createRegion(true);
+    try {
+      Get get = new Get(row(0));
+      assertTrue(region.isFastPathGet(get));
+      assertFalse(region.isFastPathGet(new Get(row(0)).setFilter(new KeyOnlyFilter())));
+      assertFalse(region.isFastPathGet(new Get(row(0)).setMaxResultsPerColumnFamily(1)));
+      assertFalse(region.isFastPathGet(new Get(row(0)).setRowOffsetPerColumnFamily(1)));
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(region);
+    }
+  }
+
+  @Test
+  public void testNotOnFastPathWithMob() throws IOException {
+    hbu.getConfiguration().setBoolean(HRegion.HREGION_GET_FAST_PATH, true);
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(name.getMethodName()));
+    htd.addFamily(new HColumnDescriptor(FAMILIES[0]).setMobEnabled(true).setMobThreshold(0));
+    HRegion region = hbu.createLocalHRegion(htd, null, null);
+    try {
+      assertFalse(region.isFastPathGet(new Get(row(0))));
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(region);
+    }
+  }
+}
@@ -264,6 +264,35 @@ public class TestRegionSplitPolicy {
     assertEquals("ef", Bytes.toString(policy.getSplitPoint()));
   }
 
+  @Test
+  public void testLoadBasedPolicy() throws IOException {
+    htd.setValue(HTableDescriptor.SPLIT_POLICY, LoadBasedRegionSplitPolicy.class.getName());
+    conf.setInt(LoadBasedRegionSplitPolicy.SAMPLE_SIZE_KEY, 10);
+    LoadBasedRegionSplitPolicy policy =
+        (LoadBasedRegionSplitPolicy) RegionSplitPolicy.create(mockRegion, conf);
+    Mockito.verify(mockRegion).startSamplingRequests(10);
+
+    // No store to split, no split point whatever the load
+    Mockito.doReturn(Bytes.toBytes("load")).when(mockRegion).getLoadSplitPoint();
+    assertNull(policy.getSplitPoint());
+
+    HStore mockStore = Mockito.mock(HStore.class);
+    Mockito.doReturn(2000L).when(mockStore).getSize();
+    Mockito.doReturn(true).when(mockStore).canSplit();
+    Mockito.doReturn(Bytes.toBytes("size")).when(mockStore).getSplitPoint();
+    stores.add(mockStore);
+    assertEquals("load", Bytes.toString(policy.getSplitPoint()));
+
+    // Not enough requests sampled yet, split in the middle of the size
+    Mockito.doReturn(null).when(mockRegion).getLoadSplitPoint();
+    assertEquals("size", Bytes.toString(policy.getSplitPoint()));
+
+    // An explicit split point wins
+    Mockito.doReturn(Bytes.toBytes("load")).when(mockRegion).getLoadSplitPoint();
+    Mockito.doReturn(Bytes.toBytes("explicit")).when(mockRegion).getExplicitSplitPoint();
+    assertEquals("explicit", Bytes.toString(policy.getSplitPoint()));
+  }
+
   @Test
   public void testConstantSizePolicy() throws IOException {
     htd.setMaxFileSize(1024L);
@@ -0,0 +1,103 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Each request served by a region is sampled once, to split it at the median of its load.
+ */
+@Category({ RegionServerTests.class, MediumTests.class })
+public class TestRequestSampling {
+
+  private static final HBaseTestingUtility TEST_UTIL = new HBaseTestingUtility();
+  private static final TableName TABLE = TableName.valueOf("test");
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    TEST_UTIL.getConfiguration().setInt(HRegion.HREGION_REQUEST_SAMPLE_SIZE, 1000);
+    TEST_UTIL.getConfiguration().setBoolean(HRegion.HREGION_GET_FAST_PATH, true);
+    TEST_UTIL.startMiniCluster(1);
+    TEST_UTIL.createTable(TABLE, FAMILY);
+  }
+
+  @AfterClass
+  public static void tearDownAfterClass() throws Exception {
+    TEST_UTIL.shutdownMiniCluster();
+  }
+
+  @Test
+  public void testSampledOnce() throws Exception {
+    HRegion region = TEST_UTIL.getHBaseCluster().getRegions(TABLE).get(0);
+    try (Table table = TEST_UTIL.getConnection().getTable(TABLE)) {
+      for (int i = 0; i < 10; i++) {
+        table.put(new Put(Bytes.toBytes(i)).addColumn(FAMILY, FAMILY, Bytes.toBytes(i)));
+      }
+      long seen = region.getRequestSampler().getSeen();
+      assertEquals(10, seen);
+
+      // on the fast path
+      for (int i = 0; i < 3; i++) {
+        table.get(new Get(Bytes.toBytes(i)));
+      }
+      assertEquals(seen + 3, region.getRequestSampler().getSeen());
+      seen += 3;
+
+      // through a region scanner
+      for (int i = 0; i < 2; i++) {
+        table.get(new Get(Bytes.toBytes(i)).setFilter(new KeyOnlyFilter()));
+      }
+      assertEquals(seen + 2, region.getRequestSampler().getSeen());
+      seen += 2;
+
+      // in a multi, twice the same row
+      List<Get> gets = new ArrayList<>();
+      gets.add(new Get(Bytes.toBytes(5)));
+      gets.add(new Get(Bytes.toBytes(7)));
+      gets.add(new Get(Bytes.toBytes(7)));
+      table.get(gets);
+      assertEquals(seen + 3, region.getRequestSampler().getSeen());
+      seen += 3;
+
+      try (ResultScanner scanner = table.getScanner(new Scan().withStartRow(Bytes.toBytes(4)))) {
+        scanner.next();
+      }
+      assertEquals(seen + 1, region.getRequestSampler().getSeen());
+    }
+  }
+}
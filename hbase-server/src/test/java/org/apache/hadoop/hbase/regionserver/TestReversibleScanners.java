@@ -140,6 +140,15 @@ public class TestReversibleScanners {
 
   }
 
+  // whether the heaps merge their scanners with a loser tree
+  private boolean loserTree = false;
+
+  @Test
+  public void testReversibleKeyValueHeapWithLoserTree() throws IOException {
+    loserTree = true;
+    testReversibleKeyValueHeap();
+  }
+
   @Test
   public void testReversibleKeyValueHeap() throws IOException {
     // write data to one memstore and two store files
@@ -491,7 +500,7 @@ public class TestReversibleScanners {
     List<KeyValueScanner> scanners = getScanners(memstore, sf1, sf2, startRow,
         true, readPoint);
     ReversedKeyValueHeap kvHeap = new ReversedKeyValueHeap(scanners,
-        CellComparator.COMPARATOR);
+        CellComparator.COMPARATOR, loserTree);
     return kvHeap;
   }
 
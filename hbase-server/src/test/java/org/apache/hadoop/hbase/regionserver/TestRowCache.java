@@ -0,0 +1,252 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Append;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestRowCache {
+
+  private final HBaseTestingUtility hbu = HBaseTestingUtility.createLocalHTU();
+  private static final byte[] CACHED = Bytes.toBytes("a");
+  private static final byte[] NOT_CACHED = Bytes.toBytes("b");
+  private static final byte[] ROW = Bytes.toBytes("row");
+  private static final byte[] Q1 = Bytes.toBytes("q1");
+  private static final byte[] Q2 = Bytes.toBytes("q2");
+
+  @Rule
+  public TestName name = new TestName();
+
+  private HRegion createRegion(long rowCacheSize) throws IOException {
+    hbu.getConfiguration().setLong(RowCache.ROW_CACHE_SIZE_KEY, rowCacheSize);
+    // the rows are cached by the Gets on the fast path only
+    hbu.getConfiguration().setBoolean(HRegion.HREGION_GET_FAST_PATH, true);
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(name.getMethodName()));
+    htd.addFamily(new HColumnDescriptor(CACHED).setRowCacheEnabled(true));
+    htd.addFamily(new HColumnDescriptor(NOT_CACHED));
+    return hbu.createLocalHRegion(htd, null, null);
+  }
+
+  private static void assertValue(Result result, byte[] family, byte[] qualifier, long value) {
+    byte[] actual = result.getValue(family, qualifier);
+    assertNotNull(actual);
+    assertEquals(value, Bytes.toLong(actual));
+  }
+
+  @Test
+  public void testHitsAndMisses() throws IOException {
+    HRegion region = createRegion(1024 * 1024);
+    try {
+      assertNotNull(region.getRowCache());
+      RowCache cache = region.getRowCache().getCache();
+      region.put(new Put(ROW).addColumn(CACHED, Q1, Bytes.toBytes(1L))
+          .addColumn(CACHED, Q2, Bytes.toBytes(2L)).addColumn(NOT_CACHED, Q1, Bytes.toBytes(3L)));
+      region.flush(true);
+
+      Result result = region.get(new Get(ROW));
+      assertEquals(3, result.size());
+      assertEquals(0, cache.getHitCount());
+      assertEquals(1, cache.getMissCount());
+
+      result = region.get(new Get(ROW));
+      assertEquals(3, result.size());
+      assertValue(result, CACHED, Q1, 1L);
+      assertValue(result, NOT_CACHED, Q1, 3L);
+      assertEquals(1, cache.getHitCount());
+
+      // a column of the cached row
+      result = region.get(new Get(ROW).addColumn(CACHED, Q2));
+      assertEquals(1, result.size());
+      assertValue(result, CACHED, Q2, 2L);
+      assertEquals(2, cache.getHitCount());
+
+      // several versions are not cached
+      region.get(new Get(ROW).setMaxVersions(2));
+      assertEquals(2, cache.getHitCount());
+      assertEquals(1, cache.getMissCount());
+
+      // an empty row is cached too
+      assertTrue(region.get(new Get(Bytes.toBytes("none"))).isEmpty());
+      assertTrue(region.get(new Get(Bytes.toBytes("none"))).isEmpty());
+      assertEquals(3, cache.getHitCount());
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(region);
+    }
+  }
+
+  @Test
+  public void testInvalidatedByMutations() throws IOException {
+    HRegion region = createRegion(1024 * 1024);
+    try {
+      region.put(new Put(ROW).addColumn(CACHED, Q1, Bytes.toBytes(1L)));
+      assertValue(region.get(new Get(ROW)), CACHED, Q1, 1L);
+
+      region.put(new Put(ROW).addColumn(CACHED, Q1, Bytes.toBytes(2L)));
+      assertValue(region.get(new Get(ROW)), CACHED, Q1, 2L);
+
+      region.increment(new Increment(ROW).addColumn(CACHED, Q1, 3L));
+      assertValue(region.get(new Get(ROW)), CACHED, Q1, 5L);
+
+      region.append(new Append(ROW).add(CACHED, Q2, Bytes.toBytes(6L)));
+      assertValue(region.get(new Get(ROW)), CACHED, Q2, 6L);
+
+      region.delete(new Delete(ROW).addColumns(CACHED, Q1));
+      Result result = region.get(new Get(ROW));
+      assertNull(result.getValue(CACHED, Q1));
+      assertValue(result, CACHED, Q2, 6L);
+
+      region.mutateRowsWithLocks(
+        Collections.singletonList(new Put(ROW).addColumn(CACHED, Q1, Bytes.toBytes(7L))),
+        Collections.singleton(ROW));
+      assertValue(region.get(new Get(ROW)), CACHED, Q1, 7L);
+      // each Get after a mutation missed, the increment and the append read the cached row
+      assertEquals(6, region.getRowCache().getCache().getMissCount());
+      assertEquals(2, region.getRowCache().getCache().getHitCount());
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(region);
+    }
+  }
+
+  @Test
+  public void testEviction() throws IOException {
+    HRegion region = createRegion(16 * 1024);
+    try {
+      for (int i = 0; i < 1000; i++) {
+        byte[] row = Bytes.toBytes(i);
+        region.put(new Put(row).addColumn(CACHED, Q1, Bytes.toBytes((long) i)));
+        assertValue(region.get(new Get(row)), CACHED, Q1, i);
+      }
+      RowCache cache = region.getRowCache().getCache();
+      assertTrue(cache.getEvictedCount() > 0);
+      assertTrue(cache.size() <= 16 * 1024);
+      // the most recent row is still cached
+      assertValue(region.get(new Get(Bytes.toBytes(999))), CACHED, Q1, 999L);
+      assertEquals(1, cache.getHitCount());
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(region);
+    }
+  }
+
+  @Test
+  public void testNotCachedWhenReadBeforeInvalidation() {
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(name.getMethodName()));
+    htd.addFamily(new HColumnDescriptor(CACHED).setRowCacheEnabled(true));
+    RowCache.RegionRows cache = new RowCache(1024 * 1024).forRegion(htd, null);
+    List<Cell> cells = new ArrayList<>();
+    cells.add(new KeyValue(ROW, CACHED, Q1, 1L, Bytes.toBytes(1L)));
+
+    // read at 10, while a mutation at 11 is not visible yet
+    long generation = cache.getGeneration();
+    cache.invalidate(CACHED, Collections.singletonList(
+      new KeyValue(ROW, CACHED, Q1, 2L, Bytes.toBytes(2L))), 11L);
+    cache.cache(ROW, CACHED, cells, 10L, generation);
+    assertNull(cache.get(ROW, CACHED, Long.MIN_VALUE));
+
+    // read at 11, cleared meanwhile
+    cache.clear();
+    cache.cache(ROW, CACHED, cells, 11L, generation);
+    assertNull(cache.get(ROW, CACHED, Long.MIN_VALUE));
+
+    cache.cache(ROW, CACHED, cells, 11L, cache.getGeneration());
+    assertEquals(1, cache.get(ROW, CACHED, Long.MIN_VALUE).size());
+    // expired by the TTL
+    assertNull(cache.get(ROW, CACHED, 2L));
+    assertEquals(0, cache.getCache().size());
+  }
+
+  @Test
+  public void testSharedByRegions() {
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(name.getMethodName()));
+    htd.addFamily(new HColumnDescriptor(CACHED).setRowCacheEnabled(true));
+    RowCache cache = new RowCache(1024 * 1024);
+    RowCache.RegionRows region1 = cache.forRegion(htd, null);
+    RowCache.RegionRows region2 = cache.forRegion(htd, null);
+    List<Cell> cells1 = Collections.singletonList(new KeyValue(ROW, CACHED, Q1, Bytes.toBytes(1L)));
+    List<Cell> cells2 = Collections.singletonList(new KeyValue(ROW, CACHED, Q1, Bytes.toBytes(2L)));
+    region1.cache(ROW, CACHED, cells1, 1L, region1.getGeneration());
+    region2.cache(ROW, CACHED, cells2, 1L, region2.getGeneration());
+    long size = cache.size();
+    assertEquals(2, cache.count());
+    // the same row in two regions, in one cache
+    assertValue(Result.create(region1.get(ROW, CACHED, Long.MIN_VALUE)), CACHED, Q1, 1L);
+    assertValue(Result.create(region2.get(ROW, CACHED, Long.MIN_VALUE)), CACHED, Q1, 2L);
+
+    // an invalidation or a clear only drops the rows of its region
+    region1.invalidate(CACHED, cells1, 2L);
+    assertNull(region1.get(ROW, CACHED, Long.MIN_VALUE));
+    assertNotNull(region2.get(ROW, CACHED, Long.MIN_VALUE));
+    region1.cache(ROW, CACHED, cells1, 2L, region1.getGeneration());
+    region2.clear();
+    assertNull(region2.get(ROW, CACHED, Long.MIN_VALUE));
+    assertNotNull(region1.get(ROW, CACHED, Long.MIN_VALUE));
+    assertEquals(size / 2, cache.size());
+    assertEquals(1, cache.count());
+  }
+
+  @Test
+  public void testSelect() {
+    List<Cell> cells = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      cells.add(new KeyValue(ROW, CACHED, Bytes.toBytes("q" + i), Bytes.toBytes(i)));
+    }
+    NavigableSet<byte[]> columns = new TreeSet<>(Bytes.BYTES_COMPARATOR);
+    columns.add(Bytes.toBytes("q1"));
+    columns.add(Bytes.toBytes("q3"));
+    columns.add(Bytes.toBytes("q9"));
+    List<Cell> results = new ArrayList<>();
+    RowCache.select(cells, columns, results);
+    assertEquals(2, results.size());
+    assertArrayEquals(Bytes.toBytes(1), CellUtil.cloneValue(results.get(0)));
+    assertArrayEquals(Bytes.toBytes(3), CellUtil.cloneValue(results.get(1)));
+    results.clear();
+    RowCache.select(cells, null, results);
+    assertEquals(5, results.size());
+  }
+}
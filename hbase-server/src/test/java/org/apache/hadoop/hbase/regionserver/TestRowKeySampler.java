@@ -0,0 +1,59 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestRowKeySampler {
+
+  @Test
+  public void testMedianOfFullSample() {
+    RowKeySampler sampler = new RowKeySampler(5);
+    for (int i = 4; i > 0; i--) {
+      sampler.sample(Bytes.toBytes(i));
+    }
+    // not enough rows yet
+    assertNull(sampler.getMedian());
+    sampler.sample(Bytes.toBytes(0));
+    assertEquals(2, Bytes.toInt(sampler.getMedian()));
+  }
+
+  @Test
+  public void testMedianFollowsTheLoad() {
+    RowKeySampler sampler = new RowKeySampler(100);
+    // an even load over the rows 0 to 999
+    for (int i = 0; i < 1000; i++) {
+      sampler.sample(Bytes.toBytes(i));
+    }
+    // then the load moves to the rows over 900
+    for (int i = 0; i < 100 * RowKeySampler.DECAY; i++) {
+      sampler.sample(Bytes.toBytes(900 + i % 100));
+    }
+    int median = Bytes.toInt(sampler.getMedian());
+    assertTrue("median=" + median, median >= 900);
+  }
+}
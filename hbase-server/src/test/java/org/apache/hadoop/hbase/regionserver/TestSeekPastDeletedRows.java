@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.KeepDeletedCells;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestSeekPastDeletedRows {
+
+  private final HBaseTestingUtility hbu = HBaseTestingUtility.createLocalHTU();
+  private static final byte[] FAMILY = HBaseTestingUtility.fam1;
+  private static final int ROWS = 100;
+  private static final int COLUMNS = 20;
+
+  @Rule
+  public TestName name = new TestName();
+
+  private static byte[] row(int i) {
+    return Bytes.toBytes(String.format("row%03d", i));
+  }
+
+  private HRegion createRegion(boolean seekPastDeletedRows) throws IOException {
+    hbu.getConfiguration().setBoolean(StoreScanner.STORESCANNER_SEEK_PAST_DELETED_ROWS,
+      seekPastDeletedRows);
+    HTableDescriptor htd = hbu.createTableDescriptor(
+      name.getMethodName() + "-" + seekPastDeletedRows, 0, 3, HConstants.FOREVER,
+      KeepDeletedCells.FALSE);
+    HRegion region = hbu.createLocalHRegion(htd, null, null);
+    // old data
+    for (int i = 0; i < ROWS; i++) {
+      Put put = new Put(row(i));
+      for (int c = 0; c < COLUMNS; c++) {
+        put.addColumn(FAMILY, Bytes.toBytes(c), 100, Bytes.toBytes(c));
+      }
+      region.put(put);
+    }
+    region.flush(true);
+    // the rows in the middle get deleted
+    for (int i = 10; i < 90; i++) {
+      Delete delete = new Delete(row(i), 200);
+      region.delete(delete);
+    }
+    region.flush(true);
+    // a file newer than the deletes, which must still be read
+    region.put(new Put(row(50)).addColumn(FAMILY, Bytes.toBytes("new"), 300, Bytes.toBytes(1)));
+    region.put(new Put(row(60)).addColumn(FAMILY, Bytes.toBytes("old"), 150, Bytes.toBytes(1)));
+    region.flush(true);
+    return region;
+  }
+
+  private List<Cell> scan(HRegion region, long[] kvsScanned) throws IOException {
+    List<Cell> cells = new ArrayList<>();
+    Scan scan = new Scan().addFamily(FAMILY);
+    try (StoreScanner scanner = (StoreScanner) region.getStore(FAMILY).getScanner(scan,
+      scan.getFamilyMap().get(FAMILY), Long.MAX_VALUE)) {
+      while (scanner.next(cells)) {
+        // collect
+      }
+      kvsScanned[0] = scanner.getEstimatedNumberOfKvsScanned();
+    }
+    return cells;
+  }
+
+  @Test
+  public void testSeekPastDeletedRows() throws IOException {
+    HRegion seeking = createRegion(true);
+    HRegion plain = createRegion(false);
+    try {
+      long[] seekingScanned = new long[1];
+      long[] plainScanned = new long[1];
+      List<Cell> expected = scan(plain, plainScanned);
+      List<Cell> actual = scan(seeking, seekingScanned);
+      assertEquals(20 * COLUMNS + 1, expected.size());
+      assertEquals(expected.size(), actual.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertTrue(CellUtil.equals(expected.get(i), actual.get(i)));
+      }
+      // the deleted cells of the oldest file are not gone through anymore
+      assertTrue(seekingScanned[0] + " vs " + plainScanned[0],
+        seekingScanned[0] < plainScanned[0] - 50 * COLUMNS);
+    } finally {
+      HBaseTestingUtility.closeRegionAndWAL(seeking);
+      HBaseTestingUtility.closeRegionAndWAL(plain);
+    }
+  }
+}
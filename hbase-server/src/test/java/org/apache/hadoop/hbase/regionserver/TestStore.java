@@ -513,6 +513,9 @@ public class TestStore {
 
     //Compare
     assertCheck();
+    // the get had to seek all the files
+    assertEquals(1, store.getReadRequestsCount());
+    assertEquals(3, store.getStoreFileSeeksCount());
   }
 
   /**
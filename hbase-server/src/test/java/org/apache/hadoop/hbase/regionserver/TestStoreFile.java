@@ -880,6 +880,35 @@ public class TestStoreFile extends HBaseTestCase {
 
   }
 
+  @Test
+  public void testDeleteCountAndTimestampSample() throws IOException {
+    byte[] family = Bytes.toBytes("familyname");
+    byte[] qualifier = Bytes.toBytes("qualifier");
+    Path dir = new Path(new Path(new Path(testDir, "7e0102"), Bytes.toString(family)), "1234");
+    HFileContext meta = new HFileContextBuilder().withBlockSize(8 * 1024).build();
+    StoreFileWriter writer = new StoreFileWriter.Builder(conf, cacheConf, this.fs)
+            .withOutputDir(dir)
+            .withFileContext(meta)
+            .build();
+    for (int i = 1; i <= 1000; i++) {
+      KeyValue.Type type = i % 4 == 0 ? KeyValue.Type.DeleteColumn : KeyValue.Type.Put;
+      writer.append(new KeyValue(Bytes.toBytes(String.format(localFormatter, i)), family,
+          qualifier, i, type, Bytes.toBytes("value")));
+    }
+    writer.appendMetadata(0, false);
+    writer.close();
+
+    StoreFile hsf = new StoreFile(this.fs, writer.getPath(), conf, cacheConf, BloomType.NONE);
+    StoreFileReader reader = hsf.createReader();
+    assertEquals(250, reader.getDeleteCount());
+    assertEquals(0, reader.getEstimatedEntriesBefore(1));
+    assertEquals(1000, reader.getEstimatedEntriesBefore(1001));
+    // one cell in 16 is sampled
+    assertEquals(500, reader.getEstimatedEntriesBefore(501), 1000 / 32);
+    assertEquals(100, reader.getEstimatedEntriesBefore(101), 1000 / 32);
+    reader.close(true);
+  }
+
   @Test
   public void testCacheOnWriteEvictOnClose() throws Exception {
     Configuration conf = this.conf;
@@ -508,6 +508,48 @@ public class TestStoreScanner {
       Assert.assertEquals(kvs2[1], results.get(0));
     }
   }
+  @Test
+  public void testLoserTreeHeap() throws IOException {
+    Configuration conf = new Configuration(CONF);
+    conf.setInt(StoreScanner.STORESCANNER_LOSER_TREE_MIN_SCANNERS, 3);
+    ScanInfo loserTreeScanInfo = new ScanInfo(conf, CF, 0, Integer.MAX_VALUE, Long.MAX_VALUE,
+        KeepDeletedCells.FALSE, 0, CellComparator.COMPARATOR);
+    long now = System.currentTimeMillis();
+    KeyValue [] kvs1 = new KeyValue[] {
+        KeyValueTestUtil.create("R1", "cf", "a", now, KeyValue.Type.Put, "dont-care"),
+        KeyValueTestUtil.create("R2", "cf", "b", now, KeyValue.Type.Delete, "dont-care"),
+        KeyValueTestUtil.create("R3", "cf", "a", now, KeyValue.Type.Put, "dont-care")
+    };
+    KeyValue [] kvs2 = new KeyValue[] {
+        KeyValueTestUtil.create("R1", "cf", "a", now - 500, KeyValue.Type.Put, "dont-care"),
+        KeyValueTestUtil.create("R1", "cf", "b", now, KeyValue.Type.Put, "dont-care"),
+        KeyValueTestUtil.create("R2", "cf", "b", now, KeyValue.Type.Put, "dont-care")
+    };
+    KeyValue [] kvs3 = new KeyValue[] {
+        KeyValueTestUtil.create("R0", "cf", "c", now, KeyValue.Type.Put, "dont-care"),
+        KeyValueTestUtil.create("R2", "cf", "a", now, KeyValue.Type.Put, "dont-care"),
+        KeyValueTestUtil.create("R3", "cf", "b", now, KeyValue.Type.Put, "dont-care")
+    };
+    List<Cell> expected = new ArrayList<>();
+    try (StoreScanner scan = new StoreScanner(new Scan().setMaxVersions(2), scanInfo, scanType,
+        null, scanFixture(kvs1, kvs2, kvs3))) {
+      assertFalse(scan.heap.getHeap() instanceof LoserTree);
+      while (scan.next(expected)) {
+        // collect
+      }
+    }
+    List<Cell> actual = new ArrayList<>();
+    try (StoreScanner scan = new StoreScanner(new Scan().setMaxVersions(2), loserTreeScanInfo,
+        scanType, null, scanFixture(kvs1, kvs2, kvs3))) {
+      assertTrue(scan.heap.getHeap() instanceof LoserTree);
+      while (scan.next(actual)) {
+        // collect
+      }
+    }
+    Assert.assertEquals(7, expected.size());
+    Assert.assertEquals(expected, actual);
+  }
+
   public void testDeleteVersionsMixedAndMultipleVersionReturn() throws IOException {
     long now = System.currentTimeMillis();
     KeyValue [] kvs1 = new KeyValue[] {
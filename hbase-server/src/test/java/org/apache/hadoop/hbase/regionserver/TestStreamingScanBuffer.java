@@ -0,0 +1,152 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestStreamingScanBuffer {
+
+  private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+  @After
+  public void tearDown() throws InterruptedException {
+    pool.shutdownNow();
+    pool.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  private static final class CountingProducer implements StreamingScanBuffer.BatchProducer {
+
+    private final AtomicInteger produced = new AtomicInteger();
+
+    private final int total;
+
+    CountingProducer(int total) {
+      this.total = total;
+    }
+
+    @Override
+    public StreamingScanBuffer.Batch produce() {
+      int n = produced.incrementAndGet();
+      return new StreamingScanBuffer.Batch(Collections.<Result> emptyList(), n < total, n % 2 == 0,
+          null);
+    }
+  }
+
+  private void waitProducer() throws Exception {
+    pool.submit(new Runnable() {
+
+      @Override
+      public void run() {
+      }
+    }).get();
+  }
+
+  @Test
+  public void testFillUpToWindow() throws Exception {
+    StreamingScanBuffer buffer = new StreamingScanBuffer(3, pool);
+    CountingProducer producer = new CountingProducer(100);
+    assertNull(buffer.take());
+    buffer.fill(producer);
+    waitProducer();
+    assertEquals(3, buffer.size());
+    assertEquals(3, producer.produced.get());
+    assertFalse(buffer.take().heartbeat);
+    buffer.fill(producer);
+    waitProducer();
+    assertEquals(3, buffer.size());
+    assertEquals(4, producer.produced.get());
+    assertTrue(buffer.take().heartbeat);
+    assertFalse(buffer.take().heartbeat);
+    assertTrue(buffer.take().heartbeat);
+    assertNull(buffer.take());
+  }
+
+  @Test
+  public void testStopWhenExhausted() throws Exception {
+    StreamingScanBuffer buffer = new StreamingScanBuffer(10, pool);
+    CountingProducer producer = new CountingProducer(2);
+    buffer.fill(producer);
+    assertTrue(buffer.take().moreResultsInRegion);
+    assertFalse(buffer.take().moreResultsInRegion);
+    assertNull(buffer.take());
+    buffer.fill(producer);
+    assertNull(buffer.take());
+    assertEquals(2, producer.produced.get());
+  }
+
+  @Test
+  public void testStopOnError() throws Exception {
+    StreamingScanBuffer buffer = new StreamingScanBuffer(10, pool);
+    final IOException error = new IOException("inject");
+    buffer.fill(new StreamingScanBuffer.BatchProducer() {
+
+      @Override
+      public StreamingScanBuffer.Batch produce() {
+        return new StreamingScanBuffer.Batch(error);
+      }
+    });
+    assertSame(error, buffer.take().error);
+    assertNull(buffer.take());
+  }
+
+  @Test
+  public void testClose() throws Exception {
+    StreamingScanBuffer buffer = new StreamingScanBuffer(2, pool);
+    CountingProducer producer = new CountingProducer(100);
+    buffer.fill(producer);
+    assertTrue(buffer.take().moreResultsInRegion);
+    buffer.close();
+    assertNull(buffer.take());
+    buffer.fill(producer);
+    assertNull(buffer.take());
+  }
+
+  @Test
+  public void testRejected() throws Exception {
+    StreamingScanBuffer buffer = new StreamingScanBuffer(2, new Executor() {
+
+      @Override
+      public void execute(Runnable command) {
+        throw new RejectedExecutionException();
+      }
+    });
+    buffer.fill(new CountingProducer(100));
+    assertNull(buffer.take());
+  }
+}
@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver.compactions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.regionserver.StoreConfigInformation;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.regionserver.StoreFileReader;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.ManualEnvironmentEdge;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestDeadCellsCompactionSelection {
+
+  private static final long NOW = 100000;
+  private static final long TTL = 1000;
+
+  private final MockStoreFileGenerator generator =
+      new MockStoreFileGenerator(TestDeadCellsCompactionSelection.class);
+  private final ManualEnvironmentEdge edge = new ManualEnvironmentEdge();
+  private Configuration conf;
+  private StoreConfigInformation storeConfigInfo;
+
+  @Before
+  public void setUp() {
+    edge.setValue(NOW);
+    EnvironmentEdgeManager.injectEdge(edge);
+    conf = HBaseConfiguration.create();
+    conf.setLong(HConstants.MAJOR_COMPACTION_PERIOD, 0);
+    conf.setInt(CompactionConfiguration.HBASE_HSTORE_COMPACTION_MIN_KEY, 3);
+    conf.setInt(CompactionConfiguration.HBASE_HSTORE_COMPACTION_MAX_KEY, 4);
+    conf.setLong(CompactionConfiguration.HBASE_HSTORE_COMPACTION_MIN_SIZE_KEY, 1);
+    conf.setFloat(RatioBasedCompactionPolicy.DEAD_CELLS_RATIO_KEY, 0.5f);
+    storeConfigInfo = mock(StoreConfigInformation.class);
+    when(storeConfigInfo.getBlockingFileCount()).thenReturn(20L);
+    when(storeConfigInfo.getStoreFileTtl()).thenReturn(TTL);
+  }
+
+  @After
+  public void tearDown() {
+    EnvironmentEdgeManager.reset();
+  }
+
+  /**
+   * Creates files of 100 cells with the given numbers of expired cells and delete markers.
+   */
+  private List<StoreFile> createFiles(int[] expired, int[] deletes) {
+    int[] sizes = new int[expired.length];
+    for (int i = 0; i < sizes.length; i++) {
+      // each too large for the ratio to select it with the newer ones
+      sizes[i] = 1 << 2 * (sizes.length - i);
+    }
+    List<StoreFile> files = generator.createStoreFileList(sizes);
+    for (int i = 0; i < sizes.length; i++) {
+      StoreFileReader reader = files.get(i).getReader();
+      when(reader.getEntries()).thenReturn(100L);
+      when(reader.getEstimatedEntriesBefore(anyLong())).thenReturn(0L);
+      when(reader.getEstimatedEntriesBefore(eq(NOW - TTL))).thenReturn((long) expired[i]);
+      when(reader.getDeleteCount()).thenReturn((long) deletes[i]);
+    }
+    return files;
+  }
+
+  private CompactionRequest select(RatioBasedCompactionPolicy policy, List<StoreFile> files,
+      List<StoreFile> filesCompacting) throws IOException {
+    return policy.selectCompaction(files, filesCompacting, false, false, false);
+  }
+
+  @Test
+  public void testExpiredCells() throws IOException {
+    RatioBasedCompactionPolicy policy = new ExploringCompactionPolicy(conf, storeConfigInfo);
+    List<StoreFile> files = createFiles(new int[] { 10, 60, 20, 70, 0 }, new int[5]);
+    List<StoreFile> none = new ArrayList<>();
+    assertTrue(policy.needsCompaction(files, none));
+    CompactionRequest request = select(policy, files, none);
+    // the run of files between the dead ones
+    assertEquals(files.subList(1, 4), new ArrayList<>(request.getFiles()));
+    assertFalse(request.isAllFiles());
+    assertFalse(request.isMajor());
+
+    // nothing dead enough
+    files = createFiles(new int[] { 10, 40, 20, 49, 0 }, new int[5]);
+    assertTrue(select(policy, files, none).getFiles().isEmpty());
+
+    // fewer files than a compaction needs
+    files = createFiles(new int[] { 0, 60 }, new int[2]);
+    assertTrue(policy.needsCompaction(files, none));
+    assertEquals(files.subList(1, 2), new ArrayList<>(select(policy, files, none).getFiles()));
+    files = createFiles(new int[] { 0, 40 }, new int[2]);
+    assertFalse(policy.needsCompaction(files, none));
+
+    // disabled
+    conf.setFloat(RatioBasedCompactionPolicy.DEAD_CELLS_RATIO_KEY, 0);
+    files = createFiles(new int[] { 10, 60, 20, 70, 0 }, new int[5]);
+    policy = new ExploringCompactionPolicy(conf, storeConfigInfo);
+    assertTrue(select(policy, files, none).getFiles().isEmpty());
+  }
+
+  @Test
+  public void testDeleteMarkers() throws IOException {
+    RatioBasedCompactionPolicy policy = new ExploringCompactionPolicy(conf, storeConfigInfo);
+    List<StoreFile> none = new ArrayList<>();
+    // deletes only drop with all the files
+    List<StoreFile> files = createFiles(new int[] { 10, 10, 30 }, new int[] { 0, 0, 30 });
+    CompactionRequest request = select(policy, files, none);
+    assertEquals(files, new ArrayList<>(request.getFiles()));
+    assertTrue(request.isAllFiles());
+    assertFalse(request.isMajor());
+
+    // the deletes kept by a compaction of all the files do not count
+    files = createFiles(new int[] { 0, 30 }, new int[] { 0, 30 });
+    assertTrue(policy.needsCompaction(files, none));
+    when(files.get(1).isMajorCompaction()).thenReturn(true);
+    assertFalse(policy.needsCompaction(files, none));
+    assertTrue(select(policy, files, none).getFiles().isEmpty());
+
+    // nor when not all the files can be compacted
+    files = createFiles(new int[] { 10, 10, 30, 0 }, new int[] { 0, 0, 30, 0 });
+    List<StoreFile> compacting = new ArrayList<>(files.subList(0, 1));
+    assertTrue(select(policy, files, compacting).getFiles().isEmpty());
+    files = createFiles(new int[] { 0, 10, 10, 30, 0 }, new int[] { 0, 0, 0, 30, 0 });
+    assertTrue(select(policy, files, none).getFiles().isEmpty());
+  }
+}
@@ -0,0 +1,148 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver.compactions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.io.compress.Compression;
+import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
+import org.apache.hadoop.hbase.regionserver.HRegion;
+import org.apache.hadoop.hbase.regionserver.InternalScanner;
+import org.apache.hadoop.hbase.regionserver.Store;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+@Category({ MediumTests.class, RegionServerTests.class })
+public class TestPipelinedCompaction {
+
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+
+  @Rule
+  public TestName name = new TestName();
+
+  private final HBaseTestingUtility testUtil = new HBaseTestingUtility();
+  private HRegion region;
+
+  private void createRegion(DataBlockEncoding encoding, Compression.Algorithm compression)
+      throws IOException {
+    Configuration conf = new Configuration(testUtil.getConfiguration());
+    conf.setBoolean(Compactor.COMPACTION_PIPELINED, true);
+    // the file is written behind by a few blocks at most
+    conf.setInt(Compactor.COMPACTION_PIPELINED_WRITE_BUFFER, 4096);
+    TableName tableName = TableName.valueOf(name.getMethodName());
+    HTableDescriptor htd = new HTableDescriptor(tableName);
+    htd.addFamily(new HColumnDescriptor(FAMILY).setBlocksize(1024).setMaxVersions(2)
+        .setDataBlockEncoding(encoding).setCompressionType(compression));
+    HRegionInfo info = new HRegionInfo(tableName, null, null, false);
+    Path path = testUtil.getDataTestDir(name.getMethodName());
+    region = HBaseTestingUtility.createRegionAndWAL(info, path, conf, htd);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    HBaseTestingUtility.closeRegionAndWAL(region);
+    testUtil.cleanupTestDir();
+  }
+
+  private void loadRegion() throws IOException {
+    Random rand = new Random(42);
+    for (int flush = 0; flush < 3; flush++) {
+      for (int i = 0; i < 1000; i++) {
+        byte[] row = Bytes.toBytes(String.format("row%05d", rand.nextInt(2000)));
+        Put put = new Put(row);
+        put.addColumn(FAMILY, Bytes.toBytes("q" + rand.nextInt(4)),
+          Bytes.toBytes("value" + rand.nextInt()));
+        region.put(put);
+        if (rand.nextInt(20) == 0) {
+          region.delete(new Delete(row).addColumns(FAMILY, Bytes.toBytes("q" + rand.nextInt(4))));
+        }
+      }
+      region.flush(true);
+    }
+  }
+
+  private List<Cell> scanAll(Scan scan) throws IOException {
+    List<Cell> cells = new ArrayList<>();
+    InternalScanner scanner = region.getScanner(scan);
+    try {
+      boolean more;
+      do {
+        more = scanner.next(cells);
+      } while (more);
+    } finally {
+      scanner.close();
+    }
+    return cells;
+  }
+
+  private void assertSameCellsAfterCompaction(boolean major) throws IOException {
+    loadRegion();
+    Scan scan = new Scan().setMaxVersions();
+    List<Cell> expected = scanAll(scan);
+    region.compact(major);
+    Store store = region.getStore(FAMILY);
+    assertEquals(1, store.getStorefilesCount());
+    List<Cell> actual = scanAll(scan);
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertTrue("cell " + i, CellUtil.equals(expected.get(i), actual.get(i))
+          && CellUtil.matchingValue(expected.get(i), actual.get(i)));
+    }
+    CompactionProgress progress = store.getCompactionProgress();
+    assertEquals(expected.size(), progress.getCurrentCompactedKvs());
+    assertTrue(progress.getReadAheadTime() > 0);
+    assertTrue(progress.getMergeTime() > 0);
+    assertTrue(progress.getWriteTime() > 0);
+  }
+
+  @Test
+  public void testMajorCompaction() throws IOException {
+    createRegion(DataBlockEncoding.NONE, Compression.Algorithm.NONE);
+    assertSameCellsAfterCompaction(true);
+  }
+
+  @Test
+  public void testEncodedCompressedFiles() throws IOException {
+    createRegion(DataBlockEncoding.FAST_DIFF, Compression.Algorithm.GZ);
+    assertSameCellsAfterCompaction(true);
+  }
+}
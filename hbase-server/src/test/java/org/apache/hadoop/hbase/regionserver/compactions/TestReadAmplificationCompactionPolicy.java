@@ -0,0 +1,134 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver.compactions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.regionserver.StoreConfigInformation;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.ManualEnvironmentEdge;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestReadAmplificationCompactionPolicy {
+
+  private static final long INTERVAL = 60000;
+
+  private final MockStoreFileGenerator generator =
+      new MockStoreFileGenerator(TestReadAmplificationCompactionPolicy.class);
+  private final ManualEnvironmentEdge edge = new ManualEnvironmentEdge();
+  private Configuration conf;
+  private StoreConfigInformation storeConfigInfo;
+
+  @Before
+  public void setUp() {
+    edge.setValue(1000);
+    EnvironmentEdgeManager.injectEdge(edge);
+    conf = HBaseConfiguration.create();
+    conf.setLong(HConstants.MAJOR_COMPACTION_PERIOD, 0);
+    conf.setInt(CompactionConfiguration.HBASE_HSTORE_COMPACTION_MIN_KEY, 3);
+    conf.setInt(CompactionConfiguration.HBASE_HSTORE_COMPACTION_MAX_KEY, 8);
+    conf.setLong(CompactionConfiguration.HBASE_HSTORE_COMPACTION_MIN_SIZE_KEY, 1);
+    conf.setLong(ReadAmplificationCompactionPolicy.SAMPLE_INTERVAL_KEY, INTERVAL);
+    storeConfigInfo = mock(StoreConfigInformation.class);
+    when(storeConfigInfo.getBlockingFileCount()).thenReturn(20L);
+  }
+
+  @After
+  public void tearDown() {
+    EnvironmentEdgeManager.reset();
+  }
+
+  /**
+   * Lets the sample interval pass with the given reads, each seeking the given number of files.
+   */
+  private void read(long reads, int filesPerRead) {
+    long total = storeConfigInfo.getReadRequestsCount() + reads;
+    long seeks = storeConfigInfo.getStoreFileSeeksCount() + reads * filesPerRead;
+    when(storeConfigInfo.getReadRequestsCount()).thenReturn(total);
+    when(storeConfigInfo.getStoreFileSeeksCount()).thenReturn(seeks);
+    edge.incValue(INTERVAL);
+  }
+
+  private List<StoreFile> select(CompactionPolicy policy, List<StoreFile> files,
+      boolean isUserCompaction) throws IOException {
+    return new ArrayList<>(((RatioBasedCompactionPolicy) policy).selectCompaction(files,
+      new ArrayList<StoreFile>(), isUserCompaction, false, false).getFiles());
+  }
+
+  @Test
+  public void testExploringUntilSampled() throws IOException {
+    ReadAmplificationCompactionPolicy policy =
+        new ReadAmplificationCompactionPolicy(conf, storeConfigInfo);
+    List<StoreFile> files = generator.createStoreFileList(new int[] { 100, 60, 50, 1, 1, 1 });
+    List<StoreFile> expected =
+        select(new ExploringCompactionPolicy(conf, storeConfigInfo), files, false);
+    assertEquals(6, expected.size());
+    assertEquals(expected, select(policy, files, false));
+  }
+
+  @Test
+  public void testLeastBytesPerSeekSaved() throws IOException {
+    ReadAmplificationCompactionPolicy policy =
+        new ReadAmplificationCompactionPolicy(conf, storeConfigInfo);
+    List<StoreFile> files = generator.createStoreFileList(new int[] { 100, 60, 50, 1, 1, 1 });
+    // every read seeks every file
+    read(INTERVAL, 6);
+    List<StoreFile> selection = select(policy, files, false);
+    assertEquals(files.subList(3, 6), selection);
+    assertEquals(1000 * 2 / 3.0, policy.getScore(3, 3 * 1024 * 1024), 0.001);
+  }
+
+  @Test
+  public void testDeferColdStores() throws IOException {
+    ReadAmplificationCompactionPolicy policy =
+        new ReadAmplificationCompactionPolicy(conf, storeConfigInfo);
+    List<StoreFile> files = generator.createStoreFileList(new int[] { 10, 10, 10, 10 });
+    read(0, 0);
+    assertTrue(select(policy, files, false).isEmpty());
+    // unless asked by a user
+    assertEquals(4, select(policy, files, true).size());
+    // or a compaction of the maximum size is possible
+    files = generator.createStoreFileList(new int[] { 10, 10, 10, 10, 10, 10, 10, 10 });
+    assertEquals(8, select(policy, files, false).size());
+
+    // reads seeking a few files only save little
+    files = generator.createStoreFileList(new int[] { 10, 10, 10, 10 });
+    read(INTERVAL / 1000, 1);
+    assertTrue(policy.getScore(4, 40 * 1024 * 1024) < 0.01);
+    assertTrue(select(policy, files, false).isEmpty());
+    read(INTERVAL * 10, 4);
+    assertEquals(4, select(policy, files, false).size());
+  }
+}
@@ -0,0 +1,266 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver.compactions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.regionserver.DefaultStoreEngine;
+import org.apache.hadoop.hbase.regionserver.HRegion;
+import org.apache.hadoop.hbase.regionserver.HStore;
+import org.apache.hadoop.hbase.regionserver.InternalScanner;
+import org.apache.hadoop.hbase.regionserver.Store;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
+import org.apache.hadoop.hbase.regionserver.throttle.CompactionThroughputControllerFactory;
+import org.apache.hadoop.hbase.regionserver.throttle.NoLimitThroughputController;
+import org.apache.hadoop.hbase.testclassification.MediumTests;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+@Category({ MediumTests.class, RegionServerTests.class })
+public class TestSubCompactions {
+
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+
+  @Rule
+  public TestName name = new TestName();
+
+  private final HBaseTestingUtility testUtil = new HBaseTestingUtility();
+  private HRegion region;
+
+  @Before
+  public void setUp() throws IOException {
+    Configuration conf = testUtil.getConfiguration();
+    conf.setInt(DefaultCompactor.SUB_COMPACTIONS_MAX_KEY, 4);
+    conf.setLong(DefaultCompactor.SUB_COMPACTION_MIN_SIZE_KEY, 1);
+    conf.set(CompactionThroughputControllerFactory.HBASE_THROUGHPUT_CONTROLLER_KEY,
+      NoLimitThroughputController.class.getName());
+    TableName tableName = TableName.valueOf(name.getMethodName());
+    HTableDescriptor htd = new HTableDescriptor(tableName);
+    htd.addFamily(new HColumnDescriptor(FAMILY).setBlocksize(1024).setMaxVersions(2));
+    HRegionInfo info = new HRegionInfo(tableName, null, null, false);
+    Path path = testUtil.getDataTestDir(name.getMethodName());
+    region = HBaseTestingUtility.createRegionAndWAL(info, path, conf, htd);
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    HBaseTestingUtility.closeRegionAndWAL(region);
+    testUtil.cleanupTestDir();
+  }
+
+  private void loadRegion() throws IOException {
+    Random rand = new Random(42);
+    // fixed timestamps so that loads are the same
+    long ts = 1;
+    for (int flush = 0; flush < 3; flush++) {
+      for (int i = 0; i < 1000; i++) {
+        byte[] row = Bytes.toBytes(String.format("row%05d", rand.nextInt(2000)));
+        Put put = new Put(row);
+        put.addColumn(FAMILY, Bytes.toBytes("q" + rand.nextInt(4)), ts++,
+          Bytes.toBytes("value" + rand.nextInt()));
+        region.put(put);
+        if (rand.nextInt(20) == 0) {
+          Delete delete;
+          if (rand.nextBoolean()) {
+            delete = new Delete(row)
+                .addColumns(FAMILY, Bytes.toBytes("q" + rand.nextInt(4)), ts++);
+          } else {
+            delete = new Delete(row, ts++);
+          }
+          region.delete(delete);
+        }
+      }
+      region.flush(true);
+    }
+  }
+
+  private List<Cell> scanAll(Scan scan) throws IOException {
+    List<Cell> cells = new ArrayList<>();
+    InternalScanner scanner = region.getScanner(scan);
+    try {
+      boolean more;
+      do {
+        more = scanner.next(cells);
+      } while (more);
+    } finally {
+      scanner.close();
+    }
+    return cells;
+  }
+
+  private static void assertSameCells(List<Cell> expected, List<Cell> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertTrue("cell " + i, CellUtil.equals(expected.get(i), actual.get(i))
+          && CellUtil.matchingValue(expected.get(i), actual.get(i)));
+    }
+  }
+
+  @Test
+  public void testMajorCompaction() throws IOException {
+    loadRegion();
+    Scan scan = new Scan().setMaxVersions();
+    List<Cell> expected = scanAll(scan);
+    region.compact(true);
+    assertSameCells(expected, scanAll(scan));
+
+    Store store = region.getStore(FAMILY);
+    List<StoreFile> files = new ArrayList<>(store.getStorefiles());
+    assertEquals(4, files.size());
+    final CellComparator comparator = store.getComparator();
+    Collections.sort(files, new Comparator<StoreFile>() {
+      @Override
+      public int compare(StoreFile f1, StoreFile f2) {
+        return comparator.compare(f1.getFirstKey(), f2.getFirstKey());
+      }
+    });
+    for (int i = 1; i < files.size(); i++) {
+      // the ranges are split between rows
+      assertTrue(comparator.compareRows(files.get(i - 1).getLastKey(),
+        files.get(i).getFirstKey()) < 0);
+      assertEquals(files.get(0).getMaxSequenceId(), files.get(i).getMaxSequenceId());
+    }
+    // nothing left to drop
+    long cells = 0;
+    for (StoreFile file : files) {
+      cells += file.getReader().getEntries();
+    }
+    assertEquals(expected.size(), cells);
+  }
+
+  @Test
+  public void testSameCellsAsSingleCompaction() throws IOException {
+    loadRegion();
+    region.compact(false);
+    assertEquals(4, region.getStore(FAMILY).getStorefilesCount());
+    Scan scan = new Scan().setMaxVersions().setRaw(true);
+    List<Cell> actual = scanAll(scan);
+
+    HBaseTestingUtility.closeRegionAndWAL(region);
+    Configuration conf = new Configuration(testUtil.getConfiguration());
+    conf.setInt(DefaultCompactor.SUB_COMPACTIONS_MAX_KEY, 1);
+    region = HBaseTestingUtility.createRegionAndWAL(region.getRegionInfo(),
+      testUtil.getDataTestDir(name.getMethodName() + "-single"), conf, region.getTableDesc());
+    loadRegion();
+    region.compact(false);
+    assertEquals(1, region.getStore(FAMILY).getStorefilesCount());
+    assertSameCells(scanAll(scan), actual);
+  }
+
+  @Test
+  public void testOutputsSelectedAsOneFile() throws IOException {
+    checkOutputsSelectedAsOneFile();
+  }
+
+  @Test
+  public void testOutputsSelectedAsOneFileByRatioBasedPolicy() throws IOException {
+    HBaseTestingUtility.closeRegionAndWAL(region);
+    Configuration conf = new Configuration(testUtil.getConfiguration());
+    conf.set(DefaultStoreEngine.DEFAULT_COMPACTION_POLICY_CLASS_KEY,
+      RatioBasedCompactionPolicy.class.getName());
+    region = HBaseTestingUtility.createRegionAndWAL(region.getRegionInfo(),
+      testUtil.getDataTestDir(name.getMethodName() + "-ratio"), conf, region.getTableDesc());
+    checkOutputsSelectedAsOneFile();
+  }
+
+  @Test
+  public void testOutputsMajorCompactedAsOneFile() throws Exception {
+    loadRegion();
+    region.compact(true);
+    Store store = region.getStore(FAMILY);
+    assertEquals(4, store.getStorefilesCount());
+    Configuration conf = new Configuration(testUtil.getConfiguration());
+    conf.setLong(HConstants.MAJOR_COMPACTION_PERIOD, 1);
+    conf.setFloat("hbase.hregion.majorcompaction.jitter", 0);
+    RatioBasedCompactionPolicy policy = new RatioBasedCompactionPolicy(conf, (HStore) store);
+    Thread.sleep(10);
+    // the outputs of the major compaction are not major compacted again
+    assertFalse(policy.shouldPerformMajorCompaction(store.getStorefiles()));
+    region.put(new Put(Bytes.toBytes("row")).addColumn(FAMILY, FAMILY, FAMILY));
+    region.flush(true);
+    Thread.sleep(10);
+    assertTrue(policy.shouldPerformMajorCompaction(store.getStorefiles()));
+  }
+
+  private void checkOutputsSelectedAsOneFile() throws IOException {
+    loadRegion();
+    region.compact(false);
+    Store store = region.getStore(FAMILY);
+    List<StoreFile> files = new ArrayList<>(store.getStorefiles());
+    assertEquals(4, files.size());
+    for (int i = 1; i < files.size(); i++) {
+      assertTrue(files.get(0).isSameSubCompaction(files.get(i)));
+    }
+    // the outputs of the compaction are not compacted again on their own
+    region.compact(false);
+    assertEquals(4, store.getStorefilesCount());
+    region.put(new Put(Bytes.toBytes("row")).addColumn(FAMILY, FAMILY, FAMILY));
+    region.flush(true);
+    region.compact(false);
+    assertEquals(5, store.getStorefilesCount());
+  }
+
+  @Test
+  public void testBoundaries() throws IOException {
+    loadRegion();
+    Store store = region.getStore(FAMILY);
+    CompactionRequest request = new CompactionRequest(store.getStorefiles());
+    List<byte[]> boundaries = new DefaultCompactor(testUtil.getConfiguration(), store)
+        .getSubCompactionBoundaries(request);
+    assertEquals(3, boundaries.size());
+    for (int i = 1; i < boundaries.size(); i++) {
+      assertTrue(Bytes.compareTo(boundaries.get(i - 1), boundaries.get(i)) < 0);
+    }
+
+    Configuration conf = new Configuration(testUtil.getConfiguration());
+    conf.setLong(DefaultCompactor.SUB_COMPACTION_MIN_SIZE_KEY, request.getSize());
+    assertTrue(new DefaultCompactor(conf, store).getSubCompactionBoundaries(request).isEmpty());
+    conf.setLong(DefaultCompactor.SUB_COMPACTION_MIN_SIZE_KEY, request.getSize() / 2);
+    assertEquals(1,
+      new DefaultCompactor(conf, store).getSubCompactionBoundaries(request).size());
+  }
+}
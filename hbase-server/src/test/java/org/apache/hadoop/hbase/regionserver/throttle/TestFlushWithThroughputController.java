@@ -144,6 +144,21 @@ public class TestFlushWithThroughputController {
     testFlushWithThroughputLimit();
   }
 
+  @Test
+  public void testFlushWithoutControllerChargesTheIOBudget() throws Exception {
+    Configuration conf = hbtu.getConfiguration();
+    conf.set(FlushThroughputControllerFactory.HBASE_FLUSH_THROUGHPUT_CONTROLLER_KEY,
+      NoLimitThroughputController.class.getName());
+    conf.setLong(IOScheduler.BUDGET_KEY, 1024L * 1024 * 1024);
+    hbtu.startMiniCluster(1);
+    Table table = hbtu.createTable(tableName, family);
+    IOScheduler ioScheduler = hbtu.getMiniHBaseCluster().getRegionServer(0).getIOScheduler();
+    long flushed = ioScheduler.getBytes(IOScheduler.IOClass.FLUSH);
+    table.put(new Put(Bytes.toBytes(0)).addColumn(family, qualifier, new byte[200 * 1024]));
+    hbtu.getAdmin().flush(tableName);
+    assertTrue(ioScheduler.getBytes(IOScheduler.IOClass.FLUSH) - flushed >= 200 * 1024);
+  }
+
   /**
    * Test the tuning task of {@link PressureAwareFlushThroughputController}
    */
@@ -0,0 +1,146 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver.throttle;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.regionserver.throttle.IOScheduler.IOClass;
+import org.apache.hadoop.hbase.testclassification.RegionServerTests;
+import org.apache.hadoop.hbase.testclassification.SmallTests;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.ManualEnvironmentEdge;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category({ RegionServerTests.class, SmallTests.class })
+public class TestIOScheduler {
+
+  private static final long START = 1000;
+
+  private Configuration conf;
+
+  @Before
+  public void setUp() {
+    ManualEnvironmentEdge edge = new ManualEnvironmentEdge();
+    edge.setValue(START);
+    EnvironmentEdgeManager.injectEdge(edge);
+    conf = HBaseConfiguration.create();
+  }
+
+  @After
+  public void tearDown() {
+    EnvironmentEdgeManager.reset();
+  }
+
+  @Test
+  public void testUnlimited() throws InterruptedException {
+    IOScheduler scheduler = new IOScheduler(conf);
+    assertEquals(0, scheduler.acquire(IOClass.COMPACTION, 1L << 40));
+    assertEquals(1L << 40, scheduler.getBytes(IOClass.COMPACTION));
+    assertEquals(0, scheduler.getSleepTime(IOClass.COMPACTION));
+  }
+
+  @Test
+  public void testSingleClassGetsTheBudget() {
+    conf.setLong(IOScheduler.BUDGET_KEY, 1000);
+    IOScheduler scheduler = new IOScheduler(conf);
+    assertEquals(1000, scheduler.getRate(IOClass.PREFETCH, START), 0.001);
+    assertEquals(1000, scheduler.reserve(IOClass.PREFETCH, 1000, START));
+    // the debt is paid a second later
+    assertEquals(500, scheduler.reserve(IOClass.PREFETCH, 500, START + 1000));
+    // a second of idle time only buys a second of burst
+    assertEquals(0, scheduler.reserve(IOClass.PREFETCH, 1000, START + 10000));
+    assertEquals(1000, scheduler.reserve(IOClass.PREFETCH, 1000, START + 10000));
+  }
+
+  @Test
+  public void testWeightedSharing() {
+    conf.setLong(IOScheduler.BUDGET_KEY, 3000);
+    conf.setInt(IOScheduler.WEIGHT_KEY_PREFIX + "flush", 2);
+    conf.setInt(IOScheduler.WEIGHT_KEY_PREFIX + "compaction", 1);
+    IOScheduler scheduler = new IOScheduler(conf);
+    scheduler.reserve(IOClass.FLUSH, 1, START);
+    scheduler.reserve(IOClass.COMPACTION, 1, START);
+    assertEquals(2000, scheduler.getRate(IOClass.FLUSH, START), 0.001);
+    assertEquals(1000, scheduler.getRate(IOClass.COMPACTION, START), 0.001);
+    // a class with a higher weight joining takes its share from the others
+    scheduler.reserve(IOClass.RECOVERED_EDITS, 1, START);
+    assertEquals(3000 * 2 / 11.0, scheduler.getRate(IOClass.FLUSH, START), 0.001);
+
+    // the others stop asking, once their debt is paid the flushes get the whole budget
+    long now = START + 2000;
+    scheduler.reserve(IOClass.FLUSH, 3000, now);
+    assertEquals(3000, scheduler.getRate(IOClass.FLUSH, now), 0.001);
+    // and share it again when the compactions come back
+    assertEquals(1000, scheduler.getRate(IOClass.COMPACTION, now), 0.001);
+  }
+
+  @Test
+  public void testTuneByReadLatency() {
+    conf.setLong(IOScheduler.BUDGET_KEY, 1000);
+    conf.setLong(IOScheduler.READ_LATENCY_TARGET_KEY, 10);
+    IOScheduler scheduler = new IOScheduler(conf);
+    scheduler.updateReadLatency(5);
+    scheduler.updateReadLatency(95);
+    scheduler.tune();
+    assertEquals(500, scheduler.getBudget(), 0.001);
+    for (int i = 0; i < 5; i++) {
+      scheduler.updateReadLatency(50);
+      scheduler.tune();
+    }
+    assertEquals(100, scheduler.getBudget(), 0.001);
+    assertEquals(10000, scheduler.reserve(IOClass.COMPACTION, 1000, START));
+    // fast reads raise it back
+    scheduler.updateReadLatency(1);
+    scheduler.tune();
+    scheduler.tune();
+    assertEquals(300, scheduler.getBudget(), 0.001);
+
+    // disabling the target restores the budget
+    conf.setLong(IOScheduler.READ_LATENCY_TARGET_KEY, 0);
+    scheduler.onConfigurationChange(conf);
+    assertEquals(1000, scheduler.getBudget(), 0.001);
+  }
+
+  @Test
+  public void testControllerBoundsTheBudget() throws InterruptedException {
+    conf.setLong(IOScheduler.BUDGET_KEY, 1000000);
+    PressureAwareFlushThroughputController controller =
+        new PressureAwareFlushThroughputController();
+    controller.ioScheduler = new IOScheduler(conf);
+    controller.ioClass = IOClass.FLUSH;
+    controller.setMaxThroughput(Double.MAX_VALUE / 2);
+    controller.start("flush");
+    // the budget alone
+    assertEquals(1, controller.control("flush", 1000));
+    assertEquals(1000, controller.ioScheduler.getBytes(IOClass.FLUSH));
+    assertEquals(1, controller.ioScheduler.getSleepTime(IOClass.FLUSH));
+    controller.finish("flush");
+
+    // its own limit is lower, the time waited for the budget counts
+    controller.setMaxThroughput(10000);
+    controller.start("flush");
+    assertEquals(100, controller.control("flush", 1000));
+    assertEquals(2000, controller.ioScheduler.getBytes(IOClass.FLUSH));
+    controller.finish("flush");
+  }
+}
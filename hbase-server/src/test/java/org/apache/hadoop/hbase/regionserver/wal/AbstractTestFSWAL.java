@@ -277,6 +277,8 @@ public abstract class AbstractTestFSWAL {
       byte[][] regionsToFlush = wal.findRegionsToForceFlush();
       assertEquals(1, regionsToFlush.length);
       assertEquals(hri1.getEncodedNameAsBytes(), regionsToFlush[0]);
+      assertEquals(2, wal.getNumPinnedLogFiles(hri1.getEncodedNameAsBytes()));
+      assertEquals(0, wal.getNumPinnedLogFiles(hri2.getEncodedNameAsBytes()));
       // insert edits in second region
       addEdits(wal, hri2, t2, 2, mvcc, scopes2);
       // get the regions to flush, it should still read region1.
@@ -306,6 +308,8 @@ public abstract class AbstractTestFSWAL {
       // for both regions.
       regionsToFlush = wal.findRegionsToForceFlush();
       assertEquals(2, regionsToFlush.length);
+      assertEquals(2, wal.getNumPinnedLogFiles(hri1.getEncodedNameAsBytes()));
+      assertEquals(1, wal.getNumPinnedLogFiles(hri2.getEncodedNameAsBytes()));
       // flush both regions
       flushRegion(wal, hri1.getEncodedNameAsBytes(), t1.getFamiliesKeys());
       flushRegion(wal, hri2.getEncodedNameAsBytes(), t2.getFamiliesKeys());